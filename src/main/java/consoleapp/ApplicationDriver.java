@@ -1,5 +1,6 @@
 package consoleapp;
 
+import services.eventfromtaskcreation.SchedulingConstraints;
 import services.eventpresentation.EventInfo;
 import services.servicesfactory.BasicRepositoryFactory;
 import services.servicesfactory.BasicServiceFactory;
@@ -38,7 +39,7 @@ public class ApplicationDriver {
 
     public ApplicationDriver() {
         RepositoryFactory repositoryFactory = new BasicRepositoryFactory();
-        ServicesFactory serviceFactory = new BasicServiceFactory(repositoryFactory);
+        ServicesFactory serviceFactory = new BasicServiceFactory(repositoryFactory, SchedulingConstraints.defaults());
         ConsoleAppFactory consoleAppFactory = new ConsoleAppFactory(serviceFactory);
         this.controller = new MainController(this, consoleAppFactory);
 
@@ -70,6 +71,7 @@ public class ApplicationDriver {
         queryMenu.put("9", "Delete Event");
         queryMenu.put("10", "Save my Data");
         queryMenu.put("11", "Pomodoro timer");
+        queryMenu.put("12", "View conflicting events");
         return queryMenu;
     }
 
@@ -118,7 +120,7 @@ public class ApplicationDriver {
                 Map<Integer, Long> positionToIdMapping = controller.presentAllTasksForUserSelection();
                 if (positionToIdMapping.size() != 0) {
                     TaskInfo taskInfo = chooseTask(positionToIdMapping);
-                    LocalDateTime suggestedTime = controller.getSuggestedTime(taskInfo.getDuration());
+                    LocalDateTime suggestedTime = controller.getSuggestedTime(taskInfo.getDuration(), taskInfo.getDeadline());
                     String format = "yyyy/MM/dd-HH:mm";
                     DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
                     String formattedTime = suggestedTime.format(formatter);
@@ -187,6 +189,10 @@ public class ApplicationDriver {
                 System.out.println("Input \"c\" to end pomodoro timer");
                 controller.createAndEndTimer(intervals[0], intervals[1]);
                 break;
+            case "12":
+                LocalDateTime now = LocalDateTime.now();
+                printConflicts(controller.getConflictDescriptions(now, now.plusMonths(2)));
+                break;
 
             default:
                 break;
@@ -290,6 +296,19 @@ public class ApplicationDriver {
 
     }
 
+    /**
+     * Displays conflicting events on the console
+     * @param conflicts the list of conflicts' descriptions to be displayed
+     */
+    public void printConflicts(List<String> conflicts) {
+        if (conflicts.size() == 0) {
+            System.out.println("No events are double-booked in the next two months");
+        }
+        for (String conflict : conflicts) {
+            System.out.println(conflict);
+        }
+    }
+
     /**
      * Prompts the user to choose an Event from the list of Events
      * @return the chosen Event
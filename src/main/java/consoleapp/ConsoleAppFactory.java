@@ -1,6 +1,7 @@
 package consoleapp;
 
 
+import consoleapp.eventadapters.ConflictController;
 import consoleapp.eventadapters.EventController;
 import consoleapp.taskadapters.ConsoleTaskPresenter;
 import consoleapp.taskadapters.TaskController;
@@ -28,6 +29,7 @@ public class ConsoleAppFactory {
     private TaskController cachedTaskController;
     private EventController cachedEventController;
     private TaskToEventController cachedTaskToEventController;
+    private ConflictController cachedConflictController;
 
     private OldPomodoroController cachedOldPomodoroController;
 
@@ -71,6 +73,13 @@ public class ConsoleAppFactory {
 
     }
 
+    public ConflictController makeConflictController() {
+        if (cachedConflictController == null)
+            cachedConflictController = new ConflictController(servicesFactory.makeConflictDetector(),
+                    servicesFactory.makeEventGetter());
+        return cachedConflictController;
+    }
+
     public OldPomodoroController makePomodoroController() {
         if (cachedOldPomodoroController == null)
             cachedOldPomodoroController = new OldPomodoroController();
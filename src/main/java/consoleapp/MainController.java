@@ -1,5 +1,6 @@
 package consoleapp;
 
+import consoleapp.eventadapters.ConflictController;
 import consoleapp.eventadapters.ConsoleEventPresenter;
 import consoleapp.eventadapters.EventController;
 import consoleapp.taskadapters.ConsoleTaskPresenter;
@@ -22,12 +23,14 @@ public class MainController {
     private final EventController eventController;
     private final TaskController taskController;
     private final TaskToEventController taskToEventController;
+    private final ConflictController conflictController;
     private final OldPomodoroController oldPomodoroController;
 
     public MainController(ApplicationDriver applicationDriver, ConsoleAppFactory consoleAppFactory) {
         eventController = consoleAppFactory.makeEventController(new ConsoleEventPresenter(applicationDriver));
         taskController = consoleAppFactory.makeTaskController(new ConsoleTaskPresenter(applicationDriver));
         taskToEventController = consoleAppFactory.makeTaskToEventController();
+        conflictController = consoleAppFactory.makeConflictController();
         oldPomodoroController = consoleAppFactory.makePomodoroController();
     }
 
@@ -207,8 +210,15 @@ public class MainController {
         return taskController.presentAllTasksForUserSelection();
     }
 
-    public LocalDateTime getSuggestedTime(Duration duration) {
-        return taskToEventController.getSuggestedTime(duration);
+    public LocalDateTime getSuggestedTime(Duration duration, LocalDateTime deadline) {
+        return taskToEventController.getSuggestedTime(duration, deadline);
+    }
+
+    /**
+     * @see ConflictController#getConflictDescriptions(LocalDateTime, LocalDateTime)
+     */
+    public List<String> getConflictDescriptions(LocalDateTime from, LocalDateTime to) {
+        return conflictController.getConflictDescriptions(from, to);
     }
 
     public List<HashMap<String, String >> getEvents() {
@@ -0,0 +1,47 @@
+package consoleapp.eventadapters;
+
+import services.conflictdetection.ConflictInfo;
+import services.conflictdetection.ConflictReportBoundary;
+import services.eventpresentation.CalendarEventRequestBoundary;
+import services.eventpresentation.EventInfo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConflictController {
+
+    private final ConflictReportBoundary conflictReporter;
+    private final CalendarEventRequestBoundary eventGetter;
+
+    public ConflictController(ConflictReportBoundary conflictReporter, CalendarEventRequestBoundary eventGetter) {
+        this.conflictReporter = conflictReporter;
+        this.eventGetter = eventGetter;
+    }
+
+    /**
+     * Describes every double-booking between from and to
+     * @param from the start of the window to check
+     * @param to the end of the window to check
+     * @return one line per conflict, listing its time and the names of the events involved
+     */
+    public List<String> getConflictDescriptions(LocalDateTime from, LocalDateTime to) {
+        Map<Long, String> eventNames = new HashMap<>();
+        for (EventInfo info : eventGetter.getEvents())
+            eventNames.put(info.getId(), info.getName());
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy/MM/dd-HH:mm");
+        List<String> descriptions = new ArrayList<>();
+        for (ConflictInfo conflict : conflictReporter.getConflicts(from, to)) {
+            List<String> names = new ArrayList<>();
+            for (long eventId : conflict.getEventIds())
+                names.add(eventNames.getOrDefault(eventId, String.valueOf(eventId)));
+            descriptions.add("Conflict: " + conflict.getStart().format(formatter) + " to "
+                    + conflict.getEnd().format(formatter) + ", events = " + names);
+        }
+        return descriptions;
+    }
+}
@@ -24,7 +24,7 @@ public class TaskToEventController {
         return eventScheduler.isAvailable(userSuggestedTime.toLocalTime(), task.getDuration(), userSuggestedTime.toLocalDate());
     }
 
-    public LocalDateTime getSuggestedTime(Duration duration) {
-        return eventScheduler.getAvailableTime(duration);
+    public LocalDateTime getSuggestedTime(Duration duration, LocalDateTime deadline) {
+        return eventScheduler.getAvailableTime(duration, deadline);
     }
 }
@@ -0,0 +1,161 @@
+package datagateway;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the observers of an {@link ObservableRepository} and notifies them of its changes.
+ *
+ * Changes made between {@link #beginBatch()} and {@link #commitBatch()} are held back and coalesced, so each entity
+ * is notified at most once when the batch is committed: an entity created and then updated is notified as created,
+ * one created and deleted in the batch is not notified at all, and repeated updates of a field keep the first old
+ * value and the last new value.
+ *
+ * Changes made by an observer while it is being notified are delivered once every observer has been notified of the
+ * change that caused them, so all observers see the changes in the same order.
+ * @param <E> the exportable form of the element the repository manages
+ */
+public class ChangeNotifier<E> {
+
+    private final List<Observer<E>> onCreationObservers = new ArrayList<>();
+    private final List<Observer<E>> onUpdateObservers = new ArrayList<>();
+    private final List<Observer<E>> onDeleteObservers = new ArrayList<>();
+    private final List<Observer<EntityChange<E>>> changeObservers = new ArrayList<>();
+    private final List<Observer<List<EntityChange<E>>>> changeSetObservers = new ArrayList<>();
+
+    private final List<EntityChange<E>> pending = new ArrayList<>();
+    private int batchDepth = 0;
+    // the change sets made by observers during the delivery in progress, waiting for it to finish
+    private final Deque<List<EntityChange<E>>> deferred = new ArrayDeque<>();
+    private boolean delivering = false;
+
+    public void addCreationObserver(Observer<E> observer) {
+        onCreationObservers.add(observer);
+    }
+
+    public void addUpdateObserver(Observer<E> observer) {
+        onUpdateObservers.add(observer);
+    }
+
+    public void addDeleteObserver(Observer<E> observer) {
+        onDeleteObservers.add(observer);
+    }
+
+    public void addChangeObserver(Observer<EntityChange<E>> observer) {
+        changeObservers.add(observer);
+    }
+
+    public void addChangeSetObserver(Observer<List<EntityChange<E>>> observer) {
+        changeSetObservers.add(observer);
+    }
+
+    /**
+     * Hold back the changes until the matching {@link #commitBatch()}. Batches may be nested, in which case the
+     * changes are delivered when the outermost one is committed.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * End the batch, notifying the observers of its coalesced changes if it is the outermost one
+     * @throws IllegalStateException if no batch was begun
+     */
+    public void commitBatch() {
+        if (batchDepth == 0)
+            throw new IllegalStateException("No batch to commit");
+        batchDepth--;
+        if (batchDepth > 0 || pending.isEmpty())
+            return;
+        List<EntityChange<E>> changes = coalesce(pending);
+        pending.clear();
+        deliver(changes);
+    }
+
+    public void publish(EntityChange<E> change) {
+        if (batchDepth > 0)
+            pending.add(change);
+        else
+            deliver(List.of(change));
+    }
+
+    private void deliver(List<EntityChange<E>> changes) {
+        if (changes.isEmpty())
+            return;
+        if (delivering) {
+            deferred.add(changes);
+            return;
+        }
+        delivering = true;
+        try {
+            for (List<EntityChange<E>> next = changes; next != null; next = deferred.poll())
+                notifyObservers(next);
+        } finally {
+            delivering = false;
+            deferred.clear();
+        }
+    }
+
+    private void notifyObservers(List<EntityChange<E>> changes) {
+        Set<Long> updated = new HashSet<>();
+        for (EntityChange<E> change : changes) {
+            switch (change.type()) {
+                case CREATED -> onCreationObservers.forEach(o -> o.notifyObserver(change.entity()));
+                case DELETED -> onDeleteObservers.forEach(o -> o.notifyObserver(change.entity()));
+                case UPDATED -> {
+                    // an entity with several changed fields is still updated once
+                    if (updated.add(change.id()))
+                        onUpdateObservers.forEach(o -> o.notifyObserver(change.entity()));
+                }
+            }
+            changeObservers.forEach(o -> o.notifyObserver(change));
+        }
+        changeSetObservers.forEach(o -> o.notifyObserver(changes));
+    }
+
+    /**
+     * @return the changes to each entity merged into its net change, in the order the entities were first changed
+     */
+    private static <E> List<EntityChange<E>> coalesce(List<EntityChange<E>> changes) {
+        Map<Long, List<EntityChange<E>>> byId = new LinkedHashMap<>();
+        for (EntityChange<E> change : changes)
+            byId.computeIfAbsent(change.id(), k -> new ArrayList<>()).add(change);
+
+        List<EntityChange<E>> coalesced = new ArrayList<>();
+        for (List<EntityChange<E>> entityChanges : byId.values()) {
+            EntityChange<E> first = entityChanges.get(0);
+            EntityChange<E> last = entityChanges.get(entityChanges.size() - 1);
+            if (first.type() == ChangeType.CREATED) {
+                if (last.type() != ChangeType.DELETED)
+                    coalesced.add(EntityChange.created(first.id(), last.entity()));
+            } else if (last.type() == ChangeType.DELETED) {
+                coalesced.add(last);
+            } else {
+                coalesced.addAll(coalesceUpdates(entityChanges));
+            }
+        }
+        return coalesced;
+    }
+
+    private static <E> List<EntityChange<E>> coalesceUpdates(List<EntityChange<E>> updates) {
+        Map<ChangedField, EntityChange<E>> byField = new LinkedHashMap<>();
+        for (EntityChange<E> update : updates)
+            byField.merge(update.field(), update, (earlier, later) -> EntityChange.updated(later.id(), later.field(),
+                    earlier.oldValue(), later.newValue(), later.entity()));
+
+        List<EntityChange<E>> coalesced = new ArrayList<>();
+        for (EntityChange<E> update : byField.values()) {
+            // a field changed back to its value before the batch did not change
+            if (!Objects.equals(update.oldValue(), update.newValue()))
+                coalesced.add(update);
+        }
+        return coalesced;
+    }
+}
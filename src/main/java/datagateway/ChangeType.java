@@ -0,0 +1,10 @@
+package datagateway;
+
+/**
+ * What happened to an entity of an {@link ObservableRepository}
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,14 @@
+package datagateway;
+
+/**
+ * The field of an entity changed by an update
+ */
+public enum ChangedField {
+    NAME,
+    DURATION,
+    DEADLINE,
+    SUBTASKS,
+    COMPLETED,
+    DATES,
+    TAGS
+}
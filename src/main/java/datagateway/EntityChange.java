@@ -0,0 +1,28 @@
+package datagateway;
+
+/**
+ * A change made to an entity of an {@link ObservableRepository}
+ * @param type what happened to the entity
+ * @param id the id of the entity
+ * @param field the field that was updated, or null if the entity was created or deleted
+ * @param oldValue the value of the field before the update, or null if the entity was created or deleted
+ * @param newValue the value of the field after the update, or null if the entity was created or deleted
+ * @param entity the entity after the change, or as it was before it was deleted
+ * @param <E> the exportable form of the entity
+ */
+public record EntityChange<E>(ChangeType type, long id, ChangedField field, Object oldValue, Object newValue,
+                              E entity) {
+
+    public static <E> EntityChange<E> created(long id, E entity) {
+        return new EntityChange<>(ChangeType.CREATED, id, null, null, null, entity);
+    }
+
+    public static <E> EntityChange<E> updated(long id, ChangedField field, Object oldValue, Object newValue,
+                                              E entity) {
+        return new EntityChange<>(ChangeType.UPDATED, id, field, oldValue, newValue, entity);
+    }
+
+    public static <E> EntityChange<E> deleted(long id, E entity) {
+        return new EntityChange<>(ChangeType.DELETED, id, null, null, null, entity);
+    }
+}
@@ -0,0 +1,107 @@
+package datagateway;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers the notifications of an {@link ObservableRepository} on an executor instead of inside the mutating call.
+ *
+ * Observers wrapped by the same queue get their notifications in the order they were made, one at a time, so
+ * they never run concurrently with each other. The queue holds at most its capacity of notifications; when it is
+ * full the notifying thread waits for the observers to catch up. A queue whose executor runs on the notifying
+ * thread, like the JavaFX thread notifying observers marshalled back to itself, must therefore be unbounded.
+ */
+public class NotificationQueue {
+
+    private final Executor executor;
+    private final int capacity;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    // whether a drain of the pending notifications is submitted to the executor or running
+    private boolean draining = false;
+
+    /**
+     * Create an unbounded queue
+     * @param executor the executor delivering the notifications
+     */
+    public NotificationQueue(Executor executor) {
+        this(executor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param executor the executor delivering the notifications
+     * @param capacity the number of notifications waiting for delivery before the notifying thread is made to wait
+     */
+    public NotificationQueue(Executor executor, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param observer the observer to notify through this queue
+     * @return an observer to register with the repository in place of the given one
+     */
+    public <E> Observer<E> deliver(Observer<E> observer) {
+        return entity -> enqueue(() -> observer.notifyObserver(entity));
+    }
+
+    /**
+     * @return the number of notifications waiting for delivery
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    private void enqueue(Runnable notification) {
+        boolean startDrain;
+        synchronized (this) {
+            boolean interrupted = false;
+            while (pending.size() >= capacity && !interrupted) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // the notification is still delivered, only without waiting for room
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+            pending.add(notification);
+            startDrain = !draining;
+            draining = true;
+        }
+        if (startDrain) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable notification;
+            synchronized (this) {
+                notification = pending.poll();
+                if (notification == null) {
+                    draining = false;
+                    return;
+                }
+                notifyAll();
+            }
+            try {
+                notification.run();
+            } catch (RuntimeException e) {
+                // one failing observer must not stop the delivery to the others
+                e.printStackTrace();
+            }
+        }
+    }
+}
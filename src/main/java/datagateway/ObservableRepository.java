@@ -1,5 +1,7 @@
 package datagateway;
 
+import java.util.List;
+
 /**
  * Repository where observers are notified of Create and Update type mutations
  * @param <E> the exportable form of the element the repository manages
@@ -12,4 +14,24 @@ public interface ObservableRepository<E> {
 
     void addDeleteObservers(Observer<E> observer);
 
+    /**
+     * Observe every change as a record of what changed, including the field and its old and new value on update
+     */
+    void addChangeObserver(Observer<EntityChange<E>> observer);
+
+    /**
+     * Observe the changes as sets: one per mutation, or one holding the coalesced changes of a batch
+     */
+    void addChangeSetObserver(Observer<List<EntityChange<E>>> observer);
+
+    /**
+     * Hold back the notifications of the following mutations until {@link #commitBatch()}
+     */
+    void beginBatch();
+
+    /**
+     * Notify the observers of the coalesced changes made since {@link #beginBatch()}, each entity at most once
+     */
+    void commitBatch();
+
 }
@@ -4,7 +4,11 @@ import entity.dates.DateStrategy;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 public interface CalendarManager {
@@ -13,12 +17,84 @@ public interface CalendarManager {
 
     long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags);
 
+    /**
+     * Add many events at once, each with a new task
+     * @return the ids of the new events, in the order of the given events
+     */
+    default long[] addEvents(List<NewEvent> newEvents) {
+        long[] ids = new long[newEvents.size()];
+        for (int i = 0; i < ids.length; i++) {
+            NewEvent event = newEvents.get(i);
+            ids[i] = addEvent(event.name(), event.strategy(), event.duration(), event.tags());
+        }
+        return ids;
+    }
+
     void deleteEvent(long eventId);
 
     void markEventAsCompleted(long eventId);
 
     List<EventReader> getAllEvents();
 
+    /**
+     * @return the event with the given id, or null if there is no such event
+     */
+    default EventReader getEvent(long eventId) {
+        for (EventReader event : getAllEvents()) {
+            if (event.getId() == eventId)
+                return event;
+        }
+        return null;
+    }
+
+    /**
+     * Return the events that may have dates between from and to. Events without such dates
+     * may be included, but no event with such dates is left out.
+     */
+    default List<EventReader> getEventsBetween(LocalDateTime from, LocalDateTime to) {
+        return getAllEvents();
+    }
+
+    /**
+     * @return the first event with the given name, or null if there is no such event
+     */
+    default EventReader getEventByName(String name) {
+        for (EventReader event : getAllEvents()) {
+            if (event.getName().equals(name))
+                return event;
+        }
+        return null;
+    }
+
+    /**
+     * @return at most limit events whose name starts with prefix ignoring case, sorted by name
+     */
+    default List<EventReader> findEventsByNamePrefix(String prefix, int limit) {
+        String foldedPrefix = prefix.toLowerCase(Locale.ROOT);
+        List<EventReader> found = new ArrayList<>();
+        for (EventReader event : getAllEvents()) {
+            if (event.getName().toLowerCase(Locale.ROOT).startsWith(foldedPrefix))
+                found.add(event);
+        }
+        found.sort(Comparator.comparing(e -> e.getName().toLowerCase(Locale.ROOT)));
+        return found.subList(0, Math.min(limit, found.size()));
+    }
+
+    /**
+     * @param tagQuery a query such as "work AND NOT meeting", see {@link TagQuery}
+     * @return the events whose tags match the query
+     * @throws IllegalArgumentException if the query cannot be parsed
+     */
+    default List<EventReader> getEventsWithTags(String tagQuery) {
+        TagQuery query = TagQuery.parse(tagQuery);
+        List<EventReader> found = new ArrayList<>();
+        for (EventReader event : getAllEvents()) {
+            if (query.matches(event.getTags()))
+                found.add(event);
+        }
+        return found;
+    }
+
     void updateName(long id, String newName);
 
     void updateDateStrategy(long id, DateStrategy strategy);
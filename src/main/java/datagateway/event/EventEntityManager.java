@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import datagateway.task.NewTask;
 import datagateway.task.TaskReader;
 import datagateway.task.TodoListManager;
 import entity.Event;
@@ -17,30 +18,47 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 
 public class EventEntityManager implements CalendarManager{
-    private final ArrayList<Event> eventList;
+    private final Map<Long, Event> events;
+    private final EventTimeIndex timeIndex = new EventTimeIndex();
+    private final Map<Long, Set<Long>> eventIdsByTaskId = new HashMap<>();
+    // names are stored with the tasks, which may be loaded after the events, so the index is built on first use
+    private final EventNameIndex nameIndex = new EventNameIndex();
+    private boolean nameIndexBuilt = false;
+    private final EventTagIndex tagIndex = new EventTagIndex();
+    // the longest duration of any event, or null if it has to be found again
+    private Duration longestDuration = Duration.ZERO;
     private final Gson gson;
     private final Snowflake snowflake;
     private final TodoListManager taskManager;
 
     public EventEntityManager(Snowflake snowflake, TodoListManager taskManager) {
-        this.eventList = new ArrayList<>();
+        this.events = new LinkedHashMap<>();
         this.snowflake = snowflake;
         this.taskManager = taskManager;
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(Event.class, new JsonEventAdapter());
         gson = builder.create();
+        taskManager.addRenameObserver(this::handleTaskRename);
+        taskManager.addDurationObserver(this::handleTaskDurationChange);
+        taskManager.addLoadObserver(this::handleTasksLoaded);
     }
 
     public void saveEvents(String savePath) throws IOException {
         FileWriter fw = new FileWriter("EventData.json");
-        String cal_json = gson.toJson(this.eventList);
+        String cal_json = gson.toJson(new ArrayList<>(this.events.values()));
         fw.write(cal_json);
         fw.close();
     }
@@ -59,7 +77,10 @@ public class EventEntityManager implements CalendarManager{
             List<Event> events = gson.fromJson(reader, listType);
 
             if(events != null) {
-                this.eventList.addAll(events);
+                for (Event event : events)
+                    putEvent(event);
+                longestDuration = null;
+                nameIndexBuilt = false;
             }
             reader.close();
         }
@@ -69,12 +90,31 @@ public class EventEntityManager implements CalendarManager{
     @Override
     public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
         long taskId = taskManager.addTask(eventName, duration, null, new ArrayList<>());
-        Event event = new Event(snowflake.nextId(), taskId, strategy, tags);
-        eventList.add(event);
+        Event event = new Event(snowflake.nextId(), taskId, strategy, internTags(tags));
+        putEvent(event);
+        extendLongestDuration(duration);
         return event.getId();
     }
 
 
+    /**
+     * Add the events and their tasks with ids reserved as one block each
+     */
+    @Override
+    public long[] addEvents(List<NewEvent> newEvents) {
+        List<NewTask> newTasks = new ArrayList<>(newEvents.size());
+        for (NewEvent newEvent : newEvents)
+            newTasks.add(new NewTask(newEvent.name(), newEvent.duration(), null, new ArrayList<>()));
+        long[] taskIds = taskManager.addTasks(newTasks);
+        long[] ids = snowflake.nextIds(newEvents.size());
+        for (int i = 0; i < ids.length; i++) {
+            NewEvent newEvent = newEvents.get(i);
+            putEvent(new Event(ids[i], taskIds[i], newEvent.strategy(), internTags(newEvent.tags())));
+            extendLongestDuration(newEvent.duration());
+        }
+        return ids;
+    }
+
     /**
      * Add a new event using an existing Task's data
      * @param taskId        the associative task's id
@@ -84,14 +124,26 @@ public class EventEntityManager implements CalendarManager{
      */
     @Override
     public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
-        Event event = new Event(snowflake.nextId(), taskId, dateStrategy, tags);
-        eventList.add(event);
+        Event event = new Event(snowflake.nextId(), taskId, dateStrategy, internTags(tags));
+        putEvent(event);
+        TaskReader task = taskManager.getTask(taskId);
+        if (task != null)
+            extendLongestDuration(task.getDuration());
         return event.getId();
     }
 
     @Override
     public void deleteEvent(long eventId) {
-        eventList.removeIf(e -> e.getId() == eventId);
+        Event event = events.remove(eventId);
+        if (event == null)
+            return;
+        timeIndex.remove(eventId);
+        nameIndex.remove(eventId);
+        tagIndex.remove(eventId, event.getTags());
+        Set<Long> eventIds = eventIdsByTaskId.get(event.getTaskId());
+        eventIds.remove(eventId);
+        if (eventIds.isEmpty())
+            eventIdsByTaskId.remove(event.getTaskId());
     }
 
     /**
@@ -106,7 +158,7 @@ public class EventEntityManager implements CalendarManager{
     public List<EventReader> getAllEvents() {
         List<EventReader> eventReaderList = new ArrayList<>();
 
-        for(Event event: eventList){
+        for(Event event: events.values()){
             TaskReader tr = taskManager.getTask(event.getTaskId());
             EventReader eventReader = new EventToEventReader(event, tr);
             eventReaderList.add(eventReader);
@@ -114,6 +166,63 @@ public class EventEntityManager implements CalendarManager{
         return eventReaderList;
     }
 
+    @Override
+    public EventReader getEvent(long eventId) {
+        Event event = getById(eventId);
+        if (event == null)
+            return null;
+        return new EventToEventReader(event, taskManager.getTask(event.getTaskId()));
+    }
+
+    /**
+     * Return the events that may have dates between from and to, looking them up in the time index
+     * instead of going through every event.
+     */
+    @Override
+    public List<EventReader> getEventsBetween(LocalDateTime from, LocalDateTime to) {
+        if (longestDuration == null) {
+            longestDuration = Duration.ZERO;
+            for (Event event : events.values()) {
+                TaskReader task = taskManager.getTask(event.getTaskId());
+                if (task != null)
+                    extendLongestDuration(task.getDuration());
+            }
+        }
+
+        List<EventReader> eventReaderList = new ArrayList<>();
+        for (long eventId : timeIndex.candidatesBetween(from, to, longestDuration))
+            eventReaderList.add(getEvent(eventId));
+        return eventReaderList;
+    }
+
+    @Override
+    public EventReader getEventByName(String name) {
+        buildNameIndexIfNeeded();
+        for (long eventId : nameIndex.withName(name))
+            return getEvent(eventId);
+        return null;
+    }
+
+    @Override
+    public List<EventReader> findEventsByNamePrefix(String prefix, int limit) {
+        buildNameIndexIfNeeded();
+        List<EventReader> eventReaderList = new ArrayList<>();
+        for (long eventId : nameIndex.withPrefix(prefix, limit))
+            eventReaderList.add(getEvent(eventId));
+        return eventReaderList;
+    }
+
+    /**
+     * Return the events matching the tag query, evaluated on the tag bitmaps.
+     */
+    @Override
+    public List<EventReader> getEventsWithTags(String tagQuery) {
+        List<EventReader> eventReaderList = new ArrayList<>();
+        for (long eventId : tagIndex.query(TagQuery.parse(tagQuery)))
+            eventReaderList.add(getEvent(eventId));
+        return eventReaderList;
+    }
+
     @Override
     public void updateName(long id, String newName) {
         taskManager.updateName(Objects.requireNonNull(getById(id)).getTaskId(), newName);
@@ -122,30 +231,99 @@ public class EventEntityManager implements CalendarManager{
     @Override
     public void updateDateStrategy(long id, DateStrategy strategy) {
         Objects.requireNonNull(getById(id)).setDateStrategy(strategy);
+        timeIndex.put(id, strategy);
     }
 
     @Override
     public void updateDuration(long id, Duration duration) {
-        taskManager.updateDuration(Objects.requireNonNull(getById(id)).getId(), duration);
+        taskManager.updateDuration(Objects.requireNonNull(getById(id)).getTaskId(), duration);
     }
 
     @Override
     public void addTag(long id, String tag) {
-        Objects.requireNonNull(getById(id)).addTag(tag);
+        Objects.requireNonNull(getById(id)).addTag(tagIndex.intern(tag));
+        tagIndex.addTag(id, tag);
     }
 
     @Override
     public void removeTag(long id, String tag) {
         Objects.requireNonNull(getById(id)).removeTag(tag);
+        tagIndex.removeTag(id, tag);
     }
 
     private Event getById(long id){
-        for(Event event : eventList){
-            if(event.getId() == id){
-                return event;
-            }
-        }
-        return null;
+        return events.get(id);
+    }
+
+    private void putEvent(Event event) {
+        events.put(event.getId(), event);
+        timeIndex.put(event.getId(), event.getDateStrategy());
+        tagIndex.put(event.getId(), event.getTags());
+        eventIdsByTaskId.computeIfAbsent(event.getTaskId(), k -> new LinkedHashSet<>()).add(event.getId());
+        if (nameIndexBuilt)
+            indexName(event);
+    }
+
+    private Set<String> internTags(Set<String> tags) {
+        Set<String> interned = new HashSet<>();
+        for (String tag : tags)
+            interned.add(tagIndex.intern(tag));
+        return interned;
+    }
+
+    private void indexName(Event event) {
+        TaskReader task = taskManager.getTask(event.getTaskId());
+        if (task != null)
+            nameIndex.put(event.getId(), task.getName());
+    }
+
+    private void buildNameIndexIfNeeded() {
+        if (nameIndexBuilt)
+            return;
+        nameIndex.clear();
+        for (Event event : events.values())
+            indexName(event);
+        nameIndexBuilt = true;
+    }
+
+    /**
+     * A method listening to the task repository on a task changing its name
+     * @param taskReader the renamed task
+     */
+    private void handleTaskRename(TaskReader taskReader) {
+        if (!nameIndexBuilt)
+            return;
+        for (long eventId : eventIdsByTaskId.getOrDefault(taskReader.getId(), Set.of()))
+            nameIndex.put(eventId, taskReader.getName());
+    }
+
+    /**
+     * A method listening to the task repository on tasks being loaded, which gives events their names and durations.
+     * The indexes depending on them are built again on their next use rather than on the loading thread.
+     * @param loaded the loaded tasks
+     */
+    private void handleTasksLoaded(List<TaskReader> loaded) {
+        nameIndexBuilt = false;
+        longestDuration = null;
+    }
+
+    /**
+     * A method listening to the task repository on a task changing its duration, which is the duration of its events
+     * @param taskReader the task whose duration changed
+     */
+    private void handleTaskDurationChange(TaskReader taskReader) {
+        if (!eventIdsByTaskId.containsKey(taskReader.getId()) || longestDuration == null)
+            return;
+        // a shorter task may have been the longest one, so the longest duration is found again on the next lookup
+        if (taskReader.getDuration() == null || taskReader.getDuration().compareTo(longestDuration) < 0)
+            longestDuration = null;
+        else
+            extendLongestDuration(taskReader.getDuration());
+    }
+
+    private void extendLongestDuration(Duration duration) {
+        if (longestDuration != null && duration != null && duration.compareTo(longestDuration) > 0)
+            longestDuration = duration;
     }
 
 }
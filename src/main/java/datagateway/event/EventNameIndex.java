@@ -0,0 +1,80 @@
+package datagateway.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Indexes events by name, with a hash map for exact names and a sorted map of lower case names
+ * for case-insensitive prefix search.
+ */
+class EventNameIndex {
+
+    private final Map<String, Set<Long>> byName = new HashMap<>();
+    private final TreeMap<String, Set<Long>> byFoldedName = new TreeMap<>();
+    private final Map<Long, String> indexedNames = new HashMap<>();
+
+    void put(long eventId, String name) {
+        remove(eventId);
+        if (name == null)
+            return;
+        byName.computeIfAbsent(name, k -> new LinkedHashSet<>()).add(eventId);
+        byFoldedName.computeIfAbsent(fold(name), k -> new LinkedHashSet<>()).add(eventId);
+        indexedNames.put(eventId, name);
+    }
+
+    void remove(long eventId) {
+        String name = indexedNames.remove(eventId);
+        if (name == null)
+            return;
+        removeFrom(byName, name, eventId);
+        removeFrom(byFoldedName, fold(name), eventId);
+    }
+
+    void clear() {
+        byName.clear();
+        byFoldedName.clear();
+        indexedNames.clear();
+    }
+
+    /**
+     * @return the ids of the events with exactly the given name, in the order they were indexed
+     */
+    Set<Long> withName(String name) {
+        return byName.getOrDefault(name, Set.of());
+    }
+
+    /**
+     * @return the ids of at most limit events whose name starts with prefix ignoring case, sorted by name
+     */
+    List<Long> withPrefix(String prefix, int limit) {
+        List<Long> found = new ArrayList<>();
+        String foldedPrefix = fold(prefix);
+        for (Map.Entry<String, Set<Long>> entry : byFoldedName.tailMap(foldedPrefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(foldedPrefix))
+                break;
+            for (long eventId : entry.getValue()) {
+                if (found.size() >= limit)
+                    return found;
+                found.add(eventId);
+            }
+        }
+        return found;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> index, String key, long eventId) {
+        Set<Long> ids = index.get(key);
+        ids.remove(eventId);
+        if (ids.isEmpty())
+            index.remove(key);
+    }
+}
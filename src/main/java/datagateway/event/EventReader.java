@@ -4,6 +4,9 @@ import entity.dates.TimeFrame;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 public interface EventReader {
@@ -17,7 +20,30 @@ public interface EventReader {
 
     Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime);
 
+    /**
+     * @return the dates of the event overlapping from (inclusive) to (exclusive), sorted by their start
+     */
+    default List<TimeFrame> getDatesOverlapping(LocalDateTime from, LocalDateTime to) {
+        Duration duration = getDuration() == null ? Duration.ZERO : getDuration();
+        // strategies leave out dates starting exactly at the start of the range they are given, and a date
+        // starting before the window may run into it
+        List<TimeFrame> dates = new ArrayList<>();
+        for (TimeFrame tf : getDatesBetween(from.minus(duration).minusNanos(1), to)) {
+            if (tf.overlaps(from, to))
+                dates.add(tf);
+        }
+        dates.sort(Comparator.comparing(tf -> tf.startTime));
+        return dates;
+    }
+
     String getWhen();
 
     boolean getCompleted();
+
+    /**
+     * @return the deadline of the task the event is for, or null if it has none
+     */
+    default LocalDateTime getDeadline() {
+        return null;
+    }
 }
@@ -0,0 +1,104 @@
+package datagateway.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the events matching a {@link TagQuery} with set operations instead of checking every event.
+ *
+ * Each tag is stored once in a dictionary and each event is given a small ordinal, so that the
+ * events having a tag can be kept as a compressed bitmap of ordinals.
+ */
+class EventTagIndex {
+    private final Map<String, Integer> tagIds = new HashMap<>();
+    private final List<String> tags = new ArrayList<>();
+    private final List<TagBitmap> eventsByTag = new ArrayList<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    // ordinals of deleted events, reused so that the bitmaps stay dense
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final TagBitmap allEvents = new TagBitmap();
+
+    /**
+     * @return the stored copy of the tag, so that every event with the tag shares one string
+     */
+    String intern(String tag) {
+        return tags.get(tagId(tag));
+    }
+
+    void put(long eventId, Set<String> eventTags) {
+        int ordinal = ordinals.computeIfAbsent(eventId, this::newOrdinal);
+        allEvents.add(ordinal);
+        for (String tag : eventTags)
+            eventsByTag.get(tagId(tag)).add(ordinal);
+    }
+
+    void remove(long eventId, Set<String> eventTags) {
+        Integer ordinal = ordinals.remove(eventId);
+        if (ordinal == null)
+            return;
+        for (String tag : eventTags) {
+            Integer tagId = tagIds.get(tag);
+            if (tagId != null)
+                eventsByTag.get(tagId).remove(ordinal);
+        }
+        allEvents.remove(ordinal);
+        eventIds.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    void addTag(long eventId, String tag) {
+        Integer ordinal = ordinals.get(eventId);
+        if (ordinal != null)
+            eventsByTag.get(tagId(tag)).add(ordinal);
+    }
+
+    void removeTag(long eventId, String tag) {
+        Integer ordinal = ordinals.get(eventId);
+        Integer tagId = tagIds.get(tag);
+        if (ordinal != null && tagId != null)
+            eventsByTag.get(tagId).remove(ordinal);
+    }
+
+    /**
+     * @return the ids of the events matching the query
+     */
+    List<Long> query(TagQuery query) {
+        TagBitmap matching = query.evaluate(tag -> {
+            Integer tagId = tagIds.get(tag);
+            return tagId == null ? null : eventsByTag.get(tagId);
+        }, allEvents);
+
+        List<Long> found = new ArrayList<>();
+        for (int ordinal : matching.toArray())
+            found.add(eventIds.get(ordinal));
+        return found;
+    }
+
+    private int tagId(String tag) {
+        Integer tagId = tagIds.get(tag);
+        if (tagId == null) {
+            tagId = tags.size();
+            tagIds.put(tag, tagId);
+            tags.add(tag);
+            eventsByTag.add(new TagBitmap());
+        }
+        return tagId;
+    }
+
+    private int newOrdinal(long eventId) {
+        if (!freeOrdinals.isEmpty()) {
+            int ordinal = freeOrdinals.pop();
+            eventIds.set(ordinal, eventId);
+            return ordinal;
+        }
+        eventIds.add(eventId);
+        return eventIds.size() - 1;
+    }
+}
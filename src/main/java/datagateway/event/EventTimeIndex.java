@@ -0,0 +1,113 @@
+package datagateway.event;
+
+import entity.dates.DateStrategy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Indexes events by the interval their dates start in, so that a query for a window
+ * only looks at the events that can have dates near it.
+ *
+ * Events whose dates all start within a week are kept sorted by their earliest start.
+ * Longer recurring events are kept sorted by their latest start, so the ended ones are skipped,
+ * and recurring events without an end are kept sorted by their first start.
+ * Only events without any bound on their dates are returned by every query.
+ */
+class EventTimeIndex {
+
+    private static final Duration MAX_INDEXED_SPAN = Duration.ofDays(7);
+
+    private final TreeMap<LocalDateTime, Set<Long>> byEarliestStart = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Set<Long>> longByLatestStart = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Set<Long>> openByEarliestStart = new TreeMap<>();
+    private final Set<Long> unbounded = new LinkedHashSet<>();
+
+    // the map each indexed event is in, and its key there
+    private final Map<Long, TreeMap<LocalDateTime, Set<Long>>> indexedIn = new HashMap<>();
+    private final Map<Long, LocalDateTime> indexedKeys = new HashMap<>();
+    // the earliest start of the events kept by their latest start, absent if they have none
+    private final Map<Long, LocalDateTime> longEarliestStarts = new HashMap<>();
+
+    void put(long eventId, DateStrategy strategy) {
+        remove(eventId);
+        LocalDateTime earliest = strategy == null ? null : strategy.getEarliestStart();
+        LocalDateTime latest = strategy == null ? null : strategy.getLatestStart();
+        if (latest == null) {
+            if (earliest == null)
+                unbounded.add(eventId);
+            else
+                index(openByEarliestStart, earliest, eventId);
+        } else if (earliest == null || Duration.between(earliest, latest).compareTo(MAX_INDEXED_SPAN) > 0) {
+            index(longByLatestStart, latest, eventId);
+            if (earliest != null)
+                longEarliestStarts.put(eventId, earliest);
+        } else {
+            index(byEarliestStart, earliest, eventId);
+        }
+    }
+
+    private void index(TreeMap<LocalDateTime, Set<Long>> map, LocalDateTime key, long eventId) {
+        map.computeIfAbsent(key, k -> new HashSet<>()).add(eventId);
+        indexedIn.put(eventId, map);
+        indexedKeys.put(eventId, key);
+    }
+
+    void remove(long eventId) {
+        unbounded.remove(eventId);
+        longEarliestStarts.remove(eventId);
+        TreeMap<LocalDateTime, Set<Long>> map = indexedIn.remove(eventId);
+        if (map == null)
+            return;
+        LocalDateTime key = indexedKeys.remove(eventId);
+        Set<Long> atKey = map.get(key);
+        atKey.remove(eventId);
+        if (atKey.isEmpty())
+            map.remove(key);
+    }
+
+    void clear() {
+        byEarliestStart.clear();
+        longByLatestStart.clear();
+        openByEarliestStart.clear();
+        unbounded.clear();
+        indexedIn.clear();
+        indexedKeys.clear();
+        longEarliestStarts.clear();
+    }
+
+    /**
+     * @param longestDuration no shorter than the duration of any indexed event
+     * @return the ids of the events that may have dates overlapping from and to
+     */
+    Set<Long> candidatesBetween(LocalDateTime from, LocalDateTime to, Duration longestDuration) {
+        Set<Long> candidates = new HashSet<>(unbounded);
+        // a date overlapping the window starts no later than to, and no earlier than the longest duration before from
+        LocalDateTime lastDateFrom = from.minus(longestDuration);
+
+        for (Set<Long> ids : openByEarliestStart.headMap(to, true).values())
+            candidates.addAll(ids);
+
+        for (Set<Long> ids : longByLatestStart.tailMap(lastDateFrom, true).values()) {
+            for (long id : ids) {
+                LocalDateTime earliest = longEarliestStarts.get(id);
+                if (earliest == null || !earliest.isAfter(to))
+                    candidates.add(id);
+            }
+        }
+
+        // an event can start up to its span before its last date
+        LocalDateTime searchFrom = lastDateFrom.minus(MAX_INDEXED_SPAN);
+        if (!searchFrom.isAfter(to)) {
+            for (Set<Long> ids : byEarliestStart.subMap(searchFrom, true, to, true).values())
+                candidates.addAll(ids);
+        }
+        return candidates;
+    }
+}
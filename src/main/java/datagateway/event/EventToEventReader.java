@@ -52,4 +52,9 @@ public class EventToEventReader implements EventReader{
     public boolean getCompleted() {
         return task.getCompleted();
     }
+
+    @Override
+    public LocalDateTime getDeadline() {
+        return task.getDeadline();
+    }
 }
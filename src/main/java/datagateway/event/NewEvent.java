@@ -0,0 +1,13 @@
+package datagateway.event;
+
+import entity.dates.DateStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The data of an event to add in bulk through {@link CalendarManager#addEvents(List)}
+ */
+public record NewEvent(String name, DateStrategy strategy, Duration duration, Set<String> tags) {
+}
@@ -1,11 +1,15 @@
 package datagateway.event;
 
+import datagateway.ChangeNotifier;
+import datagateway.ChangedField;
+import datagateway.EntityChange;
 import datagateway.Observer;
 import entity.dates.DateStrategy;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -13,9 +17,7 @@ import java.util.Set;
 public class ObservableEventEntityManager implements ObservableEventRepository {
 
     private final CalendarManager calendarManager;
-    private final List<Observer<EventReader>> onCreationObservers = new ArrayList<>();
-    private final List<Observer<EventReader>> onUpdateObservers = new ArrayList<>();
-    private final List<Observer<EventReader>> onDeleteObservers = new ArrayList<>();
+    private final ChangeNotifier<EventReader> notifier = new ChangeNotifier<>();
 
     public ObservableEventEntityManager(CalendarManager calendarManager) {
         this.calendarManager = calendarManager;
@@ -23,29 +25,49 @@ public class ObservableEventEntityManager implements ObservableEventRepository {
 
     @Override
     public void addCreationObserver(Observer<EventReader> observer) {
-        onCreationObservers.add(observer);
+        notifier.addCreationObserver(observer);
     }
 
     @Override
     public void addUpdateObserver(Observer<EventReader> observer) {
-        onUpdateObservers.add(observer);
+        notifier.addUpdateObserver(observer);
     }
 
     @Override
     public void addDeleteObservers(Observer<EventReader> observer) {
-        onDeleteObservers.add(observer);
+        notifier.addDeleteObserver(observer);
+    }
+
+    @Override
+    public void addChangeObserver(Observer<EntityChange<EventReader>> observer) {
+        notifier.addChangeObserver(observer);
+    }
+
+    @Override
+    public void addChangeSetObserver(Observer<List<EntityChange<EventReader>>> observer) {
+        notifier.addChangeSetObserver(observer);
+    }
+
+    @Override
+    public void beginBatch() {
+        notifier.beginBatch();
+    }
+
+    @Override
+    public void commitBatch() {
+        notifier.commitBatch();
     }
 
     private void notifyCreationObservers(EventReader er) {
-        onCreationObservers.forEach(o -> o.notifyObserver(er));
+        notifier.publish(EntityChange.created(er.getId(), er));
     }
 
-    private void notifyUpdateObservers(EventReader er) {
-        onUpdateObservers.forEach(o -> o.notifyObserver(er));
+    private void notifyUpdateObservers(EventReader er, ChangedField field, Object oldValue, Object newValue) {
+        notifier.publish(EntityChange.updated(er.getId(), field, oldValue, newValue, er));
     }
 
     private void notifyDeleteObservers(EventReader er) {
-        onDeleteObservers.forEach(o -> o.notifyObserver(er));
+        notifier.publish(EntityChange.deleted(er.getId(), er));
     }
 
     @Override
@@ -64,6 +86,22 @@ public class ObservableEventEntityManager implements ObservableEventRepository {
         return newEventId;
     }
 
+    /**
+     * Add the events through the underlying manager, notifying the observers of all of them as one batch
+     */
+    @Override
+    public long[] addEvents(List<NewEvent> newEvents) {
+        long[] ids = calendarManager.addEvents(newEvents);
+        notifier.beginBatch();
+        try {
+            for (long id : ids)
+                notifyCreationObservers(getById(id));
+        } finally {
+            notifier.commitBatch();
+        }
+        return ids;
+    }
+
     @Override
     public void deleteEvent(long eventId) {
         EventReader deletedEvent = getById(eventId);
@@ -73,9 +111,10 @@ public class ObservableEventEntityManager implements ObservableEventRepository {
 
     @Override
     public void markEventAsCompleted(long eventId) {
+        EventReader event = getById(eventId);
+        boolean wasCompleted = event.getCompleted();
         calendarManager.markEventAsCompleted(eventId);
-        EventReader updatedEvent = getById(eventId);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.COMPLETED, wasCompleted, event.getCompleted());
     }
 
     @Override
@@ -83,39 +122,69 @@ public class ObservableEventEntityManager implements ObservableEventRepository {
         return calendarManager.getAllEvents();
     }
 
+    @Override
+    public EventReader getEvent(long eventId) {
+        return calendarManager.getEvent(eventId);
+    }
+
+    @Override
+    public List<EventReader> getEventsBetween(LocalDateTime from, LocalDateTime to) {
+        return calendarManager.getEventsBetween(from, to);
+    }
+
+    @Override
+    public EventReader getEventByName(String name) {
+        return calendarManager.getEventByName(name);
+    }
+
+    @Override
+    public List<EventReader> findEventsByNamePrefix(String prefix, int limit) {
+        return calendarManager.findEventsByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public List<EventReader> getEventsWithTags(String tagQuery) {
+        return calendarManager.getEventsWithTags(tagQuery);
+    }
+
     @Override
     public void updateName(long id, String newName) {
+        EventReader event = getById(id);
+        String oldName = event.getName();
         calendarManager.updateName(id, newName);
-        EventReader updatedEvent = getById(id);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.NAME, oldName, event.getName());
     }
 
     @Override
     public void updateDateStrategy(long id, DateStrategy strategy) {
+        EventReader event = getById(id);
+        String oldWhen = event.getWhen();
         calendarManager.updateDateStrategy(id, strategy);
-        EventReader updatedEvent = getById(id);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.DATES, oldWhen, event.getWhen());
     }
 
     @Override
     public void updateDuration(long id, Duration duration) {
+        EventReader event = getById(id);
+        Duration oldDuration = event.getDuration();
         calendarManager.updateDuration(id, duration);
-        EventReader updatedEvent = getById(id);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.DURATION, oldDuration, event.getDuration());
     }
 
     @Override
     public void addTag(long id, String tag) {
+        EventReader event = getById(id);
+        Set<String> oldTags = new HashSet<>(event.getTags());
         calendarManager.addTag(id, tag);
-        EventReader updatedEvent = getById(id);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.TAGS, oldTags, new HashSet<>(event.getTags()));
     }
 
     @Override
     public void removeTag(long id, String tag) {
+        EventReader event = getById(id);
+        Set<String> oldTags = new HashSet<>(event.getTags());
         calendarManager.removeTag(id, tag);
-        EventReader updatedEvent = getById(id);
-        notifyUpdateObservers(updatedEvent);
+        notifyUpdateObservers(event, ChangedField.TAGS, oldTags, new HashSet<>(event.getTags()));
     }
 
     @Override
@@ -129,11 +198,9 @@ public class ObservableEventEntityManager implements ObservableEventRepository {
     }
 
     private EventReader getById(long eventId) {
-        for (EventReader event: getAllEvents()) {
-            if (event.getId() == eventId) {
-                return event;
-            }
-        }
-        throw new NoSuchElementException("Event with id " + eventId + " not found");
+        EventReader event = getEvent(eventId);
+        if (event == null)
+            throw new NoSuchElementException("Event with id " + eventId + " not found");
+        return event;
     }
 }
@@ -0,0 +1,254 @@
+package datagateway.event;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compressed set of non-negative ints.
+ *
+ * The ints are grouped by their upper 16 bits. Each group stores its lower 16 bits in a sorted
+ * array while it is small and as a 65536 bit bitmap once it holds more than {@link #ARRAY_LIMIT}
+ * values, so sparse and dense sets both stay small and set operations work a word at a time.
+ */
+class TagBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORD_COUNT = 1 << 10;
+
+    private final TreeMap<Integer, Container> containers = new TreeMap<>();
+
+    void add(int value) {
+        containers.computeIfAbsent(value >>> 16, k -> new Container()).add((char) value);
+    }
+
+    void remove(int value) {
+        Container container = containers.get(value >>> 16);
+        if (container == null)
+            return;
+        container.remove((char) value);
+        if (container.cardinality == 0)
+            containers.remove(value >>> 16);
+    }
+
+    boolean contains(int value) {
+        Container container = containers.get(value >>> 16);
+        return container != null && container.contains((char) value);
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (Container container : containers.values())
+            cardinality += container.cardinality;
+        return cardinality;
+    }
+
+    TagBitmap and(TagBitmap other) {
+        TagBitmap result = new TagBitmap();
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            Container otherContainer = other.containers.get(entry.getKey());
+            if (otherContainer != null)
+                result.put(entry.getKey(), Container.and(entry.getValue(), otherContainer));
+        }
+        return result;
+    }
+
+    TagBitmap or(TagBitmap other) {
+        TagBitmap result = new TagBitmap();
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            Container otherContainer = other.containers.get(entry.getKey());
+            result.put(entry.getKey(), otherContainer == null
+                    ? entry.getValue().copy() : Container.or(entry.getValue(), otherContainer));
+        }
+        for (Map.Entry<Integer, Container> entry : other.containers.entrySet()) {
+            if (!containers.containsKey(entry.getKey()))
+                result.put(entry.getKey(), entry.getValue().copy());
+        }
+        return result;
+    }
+
+    TagBitmap andNot(TagBitmap other) {
+        TagBitmap result = new TagBitmap();
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            Container otherContainer = other.containers.get(entry.getKey());
+            result.put(entry.getKey(), otherContainer == null
+                    ? entry.getValue().copy() : Container.andNot(entry.getValue(), otherContainer));
+        }
+        return result;
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    int[] toArray() {
+        int[] values = new int[cardinality()];
+        int i = 0;
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            int high = entry.getKey() << 16;
+            Container container = entry.getValue();
+            if (container.words == null) {
+                for (int j = 0; j < container.cardinality; j++)
+                    values[i++] = high | container.values[j];
+            } else {
+                for (int word = 0; word < WORD_COUNT; word++) {
+                    long bits = container.words[word];
+                    while (bits != 0) {
+                        values[i++] = high | (word << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private void put(int key, Container container) {
+        if (container.cardinality > 0)
+            containers.put(key, container);
+    }
+
+    /**
+     * The lower 16 bits of the values sharing the same upper 16 bits
+     */
+    private static final class Container {
+        // sorted values, used while there are at most ARRAY_LIMIT of them
+        char[] values = new char[4];
+        // one bit per value, used once there are more
+        long[] words;
+        int cardinality;
+
+        boolean contains(char value) {
+            if (words != null)
+                return (words[value >>> 6] & (1L << value)) != 0;
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        void add(char value) {
+            if (words != null) {
+                long before = words[value >>> 6];
+                words[value >>> 6] |= 1L << value;
+                if (before != words[value >>> 6])
+                    cardinality++;
+                return;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0)
+                return;
+            int insertion = -position - 1;
+            if (cardinality == values.length)
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_LIMIT + 1));
+            System.arraycopy(values, insertion, values, insertion + 1, cardinality - insertion);
+            values[insertion] = value;
+            cardinality++;
+            if (cardinality > ARRAY_LIMIT)
+                toWords();
+        }
+
+        void remove(char value) {
+            if (words != null) {
+                long before = words[value >>> 6];
+                words[value >>> 6] &= ~(1L << value);
+                if (before != words[value >>> 6])
+                    cardinality--;
+                if (cardinality <= ARRAY_LIMIT)
+                    toValues();
+                return;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position < 0)
+                return;
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            cardinality--;
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.cardinality = cardinality;
+            if (words != null)
+                copy.words = words.clone();
+            else
+                copy.values = Arrays.copyOf(values, Math.max(cardinality, 4));
+            return copy;
+        }
+
+        static Container and(Container a, Container b) {
+            if (a.words == null || b.words == null) {
+                // the result is no larger than the smaller side, so filter an array side
+                Container small = a.words == null ? a : b;
+                Container other = small == a ? b : a;
+                Container result = new Container();
+                for (int i = 0; i < small.cardinality; i++) {
+                    if (other.contains(small.values[i]))
+                        result.add(small.values[i]);
+                }
+                return result;
+            }
+            long[] words = new long[WORD_COUNT];
+            for (int i = 0; i < WORD_COUNT; i++)
+                words[i] = a.words[i] & b.words[i];
+            return fromWords(words);
+        }
+
+        static Container or(Container a, Container b) {
+            long[] words = a.toWordArray();
+            long[] otherWords = b.toWordArray();
+            for (int i = 0; i < WORD_COUNT; i++)
+                words[i] |= otherWords[i];
+            return fromWords(words);
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a.words == null) {
+                Container result = new Container();
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.values[i]))
+                        result.add(a.values[i]);
+                }
+                return result;
+            }
+            long[] words = a.words.clone();
+            long[] otherWords = b.toWordArray();
+            for (int i = 0; i < WORD_COUNT; i++)
+                words[i] &= ~otherWords[i];
+            return fromWords(words);
+        }
+
+        private long[] toWordArray() {
+            if (words != null)
+                return words.clone();
+            long[] result = new long[WORD_COUNT];
+            for (int i = 0; i < cardinality; i++)
+                result[values[i] >>> 6] |= 1L << values[i];
+            return result;
+        }
+
+        private void toWords() {
+            words = toWordArray();
+            values = null;
+        }
+
+        private void toValues() {
+            char[] result = new char[Math.max(cardinality, 4)];
+            int i = 0;
+            for (int word = 0; word < WORD_COUNT; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    result[i++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            values = result;
+            words = null;
+        }
+
+        private static Container fromWords(long[] words) {
+            Container result = new Container();
+            result.words = words;
+            for (long word : words)
+                result.cardinality += Long.bitCount(word);
+            if (result.cardinality <= ARRAY_LIMIT)
+                result.toValues();
+            return result;
+        }
+    }
+}
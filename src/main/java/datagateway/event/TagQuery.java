@@ -0,0 +1,200 @@
+package datagateway.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A boolean expression over event tags, such as {@code work AND NOT meeting}.
+ *
+ * Tags are combined with AND, OR and NOT, which are case-insensitive, and grouped with parentheses.
+ * Adjacent tags without an operator are combined with AND. Tags containing spaces or parentheses
+ * are written in double quotes.
+ */
+public class TagQuery {
+
+    private final Node root;
+
+    private TagQuery(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param query the expression to parse
+     * @return the parsed query
+     * @throws IllegalArgumentException if the query is empty or malformed
+     */
+    public static TagQuery parse(String query) {
+        Parser parser = new Parser(tokenize(query));
+        if (parser.atEnd())
+            throw new IllegalArgumentException("Empty tag query");
+        Node root = parser.parseOr();
+        if (!parser.atEnd())
+            throw new IllegalArgumentException("Unexpected \"" + parser.peek() + "\" in tag query");
+        return new TagQuery(root);
+    }
+
+    /**
+     * @return whether an event with the given tags satisfies the query
+     */
+    public boolean matches(Set<String> tags) {
+        return root.matches(tags);
+    }
+
+    /**
+     * @param bitmapOfTag the events with a tag, or null if no event has the tag
+     * @param allEvents   every event, used for NOT
+     * @return the events satisfying the query
+     */
+    TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents) {
+        return root.evaluate(bitmapOfTag, allEvents);
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0)
+                    throw new IllegalArgumentException("Unclosed quote in tag query");
+                // keep the opening quote so that a quoted AND is read as a tag
+                tokens.add(query.substring(i, end));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+                        && "()\"".indexOf(query.charAt(i)) < 0)
+                    i++;
+                tokens.add(query.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private interface Node {
+        boolean matches(Set<String> tags);
+
+        TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents);
+    }
+
+    private record Tag(String tag) implements Node {
+        @Override
+        public boolean matches(Set<String> tags) {
+            return tags.contains(tag);
+        }
+
+        @Override
+        public TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents) {
+            TagBitmap bitmap = bitmapOfTag.apply(tag);
+            return bitmap == null ? new TagBitmap() : bitmap;
+        }
+    }
+
+    private record Not(Node operand) implements Node {
+        @Override
+        public boolean matches(Set<String> tags) {
+            return !operand.matches(tags);
+        }
+
+        @Override
+        public TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents) {
+            return allEvents.andNot(operand.evaluate(bitmapOfTag, allEvents));
+        }
+    }
+
+    private record And(Node left, Node right) implements Node {
+        @Override
+        public boolean matches(Set<String> tags) {
+            return left.matches(tags) && right.matches(tags);
+        }
+
+        @Override
+        public TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents) {
+            // a AND NOT b is a single pass over a instead of complementing b first
+            if (right instanceof Not not)
+                return left.evaluate(bitmapOfTag, allEvents).andNot(not.operand.evaluate(bitmapOfTag, allEvents));
+            return left.evaluate(bitmapOfTag, allEvents).and(right.evaluate(bitmapOfTag, allEvents));
+        }
+    }
+
+    private record Or(Node left, Node right) implements Node {
+        @Override
+        public boolean matches(Set<String> tags) {
+            return left.matches(tags) || right.matches(tags);
+        }
+
+        @Override
+        public TagBitmap evaluate(Function<String, TagBitmap> bitmapOfTag, TagBitmap allEvents) {
+            return left.evaluate(bitmapOfTag, allEvents).or(right.evaluate(bitmapOfTag, allEvents));
+        }
+    }
+
+    private static class Parser {
+        private final List<String> tokens;
+        private int position = 0;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean atEnd() {
+            return position >= tokens.size();
+        }
+
+        String peek() {
+            return tokens.get(position);
+        }
+
+        private boolean isKeyword(String keyword) {
+            return !atEnd() && peek().toUpperCase(Locale.ROOT).equals(keyword);
+        }
+
+        Node parseOr() {
+            Node node = parseAnd();
+            while (isKeyword("OR")) {
+                position++;
+                node = new Or(node, parseAnd());
+            }
+            return node;
+        }
+
+        Node parseAnd() {
+            Node node = parseNot();
+            while (!atEnd() && !isKeyword("OR") && !peek().equals(")")) {
+                if (isKeyword("AND"))
+                    position++;
+                node = new And(node, parseNot());
+            }
+            return node;
+        }
+
+        Node parseNot() {
+            if (atEnd())
+                throw new IllegalArgumentException("Tag query ends unexpectedly");
+            if (isKeyword("NOT")) {
+                position++;
+                return new Not(parseNot());
+            }
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                Node node = parseOr();
+                if (atEnd() || !peek().equals(")"))
+                    throw new IllegalArgumentException("Missing \")\" in tag query");
+                position++;
+                return node;
+            }
+            if (token.equals(")") || token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR"))
+                throw new IllegalArgumentException("Unexpected \"" + token + "\" in tag query");
+            return new Tag(token.startsWith("\"") ? token.substring(1) : token);
+        }
+    }
+}
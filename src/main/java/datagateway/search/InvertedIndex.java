@@ -0,0 +1,125 @@
+package datagateway.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Maps terms to the ids of the documents containing them.
+ *
+ * The terms of every document are kept as well, so that a changed or deleted document can be
+ * removed from exactly the posting lists it was added to.
+ */
+public class InvertedIndex {
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, String[]> termsByDocument = new HashMap<>();
+
+    /**
+     * Index a document, replacing its previous terms
+     * @param documentId the id of the document
+     * @param terms      the terms the document contains
+     */
+    public void put(long documentId, Collection<String> terms) {
+        remove(documentId);
+        Set<String> distinctTerms = new LinkedHashSet<>(terms);
+        for (String term : distinctTerms)
+            postings.computeIfAbsent(term, k -> new PostingList()).add(documentId);
+        termsByDocument.put(documentId, distinctTerms.toArray(new String[0]));
+    }
+
+    public void remove(long documentId) {
+        String[] terms = termsByDocument.remove(documentId);
+        if (terms == null)
+            return;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            list.remove(documentId);
+            if (list.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        termsByDocument.clear();
+    }
+
+    /**
+     * @return the documents containing the term, or null if there are none
+     */
+    public PostingList getPostings(String term) {
+        return postings.get(term);
+    }
+
+    /**
+     * @return the posting lists of every term starting with prefix, sorted by term
+     */
+    public SortedMap<String, PostingList> getPostingsWithPrefix(String prefix) {
+        if (prefix.isEmpty())
+            return Collections.unmodifiableSortedMap(postings);
+        // no term starting with prefix sorts after prefix followed by the largest char
+        return Collections.unmodifiableSortedMap(postings.subMap(prefix, prefix + Character.MAX_VALUE));
+    }
+
+    public Set<Long> getDocumentIds() {
+        return Collections.unmodifiableSet(termsByDocument.keySet());
+    }
+
+    public int getDocumentCount() {
+        return termsByDocument.size();
+    }
+
+    /**
+     * Write the index as the sorted terms with their posting lists, followed by the terms of every
+     * document as positions in the sorted terms.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        Map<String, Integer> termPositions = new HashMap<>();
+        out.writeInt(postings.size());
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            termPositions.put(entry.getKey(), termPositions.size());
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+
+        out.writeInt(termsByDocument.size());
+        for (Map.Entry<Long, String[]> entry : termsByDocument.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            for (String term : entry.getValue())
+                out.writeInt(termPositions.get(term));
+        }
+    }
+
+    public static InvertedIndex readFrom(DataInput in) throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        int termCount = in.readInt();
+        List<String> terms = new ArrayList<>(termCount);
+        for (int i = 0; i < termCount; i++) {
+            String term = in.readUTF();
+            terms.add(term);
+            index.postings.put(term, PostingList.readFrom(in));
+        }
+
+        int documentCount = in.readInt();
+        for (int i = 0; i < documentCount; i++) {
+            long documentId = in.readLong();
+            String[] documentTerms = new String[in.readInt()];
+            for (int j = 0; j < documentTerms.length; j++)
+                documentTerms[j] = terms.get(in.readInt());
+            index.termsByDocument.put(documentId, documentTerms);
+        }
+        return index;
+    }
+}
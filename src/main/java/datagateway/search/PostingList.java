@@ -0,0 +1,126 @@
+package datagateway.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A sorted set of ids stored as variable-length deltas between consecutive ids.
+ *
+ * Ids are generated in increasing order, so new ids are larger than the existing ones and
+ * are appended without decoding the list. Any other change decodes and encodes the list again.
+ */
+public class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length = 0;
+    private int size = 0;
+    private long last = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return whether the id was not in the list already
+     */
+    public boolean add(long id) {
+        if (size == 0 || id > last) {
+            appendDelta(size == 0 ? id : id - last);
+            last = id;
+            size++;
+            return true;
+        }
+        long[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0)
+            return false;
+        long[] updated = new long[ids.length + 1];
+        int insertion = -position - 1;
+        System.arraycopy(ids, 0, updated, 0, insertion);
+        updated[insertion] = id;
+        System.arraycopy(ids, insertion, updated, insertion + 1, ids.length - insertion);
+        encode(updated);
+        return true;
+    }
+
+    /**
+     * @return whether the id was in the list
+     */
+    public boolean remove(long id) {
+        long[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0)
+            return false;
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+        encode(updated);
+        return true;
+    }
+
+    /**
+     * @return the ids in ascending order
+     */
+    public long[] toArray() {
+        long[] ids = new long[size];
+        int offset = 0;
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(length);
+        out.write(bytes, 0, length);
+    }
+
+    public static PostingList readFrom(DataInput in) throws IOException {
+        PostingList list = new PostingList();
+        list.size = in.readInt();
+        list.length = in.readInt();
+        list.bytes = new byte[Math.max(list.length, 8)];
+        in.readFully(list.bytes, 0, list.length);
+        long[] ids = list.toArray();
+        list.last = ids.length == 0 ? 0 : ids[ids.length - 1];
+        return list;
+    }
+
+    private void encode(long[] ids) {
+        length = 0;
+        size = 0;
+        last = 0;
+        for (long id : ids) {
+            appendDelta(size == 0 ? id : id - last);
+            last = id;
+            size++;
+        }
+    }
+
+    private void appendDelta(long delta) {
+        if (length + 10 > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+        while ((delta & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        bytes[length++] = (byte) delta;
+    }
+}
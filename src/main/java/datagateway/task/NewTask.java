@@ -0,0 +1,11 @@
+package datagateway.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The data of a task to add in bulk through {@link TodoListManager#addTasks(List)}
+ */
+public record NewTask(String name, Duration duration, LocalDateTime deadline, List<String> subtasks) {
+}
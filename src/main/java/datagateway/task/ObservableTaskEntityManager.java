@@ -1,5 +1,8 @@
 package datagateway.task;
 
+import datagateway.ChangeNotifier;
+import datagateway.ChangedField;
+import datagateway.EntityChange;
 import datagateway.Observer;
 
 import java.io.IOException;
@@ -12,10 +15,7 @@ public class ObservableTaskEntityManager implements ObservableTaskRepository {
 
     private final TodoListManager taskManager;
 
-    private final List<Observer<TaskReader>> onCreationObservers = new ArrayList<>();
-    private final List<Observer<TaskReader>> onUpdateObservers = new ArrayList<>();
-    private final List<Observer<TaskReader>> onDeleteObservers = new ArrayList<>();
-
+    private final ChangeNotifier<TaskReader> notifier = new ChangeNotifier<>();
 
     public ObservableTaskEntityManager(TodoListManager taskManager) {
         this.taskManager = taskManager;
@@ -24,29 +24,64 @@ public class ObservableTaskEntityManager implements ObservableTaskRepository {
 
     @Override
     public void addCreationObserver(Observer<TaskReader> observer) {
-        onCreationObservers.add(observer);
+        notifier.addCreationObserver(observer);
     }
 
     @Override
     public void addUpdateObserver(Observer<TaskReader> observer) {
-        onUpdateObservers.add(observer);
+        notifier.addUpdateObserver(observer);
     }
 
     @Override
     public void addDeleteObservers(Observer<TaskReader> observer) {
-        onDeleteObservers.add(observer);
+        notifier.addDeleteObserver(observer);
+    }
+
+    @Override
+    public void addChangeObserver(Observer<EntityChange<TaskReader>> observer) {
+        notifier.addChangeObserver(observer);
+    }
+
+    @Override
+    public void addChangeSetObserver(Observer<List<EntityChange<TaskReader>>> observer) {
+        notifier.addChangeSetObserver(observer);
+    }
+
+    @Override
+    public void beginBatch() {
+        notifier.beginBatch();
+    }
+
+    @Override
+    public void commitBatch() {
+        notifier.commitBatch();
+    }
+
+    @Override
+    public void addRenameObserver(Observer<TaskReader> observer) {
+        taskManager.addRenameObserver(observer);
+    }
+
+    @Override
+    public void addDurationObserver(Observer<TaskReader> observer) {
+        taskManager.addDurationObserver(observer);
+    }
+
+    @Override
+    public void addLoadObserver(Observer<List<TaskReader>> observer) {
+        taskManager.addLoadObserver(observer);
     }
 
     private void notifyCreationObservers(TaskReader tr) {
-        onCreationObservers.forEach(o -> o.notifyObserver(tr));
+        notifier.publish(EntityChange.created(tr.getId(), tr));
     }
 
-    private void notifyUpdateObservers(TaskReader tr) {
-        onUpdateObservers.forEach(o -> o.notifyObserver(tr));
+    private void notifyUpdateObservers(TaskReader tr, ChangedField field, Object oldValue, Object newValue) {
+        notifier.publish(EntityChange.updated(tr.getId(), field, oldValue, newValue, tr));
     }
 
     private void notifyDeleteObservers(TaskReader tr) {
-        onDeleteObservers.forEach(o -> o.notifyObserver(tr));
+        notifier.publish(EntityChange.deleted(tr.getId(), tr));
     }
 
     @Override
@@ -57,6 +92,22 @@ public class ObservableTaskEntityManager implements ObservableTaskRepository {
         return newTaskId;
     }
 
+    /**
+     * Add the tasks through the underlying manager, notifying the observers of all of them as one batch
+     */
+    @Override
+    public long[] addTasks(List<NewTask> newTasks) {
+        long[] ids = taskManager.addTasks(newTasks);
+        notifier.beginBatch();
+        try {
+            for (TaskReader newTask : taskManager.getTasks(ids))
+                notifyCreationObservers(newTask);
+        } finally {
+            notifier.commitBatch();
+        }
+        return ids;
+    }
+
     @Override
     public void deleteTask(long taskId) {
         TaskReader deletedTask = taskManager.getTask(taskId);
@@ -69,6 +120,41 @@ public class ObservableTaskEntityManager implements ObservableTaskRepository {
         return taskManager.getTask(taskId);
     }
 
+    @Override
+    public List<TaskReader> getTasks(long[] taskIds) {
+        return taskManager.getTasks(taskIds);
+    }
+
+    @Override
+    public List<TaskReader> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return taskManager.getTasksDueBetween(from, to);
+    }
+
+    @Override
+    public List<TaskReader> getIncompleteTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return taskManager.getIncompleteTasksDueBetween(from, to);
+    }
+
+    @Override
+    public List<TaskReader> getOverdueTasks(LocalDateTime now) {
+        return taskManager.getOverdueTasks(now);
+    }
+
+    @Override
+    public List<TaskReader> getNextDueTasks(LocalDateTime from, int limit) {
+        return taskManager.getNextDueTasks(from, limit);
+    }
+
+    @Override
+    public List<TaskReader> getTasksByDeadline() {
+        return taskManager.getTasksByDeadline();
+    }
+
+    @Override
+    public List<TaskReader> getIncompleteTasks() {
+        return taskManager.getIncompleteTasks();
+    }
+
     @Override
     public List<TaskReader> getAllTasks() {
         return taskManager.getAllTasks();
@@ -76,38 +162,50 @@ public class ObservableTaskEntityManager implements ObservableTaskRepository {
 
     @Override
     public void completeTask(long taskId) {
+        boolean wasCompleted = getTask(taskId).getCompleted();
         taskManager.completeTask(taskId);
-        notifyUpdateObservers(getTask(taskId));
+        TaskReader task = getTask(taskId);
+        notifyUpdateObservers(task, ChangedField.COMPLETED, wasCompleted, task.getCompleted());
     }
 
     @Override
     public void updateName(long id, String newName) {
+        String oldName = getTask(id).getName();
         taskManager.updateName(id, newName);
-        notifyUpdateObservers(getTask(id));
+        TaskReader task = getTask(id);
+        notifyUpdateObservers(task, ChangedField.NAME, oldName, task.getName());
     }
 
     @Override
     public void updateDuration(long id, Duration newDuration) {
+        Duration oldDuration = getTask(id).getDuration();
         taskManager.updateDuration(id, newDuration);
-        notifyUpdateObservers(getTask(id));
+        TaskReader task = getTask(id);
+        notifyUpdateObservers(task, ChangedField.DURATION, oldDuration, task.getDuration());
     }
 
     @Override
     public void updateDeadline(long id, LocalDateTime newDeadline) {
+        LocalDateTime oldDeadline = getTask(id).getDeadline();
         taskManager.updateDeadline(id, newDeadline);
-        notifyUpdateObservers(getTask(id));
+        TaskReader task = getTask(id);
+        notifyUpdateObservers(task, ChangedField.DEADLINE, oldDeadline, task.getDeadline());
     }
 
     @Override
     public void addSubtask(long id, String subtask) {
+        List<String> oldSubtasks = new ArrayList<>(getTask(id).getSubtasks());
         taskManager.addSubtask(id, subtask);
-        notifyUpdateObservers(getTask(id));
+        TaskReader task = getTask(id);
+        notifyUpdateObservers(task, ChangedField.SUBTASKS, oldSubtasks, new ArrayList<>(task.getSubtasks()));
     }
 
     @Override
     public void removeSubtask(long id, String subtask) {
+        List<String> oldSubtasks = new ArrayList<>(getTask(id).getSubtasks());
         taskManager.removeSubtask(id, subtask);
-        notifyUpdateObservers(getTask(id));
+        TaskReader task = getTask(id);
+        notifyUpdateObservers(task, ChangedField.SUBTASKS, oldSubtasks, new ArrayList<>(task.getSubtasks()));
     }
 
     @Override
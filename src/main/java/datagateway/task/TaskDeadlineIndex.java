@@ -0,0 +1,126 @@
+package datagateway.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps task ids ordered by (deadline, id), so that the tasks due in a range are found
+ * without going through every task.
+ *
+ * Incomplete tasks are also kept in a set of their own, so overdue and upcoming queries do
+ * not have to skip over completed tasks.
+ */
+class TaskDeadlineIndex {
+
+    private record Key(LocalDateTime deadline, long id) {
+    }
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::deadline).thenComparingLong(Key::id);
+
+    private final TreeSet<Key> all = new TreeSet<>(ORDER);
+    private final TreeSet<Key> incomplete = new TreeSet<>(ORDER);
+    private final Map<Long, Key> keys = new HashMap<>();
+    private final Set<Long> withoutDeadline = new LinkedHashSet<>();
+    private final Set<Long> incompleteWithoutDeadline = new LinkedHashSet<>();
+
+    void put(long id, LocalDateTime deadline, boolean completed) {
+        remove(id);
+        if (deadline == null) {
+            withoutDeadline.add(id);
+            if (!completed)
+                incompleteWithoutDeadline.add(id);
+            return;
+        }
+        Key key = new Key(deadline, id);
+        keys.put(id, key);
+        all.add(key);
+        if (!completed)
+            incomplete.add(key);
+    }
+
+    void remove(long id) {
+        withoutDeadline.remove(id);
+        incompleteWithoutDeadline.remove(id);
+        Key key = keys.remove(id);
+        if (key != null) {
+            all.remove(key);
+            incomplete.remove(key);
+        }
+    }
+
+    void clear() {
+        all.clear();
+        incomplete.clear();
+        keys.clear();
+        withoutDeadline.clear();
+        incompleteWithoutDeadline.clear();
+    }
+
+    /**
+     * @return the ids of the tasks due in [from, to)
+     */
+    List<Long> dueBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            return new ArrayList<>();
+        return ids(all.subSet(new Key(from, Long.MIN_VALUE), true, new Key(to, Long.MIN_VALUE), false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the ids of the incomplete tasks due in [from, to)
+     */
+    List<Long> incompleteDueBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            return new ArrayList<>();
+        return ids(incomplete.subSet(new Key(from, Long.MIN_VALUE), true, new Key(to, Long.MIN_VALUE), false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the ids of the incomplete tasks due before now
+     */
+    List<Long> overdue(LocalDateTime now) {
+        return ids(incomplete.headSet(new Key(now, Long.MIN_VALUE), false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the ids of the first limit incomplete tasks due at or after from
+     */
+    List<Long> nextDue(LocalDateTime from, int limit) {
+        return ids(incomplete.tailSet(new Key(from, Long.MIN_VALUE), true), limit);
+    }
+
+    /**
+     * @return the ids of every task by deadline, followed by the tasks without a deadline
+     */
+    List<Long> byDeadline() {
+        List<Long> ids = ids(all, Integer.MAX_VALUE);
+        ids.addAll(withoutDeadline);
+        return ids;
+    }
+
+    /**
+     * @return the ids of the incomplete tasks by deadline, followed by those without a deadline
+     */
+    List<Long> incomplete() {
+        List<Long> ids = ids(incomplete, Integer.MAX_VALUE);
+        ids.addAll(incompleteWithoutDeadline);
+        return ids;
+    }
+
+    private static List<Long> ids(NavigableSet<Key> keys, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Key key : keys) {
+            if (ids.size() >= limit)
+                break;
+            ids.add(key.id);
+        }
+        return ids;
+    }
+}
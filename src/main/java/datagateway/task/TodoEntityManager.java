@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import datagateway.Observer;
 import entity.Task;
 import services.Snowflake;
 
@@ -16,14 +17,21 @@ import java.lang.reflect.Type;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 
 public class TodoEntityManager implements TodoListManager{
-    private final List<Task> taskArrayList= new ArrayList<>();
+    // kept in insertion order, which is the order of getAllTasks and of the saved file
+    private final Map<Long, Task> tasks = new LinkedHashMap<>();
+    private final TaskDeadlineIndex deadlineIndex = new TaskDeadlineIndex();
     int taskCounter;
     private final Snowflake snowflake;
+    private final List<Observer<TaskReader>> renameObservers = new ArrayList<>();
+    private final List<Observer<TaskReader>> durationObservers = new ArrayList<>();
+    private final List<Observer<List<TaskReader>>> loadObservers = new ArrayList<>();
 
     private final Gson gson;
 
@@ -40,50 +48,120 @@ public class TodoEntityManager implements TodoListManager{
         taskCounter++;
         Task task = new Task(snowflake.nextId(), name, duration, deadline, subtasks);
 
-        taskArrayList.add(task);
+        putTask(task);
         return task.getId();
     }
 
+    /**
+     * Add the tasks with ids reserved from the snowflake as one block
+     */
+    @Override
+    public long[] addTasks(List<NewTask> newTasks) {
+        long[] ids = snowflake.nextIds(newTasks.size());
+        for (int i = 0; i < ids.length; i++) {
+            NewTask newTask = newTasks.get(i);
+            putTask(new Task(ids[i], newTask.name(), newTask.duration(), newTask.deadline(), newTask.subtasks()));
+        }
+        taskCounter += ids.length;
+        return ids;
+    }
+
     @Override
     public void deleteTask(long taskId) {
-        taskArrayList.removeIf(t -> t.getId() == taskId);
+        tasks.remove(taskId);
+        deadlineIndex.remove(taskId);
     }
 
     @Override
     public TaskReader getTask(long taskId){
-        for (Task t : taskArrayList)
-            if (t.getId() == taskId)
-                return new TaskToTaskReader(t);
-        return null;
+        Task task = getById(taskId);
+        return task == null ? null : new TaskToTaskReader(task);
+    }
+
+    @Override
+    public List<TaskReader> getTasks(long[] taskIds) {
+        List<TaskReader> found = new ArrayList<>(taskIds.length);
+        for (long taskId : taskIds) {
+            Task task = getById(taskId);
+            if (task != null)
+                found.add(new TaskToTaskReader(task));
+        }
+        return found;
+    }
+
+    @Override
+    public List<TaskReader> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return toReaders(deadlineIndex.dueBetween(from, to));
+    }
+
+    @Override
+    public List<TaskReader> getIncompleteTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return toReaders(deadlineIndex.incompleteDueBetween(from, to));
+    }
+
+    @Override
+    public List<TaskReader> getOverdueTasks(LocalDateTime now) {
+        return toReaders(deadlineIndex.overdue(now));
+    }
+
+    @Override
+    public List<TaskReader> getNextDueTasks(LocalDateTime from, int limit) {
+        return toReaders(deadlineIndex.nextDue(from, limit));
+    }
+
+    @Override
+    public List<TaskReader> getTasksByDeadline() {
+        return toReaders(deadlineIndex.byDeadline());
+    }
+
+    @Override
+    public List<TaskReader> getIncompleteTasks() {
+        return toReaders(deadlineIndex.incomplete());
+    }
+
+    private List<TaskReader> toReaders(List<Long> taskIds) {
+        List<TaskReader> found = new ArrayList<>(taskIds.size());
+        for (long taskId : taskIds)
+            found.add(new TaskToTaskReader(tasks.get(taskId)));
+        return found;
     }
 
     @Override
     public List<TaskReader> getAllTasks() {
         List<TaskReader> todoListTaskReaders = new ArrayList<>();
-        for (Task t : taskArrayList)
+        for (Task t : tasks.values())
             todoListTaskReaders.add(new TaskToTaskReader(t));
         return todoListTaskReaders;
     }
 
     @Override
     public void completeTask(long taskId) {
-        Objects.requireNonNull(getById(taskId)).setCompleted(true);
+        Task task = Objects.requireNonNull(getById(taskId));
+        task.setCompleted(true);
+        deadlineIndex.put(taskId, task.getDeadline(), true);
     }
 
 
     @Override
     public void updateName(long id, String newName) {
-        Objects.requireNonNull(getById(id)).setTaskName(newName);
+        Task task = Objects.requireNonNull(getById(id));
+        task.setTaskName(newName);
+        notifyRenameObservers(task);
     }
 
     @Override
     public void updateDuration(long id, Duration newDuration) {
-        Objects.requireNonNull(getById(id)).setTimeNeeded(newDuration);
+        Task task = Objects.requireNonNull(getById(id));
+        task.setTimeNeeded(newDuration);
+        TaskReader taskReader = new TaskToTaskReader(task);
+        durationObservers.forEach(o -> o.notifyObserver(taskReader));
     }
 
     @Override
     public void updateDeadline(long id, LocalDateTime newDeadline) {
-        Objects.requireNonNull(getById(id)).setDeadline(newDeadline);
+        Task task = Objects.requireNonNull(getById(id));
+        task.setDeadline(newDeadline);
+        deadlineIndex.put(id, newDeadline, task.getCompleted());
     }
 
     @Override
@@ -96,13 +174,33 @@ public class TodoEntityManager implements TodoListManager{
         Objects.requireNonNull(getById(id)).removeSubtask(subtask);
     }
 
+    @Override
+    public void addRenameObserver(Observer<TaskReader> observer) {
+        renameObservers.add(observer);
+    }
+
+    @Override
+    public void addDurationObserver(Observer<TaskReader> observer) {
+        durationObservers.add(observer);
+    }
+
+    @Override
+    public void addLoadObserver(Observer<List<TaskReader>> observer) {
+        loadObservers.add(observer);
+    }
+
+    private void notifyRenameObservers(Task task) {
+        TaskReader taskReader = new TaskToTaskReader(task);
+        renameObservers.forEach(o -> o.notifyObserver(taskReader));
+    }
+
+    private void putTask(Task task) {
+        tasks.put(task.getId(), task);
+        deadlineIndex.put(task.getId(), task.getDeadline(), task.getCompleted());
+    }
+
     private Task getById(long id){
-        for(Task task : taskArrayList){
-            if(task.getId() == id){
-                return task;
-            }
-        }
-        return null;
+        return tasks.get(id);
     }
 
 
@@ -123,7 +221,12 @@ public class TodoEntityManager implements TodoListManager{
 
             if(tasks != null)
             {
-                this.taskArrayList.addAll(tasks);
+                List<TaskReader> loaded = new ArrayList<>();
+                for (Task task : tasks) {
+                    putTask(task);
+                    loaded.add(new TaskToTaskReader(task));
+                }
+                loadObservers.forEach(o -> o.notifyObserver(loaded));
             }
             reader.close();
         }
@@ -132,7 +235,7 @@ public class TodoEntityManager implements TodoListManager{
     @Override
     public void saveTodo(String filename) throws IOException {
         FileWriter fw = new FileWriter(filename);
-        String cal_json = gson.toJson(this.taskArrayList);
+        String cal_json = gson.toJson(new ArrayList<>(this.tasks.values()));
         if(cal_json != null)
         {
             fw.write(cal_json);
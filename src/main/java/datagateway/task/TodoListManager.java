@@ -1,20 +1,130 @@
 package datagateway.task;
 
+import datagateway.Observer;
+
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface TodoListManager {
 
     long addTask(String name, Duration duration, LocalDateTime deadline, List<String> subtasks);
 
+    /**
+     * Add many tasks at once
+     * @return the ids of the new tasks, in the order of the given tasks
+     */
+    default long[] addTasks(List<NewTask> newTasks) {
+        long[] ids = new long[newTasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            NewTask task = newTasks.get(i);
+            ids[i] = addTask(task.name(), task.duration(), task.deadline(), task.subtasks());
+        }
+        return ids;
+    }
+
     void deleteTask(long taskId);
 
     TaskReader getTask(long taskId);
 
+    /**
+     * @return the tasks with the given ids in the same order, leaving out ids without a task
+     */
+    default List<TaskReader> getTasks(long[] taskIds) {
+        Map<Long, TaskReader> tasksById = new HashMap<>();
+        for (TaskReader task : getAllTasks())
+            tasksById.put(task.getId(), task);
+        List<TaskReader> found = new ArrayList<>(taskIds.length);
+        for (long taskId : taskIds) {
+            TaskReader task = tasksById.get(taskId);
+            if (task != null)
+                found.add(task);
+        }
+        return found;
+    }
+
     List<TaskReader> getAllTasks();
 
+    /**
+     * @return the tasks due in [from, to), ordered by deadline
+     */
+    default List<TaskReader> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        List<TaskReader> found = new ArrayList<>();
+        for (TaskReader task : getAllTasks()) {
+            LocalDateTime deadline = task.getDeadline();
+            if (deadline != null && !deadline.isBefore(from) && deadline.isBefore(to))
+                found.add(task);
+        }
+        sortByDeadline(found);
+        return found;
+    }
+
+    /**
+     * @return the incomplete tasks due in [from, to), ordered by deadline
+     */
+    default List<TaskReader> getIncompleteTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        List<TaskReader> found = new ArrayList<>(getTasksDueBetween(from, to));
+        found.removeIf(TaskReader::getCompleted);
+        return found;
+    }
+
+    /**
+     * @return the incomplete tasks due before now, ordered by deadline
+     */
+    default List<TaskReader> getOverdueTasks(LocalDateTime now) {
+        List<TaskReader> found = new ArrayList<>();
+        for (TaskReader task : getAllTasks()) {
+            if (!task.getCompleted() && task.getDeadline() != null && task.getDeadline().isBefore(now))
+                found.add(task);
+        }
+        sortByDeadline(found);
+        return found;
+    }
+
+    /**
+     * @return the first limit incomplete tasks due at or after from, ordered by deadline
+     */
+    default List<TaskReader> getNextDueTasks(LocalDateTime from, int limit) {
+        List<TaskReader> found = new ArrayList<>();
+        for (TaskReader task : getAllTasks()) {
+            if (!task.getCompleted() && task.getDeadline() != null && !task.getDeadline().isBefore(from))
+                found.add(task);
+        }
+        sortByDeadline(found);
+        return found.subList(0, Math.min(limit, found.size()));
+    }
+
+    /**
+     * @return every task ordered by deadline, followed by the tasks without a deadline
+     */
+    default List<TaskReader> getTasksByDeadline() {
+        List<TaskReader> found = new ArrayList<>(getAllTasks());
+        found.sort(Comparator.comparing(TaskReader::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(TaskReader::getId));
+        return found;
+    }
+
+    /**
+     * @return the incomplete tasks
+     */
+    default List<TaskReader> getIncompleteTasks() {
+        List<TaskReader> found = new ArrayList<>();
+        for (TaskReader task : getAllTasks()) {
+            if (!task.getCompleted())
+                found.add(task);
+        }
+        return found;
+    }
+
+    private static void sortByDeadline(List<TaskReader> tasks) {
+        tasks.sort(Comparator.comparing(TaskReader::getDeadline).thenComparingLong(TaskReader::getId));
+    }
+
     void completeTask(long taskId);
 
     void updateName(long id, String newName);
@@ -31,4 +141,25 @@ public interface TodoListManager {
 
     void saveTodo(String filepath) throws IOException;
 
+    /**
+     * Observe the names of tasks changing by updateName.
+     * Implementations that never change names may ignore the observer.
+     */
+    default void addRenameObserver(Observer<TaskReader> observer) {
+    }
+
+    /**
+     * Observe the durations of tasks changing by updateDuration.
+     * Implementations that never change durations may ignore the observer.
+     */
+    default void addDurationObserver(Observer<TaskReader> observer) {
+    }
+
+    /**
+     * Observe tasks being loaded by loadTodo, which may happen on another thread than the one changing the tasks.
+     * Implementations that never load tasks may ignore the observer.
+     */
+    default void addLoadObserver(Observer<List<TaskReader>> observer) {
+    }
+
 }
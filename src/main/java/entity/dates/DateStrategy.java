@@ -5,8 +5,28 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Generates the dates of an event.
+ *
+ * Strategies are saved with Java serialization, so implementations declare their serialVersionUID
+ * to keep saved calendars readable when methods are added.
+ */
 public interface DateStrategy extends Serializable {
 
     List<TimeFrame> datesBetween(LocalDateTime startDateTime, LocalDateTime endDateTime, Duration eventDuration);
 
+    /**
+     * @return a time no later than the start of any generated date, or null if there is no such bound
+     */
+    default LocalDateTime getEarliestStart() {
+        return null;
+    }
+
+    /**
+     * @return a time no earlier than the start of any generated date, or null if there is no such bound
+     */
+    default LocalDateTime getLatestStart() {
+        return null;
+    }
+
 }
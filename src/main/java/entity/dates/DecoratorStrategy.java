@@ -9,6 +9,8 @@ import java.util.List;
  */
 abstract public class DecoratorStrategy implements DateStrategy {
 
+    private static final long serialVersionUID = 3433867794221187656L;
+
     private DateStrategy strategy;
 
     public void setStrategy(DateStrategy strategy) {
@@ -20,6 +22,16 @@ abstract public class DecoratorStrategy implements DateStrategy {
         return strategy.datesBetween(startDateTime, endDateTime, eventDuration);
     }
 
+    @Override
+    public LocalDateTime getEarliestStart() {
+        return strategy.getEarliestStart();
+    }
+
+    @Override
+    public LocalDateTime getLatestStart() {
+        return strategy.getLatestStart();
+    }
+
     @Override
     public String toString() {
         return strategy.toString();
@@ -17,4 +17,13 @@ public class TimeFrame {
         this.startTime = startTime;
         this.duration = duration;
     }
+
+    /**
+     * @return whether the time frame overlaps from (inclusive) to (exclusive), counting a time frame without
+     * duration starting at from
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        boolean endsAfterFrom = startTime.plus(duration).isAfter(from) || !startTime.isBefore(from);
+        return endsAfterFrom && startTime.isBefore(to);
+    }
 }
@@ -2,6 +2,7 @@ package gui;
 
 import gui.utility.InstanceMapper;
 import gui.utility.NavigationHelper;
+import gui.utility.StartupMetrics;
 import gui.view.MainPageController;
 import gui.view.calendar.MonthlyCalendarController;
 import gui.view.todolist.TodoListPageController;
@@ -9,13 +10,17 @@ import gui.view.calendar.WeeklyCalendarController;
 import gui.view.todolist.AddTaskPageController;
 import gui.view.todolist.TaskPageController;
 import gui.view.SettingsController;
+import gui.viewmodel.MainPageViewModel;
 import gui.viewmodel.ViewModelFactory;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import services.eventfromtaskcreation.SchedulingConstraints;
 import services.servicesfactory.BasicObservableRepositoryFactory;
+import services.servicesfactory.BasicServiceFactory;
 import services.servicesfactory.NotificationServiceFactory;
 import services.servicesfactory.ObservableRepositoryFactory;
 import services.servicesfactory.ServicesFactory;
@@ -26,20 +31,45 @@ import java.util.Objects;
 
 public class GUIDriver extends Application {
 
+    private static StartupMetrics startupMetrics;
+
+    /**
+     * @return the timings of the startup of the running application, or null if it is not started
+     */
+    public static StartupMetrics getStartupMetrics() {
+        return startupMetrics;
+    }
+
     @Override
     public void start(Stage primaryStage) throws Exception{
-        ViewModelFactory factory = configure();
+        StartupMetrics metrics = new StartupMetrics();
+        startupMetrics = metrics;
+        ObservableRepositoryFactory repositoryFactory = new BasicObservableRepositoryFactory();
+        ServicesFactory servicesFactory = new NotificationServiceFactory(
+                new BasicServiceFactory(repositoryFactory, SchedulingConstraints.defaults()));
+        ViewModelFactory factory = new ViewModelFactory(repositoryFactory, servicesFactory, Platform::runLater);
+
         FXMLLoader loader = new FXMLLoader();
         loader.setLocation(Objects.requireNonNull(getClass().getResource("/mainPage.fxml")));
         Parent root = loader.load();
-        ((MainPageController) loader.getController()).init(factory.getMainPageViewModel());
+        MainPageController mainPageController = loader.getController();
 
         primaryStage.setResizable(false);
         primaryStage.setTitle("Project Time");
-        primaryStage.setScene(new Scene(root, 1000, 800));
+        Scene scene = new Scene(root, 1000, 800);
+        NavigationHelper.afterNextLayout(scene, () -> metrics.mark(StartupMetrics.FIRST_FRAME));
+        primaryStage.setScene(scene);
         primaryStage.show();
 
         primaryStage.setOnCloseRequest(e -> System.exit(0));
+
+        // nothing reads the repositories until they are loaded, as the view models are only made afterwards
+        Thread loadingThread = new Thread(() -> {
+            load(repositoryFactory, servicesFactory, metrics);
+            Platform.runLater(() -> hydrate(factory, scene, mainPageController, metrics));
+        }, "startup-loader");
+        loadingThread.setDaemon(true);
+        loadingThread.start();
     }
 
 
@@ -47,31 +77,45 @@ public class GUIDriver extends Application {
         launch(args);
     }
 
-    private ViewModelFactory configure() {
-
-        ObservableRepositoryFactory repositoryFactory = new BasicObservableRepositoryFactory();
-        ServicesFactory servicesFactory = new NotificationServiceFactory(repositoryFactory);
-        ViewModelFactory factory = new ViewModelFactory(repositoryFactory, servicesFactory);
+    /**
+     * Reads the saved data into the repositories, off the JavaFX thread
+     */
+    private void load(ObservableRepositoryFactory repositoryFactory, ServicesFactory servicesFactory,
+                      StartupMetrics metrics) {
         PomodoroManager pomodoroManager = new PomodoroManager();
         pomodoroManager.deleteTimer("PomodoroData.json");
 
         try {
             repositoryFactory.makeEventRepository().loadEvents("EventData.json");
+            metrics.mark("events loaded");
             repositoryFactory.makeTaskRepository().loadTodo("TaskData.json");
+            metrics.mark("tasks loaded");
+            servicesFactory.makeSearchIndexSaver().load("SearchIndex.bin");
+            metrics.mark("search index loaded");
         } catch (IOException e) {
             e.printStackTrace();
         }
+    }
 
+    /**
+     * Shows the main page once the data is loaded, and maps the other pages to view models made on the JavaFX thread
+     * when they are first shown, so that pages never opened cost nothing
+     */
+    private void hydrate(ViewModelFactory factory, Scene mainPageScene, MainPageController mainPageController,
+                         StartupMetrics metrics) {
         InstanceMapper instanceMapper = new InstanceMapper();
-        instanceMapper.addMapping(MainPageController.class, factory.getMainPageViewModel());
-        instanceMapper.addMapping(MonthlyCalendarController.class, factory.getMonthlyCalendarViewModel());
-        instanceMapper.addMapping(WeeklyCalendarController.class, factory.getWeeklyCalendarViewModel());
-        instanceMapper.addMapping(TodoListPageController.class, factory.getTodoListPageViewModel());
-        instanceMapper.addMapping(AddTaskPageController.class, factory.getAddTaskPageViewModel());
-        instanceMapper.addMapping(TaskPageController.class, factory.getTaskPageViewModel());
-        instanceMapper.addMapping(SettingsController.class, factory.getSettingViewModel());
+        MainPageViewModel mainPageViewModel = factory.getMainPageViewModel();
+        instanceMapper.addMapping(MainPageController.class, mainPageViewModel);
+        instanceMapper.addMapping(MonthlyCalendarController.class, factory::getMonthlyCalendarViewModel);
+        instanceMapper.addMapping(WeeklyCalendarController.class, factory::getWeeklyCalendarViewModel);
+        instanceMapper.addMapping(TodoListPageController.class, factory::getTodoListPageViewModel);
+        instanceMapper.addMapping(AddTaskPageController.class, factory::getAddTaskPageViewModel);
+        instanceMapper.addMapping(TaskPageController.class, factory::getTaskPageViewModel);
+        instanceMapper.addMapping(SettingsController.class, factory::getSettingViewModel);
         NavigationHelper.setInstanceMap(instanceMapper);
 
-        return factory;
+        mainPageController.init(mainPageViewModel);
+        NavigationHelper.cachePage("/mainPage.fxml", mainPageScene, mainPageController);
+        metrics.mark(StartupMetrics.INTERACTIVE);
     }
 }
@@ -2,15 +2,11 @@ package gui.utility;
 
 import com.calendarfx.model.Entry;
 import consoleapp.eventadapters.CalendarEventData;
-import entity.dates.TimeFrame;
 import services.eventcreation.CalendarEventModel;
 import services.strategybuilding.MultipleRuleFormBuilder;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.HashSet;
-import java.util.Set;
-import java.util.function.BiFunction;
 
 /**
  * A helper class that contains methods related
@@ -32,10 +28,4 @@ public class EventHelper {
                 duration, builder.getForm(), new HashSet<>());
     }
 
-    public static Set<TimeFrame> getTimesFromStaticRange(BiFunction<LocalDateTime, LocalDateTime, Set<TimeFrame>> dateStrategy) {
-        LocalDateTime from = LocalDateTime.now().minusYears(2);
-        LocalDateTime to = LocalDateTime.now().plusYears(2);
-        return dateStrategy.apply(from, to);
-    }
-
 }
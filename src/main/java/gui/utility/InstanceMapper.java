@@ -5,16 +5,32 @@ import gui.viewmodel.ViewModel;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class InstanceMapper {
 
-    private final Map<Class<? extends ViewModelBindingController>, ViewModel> instanceMap = new HashMap<>();
+    private final Map<Class<? extends ViewModelBindingController>, Supplier<? extends ViewModel>> instanceMap =
+            new HashMap<>();
 
+    /**
+     * @return the view model of the controller, made on the first call if it is mapped to a supplier, or null if
+     * the controller is not mapped
+     */
     public ViewModel getViewModel(Class<? extends ViewModelBindingController> controller) {
-        return instanceMap.get(controller);
+        Supplier<? extends ViewModel> supplier = instanceMap.get(controller);
+        return supplier == null ? null : supplier.get();
     }
 
     public void addMapping(Class<? extends ViewModelBindingController> controller, ViewModel viewModel) {
-        instanceMap.put(controller, viewModel);
+        instanceMap.put(controller, () -> viewModel);
+    }
+
+    /**
+     * Map the controller to a view model made when its page is first shown
+     * @param viewModelSupplier supplies the view model, returning the same one on every call
+     */
+    public void addMapping(Class<? extends ViewModelBindingController> controller,
+                           Supplier<? extends ViewModel> viewModelSupplier) {
+        instanceMap.put(controller, viewModelSupplier);
     }
 }
@@ -2,6 +2,8 @@ package gui.utility;
 
 import com.jfoenix.controls.JFXDrawer;
 import gui.view.ViewModelBindingController;
+import gui.viewmodel.ViewModel;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.fxml.FXMLLoader;
@@ -13,6 +15,9 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -24,12 +29,57 @@ public final class NavigationHelper {
     private NavigationHelper() {
     }
 
+    // the number of pages whose scene is kept to be shown again without loading their FXML file, which covers every
+    // cacheable page: an evicted controller would stay subscribed to its view model
+    private static final int CACHED_PAGES = 5;
+
     private static InstanceMapper instanceMapper = new InstanceMapper();
+    private static final NavigationMetrics metrics = new NavigationMetrics();
+    // the pages last shown by their FXML file, least recently shown first
+    private static final Map<String, CachedPage> cachedPages = new LinkedHashMap<>(CACHED_PAGES + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
 
     public static void setInstanceMap(InstanceMapper mapper) {
         instanceMapper = mapper;
     }
 
+    private record CachedPage(Scene scene, ViewModelBindingController controller) {
+    }
+
+    /**
+     * Keep a page shown without going through this class, like the first page of the application
+     * @param page the FXML file of the page
+     * @param controller the controller of the page, already initialized
+     */
+    public static void cachePage(String page, Scene scene, ViewModelBindingController controller) {
+        cachedPages.put(page, new CachedPage(scene, controller));
+    }
+
+    /**
+     * @return the time taken by the page switches so far
+     */
+    public static NavigationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Run the action once, after the next layout of the scene, which comes just before the scene is drawn
+     */
+    public static void afterNextLayout(Scene scene, Runnable action) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                // removed after the pulse, as the listeners are being run
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                action.run();
+            }
+        });
+    }
+
     /**
      * Initializes the navigation panels in a view page by adding them into the JFXDrawers.
      * @param extendedNavPanel the navigation panel that is only shown when the menu icon is pressed
@@ -58,9 +108,7 @@ public final class NavigationHelper {
      * @throws IOException if the resource file cannot be found
      */
     public static void enterMonthlyCalendarPage(Event event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/monthlyCalendar.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/monthlyCalendar.fxml", true);
     }
 
     /**
@@ -69,9 +117,7 @@ public final class NavigationHelper {
      * @throws IOException if the resource file cannot be found
      */
     private static void enterWeeklyCalendarPage(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/weeklyCalendar.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/weeklyCalendar.fxml", true);
     }
 
     /**
@@ -94,9 +140,7 @@ public final class NavigationHelper {
      * @throws IOException if the resource file cannot be found
      */
     public static void enterHomePage(MouseEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/mainPage.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/mainPage.fxml", true);
     }
 
     /**
@@ -117,9 +161,7 @@ public final class NavigationHelper {
      * @throws IOException if the resource file cannot be found
      */
     public static void enterSettingsPage(MouseEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/settings.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/settings.fxml", true);
     }
 
     /**
@@ -128,36 +170,60 @@ public final class NavigationHelper {
      * @throws IOException if the resource file cannot be found
      */
     public static void enterTodoListPage(MouseEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/todoListPage.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/todoListPage.fxml", true);
     }
 
     public static void enterTaskPage(MouseEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/taskPage.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/taskPage.fxml", false);
     }
 
     public static void enterAddTaskPage(MouseEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource("/addTaskPage.fxml")));
-        initializeControllerAndSetNewScene(event, loader);
+        switchToPage(event, "/addTaskPage.fxml", false);
     }
 
     /**
-     * Initializes the controller by injecting a view model into it, and then sets a new scene.
-     * Used by the other methods when handling requests to change view pages.
+     * Shows the page in the window of the event. A page seen recently is shown again with its scene, otherwise its
+     * FXML file is loaded and its controller initialized by injecting a view model into it.
+     * Nothing happens if the view model of the page is not made yet.
      * @param event the event that triggered the request to change view
-     * @param loader the FXMLLoader with its location set as the fxml file to be loaded
+     * @param page the FXML file of the page
+     * @param cacheable whether the page may be shown again with the same scene, which is not the case for forms
+     *                  that must start out empty
      */
-    private static void initializeControllerAndSetNewScene(Event event, FXMLLoader loader) throws IOException {
-        // Note: load() needs to be called before the associated controller is instantiated
-        Parent root = loader.load();
-        ViewModelBindingController controller = loader.getController();
-        controller.init(instanceMapper.getViewModel(controller.getClass()));
+    private static void switchToPage(Event event, String page, boolean cacheable) throws IOException {
+        long start = System.nanoTime();
+        CachedPage cachedPage = cacheable ? cachedPages.get(page) : null;
+        boolean cached = cachedPage != null;
+        Scene scene;
+        if (cached) {
+            scene = cachedPage.scene();
+            // the menu was left open when leaving the page
+            Node extendedNavPanel = scene.lookup("#extendedNavPanel");
+            if (extendedNavPanel instanceof JFXDrawer drawer) {
+                drawer.setVisible(false);
+                drawer.close();
+            }
+        } else {
+            FXMLLoader loader = new FXMLLoader();
+            loader.setLocation(Objects.requireNonNull(NavigationHelper.class.getResource(page)));
+            // Note: load() needs to be called before the associated controller is instantiated
+            Parent root = loader.load();
+            ViewModelBindingController controller = loader.getController();
+            ViewModel viewModel = instanceMapper.getViewModel(controller.getClass());
+            // the pages are only mapped once the saved data is loaded at startup
+            if (viewModel == null)
+                return;
+            controller.init(viewModel);
+            scene = new Scene(root, 1000, 800);
+            if (cacheable)
+                cachedPages.put(page, new CachedPage(scene, controller));
+        }
+
+        afterNextLayout(scene, () -> metrics.record(page, cached, Duration.ofNanos(System.nanoTime() - start)));
         Stage currentStage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        currentStage.setScene(new Scene(root, 1000, 800));
+        currentStage.setScene(scene);
         currentStage.show();
+        if (cached)
+            cachedPage.controller().pageReshown();
     }
 }
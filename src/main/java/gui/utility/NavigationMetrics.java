@@ -0,0 +1,79 @@
+package gui.utility;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records how long switching to each page takes, from the navigation request to the page being laid out, apart for
+ * the pages loaded from their FXML file and those reused from the cache.
+ */
+public class NavigationMetrics {
+
+    private static class Samples {
+        int count;
+        Duration total = Duration.ZERO;
+
+        void add(Duration latency) {
+            count++;
+            total = total.plus(latency);
+        }
+
+        Duration average() {
+            return count == 0 ? null : total.dividedBy(count);
+        }
+    }
+
+    private final Map<String, Samples> loaded = new LinkedHashMap<>();
+    private final Map<String, Samples> reused = new LinkedHashMap<>();
+
+    /**
+     * @param page the name of the page switched to
+     * @param cached whether the page was reused from the cache rather than loaded
+     * @param latency the time the switch took
+     */
+    public void record(String page, boolean cached, Duration latency) {
+        (cached ? reused : loaded).computeIfAbsent(page, p -> new Samples()).add(latency);
+    }
+
+    /**
+     * @return the average time to switch to the page when loading it, or null if it was never loaded
+     */
+    public Duration getAverageLoadedSwitch(String page) {
+        Samples samples = loaded.get(page);
+        return samples == null ? null : samples.average();
+    }
+
+    /**
+     * @return the average time to switch to the page when reusing it, or null if it was never reused
+     */
+    public Duration getAverageCachedSwitch(String page) {
+        Samples samples = reused.get(page);
+        return samples == null ? null : samples.average();
+    }
+
+    @Override
+    public String toString() {
+        // a page shown at startup is cached without having been loaded through navigation
+        Set<String> pages = new LinkedHashSet<>(loaded.keySet());
+        pages.addAll(reused.keySet());
+        List<String> descriptions = new ArrayList<>();
+        for (String page : pages) {
+            List<String> parts = new ArrayList<>();
+            if (loaded.containsKey(page))
+                parts.add("loaded " + describe(loaded.get(page)));
+            if (reused.containsKey(page))
+                parts.add("cached " + describe(reused.get(page)));
+            descriptions.add(page + " " + String.join(", ", parts));
+        }
+        return "Page switches: " + String.join("; ", descriptions);
+    }
+
+    private static String describe(Samples samples) {
+        return samples.count + "x avg " + samples.average().toMillis() + " ms";
+    }
+}
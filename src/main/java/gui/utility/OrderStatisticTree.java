@@ -0,0 +1,199 @@
+package gui.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A sorted set that finds the position of an element, and the element at a position, in O(log n), so that a
+ * sorted list shown in a view can be patched at the right index instead of being rebuilt.
+ *
+ * It is a treap, a binary search tree kept balanced by random priorities, whose nodes count the elements
+ * of their subtree. Elements comparing equal to an element already in the tree are not added.
+ * @param <E> the type of the elements
+ */
+public class OrderStatisticTree<E> {
+
+    private static class Node<E> {
+        final E value;
+        final int priority;
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    // seeded so that the shape of the tree, and so its speed, is the same from one run to the next
+    private final Random priorities = new Random(207);
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * @return the position the element was added at, or -1 if an equal element is already in the tree
+     */
+    public int add(E element) {
+        if (indexOf(element) >= 0)
+            return -1;
+        int index = countLess(element);
+        Node<E>[] halves = split(root, element);
+        root = merge(merge(halves[0], new Node<>(element, priorities.nextInt())), halves[1]);
+        return index;
+    }
+
+    /**
+     * @return the position the element was removed from, or -1 if it is not in the tree
+     */
+    public int remove(E element) {
+        int index = indexOf(element);
+        if (index >= 0)
+            root = remove(root, element);
+        return index;
+    }
+
+    /**
+     * @return the position of the element in sorted order, or -1 if it is not in the tree
+     */
+    public int indexOf(E element) {
+        int index = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(element, node.value);
+            if (comparison == 0)
+                return index + size(node.left);
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if there is no element at the position
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index == leftSize)
+                return node.value;
+            if (index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * @return the elements in sorted order
+     */
+    public List<E> toList() {
+        List<E> elements = new ArrayList<>(size());
+        addInOrder(root, elements);
+        return elements;
+    }
+
+    private int countLess(E element) {
+        int count = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(element, node.value) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the nodes less than the element, and the others
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<E>[] split(Node<E> node, E element) {
+        if (node == null)
+            return new Node[]{null, null};
+        if (comparator.compare(node.value, element) < 0) {
+            Node<E>[] halves = split(node.right, element);
+            node.right = halves[0];
+            update(node);
+            halves[0] = node;
+            return halves;
+        }
+        Node<E>[] halves = split(node.left, element);
+        node.left = halves[1];
+        update(node);
+        halves[1] = node;
+        return halves;
+    }
+
+    /**
+     * @return the union of two trees, every element of the first being less than every element of the second
+     */
+    private Node<E> merge(Node<E> lower, Node<E> upper) {
+        if (lower == null)
+            return upper;
+        if (upper == null)
+            return lower;
+        if (lower.priority > upper.priority) {
+            lower.right = merge(lower.right, upper);
+            update(lower);
+            return lower;
+        }
+        upper.left = merge(lower, upper.left);
+        update(upper);
+        return upper;
+    }
+
+    private Node<E> remove(Node<E> node, E element) {
+        int comparison = comparator.compare(element, node.value);
+        if (comparison == 0)
+            return merge(node.left, node.right);
+        if (comparison < 0)
+            node.left = remove(node.left, element);
+        else
+            node.right = remove(node.right, element);
+        update(node);
+        return node;
+    }
+
+    private void addInOrder(Node<E> node, List<E> elements) {
+        while (node != null) {
+            addInOrder(node.left, elements);
+            elements.add(node.value);
+            node = node.right;
+        }
+    }
+
+    private static <E> void update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
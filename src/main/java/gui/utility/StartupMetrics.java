@@ -0,0 +1,75 @@
+package gui.utility;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Records how long after launch the application reaches the milestones of its startup, such as showing its first
+ * frame and becoming interactive. Milestones may be reached on the JavaFX thread or on the thread loading the data.
+ */
+public class StartupMetrics {
+
+    public static final String FIRST_FRAME = "first frame";
+    public static final String INTERACTIVE = "interactive";
+
+    private final LongSupplier nanoClock;
+    private final long launchNanos;
+    private final Map<String, Duration> milestones = new LinkedHashMap<>();
+
+    /**
+     * Start timing now
+     */
+    public StartupMetrics() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the source of the times, in nanoseconds, read once now for the launch
+     */
+    public StartupMetrics(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.launchNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record the time since launch, unless the milestone was already reached
+     */
+    public synchronized void mark(String milestone) {
+        milestones.putIfAbsent(milestone, Duration.ofNanos(nanoClock.getAsLong() - launchNanos));
+    }
+
+    /**
+     * @return the time from launch to the milestone, or null if it is not reached yet
+     */
+    public synchronized Duration get(String milestone) {
+        return milestones.get(milestone);
+    }
+
+    public Duration getTimeToFirstFrame() {
+        return get(FIRST_FRAME);
+    }
+
+    public Duration getTimeToInteractive() {
+        return get(INTERACTIVE);
+    }
+
+    /**
+     * @return the milestones reached, in the order they were reached
+     */
+    public synchronized Map<String, Duration> getMilestones() {
+        return new LinkedHashMap<>(milestones);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder("Startup:");
+        for (Map.Entry<String, Duration> milestone : milestones.entrySet())
+            text.append(' ').append(milestone.getKey()).append(" at ").append(milestone.getValue().toMillis())
+                    .append(" ms,");
+        if (!milestones.isEmpty())
+            text.setLength(text.length() - 1);
+        return text.toString();
+    }
+}
@@ -159,6 +159,8 @@ public class MainPageController implements Initializable, ViewModelBindingContro
 
     @FXML
     public void saveData() {
-        this.viewModel.saveData();
+        // the view model is given once the data is loaded
+        if (this.viewModel != null)
+            this.viewModel.saveData();
     }
 }
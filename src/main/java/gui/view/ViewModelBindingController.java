@@ -4,4 +4,11 @@ import gui.viewmodel.ViewModel;
 
 public interface ViewModelBindingController {
     void init(ViewModel viewModel);
+
+    /**
+     * Called when the page is shown again from the navigation cache, to catch up with what other pages sharing
+     * its view model changed in the meantime
+     */
+    default void pageReshown() {
+    }
 }
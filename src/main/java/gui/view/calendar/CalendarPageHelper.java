@@ -0,0 +1,89 @@
+package gui.view.calendar;
+
+import com.calendarfx.model.Entry;
+import gui.viewmodel.calendar.CalendarViewModel;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.SetChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.TextField;
+
+/**
+ * A helper class keeping the entries of the calendar pages in line with their view model.
+ *
+ * The calendar pages share a view model and are kept alive in the navigation cache while other pages are shown, so
+ * a page only puts the entries on its calendars while it is shown, and takes them back when it is shown again.
+ */
+final class CalendarPageHelper {
+
+    private CalendarPageHelper() {
+    }
+
+    /**
+     * Puts the entries back on the calendars of the page when they or the entries hidden by the tag filter change
+     * while the page is shown, and tells the user about the events moved to make room for their changes.
+     * @param page the page showing the entries
+     * @param viewModel the view model of the page
+     * @param entryList the entries of the page, bound to those of the view model
+     * @param placeEntries puts each entry on the calendar it belongs on, or takes it off if it is hidden
+     */
+    static void placeEntriesWhileShown(Node page, CalendarViewModel viewModel, ObservableList<Entry<String>> entryList,
+                                       Runnable placeEntries) {
+        viewModel.getHiddenEntryIds().addListener((SetChangeListener<String>) c -> placeIfShown(page, placeEntries));
+        entryList.addListener((ListChangeListener<Entry<String>>) c -> {
+            takeOffCalendar(c);
+            placeIfShown(page, placeEntries);
+        });
+        viewModel.addMoveNoticeObserver(notice -> {
+            if (isShown(page))
+                showMoveNotice(notice);
+        });
+    }
+
+    static void placeIfShown(Node page, Runnable placeEntries) {
+        if (isShown(page))
+            placeEntries.run();
+    }
+
+    /**
+     * Loads the range shown again with the tag filter of the page, and takes the entries back from the other
+     * calendar page, which puts them on its own calendars while it is shown
+     * @param showVisibleRange loads the entries of the dates the page shows
+     * @param placeEntries puts each entry on the calendar it belongs on, or takes it off if it is hidden
+     */
+    static void reshow(CalendarViewModel viewModel, TextField tagFilter, Runnable showVisibleRange,
+                       Runnable placeEntries) {
+        viewModel.setTagFilter(tagFilter.getText());
+        showVisibleRange.run();
+        placeEntries.run();
+    }
+
+    /**
+     * @return whether the page is in the window, as it is kept alive in the navigation cache while others are shown
+     */
+    static boolean isShown(Node page) {
+        Scene scene = page.getScene();
+        return scene != null && scene.getWindow() != null;
+    }
+
+    /**
+     * Takes the entries unloaded by the view model off their calendar.
+     */
+    private static void takeOffCalendar(ListChangeListener.Change<? extends Entry<String>> change) {
+        while (change.next()) {
+            for (Entry<String> removed : change.getRemoved())
+                removed.setCalendar(null);
+        }
+    }
+
+    /**
+     * Tells the user which automatically placed events were moved to make room for their change
+     */
+    private static void showMoveNotice(String notice) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION, notice);
+        alert.setHeaderText("Rescheduled events");
+        alert.show();
+    }
+}
@@ -20,10 +20,13 @@ import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.TextField;
 import javafx.util.Callback;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -36,6 +39,8 @@ public class MonthlyCalendarController implements Initializable, ViewModelBindin
     private MonthPage monthPage;
 
     private final ObservableList<Entry<String>> entryList = FXCollections.observableArrayList();
+    // the calendars the entries are put on, which only hold them while the page is shown
+    private Calendar calendar;
 
     @FXML
     private JFXDrawer collapsedNavPanel;
@@ -46,6 +51,9 @@ public class MonthlyCalendarController implements Initializable, ViewModelBindin
     @FXML
     private ComboBox<String> calendarType;
 
+    @FXML
+    private TextField tagFilter;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         NavigationHelper.initializeNavPanel(extendedNavPanel, collapsedNavPanel);
@@ -65,7 +73,7 @@ public class MonthlyCalendarController implements Initializable, ViewModelBindin
         Bindings.bindContentBidirectional(this.entryList, this.viewModel.getEntryList());
 
 
-        Calendar calendar = new Calendar("all");
+        calendar = new Calendar("all");
         for (Entry<String> entry : this.entryList) {
             entry.setCalendar(calendar);
         }
@@ -76,11 +84,55 @@ public class MonthlyCalendarController implements Initializable, ViewModelBindin
         EventHandler<CalendarEvent> updateEntryHandler = this::handleUpdateEntry;
         calendar.addEventHandler(updateEntryHandler);
 
+        this.viewModel.setTagFilter(tagFilter.getText());
+        tagFilter.textProperty().addListener((observable, oldValue, newValue) -> this.viewModel.setTagFilter(newValue));
+        showUnfilteredEntries(calendar);
+        CalendarPageHelper.placeEntriesWhileShown(monthPage, this.viewModel, this.entryList,
+                () -> showUnfilteredEntries(calendar));
+
+        showVisibleRange();
+        // the page is not in the window yet, so the listeners left the loaded entries alone
+        showUnfilteredEntries(calendar);
+        monthPage.dateProperty().addListener((observable, oldValue, newValue) -> showVisibleRange());
+
         MonthView monthView = this.monthPage.getMonthView();
         monthView.setEntryViewFactory(new EventCreationHandler(this.entryList, this.viewModel));
     }
 
+    /**
+     * Takes the entries hidden by the tag filter off the calendar and puts the others back.
+     */
+    private void showUnfilteredEntries(Calendar calendar) {
+        for (Entry<String> entry : this.entryList) {
+            Calendar target = this.viewModel.getHiddenEntryIds().contains(entry.getId()) ? null : calendar;
+            if (entry.getCalendar() != target)
+                entry.setCalendar(target);
+        }
+    }
+
+    /**
+     * Loads the range shown again and takes the entries back from the other calendar page, which puts them on its
+     * own calendars while it is shown
+     */
+    @Override
+    public void pageReshown() {
+        CalendarPageHelper.reshow(this.viewModel, tagFilter, this::showVisibleRange,
+                () -> showUnfilteredEntries(calendar));
+    }
+
+    /**
+     * Loads the entries of the six weeks the month view shows around the selected date.
+     */
+    private void showVisibleRange() {
+        LocalDate firstShown = monthPage.getDate().withDayOfMonth(1)
+                .with(TemporalAdjusters.previousOrSame(monthPage.getFirstDayOfWeek()));
+        this.viewModel.showRange(firstShown, firstShown.plusWeeks(6));
+    }
+
     private void handleUpdateEntry(CalendarEvent event) {
+        // hiding an entry does not change its event
+        if (event.getEventType() == CalendarEvent.ENTRY_CALENDAR_CHANGED)
+            return;
         this.viewModel.updateEventFromView(event);
     }
 
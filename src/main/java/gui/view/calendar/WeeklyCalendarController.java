@@ -14,15 +14,19 @@ import gui.viewmodel.ViewModel;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.SetChangeListener;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.TextField;
 import javafx.event.ActionEvent;
 import javafx.util.Callback;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ResourceBundle;
 
 public class WeeklyCalendarController implements Initializable, ViewModelBindingController {
@@ -33,6 +37,9 @@ public class WeeklyCalendarController implements Initializable, ViewModelBinding
     private WeekPage weekPage;
 
     private final ObservableList<Entry<String>> entryList = FXCollections.observableArrayList();
+    // the calendars the entries are put on, which only hold them while the page is shown
+    private Calendar calendar;
+    private Calendar conflictCalendar;
 
     @FXML
     private JFXDrawer collapsedNavPanel;
@@ -43,6 +50,9 @@ public class WeeklyCalendarController implements Initializable, ViewModelBinding
     @FXML
     private ComboBox<String> calendarType;
 
+    @FXML
+    private TextField tagFilter;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         NavigationHelper.initializeNavPanel(extendedNavPanel, collapsedNavPanel);
@@ -60,22 +70,80 @@ public class WeeklyCalendarController implements Initializable, ViewModelBinding
         this.viewModel = (CalendarViewModel) viewModel;
         Bindings.bindContentBidirectional(this.entryList, this.viewModel.getEntryList());
 
-        Calendar calendar = new Calendar("all");
+        calendar = new Calendar("all");
         for (Entry<String> entry : this.entryList) {
             entry.setCalendar(calendar);
         }
+        conflictCalendar = new Calendar("conflicts");
+        conflictCalendar.setStyle(Calendar.Style.STYLE5);
         CalendarSource source = new CalendarSource();
         source.getCalendars().add(calendar);
+        source.getCalendars().add(conflictCalendar);
         weekPage.getCalendarSources().add(source);
 
         EventHandler<CalendarEvent> updateEntryHandler = this::handleUpdateEntry;
         calendar.addEventHandler(updateEntryHandler);
+        conflictCalendar.addEventHandler(updateEntryHandler);
+
+        this.viewModel.setTagFilter(tagFilter.getText());
+        tagFilter.textProperty().addListener((observable, oldValue, newValue) -> this.viewModel.setTagFilter(newValue));
+
+        highlightConflicts(calendar, conflictCalendar);
+        Runnable placeEntries = () -> highlightConflicts(calendar, conflictCalendar);
+        this.viewModel.getConflictingEntryIds().addListener(
+                (SetChangeListener<String>) c -> CalendarPageHelper.placeIfShown(weekPage, placeEntries));
+        CalendarPageHelper.placeEntriesWhileShown(weekPage, this.viewModel, this.entryList, placeEntries);
+
+        showVisibleRange();
+        // the page is not in the window yet, so the listeners left the loaded entries alone
+        highlightConflicts(calendar, conflictCalendar);
+        weekPage.dateProperty().addListener((observable, oldValue, newValue) -> showVisibleRange());
 
         Callback<DateControl.CreateEntryParameter, Entry<?>> defaultFactory = weekPage.getEntryFactory();
         weekPage.setEntryFactory(new EventCreationHandler(this.entryList, defaultFactory, (CalendarViewModel) viewModel));
     }
 
+    /**
+     * Moves the double-booked entries to the conflict calendar, which is shown in a different style,
+     * and every other entry back to the main calendar. Entries hidden by the tag filter are taken
+     * off both calendars.
+     */
+    private void highlightConflicts(Calendar calendar, Calendar conflictCalendar) {
+        for (Entry<String> entry : this.entryList) {
+            Calendar target;
+            if (this.viewModel.getHiddenEntryIds().contains(entry.getId()))
+                target = null;
+            else if (this.viewModel.getConflictingEntryIds().contains(entry.getId()))
+                target = conflictCalendar;
+            else
+                target = calendar;
+            if (entry.getCalendar() != target)
+                entry.setCalendar(target);
+        }
+    }
+
+    /**
+     * Loads the range shown again and takes the entries back from the other calendar page, which puts them on its
+     * own calendars while it is shown
+     */
+    @Override
+    public void pageReshown() {
+        CalendarPageHelper.reshow(this.viewModel, tagFilter, this::showVisibleRange,
+                () -> highlightConflicts(calendar, conflictCalendar));
+    }
+
+    /**
+     * Loads the entries of the week shown around the selected date.
+     */
+    private void showVisibleRange() {
+        LocalDate firstShown = weekPage.getDate().with(TemporalAdjusters.previousOrSame(weekPage.getFirstDayOfWeek()));
+        this.viewModel.showRange(firstShown, firstShown.plusWeeks(1));
+    }
+
     private void handleUpdateEntry(CalendarEvent event) {
+        // moving an entry between calendars, or hiding it, does not change its event
+        if (event.getEventType() == CalendarEvent.ENTRY_CALENDAR_CHANGED)
+            return;
         this.viewModel.updateEventFromView(event);
     }
 
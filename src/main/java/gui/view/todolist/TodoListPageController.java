@@ -8,15 +8,19 @@ import gui.viewmodel.todolist.TodoListPageViewModel;
 import gui.viewmodel.ViewModel;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
@@ -35,6 +39,9 @@ public class TodoListPageController implements Initializable, ViewModelBindingCo
     @FXML
     private JFXListView<HBox> todoList;
 
+    @FXML
+    private TextField searchField;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         NavigationHelper.initializeNavPanel(extendedNavPanel, collapsedNavPanel);
@@ -68,22 +75,58 @@ public class TodoListPageController implements Initializable, ViewModelBindingCo
 
         todoList.getStylesheets().add("todoListPage.css");
 
-        for (Map<String, String> taskInfo : this.taskInfoList) {
-            Label taskName = new Label(taskInfo.get("taskName"));
-            Label deadLine = new Label(taskInfo.get("deadline"));
+        showTasks();
+        this.taskInfoList.addListener((ListChangeListener<Map<String, String>>) this::updateTasks);
+
+        searchField.textProperty().addListener(
+                (observable, oldQuery, newQuery) -> this.viewModel.setSearchQuery(newQuery));
+        this.viewModel.setSearchQuery(searchField.getText());
+    }
 
-            taskName.setMinWidth(550);
-            taskName.setMaxWidth(550);
+    private void showTasks() {
+        todoList.getItems().clear();
+        for (Map<String, String> taskInfo : this.taskInfoList)
+            todoList.getItems().add(taskRow(taskInfo));
+    }
 
-            HBox task = new HBox(taskName, deadLine);
-            task.setId(taskInfo.get("id"));
-            if (Objects.equals(taskInfo.get("completed"), "true")) {
-                task.getStyleClass().add("completedTask");
-            } else {
-                task.getStyleClass().add("uncompletedTask");
+    /**
+     * Only builds the rows of the tasks that changed, at their position in the list
+     */
+    private void updateTasks(ListChangeListener.Change<? extends Map<String, String>> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                showTasks();
+                return;
+            }
+            int from = change.getFrom();
+            if (change.wasRemoved())
+                todoList.getItems().remove(from, from + change.getRemovedSize());
+            if (change.wasAdded()) {
+                List<HBox> added = new ArrayList<>();
+                for (Map<String, String> taskInfo : change.getAddedSubList())
+                    added.add(taskRow(taskInfo));
+                todoList.getItems().addAll(from, added);
             }
+        }
+    }
+
+    private HBox taskRow(Map<String, String> taskInfo) {
+        Label taskName = new Label(taskInfo.get("taskName"));
+        Label deadLine = new Label(taskInfo.get("deadline"));
 
-            todoList.getItems().add(task);
+        taskName.setMinWidth(550);
+        taskName.setMaxWidth(550);
+
+        HBox task = new HBox(taskName, deadLine);
+        task.setId(taskInfo.get("id"));
+        if (Objects.equals(taskInfo.get("completed"), "true")) {
+            task.getStyleClass().add("completedTask");
+        } else {
+            task.getStyleClass().add("uncompletedTask");
+        }
+        if (Objects.equals(taskInfo.get("feasible"), "false")) {
+            task.getStyleClass().add("infeasibleTask");
         }
+        return task;
     }
 }
@@ -8,7 +8,8 @@ import datagateway.task.TaskReader;
 import entity.dates.TimeFrame;
 import services.eventcreation.EventSaver;
 import services.eventpresentation.CalendarEventRequestBoundary;
-import services.eventpresentation.EventInfo;
+import services.eventpresentation.EventOccurrencesInfo;
+import services.search.SearchIndexSaver;
 import services.taskcreation.TaskSaver;
 import services.taskpresentation.TaskInfo;
 import services.taskpresentation.TaskInfoFromTaskReader;
@@ -19,48 +20,59 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
-import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 
-public class MainPageViewModel extends ViewModel implements Runnable{
+public class MainPageViewModel extends ViewModel {
     private final TodoListRequestBoundary taskGetter;
     private final TaskSaver taskSaver;
     private final CalendarEventRequestBoundary eventGetter;
     private final EventSaver eventSaver;
+    private final SearchIndexSaver searchIndexSaver;
 
     private final List<TaskEntry> relevantTasks = new ArrayList<>();
     private final List<EventEntry> relevantEvents = new ArrayList<>();
+    // the entries of relevantEvents by the id of their event, so that a change to an event only replaces its own
+    private final Map<Long, List<EventEntry>> eventEntriesById = new HashMap<>();
     private final List<Consumer<Infos>> observers = new ArrayList<>();
+    // the day whose tasks and events are relevant
+    private LocalDate today = LocalDate.now();
 
-    public MainPageViewModel(TodoListRequestBoundary taskGetter, TaskSaver taskSaver, CalendarEventRequestBoundary eventGetter, EventSaver eventSaver){
+    public MainPageViewModel(TodoListRequestBoundary taskGetter, TaskSaver taskSaver, CalendarEventRequestBoundary eventGetter,
+                             EventSaver eventSaver, SearchIndexSaver searchIndexSaver){
         this.taskGetter = taskGetter;
         this.taskSaver = taskSaver;
         this.eventGetter = eventGetter;
         this.eventSaver = eventSaver;
+        this.searchIndexSaver = searchIndexSaver;
 
         updateRelevantTasks();
         updateRelevantEvents();
+    }
 
-        new Thread(this).start();
+    /**
+     * A method listening to the day change scheduler, since the relevant tasks and events are those of the day
+     * @param date the new local date
+     */
+    public void handleDayChange(LocalDate date) {
+        today = date;
+        updateRelevantTasks();
+        updateRelevantEvents();
     }
 
     /**
      * Flushes out current relevant tasks with data live from the {@link ObservableTaskRepository}
      */
     private void updateRelevantTasks() {
-        List<TaskInfo> tasks = taskGetter.getTasks();
+        List<TaskInfo> tasks = taskGetter.getTasksDueBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
         relevantTasks.clear();
-        for (TaskInfo taskInfo : tasks) {
-            boolean taskEndsToday =
-                    taskInfo.getDeadline() != null
-                    && taskInfo.getDeadline().toLocalDate().equals(LocalDate.now());
-            if (taskEndsToday)
-                relevantTasks.add(new TaskEntry(taskInfo.getName(), taskInfo.getDeadline()));
-        }
+        for (TaskInfo taskInfo : tasks)
+            relevantTasks.add(new TaskEntry(taskInfo.getName(), taskInfo.getDeadline()));
         notifyObservers();
     }
 
@@ -68,14 +80,21 @@ public class MainPageViewModel extends ViewModel implements Runnable{
      * Flushes out current relevant events with data live from the {@link ObservableEventRepository}
      */
     private void updateRelevantEvents() {
-        List<EventInfo> events = eventGetter.getEvents();
-        relevantEvents.clear();
-        for(EventInfo eventInfo: events){
-            for(TimeFrame tr : getTimesFromStaticRange(eventInfo::getDatesBetween))
-                if (tr.startTime.toLocalDate().equals(LocalDate.now())){
-                    relevantEvents.add(new EventEntry(eventInfo.getName(), tr.startTime, tr.startTime.plus(tr.duration)));
-                }
+        List<EventOccurrencesInfo> events = eventGetter.getEventsBetween(today.atStartOfDay(),
+                today.plusDays(1).atStartOfDay(), 0, Integer.MAX_VALUE);
+        eventEntriesById.clear();
+        for (EventOccurrencesInfo found : events) {
+            List<EventEntry> entries = new ArrayList<>();
+            for (TimeFrame tr : found.getOccurrences()) {
+                // occurrences from the day before that run past midnight overlap the day too
+                if (tr.startTime.toLocalDate().equals(today))
+                    entries.add(new EventEntry(found.getEvent().getName(), tr.startTime,
+                            tr.startTime.plus(tr.duration)));
+            }
+            if (!entries.isEmpty())
+                eventEntriesById.put(found.getEvent().getId(), entries);
         }
+        sortRelevantEvents();
         notifyObservers();
     }
 
@@ -108,7 +127,7 @@ public class MainPageViewModel extends ViewModel implements Runnable{
      */
     public void handleCreation(TaskReader taskReader) {
         TaskInfo taskInfo = new TaskInfoFromTaskReader(taskReader);
-        if (taskInfo.getDeadline() != null && taskInfo.getDeadline().toLocalDate().equals(LocalDate.now())){
+        if (taskInfo.getDeadline() != null && taskInfo.getDeadline().toLocalDate().equals(today)){
             relevantTasks.add(new TaskEntry(taskInfo.getName(), taskInfo.getDeadline()));
             notifyObservers();
         }
@@ -121,56 +140,71 @@ public class MainPageViewModel extends ViewModel implements Runnable{
      * @param taskReader the task that was updated
      */
     public void handleUpdate(TaskReader taskReader) {
-        LocalDate todayDate = LocalDate.now();
         TaskInfo taskInfo = new TaskInfoFromTaskReader(taskReader);
         relevantTasks.removeIf(ti -> ti.name.equals(taskInfo.getName()));
-        if (taskInfo.getDeadline() != null && taskInfo.getDeadline().toLocalDate().equals(todayDate)){
+        if (taskInfo.getDeadline() != null && taskInfo.getDeadline().toLocalDate().equals(today)){
             relevantTasks.add(new TaskEntry(taskInfo.getName(), taskInfo.getDeadline()));
         }
 
         notifyObservers();
     }
 
+    /**
+     * A method listening to the {@link ObservableEventRepository} on event creation event
+     *
+     * Adds the occurrences of the newly created event starting today
+     * @param eventReader the newly created event
+     */
     public void handleCreation(EventReader eventReader) {
-        for (TimeFrame tr : getTimesFromStaticRange(eventReader::getDatesBetween)){
-            if (tr.startTime.toLocalDate().equals(LocalDate.now())){
-                notifyObservers();
-            }
-        }
+        replaceEventEntries(eventReader.getId(), entriesToday(eventReader));
     }
 
+    /**
+     * A method listening to the {@link ObservableEventRepository} on event update event
+     *
+     * Replaces the occurrences of the updated event with those starting today
+     * @param eventReader the event that was updated
+     */
     public void handleUpdate(EventReader eventReader) {
-        LocalDate todayDate = LocalDate.now();
-        relevantEvents.removeIf(ei -> ei.name.equals(eventReader.getName()));
-        for (TimeFrame tr : getTimesFromStaticRange(eventReader::getDatesBetween)) {
-            if (tr.startTime.toLocalDate().equals(todayDate)) {
-                relevantEvents.add(new EventEntry(eventReader.getName(), tr.startTime, tr.startTime.plus(tr.duration)));
-            }
-            notifyObservers();
-        }
+        replaceEventEntries(eventReader.getId(), entriesToday(eventReader));
     }
 
-
+    /**
+     * A method listening to the {@link ObservableEventRepository} on event deletion event
+     *
+     * Removes the occurrences of the deleted event
+     * @param eventReader the event that was deleted
+     */
+    public void handleDeletion(EventReader eventReader) {
+        replaceEventEntries(eventReader.getId(), new ArrayList<>());
+    }
 
     /**
-     * Background thread which refreshes the cached relevant infos when the day changes.
+     * Only notifies the observers if the event had or has occurrences today
      */
-    @Override
-    public void run() {
-        LocalDate todayDate = LocalDate.now();
-        while(!Thread.interrupted()){
-            if(LocalDate.now().equals(todayDate.plusDays(1))){
-                todayDate = LocalDate.now();
-                updateRelevantTasks();
-                updateRelevantEvents();
-            }
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
+    private void replaceEventEntries(long eventId, List<EventEntry> entries) {
+        List<EventEntry> previous = entries.isEmpty() ? eventEntriesById.remove(eventId)
+                : eventEntriesById.put(eventId, entries);
+        if (previous == null && entries.isEmpty())
+            return;
+        sortRelevantEvents();
+        notifyObservers();
+    }
 
+    private void sortRelevantEvents() {
+        relevantEvents.clear();
+        for (List<EventEntry> entries : eventEntriesById.values())
+            relevantEvents.addAll(entries);
+        relevantEvents.sort(Comparator.comparing(entry -> entry.startTime));
+    }
+
+    private List<EventEntry> entriesToday(EventReader eventReader) {
+        List<EventEntry> entries = new ArrayList<>();
+        for (TimeFrame tr : eventReader.getDatesOverlapping(today.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+            if (tr.startTime.toLocalDate().equals(today))
+                entries.add(new EventEntry(eventReader.getName(), tr.startTime, tr.startTime.plus(tr.duration)));
+        }
+        return entries;
     }
 
     /**
@@ -180,6 +214,7 @@ public class MainPageViewModel extends ViewModel implements Runnable{
         try {
             eventSaver.saveEventData("EventData.json");
             taskSaver.save("TaskData.json");
+            searchIndexSaver.save("SearchIndex.bin");
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -219,10 +254,4 @@ public class MainPageViewModel extends ViewModel implements Runnable{
         }
     }
 
-
-    private Set<TimeFrame> getTimesFromStaticRange(BiFunction<LocalDateTime, LocalDateTime, Set<TimeFrame>> dateStrategy) {
-        LocalDateTime from = LocalDateTime.now().minusYears(2);
-        LocalDateTime to = LocalDateTime.now().plusYears(2);
-        return dateStrategy.apply(from, to);
-    }
 }
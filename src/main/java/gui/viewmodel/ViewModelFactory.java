@@ -1,21 +1,35 @@
 package gui.viewmodel;
 
 
+import datagateway.NotificationQueue;
+import datagateway.Observer;
+import datagateway.event.EventReader;
 import gui.viewmodel.calendar.CalendarViewModel;
 import gui.viewmodel.todolist.AddTaskPageViewModel;
 import gui.viewmodel.todolist.TaskDataBinding;
 import gui.viewmodel.todolist.TaskPageViewModel;
 import gui.viewmodel.todolist.TodoListPageViewModel;
+import services.capacityforecasting.CapacityForecaster;
+import services.changefeed.ChangeFeed;
+import services.conflictdetection.ConflictDetector;
+import services.daychange.DayChangeBoundary;
+import services.eventfromtaskcreation.EventRescheduler;
+import services.search.FullTextSearcher;
 import services.servicesfactory.ObservableRepositoryFactory;
 import datagateway.event.ObservableEventRepository;
 import datagateway.task.ObservableTaskRepository;
 import services.servicesfactory.ServicesFactory;
+import services.timeaccounting.TimeAccountant;
+
+import java.util.concurrent.Executor;
 
 public class ViewModelFactory {
 
     private final ServicesFactory servicesFactory;
     private final ObservableEventRepository eventRepository;
     private final ObservableTaskRepository taskRepository;
+    // delivers repository changes to the view models that take long to update after the mutating call returns
+    private final NotificationQueue viewQueue;
 
     private CalendarViewModel calendarViewModel;
     private TodoListPageViewModel todoListPageViewModel;
@@ -27,21 +41,84 @@ public class ViewModelFactory {
     private final TaskDataBinding taskDataBinding = new TaskDataBinding();
 
     public ViewModelFactory(ObservableRepositoryFactory repositoryFactory, ServicesFactory servicesFactory) {
+        this(repositoryFactory, servicesFactory, Runnable::run);
+    }
+
+    /**
+     * @param viewExecutor the executor running the view, on which view models are notified of repository changes.
+     *                     The services are still notified inside the mutating call, so the view models read them
+     *                     up to date.
+     */
+    public ViewModelFactory(ObservableRepositoryFactory repositoryFactory, ServicesFactory servicesFactory,
+                            Executor viewExecutor) {
         this.servicesFactory = servicesFactory;
+        this.viewQueue = new NotificationQueue(viewExecutor);
         eventRepository = repositoryFactory.makeEventRepository();
         taskRepository = repositoryFactory.makeTaskRepository();
+
+        EventRescheduler eventRescheduler = servicesFactory.makeEventRescheduler();
+        eventRepository.addCreationObserver(batched(eventRescheduler::handleCreation));
+        eventRepository.addUpdateObserver(batched(eventRescheduler::handleUpdate));
+        eventRepository.addDeleteObservers(eventRescheduler::handleDeletion);
+
+        ConflictDetector conflictDetector = servicesFactory.makeConflictDetector();
+        eventRepository.addCreationObserver(conflictDetector::handleCreation);
+        eventRepository.addUpdateObserver(conflictDetector::handleUpdate);
+        eventRepository.addDeleteObservers(conflictDetector::handleDeletion);
+
+        CapacityForecaster capacityForecaster = servicesFactory.makeCapacityForecaster();
+        taskRepository.addCreationObserver(capacityForecaster::handleTaskCreation);
+        taskRepository.addUpdateObserver(capacityForecaster::handleTaskUpdate);
+        taskRepository.addDeleteObservers(capacityForecaster::handleTaskDeletion);
+        eventRepository.addCreationObserver(capacityForecaster::handleEventChange);
+        eventRepository.addUpdateObserver(capacityForecaster::handleEventChange);
+        eventRepository.addDeleteObservers(capacityForecaster::handleEventDeletion);
+
+        FullTextSearcher searcher = servicesFactory.makeSearcher();
+        taskRepository.addCreationObserver(searcher::handleTaskChange);
+        taskRepository.addUpdateObserver(searcher::handleTaskChange);
+        taskRepository.addDeleteObservers(searcher::handleTaskDeletion);
+        eventRepository.addCreationObserver(searcher::handleEventChange);
+        eventRepository.addUpdateObserver(searcher::handleEventChange);
+        eventRepository.addDeleteObservers(searcher::handleEventDeletion);
+
+        TimeAccountant timeAccountant = servicesFactory.makeTimeAccountant();
+        taskRepository.addChangeObserver(timeAccountant::handleTaskChangeRecord);
+        eventRepository.addChangeObserver(timeAccountant::handleEventChangeRecord);
+
+        ChangeFeed changeFeed = servicesFactory.makeChangeFeed();
+        taskRepository.addChangeObserver(changeFeed::handleTaskChange);
+        eventRepository.addChangeObserver(changeFeed::handleEventChange);
     }
 
     public CalendarViewModel getMonthlyCalendarViewModel() {
         if (calendarViewModel == null) {
             calendarViewModel = new CalendarViewModel(servicesFactory.makeEventCreator(),
-                    servicesFactory.makeEventGetter(), servicesFactory.makeEventUpdater());
-            eventRepository.addCreationObserver(calendarViewModel::handleCreation);
-            eventRepository.addUpdateObserver(calendarViewModel::handleUpdate);
+                    servicesFactory.makeEventGetter(), servicesFactory.makeEventUpdater(),
+                    servicesFactory.makeConflictDetector());
+            eventRepository.addCreationObserver(viewQueue.deliver(calendarViewModel::handleCreation));
+            eventRepository.addUpdateObserver(viewQueue.deliver(calendarViewModel::handleUpdate));
+            servicesFactory.makeEventRescheduler().addMoveObserver(viewQueue.deliver(calendarViewModel::handleEventMoves));
         }
         return calendarViewModel;
     }
 
+    /**
+     * @param observer an observer changing the event repository when notified
+     * @return an observer making those changes as one batch, which the repository delivers to every observer once
+     *         they have all been notified of the change causing it
+     */
+    private Observer<EventReader> batched(Observer<EventReader> observer) {
+        return eventReader -> {
+            eventRepository.beginBatch();
+            try {
+                observer.notifyObserver(eventReader);
+            } finally {
+                eventRepository.commitBatch();
+            }
+        };
+    }
+
     /**
      * Returns a view model for the weekly calendar view, which is implemented as being the same as that of
      * the monthly calendar view.
@@ -53,10 +130,10 @@ public class ViewModelFactory {
 
     public TodoListPageViewModel getTodoListPageViewModel() {
         if (todoListPageViewModel == null) {
-            todoListPageViewModel = new TodoListPageViewModel(servicesFactory.makeTaskGetter(), taskDataBinding);
-            taskRepository.addCreationObserver(todoListPageViewModel::handleCreation);
-            taskRepository.addUpdateObserver(todoListPageViewModel::handleUpdate);
-            taskRepository.addDeleteObservers(todoListPageViewModel::handleDeletion);
+            todoListPageViewModel = new TodoListPageViewModel(servicesFactory.makeTaskGetter(),
+                    servicesFactory.makeCapacityForecaster(), servicesFactory.makeSearcher(), taskDataBinding);
+            taskRepository.addChangeSetObserver(todoListPageViewModel::handleChanges);
+            eventRepository.addChangeSetObserver(todoListPageViewModel::handleCalendarChange);
         }
         return todoListPageViewModel;
     }
@@ -64,12 +141,18 @@ public class ViewModelFactory {
     public MainPageViewModel getMainPageViewModel()  {
         if (mainPageViewModel == null) {
             mainPageViewModel = new MainPageViewModel(servicesFactory.makeTaskGetter(), servicesFactory.makeTaskSaver(),
-                    servicesFactory.makeEventGetter(), servicesFactory.makeEventSaver());
-            taskRepository.addCreationObserver(mainPageViewModel::handleCreation);
-            taskRepository.addUpdateObserver(mainPageViewModel::handleUpdate);
+                    servicesFactory.makeEventGetter(), servicesFactory.makeEventSaver(),
+                    servicesFactory.makeSearchIndexSaver());
+            taskRepository.addCreationObserver(viewQueue.deliver(mainPageViewModel::handleCreation));
+            taskRepository.addUpdateObserver(viewQueue.deliver(mainPageViewModel::handleUpdate));
+
+            eventRepository.addCreationObserver(viewQueue.deliver(mainPageViewModel::handleCreation));
+            eventRepository.addUpdateObserver(viewQueue.deliver(mainPageViewModel::handleUpdate));
+            eventRepository.addDeleteObservers(viewQueue.deliver(mainPageViewModel::handleDeletion));
 
-            eventRepository.addCreationObserver(mainPageViewModel::handleCreation);
-            eventRepository.addUpdateObserver(mainPageViewModel::handleUpdate);
+            DayChangeBoundary dayChangeScheduler = servicesFactory.makeDayChangeScheduler();
+            dayChangeScheduler.addObserver(viewQueue.deliver(mainPageViewModel::handleDayChange));
+            dayChangeScheduler.start();
         }
         return mainPageViewModel;
     }
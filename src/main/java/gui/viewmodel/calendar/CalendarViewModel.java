@@ -3,47 +3,88 @@ package gui.viewmodel.calendar;
 import com.calendarfx.model.CalendarEvent;
 import com.calendarfx.model.Entry;
 import datagateway.event.EventReader;
+import datagateway.event.TagQuery;
 import entity.dates.TimeFrame;
 import gui.utility.EventHelper;
 import gui.viewmodel.ViewModel;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableSet;
+import services.conflictdetection.ConflictInfo;
+import services.conflictdetection.ConflictReportBoundary;
 import services.eventcreation.CalendarEventCreationBoundary;
+import services.eventfromtaskcreation.EventMove;
 import services.eventpresentation.CalendarEventRequestBoundary;
 import services.eventpresentation.EventInfo;
+import services.eventpresentation.EventOccurrencesInfo;
 import services.updateentities.UpdateEventBoundary;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class CalendarViewModel extends ViewModel {
 
+    private static final Period PREFETCH_MARGIN = Period.ofMonths(1);
+
     private final CalendarEventCreationBoundary eventAdder;
+    private final CalendarEventRequestBoundary eventGetter;
     private final UpdateEventBoundary eventUpdater;
+    private final ConflictReportBoundary conflictReporter;
 
     private final ObservableList<Entry<String>> entryList;
     private final Map<String, Long> entryToEventIdMapping;
+    // the entries of each event by start time, so that an event's entries are found without going through the list
+    private final Map<Long, Map<LocalDateTime, Entry<String>>> entriesByEventId = new HashMap<>();
+    private final ObservableSet<String> conflictingEntryIds;
+    private final ObservableSet<String> hiddenEntryIds;
+    // the range the entries are loaded for, which is the range shown in the view widened by PREFETCH_MARGIN
+    private LocalDateTime loadedFrom;
+    private LocalDateTime loadedTo;
+    private String tagFilter;
+    private TagQuery tagQuery;
+    // the ids of the events matching the tag filter, or null if there is no filter
+    private Set<Long> shownEventIds;
+    // the events each loaded event was last found overlapping, so that a change only refreshes its neighbours
+    private final Map<Long, Set<Long>> conflictPartners = new HashMap<>();
 
-    // booleans to indicate if the event given by the repositories
-    // was originated from the current view model.
-    private boolean eventUpdatedFromView;
+    // whether the entry being added to entryList was created in the view
     private boolean eventCreatedFromView;
+    // the changes originated from the current view model that the repository has not notified yet,
+    // since notifications may arrive after the call making the change returns. The entries created
+    // in the view are kept oldest first, as creations are notified in order.
+    private final Deque<Entry<String>> pendingViewCreations = new ArrayDeque<>();
+    private final List<Long> pendingViewUpdates = new ArrayList<>();
+    private final List<Consumer<String>> moveNoticeObservers = new ArrayList<>();
 
     public CalendarViewModel(CalendarEventCreationBoundary eventAdder,
                              CalendarEventRequestBoundary eventGetter,
-                             UpdateEventBoundary eventUpdater) {
+                             UpdateEventBoundary eventUpdater,
+                             ConflictReportBoundary conflictReporter) {
         this.eventAdder = eventAdder;
+        this.eventGetter = eventGetter;
         this.eventUpdater = eventUpdater;
+        this.conflictReporter = conflictReporter;
+        this.conflictingEntryIds = FXCollections.observableSet(new HashSet<>());
+        this.hiddenEntryIds = FXCollections.observableSet(new HashSet<>());
 
         this.entryList = FXCollections.observableArrayList(new ArrayList<>());
         this.entryToEventIdMapping = new HashMap<>();
-        initializeIdMappingAndEntryList(eventGetter.getEvents());
+        LocalDate today = LocalDate.now();
+        showRange(today, today.plusDays(1));
 
         this.entryList.addListener((ListChangeListener<Entry<String>>) c -> {
             while (c.next()) {
@@ -63,43 +104,112 @@ public class CalendarViewModel extends ViewModel {
      */
     private void onCreation(Entry<String> entry) {
         if (eventCreatedFromView) {
+            pendingViewCreations.add(entry);
             eventAdder.addEvent(EventHelper.entryToCalendarEventModel(entry));
         }
     }
 
 
     /**
-     * Initializes the mapping between entries id from the view and event id from the program.
-     * @param infoList the list of event info received from the program
+     * Called by the view when the dates it shows change. Entries are only kept for the occurrences overlapping the
+     * shown dates widened by a margin, so that navigating a little does not reload anything.
+     * @param from the first date shown
+     * @param to the day after the last date shown
      */
-    private void initializeIdMappingAndEntryList(List<EventInfo> infoList) {
-        for (EventInfo eventInfo : infoList) {
-            initializeEventInfo(eventInfo);
+    public void showRange(LocalDate from, LocalDate to) {
+        LocalDateTime shownFrom = from.atStartOfDay();
+        LocalDateTime shownTo = to.atStartOfDay();
+        if (loadedFrom != null && !shownFrom.isBefore(loadedFrom) && !shownTo.isAfter(loadedTo))
+            return;
+
+        LocalDateTime previousFrom = loadedFrom;
+        LocalDateTime previousTo = loadedTo;
+        loadedFrom = from.minus(PREFETCH_MARGIN).atStartOfDay();
+        loadedTo = to.plus(PREFETCH_MARGIN).atStartOfDay();
+
+        // entries not mapped yet were just created in the view and are kept until their event is stored
+        Set<Entry<String>> evicted = new HashSet<>();
+        for (Map<LocalDateTime, Entry<String>> entries : entriesByEventId.values()) {
+            for (Entry<String> entry : entries.values()) {
+                if (!isLoaded(entry))
+                    evicted.add(entry);
+            }
         }
-    }
+        removeEntries(evicted);
 
-    private void initializeEventInfo(EventInfo eventInfo) {
-        for (TimeFrame tr : EventHelper.getTimesFromStaticRange(eventInfo::getDatesBetween)) {
-            Entry<String> entry = buildEntry(eventInfo::getName, tr.startTime, tr.startTime.plus(tr.duration));
-            entryToEventIdMapping.put(entry.getId(), eventInfo.getId());
-            entryList.add(entry);
+        List<Entry<String>> loaded = new ArrayList<>();
+        for (EventOccurrencesInfo found : eventGetter.getEventsBetween(loadedFrom, loadedTo, 0, Integer.MAX_VALUE)) {
+            EventInfo eventInfo = found.getEvent();
+            for (TimeFrame tr : found.getOccurrences()) {
+                // the occurrences overlapping the previous range already have their entry
+                if (previousFrom != null && tr.overlaps(previousFrom, previousTo))
+                    continue;
+                addMappedEntry(eventInfo.getId(), eventInfo.getName(), tr, loaded);
+            }
         }
+        entryList.addAll(loaded);
+
+        refreshConflicts();
+        refreshHiddenEntries();
+    }
+
+    /**
+     * Adds the entries of an event for its occurrences in the loaded range that have none yet
+     */
+    private void loadEntries(EventReader eventReader) {
+        List<Entry<String>> loaded = new ArrayList<>();
+        for (TimeFrame tr : loadedOccurrences(eventReader))
+            addMappedEntry(eventReader.getId(), eventReader.getName(), tr, loaded);
+        entryList.addAll(loaded);
     }
 
-    private void initializeEventReader(EventReader eventReader) {
-        for (TimeFrame tr : EventHelper.getTimesFromStaticRange(eventReader::getDatesBetween)) {
-            Entry<String> entry = buildEntry(eventReader::getName, tr.startTime, tr.startTime.plus(tr.duration));
-            entryToEventIdMapping.put(entry.getId(), eventReader.getId());
-            entryList.add(entry);
+    private List<TimeFrame> loadedOccurrences(EventReader eventReader) {
+        return eventReader.getDatesOverlapping(loadedFrom, loadedTo);
+    }
+
+    /**
+     * Builds and maps the entry of an occurrence, unless the event already has an entry starting at that time
+     * @param added the list the new entry is added to
+     */
+    private void addMappedEntry(long eventId, String eventName, TimeFrame tr, List<Entry<String>> added) {
+        Map<LocalDateTime, Entry<String>> entries = entriesByEventId.computeIfAbsent(eventId, k -> new HashMap<>());
+        if (entries.containsKey(tr.startTime))
+            return;
+        Entry<String> entry = buildEntry(() -> eventName, tr.startTime, tr.startTime.plus(tr.duration));
+        mapEntry(eventId, entry);
+        added.add(entry);
+    }
+
+    private void mapEntry(long eventId, Entry<String> entry) {
+        entryToEventIdMapping.put(entry.getId(), eventId);
+        entriesByEventId.computeIfAbsent(eventId, k -> new HashMap<>()).put(entry.getStartAsLocalDateTime(), entry);
+    }
+
+    /**
+     * Removes mapped entries from the list and from both mappings
+     */
+    private void removeEntries(Set<Entry<String>> removed) {
+        for (Entry<String> entry : removed) {
+            Long eventId = entryToEventIdMapping.remove(entry.getId());
+            Map<LocalDateTime, Entry<String>> entries = entriesByEventId.get(eventId);
+            // the entry may have been moved in the view since it was mapped under its start time
+            if (!entries.remove(entry.getStartAsLocalDateTime(), entry))
+                entries.values().remove(entry);
+            if (entries.isEmpty())
+                entriesByEventId.remove(eventId);
+            conflictingEntryIds.remove(entry.getId());
+            hiddenEntryIds.remove(entry.getId());
         }
+        entryList.removeAll(removed);
+    }
+
+    private boolean isLoaded(Entry<String> entry) {
+        return new TimeFrame(entry.getStartAsLocalDateTime(), entry.getEndAsLocalDateTime()).overlaps(loadedFrom, loadedTo);
     }
 
     private Entry<String> buildEntry(Supplier<String> eventNameSupplier, LocalDateTime startDateTime, LocalDateTime endDateTime) {
         Entry<String> entry = new Entry<>(eventNameSupplier.get());
-        entry.changeStartTime(startDateTime.toLocalTime());
-        entry.changeEndTime(endDateTime.toLocalTime());
-        entry.changeStartDate(startDateTime.toLocalDate());
-        entry.changeStartDate(endDateTime.toLocalDate());
+        entry.setInterval(startDateTime, endDateTime);
         return entry;
     }
 
@@ -107,6 +217,153 @@ public class CalendarViewModel extends ViewModel {
         return this.entryList;
     }
 
+    /**
+     * @return the ids of the entries that overlap an entry of another event
+     */
+    public ObservableSet<String> getConflictingEntryIds() {
+        return this.conflictingEntryIds;
+    }
+
+    /**
+     * @return the ids of the entries whose event does not match the tag filter
+     */
+    public ObservableSet<String> getHiddenEntryIds() {
+        return this.hiddenEntryIds;
+    }
+
+    /**
+     * Only show the entries of events whose tags match the query, such as "work AND NOT meeting".
+     * A blank query shows every entry, and a query that cannot be parsed keeps the current filter.
+     * @param tagQuery the query typed in the view
+     * @return whether the query was applied
+     */
+    public boolean setTagFilter(String tagQuery) {
+        if (tagQuery == null || tagQuery.isBlank()) {
+            tagFilter = null;
+            this.tagQuery = null;
+            shownEventIds = null;
+        } else {
+            List<EventInfo> matching;
+            try {
+                matching = eventGetter.getEventsWithTags(tagQuery);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            tagFilter = tagQuery;
+            this.tagQuery = TagQuery.parse(tagQuery);
+            shownEventIds = new HashSet<>();
+            for (EventInfo eventInfo : matching)
+                shownEventIds.add(eventInfo.getId());
+        }
+        refreshHiddenEntries();
+        return true;
+    }
+
+    private void refreshHiddenEntries() {
+        Set<String> hidden = new HashSet<>();
+        if (shownEventIds != null) {
+            for (Map.Entry<Long, Map<LocalDateTime, Entry<String>>> eventEntries : entriesByEventId.entrySet()) {
+                if (shownEventIds.contains(eventEntries.getKey()))
+                    continue;
+                for (Entry<String> entry : eventEntries.getValue().values())
+                    hidden.add(entry.getId());
+            }
+        }
+        hiddenEntryIds.retainAll(hidden);
+        hiddenEntryIds.addAll(hidden);
+    }
+
+    /**
+     * Matches the tags of a changed event against the tag filter, and hides or shows its entries accordingly
+     */
+    private void refreshHiddenEntries(EventReader eventReader) {
+        if (shownEventIds == null)
+            return;
+        boolean shown = tagQuery.matches(eventReader.getTags());
+        if (shown)
+            shownEventIds.add(eventReader.getId());
+        else
+            shownEventIds.remove(eventReader.getId());
+        for (Entry<String> entry : entriesByEventId.getOrDefault(eventReader.getId(), Map.of()).values()) {
+            if (shown)
+                hiddenEntryIds.remove(entry.getId());
+            else
+                hiddenEntryIds.add(entry.getId());
+        }
+    }
+
+    /**
+     * Recomputes which entries are double-booked from the conflicts reported by the program.
+     */
+    private void refreshConflicts() {
+        conflictPartners.clear();
+        for (ConflictInfo conflict : conflictReporter.getConflicts(loadedFrom, loadedTo)) {
+            for (List<Long> pair : conflict.getOverlappingPairs()) {
+                conflictPartners.computeIfAbsent(pair.get(0), k -> new HashSet<>()).add(pair.get(1));
+                conflictPartners.computeIfAbsent(pair.get(1), k -> new HashSet<>()).add(pair.get(0));
+            }
+        }
+
+        Set<String> conflicting = new HashSet<>();
+        for (long eventId : conflictPartners.keySet())
+            conflicting.addAll(conflictingEntries(eventId));
+        conflictingEntryIds.retainAll(conflicting);
+        conflictingEntryIds.addAll(conflicting);
+    }
+
+    /**
+     * Recomputes which entries are double-booked for a changed event and the events it overlapped before or
+     * overlaps now, leaving the other entries alone.
+     */
+    private void refreshConflicts(long eventId) {
+        Set<Long> partners = conflictReporter.getConflictingEvents(eventId, loadedFrom, loadedTo);
+        Set<Long> previous = conflictPartners.getOrDefault(eventId, Set.of());
+        Set<Long> affected = new HashSet<>(previous);
+        affected.addAll(partners);
+        affected.add(eventId);
+
+        for (long partner : previous) {
+            if (partners.contains(partner))
+                continue;
+            Set<Long> partnersOfPartner = conflictPartners.get(partner);
+            partnersOfPartner.remove(eventId);
+            if (partnersOfPartner.isEmpty())
+                conflictPartners.remove(partner);
+        }
+        for (long partner : partners)
+            conflictPartners.computeIfAbsent(partner, k -> new HashSet<>()).add(eventId);
+        if (partners.isEmpty())
+            conflictPartners.remove(eventId);
+        else
+            conflictPartners.put(eventId, new HashSet<>(partners));
+
+        for (long affectedId : affected) {
+            Set<String> conflicting = conflictingEntries(affectedId);
+            for (Entry<String> entry : entriesByEventId.getOrDefault(affectedId, Map.of()).values()) {
+                if (conflicting.contains(entry.getId()))
+                    conflictingEntryIds.add(entry.getId());
+                else
+                    conflictingEntryIds.remove(entry.getId());
+            }
+        }
+    }
+
+    /**
+     * @return the ids of the entries of the event whose occurrence overlaps another event
+     */
+    private Set<String> conflictingEntries(long eventId) {
+        Set<String> conflicting = new HashSet<>();
+        Map<LocalDateTime, Entry<String>> entries = entriesByEventId.get(eventId);
+        if (entries == null)
+            return conflicting;
+        Set<LocalDateTime> starts = conflictReporter.getConflictingOccurrences(eventId, loadedFrom, loadedTo);
+        for (Entry<String> entry : entries.values()) {
+            if (starts.contains(entry.getStartAsLocalDateTime()))
+                conflicting.add(entry.getId());
+        }
+        return conflicting;
+    }
+
     /**
      * Called by the observable repository.
      * If the event creation was originated from the current view model, add the entry
@@ -115,18 +372,12 @@ public class CalendarViewModel extends ViewModel {
      * @param eventReader data of new event created
      */
     public void handleCreation(EventReader eventReader) {
-        if (!eventCreatedFromView) {
-            initializeEventReader(eventReader);
-        } else {
-            // find the entry with no mapping and add mapping
-            for (Entry<String> entry : entryList) {
-                if (!entryToEventIdMapping.containsKey(entry.getId())) {
-                    entryToEventIdMapping.put(entry.getId(), eventReader.getId());
-                }
-            }
-            // set it to false when the process of event creation is over
-            eventCreatedFromView = false;
-        }
+        if (pendingViewCreations.isEmpty())
+            loadEntries(eventReader);
+        else
+            mapEntry(eventReader.getId(), pendingViewCreations.poll());
+        refreshConflicts(eventReader.getId());
+        refreshHiddenEntries(eventReader);
     }
 
     /**
@@ -136,11 +387,39 @@ public class CalendarViewModel extends ViewModel {
      * @param eventReader data of new event created
      */
     public void handleUpdate(EventReader eventReader) {
-        if (!eventUpdatedFromView) {
+        if (!pendingViewUpdates.remove(Long.valueOf(eventReader.getId()))) {
             this.updateEntry(eventReader);
-        } else {
-            eventUpdatedFromView = false;
         }
+        refreshConflicts(eventReader.getId());
+        refreshHiddenEntries(eventReader);
+    }
+
+    /**
+     * @param observer notified with a description of the automatically placed events moved to make room for a change
+     */
+    public void addMoveNoticeObserver(Consumer<String> observer) {
+        moveNoticeObservers.add(observer);
+    }
+
+    /**
+     * Called by the event rescheduler with the automatically placed events it moved, or left in place because no
+     * free time fits before their deadline, for a change.
+     * The entries of the moved events are updated when the repository notifies their update.
+     * @param moves the moves caused by the change
+     */
+    public void handleEventMoves(List<EventMove> moves) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT);
+        List<String> lines = new ArrayList<>();
+        for (EventMove move : moves) {
+            if (move.wasMoved())
+                lines.add("Moved " + move.eventName + " from " + move.oldStartTime.format(formatter) + " to "
+                        + move.newStartTime.format(formatter));
+            else
+                lines.add("No free time before the deadline of " + move.eventName + ", left at "
+                        + move.oldStartTime.format(formatter));
+        }
+        String notice = String.join("\n", lines);
+        moveNoticeObservers.forEach(o -> o.accept(notice));
     }
 
     /**
@@ -148,14 +427,14 @@ public class CalendarViewModel extends ViewModel {
      * @param event the (javafx) event that triggered this call
      */
     public void updateEventFromView(CalendarEvent event) {
-        eventUpdatedFromView = true;
-
         Entry<?> updatedEntry = event.getEntry();
         long correspondingEventId = entryToEventIdMapping.get(updatedEntry.getId());
         if (event.getEventType() == CalendarEvent.ENTRY_TITLE_CHANGED) {
+            pendingViewUpdates.add(correspondingEventId);
             eventUpdater.updateName(correspondingEventId, updatedEntry.getTitle());
         }
         if (event.getEventType() == CalendarEvent.ENTRY_INTERVAL_CHANGED) {
+            pendingViewUpdates.add(correspondingEventId);
             eventUpdater.updateDuration(correspondingEventId, updatedEntry.getDuration());
         }
     }
@@ -167,16 +446,30 @@ public class CalendarViewModel extends ViewModel {
     public void addEventFromView(Entry<String> newEntry) {
         eventCreatedFromView = true;
         entryList.add(newEntry);
+        eventCreatedFromView = false;
     }
 
     /**
-     * Finds the corresponding entry to the eventReader and updates the information of the entry.
-     * The entry is guaranteed to exist in entryToEventIdMapping and entryList.
+     * Brings the entries of the event in line with its current occurrences in the loaded range. Entries whose
+     * occurrence did not change are kept, the others are replaced.
      * @param eventReader the reader that holds relevant information that corresponds to an entry
      */
     private void updateEntry(EventReader eventReader) {
-        Set<TimeFrame> intervals = EventHelper.getTimesFromStaticRange(eventReader::getDatesBetween);
-        entryList.removeIf(e -> intervals.stream().anyMatch(i -> i.startTime.equals(e.getStartAsLocalDateTime())));
+        Map<LocalDateTime, Entry<String>> entries = entriesByEventId.getOrDefault(eventReader.getId(), Map.of());
+        Set<Entry<String>> outdated = new HashSet<>(entries.values());
+        List<TimeFrame> occurrences = loadedOccurrences(eventReader);
+        for (TimeFrame tr : occurrences) {
+            Entry<String> entry = entries.get(tr.startTime);
+            if (entry != null && entry.getTitle().equals(eventReader.getName())
+                    && entry.getEndAsLocalDateTime().equals(tr.startTime.plus(tr.duration)))
+                outdated.remove(entry);
+        }
+        removeEntries(outdated);
+
+        List<Entry<String>> added = new ArrayList<>();
+        for (TimeFrame tr : occurrences)
+            addMappedEntry(eventReader.getId(), eventReader.getName(), tr, added);
+        entryList.addAll(added);
     }
 
 }
@@ -1,5 +1,6 @@
 package gui.viewmodel.todolist;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 
@@ -23,7 +24,13 @@ public class TaskDataBinding {
         observable.firePropertyChange("count", count - 1, count);
     }
 
+    /**
+     * Observers added after a task was selected, like a view model made on the first visit of its page, are
+     * notified of that task right away
+     */
     public void addObserver(PropertyChangeListener observer) {
         observable.addPropertyChangeListener(observer);
+        if (count > 0)
+            observer.propertyChange(new PropertyChangeEvent(this, "taskId", 0L, taskId));
     }
 }
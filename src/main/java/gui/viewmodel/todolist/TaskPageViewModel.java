@@ -7,6 +7,7 @@ import services.eventcreation.CalendarEventCreationBoundary;
 import services.eventcreation.EventFromTaskData;
 import services.eventcreation.EventFromTaskModel;
 import services.eventfromtaskcreation.CalendarAnalyzer;
+import services.eventfromtaskcreation.EventRescheduler;
 import services.strategybuilding.MultipleRuleFormBuilder;
 import services.taskdeletion.TaskDeletionBoundary;
 import services.taskpresentation.TaskInfo;
@@ -22,6 +23,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class TaskPageViewModel extends ViewModel implements PropertyChangeListener {
 
@@ -165,10 +167,12 @@ public class TaskPageViewModel extends ViewModel implements PropertyChangeListen
     public void taskToEvent() {
         TaskInfo taskInfo = taskGetter.getTaskById(taskId);
 
-        LocalDateTime availableTime = calendarAnalyzer.getAvailableTime(taskInfo.getDuration());
+        LocalDateTime availableTime = calendarAnalyzer.getAvailableTime(taskInfo.getDuration(), taskInfo.getDeadline());
         MultipleRuleFormBuilder formBuilder = new MultipleRuleFormBuilder();
         formBuilder.addSingleOccurrence(availableTime);
-        EventFromTaskModel eventData = new EventFromTaskData(new HashSet<>(), formBuilder.getForm(), taskId);
+        Set<String> tags = new HashSet<>();
+        tags.add(EventRescheduler.AUTO_PLACED_TAG);
+        EventFromTaskModel eventData = new EventFromTaskData(tags, formBuilder.getForm(), taskId);
         eventCreator.addEvent(eventData);
     }
 
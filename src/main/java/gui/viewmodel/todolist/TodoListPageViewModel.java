@@ -1,9 +1,17 @@
 package gui.viewmodel.todolist;
 
+import datagateway.ChangeType;
+import datagateway.EntityChange;
+import datagateway.event.EventReader;
 import datagateway.task.TaskReader;
+import gui.utility.OrderStatisticTree;
 import gui.viewmodel.ViewModel;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import services.capacityforecasting.CapacityForecastBoundary;
+import services.search.SearchBoundary;
+import services.search.SearchResultInfo;
+import services.search.SearchResultKind;
 import services.taskpresentation.TaskInfo;
 import services.taskpresentation.TaskInfoFromTaskReader;
 import services.taskpresentation.TodoListRequestBoundary;
@@ -11,84 +19,90 @@ import services.taskpresentation.TodoListRequestBoundary;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 public class TodoListPageViewModel extends ViewModel {
 
-    private final ObservableList<TaskInfo> taskInfoList;
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofLocalizedDateTime(
+            FormatStyle.MEDIUM, // The format for date
+            FormatStyle.SHORT); // The format for time
+
+    /**
+     * The position of a task in the list: by deadline, tasks without one last, then by id,
+     * which is the order the tasks were created in.
+     */
+    private record RowKey(LocalDateTime deadline, long id) {
+    }
+
+    private static final Comparator<RowKey> ROW_ORDER = Comparator.comparing(RowKey::deadline,
+            Comparator.nullsLast(Comparator.naturalOrder())).thenComparingLong(RowKey::id);
+
+    private final Map<Long, TaskInfo> tasks = new HashMap<>();
+    // the tasks shown, in the order of viewInfoList, and the key each was shown under, since task infos
+    // read the current values of their task
+    private final OrderStatisticTree<RowKey> shownRows = new OrderStatisticTree<>(ROW_ORDER);
+    private final Map<Long, RowKey> shownKeys = new HashMap<>();
+    // the formatted row of each task, built again only when the task or its feasibility changes
+    private final Map<Long, Map<String, String>> rows = new HashMap<>();
+    // the tasks forecast not to be done in time, as the others are all feasible
+    private Set<Long> infeasibleIds = new HashSet<>();
     private final ObservableList<Map<String, String>> viewInfoList;
     private final TaskDataBinding taskDataBinding;
+    private final CapacityForecastBoundary capacityForecaster;
+    private final SearchBoundary searcher;
+    private String searchQuery = "";
+    // the ids of the tasks matching the search query, or null if there is no query
+    private Set<Long> matchingIds;
 
-    public TodoListPageViewModel(TodoListRequestBoundary taskGetter, TaskDataBinding taskDataBinding) {
+    public TodoListPageViewModel(TodoListRequestBoundary taskGetter, CapacityForecastBoundary capacityForecaster,
+                                 SearchBoundary searcher, TaskDataBinding taskDataBinding) {
 
         this.taskDataBinding = taskDataBinding;
+        this.capacityForecaster = capacityForecaster;
+        this.searcher = searcher;
 
-        // initialize sorted taskInfoList
-        List<TaskInfo> taskList = taskGetter.getTasks();
-        this.taskInfoList = FXCollections.observableArrayList();
-        for (TaskInfo taskInfo : taskList) {
-            this.insertTaskInfo(taskInfo);
-        }
-        // initialize viewInfoList accordingly
+        for (TaskInfo taskInfo : taskGetter.getTasksByDeadline())
+            tasks.put(taskInfo.getId(), taskInfo);
         this.viewInfoList = FXCollections.observableArrayList();
         this.updateViewInfoList();
     }
 
     /***
-     * helper function to sort the taskInfoList based on the deadline
-     * @param taskInfo to inserted to taskInfoList
+     * Rebuild viewInfoList from every task, reusing the rows already formatted, and replace its content
+     * in a single change
      */
-    private void insertTaskInfo(TaskInfo taskInfo) {
-        // put tasks with no deadlines to the end of the list
-        if (taskInfo.getDeadline() != null) {
-            LocalDateTime deadline = taskInfo.getDeadline();
-            int i = 0;
-            while (i < this.taskInfoList.size()) {
-                if (taskInfoList.get(i).getDeadline() != null) {
-                    if (deadline.isEqual(taskInfoList.get(i).getDeadline()) ||
-                            (deadline.isBefore(taskInfoList.get(i).getDeadline()))) {
-                        taskInfoList.add(i, taskInfo);
-                        return;
-                    }
-                } else {
-                    taskInfoList.add(i, taskInfo);
-                    return;
-                }
-                i = i + 1;
-            }
+    public void updateViewInfoList() {
+        refreshFeasibility();
+        refreshMatchingIds();
+        shownRows.clear();
+        shownKeys.clear();
+        for (TaskInfo taskInfo : tasks.values()) {
+            if (isShown(taskInfo.getId()))
+                show(taskInfo);
         }
-        taskInfoList.add(taskInfo);
+        List<Map<String, String>> shown = new ArrayList<>(shownRows.size());
+        for (RowKey key : shownRows.toList())
+            shown.add(rowOf(tasks.get(key.id())));
+        this.viewInfoList.setAll(shown);
     }
 
-    /***
-     * Update viewInfoList to make it consistent with taskInfoList
+    /**
+     * Only show the tasks matching the query, or every task if the query is blank
+     * @param query the words to search for in task names and subtasks
      */
-    public void updateViewInfoList() {
-        this.viewInfoList.clear();
-        for (TaskInfo taskInfo : taskInfoList) {
-            String id = String.valueOf(taskInfo.getId());
-            String taskName = taskInfo.getName();
-            String completed = Boolean.toString(taskInfo.getCompleted());
-
-            String deadline = "No Deadline";
-            if (taskInfo.getDeadline() != null) {
-                deadline = taskInfo.getDeadline().format(
-                        DateTimeFormatter.ofLocalizedDateTime(
-                                FormatStyle.MEDIUM, // The format for date
-                                FormatStyle.SHORT)); // The format for time
-            }
-
-            Map<String, String> taskViewInfo = new HashMap<>();
-            taskViewInfo.put("id", id);
-            taskViewInfo.put("taskName", taskName);
-            taskViewInfo.put("deadline", deadline);
-            taskViewInfo.put("completed", completed);
-
-            this.viewInfoList.add(taskViewInfo);
-        }
+    public void setSearchQuery(String query) {
+        String newQuery = query == null ? "" : query;
+        if (newQuery.equals(searchQuery))
+            return;
+        this.searchQuery = newQuery;
+        updateViewInfoList();
     }
 
     public void taskSelected(long taskId) {
@@ -99,38 +113,157 @@ public class TodoListPageViewModel extends ViewModel {
         return viewInfoList;
     }
 
-    public void handleCreation(TaskReader taskReader) {
-        TaskInfo newTask = new TaskInfoFromTaskReader(taskReader);
-        insertTaskInfo(newTask);
+    /**
+     * Called by the observable task repository with the changes of a mutation or of a whole batch.
+     * Only the rows of the changed tasks, and of the tasks whose feasibility changed with them, are
+     * replaced in the view.
+     * @param changes the coalesced changes, at most one per task except for updates of several fields
+     */
+    public void handleChanges(List<EntityChange<TaskReader>> changes) {
+        // a changed task may start or stop matching the query
+        refreshMatchingIds();
+        Set<Long> updated = new HashSet<>();
+        Long lastChangedId = null;
+        for (EntityChange<TaskReader> change : changes) {
+            switch (change.type()) {
+                case CREATED -> putTaskInfo(new TaskInfoFromTaskReader(change.entity()));
+                case DELETED -> removeTaskInfo(change.id());
+                case UPDATED -> {
+                    if (!updated.add(change.id()))
+                        continue;
+                    putTaskInfo(new TaskInfoFromTaskReader(change.entity()));
+                }
+            }
+            if (change.type() != ChangeType.DELETED)
+                lastChangedId = change.id();
+        }
 
-        // update the view
-        updateViewInfoList();
+        // the time left for the other tasks changes with them
+        updateFeasibleRows();
+
+        // touch the task id to trigger observer effect so that when entering the task details page,
+        // the new values are auto-filled (rather than the old values)
+        if (lastChangedId != null)
+            taskDataBinding.setTaskId(lastChangedId);
+    }
+
+    /**
+     * Called by the observable event repository, since a change to the calendar changes
+     * the time available for the tasks.
+     * @param changes the changed events
+     */
+    public void handleCalendarChange(List<EntityChange<EventReader>> changes) {
+        updateFeasibleRows();
+    }
+
+    /**
+     * Adds the task, or replaces its outdated version, at its position in the view
+     */
+    private void putTaskInfo(TaskInfo taskInfo) {
+        long id = taskInfo.getId();
+        tasks.put(id, taskInfo);
+        rows.remove(id);
+        int oldIndex = hide(id);
+        int newIndex = isShown(id) ? show(taskInfo) : -1;
 
-        // trigger observer effect
-        taskDataBinding.setTaskId(taskReader.getId());
+        if (oldIndex >= 0 && oldIndex == newIndex) {
+            viewInfoList.set(newIndex, rowOf(taskInfo));
+            return;
+        }
+        if (oldIndex >= 0)
+            viewInfoList.remove(oldIndex);
+        if (newIndex >= 0)
+            viewInfoList.add(newIndex, rowOf(taskInfo));
     }
 
-    public void handleUpdate(TaskReader taskReader) {
-        long taskId = taskReader.getId();
+    private void removeTaskInfo(long taskId) {
+        tasks.remove(taskId);
+        rows.remove(taskId);
+        infeasibleIds.remove(taskId);
+        int index = hide(taskId);
+        if (index >= 0)
+            viewInfoList.remove(index);
+    }
 
-        // delete the outdated task before putting in the new one
-        taskInfoList.removeIf(taskInfo -> taskInfo.getId() == taskId);
+    /**
+     * Replaces the rows of the shown tasks whose feasibility changed
+     */
+    private void updateFeasibleRows() {
+        for (long id : refreshFeasibility()) {
+            RowKey key = shownKeys.get(id);
+            if (key != null)
+                viewInfoList.set(shownRows.indexOf(key), rowOf(tasks.get(id)));
+        }
+    }
 
-        // put the updated task into the taskInfoList
-        TaskInfo updatedTask = new TaskInfoFromTaskReader(taskReader);
-        insertTaskInfo(updatedTask);
+    /**
+     * Asks the forecaster for the tasks not done in time, which are usually few, instead of every forecast.
+     * The rows of the tasks whose feasibility changed are formatted again when next needed.
+     * @return the ids of those tasks
+     */
+    private Set<Long> refreshFeasibility() {
+        Set<Long> previous = infeasibleIds;
+        infeasibleIds = capacityForecaster.getInfeasibleTasks();
 
-        // update the view
-        updateViewInfoList();
+        Set<Long> changed = new HashSet<>(infeasibleIds);
+        changed.addAll(previous);
+        changed.removeIf(id -> previous.contains(id) == infeasibleIds.contains(id));
+        for (long id : changed)
+            rows.remove(id);
+        return changed;
+    }
 
-        // touch the task id to trigger observer effect so that when entering the task details page,
-        // the new values are auto-filled (rather than the old values)
-        taskDataBinding.setTaskId(taskId);
+    /**
+     * @return the position the task is shown at
+     */
+    private int show(TaskInfo taskInfo) {
+        RowKey key = new RowKey(taskInfo.getDeadline(), taskInfo.getId());
+        shownKeys.put(taskInfo.getId(), key);
+        return shownRows.add(key);
     }
 
-    public void handleDeletion(TaskReader taskReader) {
-        long taskId = taskReader.getId();
-        taskInfoList.removeIf(taskInfo -> taskInfo.getId() == taskId);
-        updateViewInfoList();
+    /**
+     * @return the position the task was shown at, or -1 if it was not shown
+     */
+    private int hide(long taskId) {
+        RowKey key = shownKeys.remove(taskId);
+        return key == null ? -1 : shownRows.remove(key);
+    }
+
+    private void refreshMatchingIds() {
+        if (searchQuery.isBlank()) {
+            matchingIds = null;
+            return;
+        }
+        matchingIds = new HashSet<>();
+        for (SearchResultInfo result : searcher.search(searchQuery, Integer.MAX_VALUE)) {
+            if (result.getKind() == SearchResultKind.TASK)
+                matchingIds.add(result.getId());
+        }
+    }
+
+    private boolean isShown(long taskId) {
+        return matchingIds == null || matchingIds.contains(taskId);
+    }
+
+    private boolean isFeasible(long taskId) {
+        // tasks without a forecast are completed or have no deadline, so they cannot be late
+        return !infeasibleIds.contains(taskId);
+    }
+
+    private Map<String, String> rowOf(TaskInfo taskInfo) {
+        return rows.computeIfAbsent(taskInfo.getId(), id -> {
+            String deadline = "No Deadline";
+            if (taskInfo.getDeadline() != null)
+                deadline = taskInfo.getDeadline().format(DEADLINE_FORMAT);
+
+            Map<String, String> taskViewInfo = new HashMap<>();
+            taskViewInfo.put("id", String.valueOf(id));
+            taskViewInfo.put("taskName", taskInfo.getName());
+            taskViewInfo.put("deadline", deadline);
+            taskViewInfo.put("completed", Boolean.toString(taskInfo.getCompleted()));
+            taskViewInfo.put("feasible", Boolean.toString(isFeasible(id)));
+            return taskViewInfo;
+        });
     }
 }
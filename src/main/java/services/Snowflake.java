@@ -49,6 +49,24 @@ public class Snowflake {
      * @return the next ID
      */
     public synchronized long nextId() {
+        return generateId();
+    }
+
+    /**
+     * generates a block of IDs at once, holding the lock once for the whole block
+     * @param count the number of IDs to generate
+     * @return the IDs, in increasing order
+     */
+    public synchronized long[] nextIds(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count cannot be negative, was " + count);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++)
+            ids[i] = generateId();
+        return ids;
+    }
+
+    private long generateId() {
         long timestampMilli = getTimestampMilli();
 
         // check if clock has not moved backwards
@@ -0,0 +1,22 @@
+package services.capacityforecasting;
+
+import java.util.List;
+import java.util.Set;
+
+public interface CapacityForecastBoundary {
+    /**
+     * @return a forecast for every incomplete task with a deadline, in order of deadline
+     */
+    List<DeadlineForecast> getForecasts();
+
+    /**
+     * @param taskId the id of a task
+     * @return the forecast of the task, or null if it is completed or has no deadline
+     */
+    DeadlineForecast getForecast(long taskId);
+
+    /**
+     * @return the ids of the incomplete tasks with a deadline that are forecast not to be done in time
+     */
+    Set<Long> getInfeasibleTasks();
+}
@@ -0,0 +1,374 @@
+package services.capacityforecasting;
+
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import entity.dates.TimeFrame;
+import services.eventfromtaskcreation.FreeSpaceIndex;
+import services.eventfromtaskcreation.SchedulingConstraints;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares the time needed by incomplete tasks against the free time in the calendar before their deadlines.
+ *
+ * The demand and the free time are summed up to each deadline, with the free time counted from the start of
+ * the expanded timeline so that the sums stay valid as time passes. A changed task only recomputes the sums
+ * from its deadline on, and a changed event only those from the first deadline after it. The free time between
+ * two consecutive deadlines is cached, so recomputing a sum does not measure the calendar again.
+ *
+ * The deadlines are also kept in order of the free time left over at each of them, which lets the tasks not
+ * done in time be found without going through every deadline.
+ */
+public class CapacityForecaster implements CapacityForecastBoundary {
+
+    private final TodoListManager todoListManager;
+    private final CalendarManager calendarManager;
+    private final SchedulingConstraints constraints;
+    private final FreeSpaceIndex timeline = new FreeSpaceIndex();
+
+    private final Map<Long, PendingTask> pendingById = new HashMap<>();
+    private final TreeMap<LocalDateTime, DeadlineTotals> deadlines = new TreeMap<>();
+    // the deadlines by the free time from the start of the timeline left over after their demand
+    private final TreeMap<Duration, Set<LocalDateTime>> deadlinesBySlack = new TreeMap<>();
+    // the earliest deadline whose sums are outdated, or null if they are all up to date
+    private LocalDateTime outdatedFrom;
+
+    // free time between the previous deadline, or the start of the timeline, and each deadline
+    private final TreeMap<LocalDateTime, Duration> segmentFreeTime = new TreeMap<>();
+
+    private boolean loaded = false;
+    private LocalDateTime timelineStart;
+    private LocalDateTime timelineEnd;
+
+    public CapacityForecaster(TodoListManager todoListManager, CalendarManager calendarManager,
+                              SchedulingConstraints constraints) {
+        this.todoListManager = todoListManager;
+        this.calendarManager = calendarManager;
+        this.constraints = constraints;
+    }
+
+    @Override
+    public List<DeadlineForecast> getForecasts() {
+        LocalDateTime now = refresh();
+        Duration elapsedFreeTime = timeline.freeTimeBetween(timelineStart, now, constraints);
+
+        List<DeadlineForecast> forecasts = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, DeadlineTotals> deadline : deadlines.entrySet()) {
+            for (long taskId : deadline.getValue().taskIds)
+                forecasts.add(forecastOf(taskId, deadline.getKey(), deadline.getValue(), now, elapsedFreeTime));
+        }
+        return forecasts;
+    }
+
+    @Override
+    public DeadlineForecast getForecast(long taskId) {
+        LocalDateTime now = refresh();
+        PendingTask task = pendingById.get(taskId);
+        if (task == null)
+            return null;
+        Duration elapsedFreeTime = timeline.freeTimeBetween(timelineStart, now, constraints);
+        return forecastOf(taskId, task.deadline, deadlines.get(task.deadline), now, elapsedFreeTime);
+    }
+
+    @Override
+    public Set<Long> getInfeasibleTasks() {
+        LocalDateTime now = refresh();
+        Duration elapsedFreeTime = timeline.freeTimeBetween(timelineStart, now, constraints);
+
+        Set<Long> infeasible = new HashSet<>();
+        // no time is left for passed deadlines
+        for (DeadlineTotals totals : deadlines.headMap(now, true).values()) {
+            if (totals.cumulativeDemand.compareTo(Duration.ZERO) > 0)
+                infeasible.addAll(totals.taskIds);
+        }
+        // the free time from now is the free time from the start of the timeline less the time already past
+        for (Set<LocalDateTime> sameSlack : deadlinesBySlack.headMap(elapsedFreeTime, false).values()) {
+            for (LocalDateTime deadline : sameSlack) {
+                if (deadline.isAfter(now))
+                    infeasible.addAll(deadlines.get(deadline).taskIds);
+            }
+        }
+        return infeasible;
+    }
+
+    /**
+     * Loads the tasks and expands the events if not done yet, and brings the sums up to date
+     * @return the time the forecasts are made at
+     */
+    private LocalDateTime refresh() {
+        loadIfNeeded();
+        LocalDateTime now = LocalDateTime.now();
+        buildTimelineIfNeeded(now);
+        updateSums();
+        return now;
+    }
+
+    /**
+     * @return the forecast of the task, given the free time from the start of the timeline to now
+     */
+    private DeadlineForecast forecastOf(long taskId, LocalDateTime deadline, DeadlineTotals totals,
+                                        LocalDateTime now, Duration elapsedFreeTime) {
+        Duration capacity = deadline.isAfter(now) ? totals.freeTime.minus(elapsedFreeTime) : Duration.ZERO;
+        return new Forecast(taskId, deadline, totals.cumulativeDemand, capacity);
+    }
+
+    /**
+     * Sums the demand and the free time again from the earliest outdated deadline on
+     */
+    private void updateSums() {
+        if (outdatedFrom == null)
+            return;
+        Map.Entry<LocalDateTime, DeadlineTotals> previous = deadlines.lowerEntry(outdatedFrom);
+        LocalDateTime previousDeadline = previous == null ? null : previous.getKey();
+        Duration demand = previous == null ? Duration.ZERO : previous.getValue().cumulativeDemand;
+        Duration freeTime = previous == null ? Duration.ZERO : previous.getValue().freeTime;
+
+        for (Map.Entry<LocalDateTime, DeadlineTotals> deadline : deadlines.tailMap(outdatedFrom, true).entrySet()) {
+            DeadlineTotals totals = deadline.getValue();
+            demand = demand.plus(totals.demand);
+            freeTime = freeTime.plus(freeTimeBefore(deadline.getKey(), previousDeadline));
+            removeSlack(deadline.getKey(), totals);
+            totals.cumulativeDemand = demand;
+            totals.freeTime = freeTime;
+            deadlinesBySlack.computeIfAbsent(totals.slack(), k -> new HashSet<>()).add(deadline.getKey());
+            previousDeadline = deadline.getKey();
+        }
+        outdatedFrom = null;
+    }
+
+    /**
+     * @return the free time between the previous deadline and the deadline, counted from the start of the
+     *         timeline, and nothing for deadlines before it
+     */
+    private Duration freeTimeBefore(LocalDateTime deadline, LocalDateTime previousDeadline) {
+        if (!deadline.isAfter(timelineStart))
+            return Duration.ZERO;
+        LocalDateTime segmentStart = previousDeadline == null || previousDeadline.isBefore(timelineStart)
+                ? timelineStart
+                : previousDeadline;
+        return segmentFreeTime.computeIfAbsent(deadline,
+                d -> timeline.freeTimeBetween(segmentStart, d, constraints));
+    }
+
+    private void removeSlack(LocalDateTime deadline, DeadlineTotals totals) {
+        if (totals.cumulativeDemand == null)
+            return;
+        Set<LocalDateTime> sameSlack = deadlinesBySlack.get(totals.slack());
+        sameSlack.remove(deadline);
+        if (sameSlack.isEmpty())
+            deadlinesBySlack.remove(totals.slack());
+    }
+
+    private void markOutdated(LocalDateTime deadline) {
+        if (deadline != null && (outdatedFrom == null || deadline.isBefore(outdatedFrom)))
+            outdatedFrom = deadline;
+    }
+
+    /**
+     * A method listening to the task repository on task creation
+     * @param taskReader the newly created task
+     */
+    public void handleTaskCreation(TaskReader taskReader) {
+        if (!loaded)
+            return;
+        removeTask(taskReader.getId());
+        addTask(taskReader);
+    }
+
+    /**
+     * A method listening to the task repository on task update
+     * @param taskReader the updated task
+     */
+    public void handleTaskUpdate(TaskReader taskReader) {
+        handleTaskCreation(taskReader);
+    }
+
+    /**
+     * A method listening to the task repository on task deletion
+     * @param taskReader the deleted task
+     */
+    public void handleTaskDeletion(TaskReader taskReader) {
+        if (!loaded)
+            return;
+        removeTask(taskReader.getId());
+    }
+
+    /**
+     * A method listening to the event repository on event creation and update
+     * @param eventReader the changed event
+     */
+    public void handleEventChange(EventReader eventReader) {
+        if (timelineStart == null)
+            return;
+        TimeFrame oldExtent = timeline.getExtent(eventReader.getId());
+        timeline.occupy(eventReader, timelineStart, timelineEnd, constraints);
+        invalidateSegments(oldExtent);
+        invalidateSegments(timeline.getExtent(eventReader.getId()));
+    }
+
+    /**
+     * A method listening to the event repository on event deletion
+     * @param eventReader the deleted event
+     */
+    public void handleEventDeletion(EventReader eventReader) {
+        if (timelineStart == null)
+            return;
+        TimeFrame oldExtent = timeline.getExtent(eventReader.getId());
+        timeline.release(eventReader.getId());
+        invalidateSegments(oldExtent);
+    }
+
+    private void loadIfNeeded() {
+        if (loaded)
+            return;
+        for (TaskReader task : todoListManager.getAllTasks())
+            addTask(task);
+        loaded = true;
+    }
+
+    /**
+     * Expands the events until the last deadline, leaving a month of room so that
+     * new deadlines rarely require expanding every event again.
+     */
+    private void buildTimelineIfNeeded(LocalDateTime now) {
+        LocalDateTime lastDeadline = deadlines.isEmpty() ? now : deadlines.lastKey();
+        if (timelineStart != null && !lastDeadline.isAfter(timelineEnd))
+            return;
+
+        timelineStart = now;
+        timelineEnd = (lastDeadline.isAfter(now) ? lastDeadline : now).plusMonths(1);
+        timeline.clear();
+        segmentFreeTime.clear();
+        for (EventReader event : calendarManager.getAllEvents())
+            timeline.occupy(event, timelineStart, timelineEnd, constraints);
+        if (!deadlines.isEmpty())
+            markOutdated(deadlines.firstKey());
+    }
+
+    private void addTask(TaskReader task) {
+        if (task.getCompleted() || task.getDeadline() == null)
+            return;
+        Duration duration = task.getDuration() == null ? Duration.ZERO : task.getDuration();
+        PendingTask pendingTask = new PendingTask(task.getId(), task.getDeadline(), duration);
+        pendingById.put(pendingTask.id, pendingTask);
+
+        DeadlineTotals totals = deadlines.get(pendingTask.deadline);
+        if (totals == null) {
+            totals = new DeadlineTotals();
+            deadlines.put(pendingTask.deadline, totals);
+            // the deadline after a new one now starts its segment at the new deadline
+            LocalDateTime next = deadlines.higherKey(pendingTask.deadline);
+            if (next != null)
+                segmentFreeTime.remove(next);
+        }
+        totals.taskIds.add(pendingTask.id);
+        totals.demand = totals.demand.plus(duration);
+        markOutdated(pendingTask.deadline);
+    }
+
+    private void removeTask(long taskId) {
+        PendingTask removed = pendingById.remove(taskId);
+        if (removed == null)
+            return;
+
+        DeadlineTotals totals = deadlines.get(removed.deadline);
+        totals.taskIds.remove(taskId);
+        totals.demand = totals.demand.minus(removed.duration);
+        LocalDateTime next = deadlines.higherKey(removed.deadline);
+        if (totals.taskIds.isEmpty()) {
+            removeSlack(removed.deadline, totals);
+            deadlines.remove(removed.deadline);
+            segmentFreeTime.remove(removed.deadline);
+            if (next != null)
+                segmentFreeTime.remove(next);
+            markOutdated(next);
+        } else {
+            markOutdated(removed.deadline);
+        }
+    }
+
+    /**
+     * Forgets the free time of every segment overlapping the given time.
+     */
+    private void invalidateSegments(TimeFrame changed) {
+        if (changed == null)
+            return;
+        LocalDateTime changedEnd = changed.startTime.plus(changed.duration);
+        LocalDateTime lastAffected = deadlines.ceilingKey(changedEnd);
+        if (lastAffected == null)
+            segmentFreeTime.tailMap(changed.startTime, false).clear();
+        else if (lastAffected.isAfter(changed.startTime))
+            segmentFreeTime.subMap(changed.startTime, false, lastAffected, true).clear();
+        markOutdated(deadlines.higherKey(changed.startTime));
+    }
+
+    private record PendingTask(long id, LocalDateTime deadline, Duration duration) {
+    }
+
+    /**
+     * The tasks due at a deadline, and the sums up to it
+     */
+    private static class DeadlineTotals {
+        private final TreeSet<Long> taskIds = new TreeSet<>();
+        // the demand of the tasks due at the deadline
+        private Duration demand = Duration.ZERO;
+        // the demand of the tasks due by the deadline, or null if not summed yet
+        private Duration cumulativeDemand;
+        // the free time from the start of the timeline to the deadline
+        private Duration freeTime;
+
+        Duration slack() {
+            return freeTime.minus(cumulativeDemand);
+        }
+    }
+
+    private static class Forecast implements DeadlineForecast {
+        private final long taskId;
+        private final LocalDateTime deadline;
+        private final Duration cumulativeDemand;
+        private final Duration availableCapacity;
+
+        Forecast(long taskId, LocalDateTime deadline, Duration cumulativeDemand, Duration availableCapacity) {
+            this.taskId = taskId;
+            this.deadline = deadline;
+            this.cumulativeDemand = cumulativeDemand;
+            this.availableCapacity = availableCapacity;
+        }
+
+        @Override
+        public long getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public LocalDateTime getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public Duration getCumulativeDemand() {
+            return cumulativeDemand;
+        }
+
+        @Override
+        public Duration getAvailableCapacity() {
+            return availableCapacity;
+        }
+
+        @Override
+        public boolean isFeasible() {
+            return cumulativeDemand.compareTo(availableCapacity) <= 0;
+        }
+    }
+}
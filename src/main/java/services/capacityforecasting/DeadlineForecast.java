@@ -0,0 +1,26 @@
+package services.capacityforecasting;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Whether an incomplete task can still be finished by its deadline, assuming every task
+ * due no later than it is worked on in the free time before that deadline.
+ */
+public interface DeadlineForecast {
+    long getTaskId();
+
+    LocalDateTime getDeadline();
+
+    /**
+     * @return the total time needed by the incomplete tasks due no later than the deadline
+     */
+    Duration getCumulativeDemand();
+
+    /**
+     * @return the free time in the calendar from now until the deadline
+     */
+    Duration getAvailableCapacity();
+
+    boolean isFeasible();
+}
@@ -0,0 +1,228 @@
+package services.changefeed;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import datagateway.EntityChange;
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import services.eventcreation.EventInfoFromReader;
+import services.eventpresentation.EventInfo;
+import services.taskpresentation.TaskInfo;
+import services.taskpresentation.TaskInfoFromTaskReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Numbers the changes made to the task and event repositories and keeps the latest ones, so that consumers can
+ * follow them from any sequence number.
+ *
+ * The latest changes are kept in a ring buffer. Changes pushed out of it are appended to a spill file, which is
+ * started over once it holds its maximum number of changes. A consumer asking for changes older than both gets a
+ * snapshot of the repositories instead.
+ */
+public class ChangeFeed implements ChangeFeedBoundary {
+
+    private final TodoListManager todoListManager;
+    private final CalendarManager calendarManager;
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ChangeRecord.class, new JsonChangeRecordAdapter())
+            .create();
+
+    private final ChangeRecord[] buffer;
+    // the index of the oldest change in the buffer
+    private int head = 0;
+    private int size = 0;
+    private long nextSequence = 1;
+
+    private final String spillPath;
+    private final int maxSpilled;
+    private BufferedWriter spillWriter;
+    // the sequence number of the first change in the spill file, or 0 if it is empty
+    private long spillStart = 0;
+    private int spilled = 0;
+
+    private final List<ChangeFeedSubscriber> subscribers = new ArrayList<>();
+
+    /**
+     * Create a feed keeping only the changes that fit in the buffer
+     */
+    public ChangeFeed(TodoListManager todoListManager, CalendarManager calendarManager, int capacity) {
+        this(todoListManager, calendarManager, capacity, null, 0);
+    }
+
+    /**
+     * @param capacity the number of changes kept in memory
+     * @param spillPath the file keeping the changes pushed out of memory, overwritten by this feed
+     * @param maxSpilled the number of changes kept in the spill file
+     */
+    public ChangeFeed(TodoListManager todoListManager, CalendarManager calendarManager, int capacity,
+                      String spillPath, int maxSpilled) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        this.todoListManager = todoListManager;
+        this.calendarManager = calendarManager;
+        this.buffer = new ChangeRecord[capacity];
+        this.spillPath = spillPath;
+        this.maxSpilled = maxSpilled;
+    }
+
+    /**
+     * A method listening to the changes of the task repository
+     */
+    public void handleTaskChange(EntityChange<TaskReader> change) {
+        append(ChangeSource.TASK, change);
+    }
+
+    /**
+     * A method listening to the changes of the event repository
+     */
+    public void handleEventChange(EntityChange<EventReader> change) {
+        append(ChangeSource.EVENT, change);
+    }
+
+    @Override
+    public long getLastSequence() {
+        return nextSequence - 1;
+    }
+
+    @Override
+    public void subscribe(long fromSequence, ChangeFeedSubscriber subscriber) {
+        long from = Math.max(fromSequence, 1);
+        if (from < oldestKept())
+            subscriber.onSnapshot(snapshot());
+        else
+            replay(from, subscriber);
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(ChangeFeedSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public ChangeFeedSnapshot snapshot() {
+        List<TaskInfo> tasks = new ArrayList<>();
+        for (TaskReader task : todoListManager.getAllTasks())
+            tasks.add(new TaskInfoFromTaskReader(task));
+        List<EventInfo> events = new ArrayList<>();
+        for (EventReader event : calendarManager.getAllEvents())
+            events.add(new EventInfoFromReader(event));
+        return new ChangeFeedSnapshot(getLastSequence(), tasks, events);
+    }
+
+    private void append(ChangeSource source, EntityChange<?> change) {
+        ChangeRecord record = new ChangeRecord(nextSequence++, source, change.type(), change.id(), change.field(),
+                asText(change.oldValue()), asText(change.newValue()));
+        if (size == buffer.length) {
+            spill(buffer[head]);
+            head = (head + 1) % buffer.length;
+            size--;
+        }
+        buffer[(head + size) % buffer.length] = record;
+        size++;
+
+        for (ChangeFeedSubscriber subscriber : new ArrayList<>(subscribers)) {
+            try {
+                subscriber.onChange(record);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return the sequence number of the oldest change still kept in the spill file or the buffer
+     */
+    private long oldestKept() {
+        if (spillStart != 0)
+            return spillStart;
+        return size == 0 ? nextSequence : buffer[head].sequence();
+    }
+
+    private void replay(long from, ChangeFeedSubscriber subscriber) {
+        if (spillStart != 0 && from < buffer[head].sequence()) {
+            List<ChangeRecord> spilledRecords = readSpilled(from);
+            if (spilledRecords == null) {
+                subscriber.onSnapshot(snapshot());
+                return;
+            }
+            for (ChangeRecord record : spilledRecords)
+                subscriber.onChange(record);
+        }
+        for (int i = 0; i < size; i++) {
+            ChangeRecord record = buffer[(head + i) % buffer.length];
+            if (record.sequence() >= from)
+                subscriber.onChange(record);
+        }
+    }
+
+    private void spill(ChangeRecord record) {
+        if (spillPath == null || maxSpilled < 1)
+            return;
+        try {
+            if (spillWriter == null || spilled == maxSpilled) {
+                // start the file over, giving up the oldest changes
+                if (spillWriter != null)
+                    spillWriter.close();
+                spillWriter = new BufferedWriter(new FileWriter(spillPath, false));
+                spillStart = record.sequence();
+                spilled = 0;
+            }
+            spillWriter.write(gson.toJson(record));
+            spillWriter.newLine();
+            spilled++;
+        } catch (IOException e) {
+            e.printStackTrace();
+            dropSpillFile();
+        }
+    }
+
+    /**
+     * @return the spilled changes from the sequence number on, or null if the spill file cannot be read
+     */
+    private List<ChangeRecord> readSpilled(long from) {
+        List<ChangeRecord> records = new ArrayList<>();
+        try {
+            spillWriter.flush();
+            try (BufferedReader reader = new BufferedReader(new FileReader(spillPath))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    ChangeRecord record = gson.fromJson(line, ChangeRecord.class);
+                    if (record.sequence() >= from)
+                        records.add(record);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+            dropSpillFile();
+            return null;
+        }
+        return records;
+    }
+
+    private void dropSpillFile() {
+        try {
+            if (spillWriter != null)
+                spillWriter.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        spillWriter = null;
+        spillStart = 0;
+        spilled = 0;
+    }
+
+    private static String asText(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
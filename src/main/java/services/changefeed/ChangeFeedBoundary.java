@@ -0,0 +1,23 @@
+package services.changefeed;
+
+public interface ChangeFeedBoundary {
+
+    /**
+     * @return the sequence number of the last change, or 0 if nothing changed yet
+     */
+    long getLastSequence();
+
+    /**
+     * Deliver the changes from the sequence number on to the subscriber, then every new change as it happens.
+     * If the oldest of them is no longer kept, the subscriber gets a snapshot instead and follows on from it.
+     * @param fromSequence the sequence number of the first change wanted
+     */
+    void subscribe(long fromSequence, ChangeFeedSubscriber subscriber);
+
+    void unsubscribe(ChangeFeedSubscriber subscriber);
+
+    /**
+     * @return every task and event, with the sequence number of the last change they include
+     */
+    ChangeFeedSnapshot snapshot();
+}
@@ -0,0 +1,13 @@
+package services.changefeed;
+
+import services.eventpresentation.EventInfo;
+import services.taskpresentation.TaskInfo;
+
+import java.util.List;
+
+/**
+ * Every task and event, for a consumer that cannot be given the changes it missed
+ * @param sequence the sequence number of the last change the snapshot includes; the consumer resumes after it
+ */
+public record ChangeFeedSnapshot(long sequence, List<TaskInfo> tasks, List<EventInfo> events) {
+}
@@ -0,0 +1,18 @@
+package services.changefeed;
+
+/**
+ * A consumer following the {@link ChangeFeed}
+ */
+public interface ChangeFeedSubscriber {
+
+    /**
+     * Called instead of replaying the missed changes when some of them are no longer kept.
+     * The changes after the sequence number of the snapshot follow through {@link #onChange(ChangeRecord)}.
+     */
+    void onSnapshot(ChangeFeedSnapshot snapshot);
+
+    /**
+     * Called with each change, in the order of the sequence numbers
+     */
+    void onChange(ChangeRecord change);
+}
@@ -0,0 +1,18 @@
+package services.changefeed;
+
+import datagateway.ChangeType;
+import datagateway.ChangedField;
+
+/**
+ * A change made to a task or an event, as published by the {@link ChangeFeed}
+ * @param sequence the position of the change in the feed, counting up from 1 without gaps
+ * @param source the repository that changed
+ * @param type what happened to the entity
+ * @param id the id of the entity
+ * @param field the field that was updated, or null if the entity was created or deleted
+ * @param oldValue the value of the field before the update as text, or null
+ * @param newValue the value of the field after the update as text, or null
+ */
+public record ChangeRecord(long sequence, ChangeSource source, ChangeType type, long id, ChangedField field,
+                           String oldValue, String newValue) {
+}
@@ -0,0 +1,9 @@
+package services.changefeed;
+
+/**
+ * The repository a change was made to
+ */
+public enum ChangeSource {
+    TASK,
+    EVENT
+}
@@ -0,0 +1,68 @@
+package services.changefeed;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import datagateway.ChangeType;
+import datagateway.ChangedField;
+
+import java.io.IOException;
+
+/**
+ * Writes a change record as a single line of the spill file, and reads it back.
+ *
+ * Gson only constructs records reflectively from version 2.10 on, so the fields are read into the canonical
+ * constructor here instead.
+ */
+class JsonChangeRecordAdapter extends TypeAdapter<ChangeRecord> {
+
+    @Override
+    public void write(JsonWriter jsonWriter, ChangeRecord record) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("sequence").value(record.sequence());
+        jsonWriter.name("source").value(record.source().name());
+        jsonWriter.name("type").value(record.type().name());
+        jsonWriter.name("id").value(record.id());
+        jsonWriter.name("field").value(record.field() == null ? null : record.field().name());
+        jsonWriter.name("oldValue").value(record.oldValue());
+        jsonWriter.name("newValue").value(record.newValue());
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public ChangeRecord read(JsonReader jsonReader) throws IOException {
+        long sequence = 0;
+        ChangeSource source = null;
+        ChangeType type = null;
+        long id = 0;
+        ChangedField field = null;
+        String oldValue = null;
+        String newValue = null;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "sequence" -> sequence = jsonReader.nextLong();
+                case "source" -> source = ChangeSource.valueOf(jsonReader.nextString());
+                case "type" -> type = ChangeType.valueOf(jsonReader.nextString());
+                case "id" -> id = jsonReader.nextLong();
+                case "field" -> field = ChangedField.valueOf(jsonReader.nextString());
+                case "oldValue" -> oldValue = jsonReader.nextString();
+                case "newValue" -> newValue = jsonReader.nextString();
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (source == null || type == null)
+            throw new IOException("Incomplete change record " + sequence);
+        return new ChangeRecord(sequence, source, type, id, field, oldValue, newValue);
+    }
+}
@@ -0,0 +1,284 @@
+package services.conflictdetection;
+
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import entity.dates.TimeFrame;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Finds the overlapping occurrences of the events in a calendar.
+ *
+ * The occurrences in the requested windows are kept sorted by start time, so a report is a single sweep over
+ * them and the occurrences of an event are re-expanded only when that event changes. The indexed window grows to
+ * cover every window requested.
+ */
+public class ConflictDetector implements ConflictReportBoundary {
+
+    private final CalendarManager calendarManager;
+
+    private final Map<Long, List<Occurrence>> occurrencesByEvent = new HashMap<>();
+    private final TreeMap<LocalDateTime, List<Occurrence>> occurrencesByStart = new TreeMap<>();
+    private Duration longestOccurrence = Duration.ZERO;
+
+    private LocalDateTime indexedFrom;
+    private LocalDateTime indexedTo;
+    private List<ConflictInfo> cachedConflicts;
+
+    public ConflictDetector(CalendarManager calendarManager) {
+        this.calendarManager = calendarManager;
+    }
+
+    @Override
+    public List<ConflictInfo> getConflicts(LocalDateTime from, LocalDateTime to) {
+        indexWindow(from, to);
+        if (cachedConflicts == null)
+            cachedConflicts = sweep();
+
+        List<ConflictInfo> conflicts = new ArrayList<>();
+        for (ConflictInfo conflict : cachedConflicts) {
+            if (conflict.getEnd().isAfter(from) && conflict.getStart().isBefore(to))
+                conflicts.add(conflict);
+        }
+        return conflicts;
+    }
+
+    @Override
+    public Set<Long> getConflictingEvents(long eventId, LocalDateTime from, LocalDateTime to) {
+        Set<Long> conflictingIds = new HashSet<>();
+        forEachOverlap(eventId, from, to, (occurrence, other) -> conflictingIds.add(other.eventId));
+        return conflictingIds;
+    }
+
+    @Override
+    public Set<LocalDateTime> getConflictingOccurrences(long eventId, LocalDateTime from, LocalDateTime to) {
+        Set<LocalDateTime> conflictingStarts = new HashSet<>();
+        forEachOverlap(eventId, from, to, (occurrence, other) -> conflictingStarts.add(occurrence.start));
+        return conflictingStarts;
+    }
+
+    /**
+     * Passes each occurrence of the event in the window with each occurrence of another event it overlaps, looking
+     * only at the occurrences starting less than the longest occurrence before it
+     */
+    private void forEachOverlap(long eventId, LocalDateTime from, LocalDateTime to,
+                                BiConsumer<Occurrence, Occurrence> action) {
+        indexWindow(from, to);
+        for (Occurrence occurrence : occurrencesByEvent.getOrDefault(eventId, Collections.emptyList())) {
+            if (!occurrence.end.isAfter(from) || !occurrence.start.isBefore(to))
+                continue;
+            LocalDateTime searchFrom = occurrence.start.minus(longestOccurrence);
+            for (List<Occurrence> candidates : occurrencesByStart.subMap(searchFrom, true, occurrence.end, false).values()) {
+                for (Occurrence candidate : candidates) {
+                    if (candidate.eventId != eventId && candidate.end.isAfter(occurrence.start))
+                        action.accept(occurrence, candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * A method listening to the repository on event creation
+     * @param eventReader the newly created event
+     */
+    public void handleCreation(EventReader eventReader) {
+        if (indexedFrom == null)
+            return;
+        removeOccurrences(eventReader.getId());
+        addOccurrences(eventReader);
+        cachedConflicts = null;
+    }
+
+    /**
+     * A method listening to the repository on event update
+     * @param eventReader the updated event
+     */
+    public void handleUpdate(EventReader eventReader) {
+        handleCreation(eventReader);
+    }
+
+    /**
+     * A method listening to the repository on event deletion
+     * @param eventReader the deleted event
+     */
+    public void handleDeletion(EventReader eventReader) {
+        if (indexedFrom == null)
+            return;
+        removeOccurrences(eventReader.getId());
+        cachedConflicts = null;
+    }
+
+    /**
+     * Makes sure the occurrences between from and to are indexed. A window outside of the current index grows it,
+     * and only the occurrences in the part added to the window are expanded.
+     */
+    private void indexWindow(LocalDateTime from, LocalDateTime to) {
+        if (indexedFrom == null) {
+            indexedFrom = from;
+            indexedTo = to;
+            for (EventReader event : calendarManager.getAllEvents())
+                addOccurrences(event.getId(), occurrencesBetween(event, from, to));
+            cachedConflicts = null;
+            return;
+        }
+        if (!from.isBefore(indexedFrom) && !to.isAfter(indexedTo))
+            return;
+
+        LocalDateTime oldFrom = indexedFrom;
+        LocalDateTime oldTo = indexedTo;
+        indexedFrom = from.isBefore(oldFrom) ? from : oldFrom;
+        indexedTo = to.isAfter(oldTo) ? to : oldTo;
+        for (EventReader event : calendarManager.getAllEvents()) {
+            List<Occurrence> added = new ArrayList<>();
+            if (indexedFrom.isBefore(oldFrom))
+                added.addAll(occurrencesBetween(event, indexedFrom, oldFrom));
+            if (indexedTo.isAfter(oldTo))
+                added.addAll(occurrencesBetween(event, oldTo, indexedTo));
+            // the occurrences crossing a bound of the old window are already indexed
+            added.removeIf(occurrence -> overlaps(occurrence, oldFrom, oldTo));
+            addOccurrences(event.getId(), added);
+        }
+        cachedConflicts = null;
+    }
+
+    private void addOccurrences(EventReader event) {
+        addOccurrences(event.getId(), occurrencesBetween(event, indexedFrom, indexedTo));
+    }
+
+    private void addOccurrences(long eventId, List<Occurrence> occurrences) {
+        List<Occurrence> indexed = occurrencesByEvent.computeIfAbsent(eventId, k -> new ArrayList<>());
+        for (Occurrence occurrence : occurrences) {
+            indexed.add(occurrence);
+            occurrencesByStart.computeIfAbsent(occurrence.start, k -> new ArrayList<>()).add(occurrence);
+            Duration duration = Duration.between(occurrence.start, occurrence.end);
+            if (duration.compareTo(longestOccurrence) > 0)
+                longestOccurrence = duration;
+        }
+    }
+
+    /**
+     * @return the occurrences of the event overlapping from (inclusive) to (exclusive)
+     */
+    private static List<Occurrence> occurrencesBetween(EventReader event, LocalDateTime from, LocalDateTime to) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (TimeFrame tf : event.getDatesOverlapping(from, to))
+            occurrences.add(new Occurrence(event.getId(), tf.startTime, tf.startTime.plus(tf.duration)));
+        return occurrences;
+    }
+
+    private static boolean overlaps(Occurrence occurrence, LocalDateTime from, LocalDateTime to) {
+        boolean endsAfterFrom = occurrence.end.isAfter(from) || !occurrence.start.isBefore(from);
+        return endsAfterFrom && occurrence.start.isBefore(to);
+    }
+
+    private void removeOccurrences(long eventId) {
+        List<Occurrence> removed = occurrencesByEvent.remove(eventId);
+        if (removed == null)
+            return;
+        for (Occurrence occurrence : removed) {
+            List<Occurrence> atStart = occurrencesByStart.get(occurrence.start);
+            atStart.remove(occurrence);
+            if (atStart.isEmpty())
+                occurrencesByStart.remove(occurrence.start);
+        }
+    }
+
+    /**
+     * Sweeps over the occurrences in order of start time, keeping the occurrences that have not ended yet.
+     * An occurrence starting while no other occurrence is active starts a new conflict.
+     */
+    private List<ConflictInfo> sweep() {
+        List<ConflictInfo> conflicts = new ArrayList<>();
+        PriorityQueue<Occurrence> active = new PriorityQueue<>(Comparator.comparing(o -> o.end));
+        ConflictCluster cluster = null;
+
+        for (List<Occurrence> startingTogether : occurrencesByStart.values()) {
+            for (Occurrence occurrence : startingTogether) {
+                while (!active.isEmpty() && !active.peek().end.isAfter(occurrence.start))
+                    active.poll();
+
+                if (active.isEmpty()) {
+                    if (cluster != null && cluster.isConflict())
+                        conflicts.add(cluster);
+                    cluster = new ConflictCluster(occurrence.start);
+                }
+                for (Occurrence other : active) {
+                    if (other.eventId != occurrence.eventId)
+                        cluster.addPair(other.eventId, occurrence.eventId);
+                }
+                cluster.extendTo(occurrence.end);
+                active.add(occurrence);
+            }
+        }
+        if (cluster != null && cluster.isConflict())
+            conflicts.add(cluster);
+        return conflicts;
+    }
+
+    private record Occurrence(long eventId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static class ConflictCluster implements ConflictInfo {
+        private final LocalDateTime start;
+        private LocalDateTime end;
+        private final Set<Long> eventIds = new HashSet<>();
+        private final Set<List<Long>> overlappingPairs = new HashSet<>();
+
+        ConflictCluster(LocalDateTime start) {
+            this.start = start;
+            this.end = start;
+        }
+
+        void extendTo(LocalDateTime occurrenceEnd) {
+            if (occurrenceEnd.isAfter(end))
+                end = occurrenceEnd;
+        }
+
+        void addPair(long firstId, long secondId) {
+            overlappingPairs.add(List.of(Math.min(firstId, secondId), Math.max(firstId, secondId)));
+            eventIds.add(firstId);
+            eventIds.add(secondId);
+        }
+
+        boolean isConflict() {
+            return !overlappingPairs.isEmpty();
+        }
+
+        @Override
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        @Override
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        @Override
+        public Set<Long> getEventIds() {
+            return Collections.unmodifiableSet(eventIds);
+        }
+
+        @Override
+        public Set<List<Long>> getOverlappingPairs() {
+            return Collections.unmodifiableSet(overlappingPairs);
+        }
+
+        @Override
+        public boolean involves(long eventId, LocalDateTime time) {
+            return eventIds.contains(eventId) && !time.isBefore(start) && time.isBefore(end);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package services.conflictdetection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A group of event occurrences that overlap each other in a chain.
+ * Every occurrence starting between the start and the end of the conflict belongs to it.
+ */
+public interface ConflictInfo {
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    /**
+     * @return the ids of the events with an occurrence in this conflict, at least two
+     */
+    Set<Long> getEventIds();
+
+    /**
+     * @return the pairs of event ids whose occurrences overlap directly, each as {smaller id, larger id}
+     */
+    Set<List<Long>> getOverlappingPairs();
+
+    /**
+     * @param eventId   the id of an event
+     * @param time      the start time of an occurrence of the event
+     * @return whether the occurrence of the event starting at time is part of this conflict
+     */
+    boolean involves(long eventId, LocalDateTime time);
+}
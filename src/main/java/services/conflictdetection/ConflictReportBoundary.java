@@ -0,0 +1,30 @@
+package services.conflictdetection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+public interface ConflictReportBoundary {
+    /**
+     * @param from  the start of the window to check
+     * @param to    the end of the window to check
+     * @return every conflict with an occurrence starting in the window, in order of start time
+     */
+    List<ConflictInfo> getConflicts(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * @param eventId   the id of an event
+     * @param from      the start of the window to check
+     * @param to        the end of the window to check
+     * @return the ids of the events overlapping the given event in the window
+     */
+    Set<Long> getConflictingEvents(long eventId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * @param eventId   the id of an event
+     * @param from      the start of the window to check
+     * @param to        the end of the window to check
+     * @return the start times of the occurrences of the event in the window that overlap another event
+     */
+    Set<LocalDateTime> getConflictingOccurrences(long eventId, LocalDateTime from, LocalDateTime to);
+}
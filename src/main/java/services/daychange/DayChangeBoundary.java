@@ -0,0 +1,23 @@
+package services.daychange;
+
+import datagateway.Observer;
+
+import java.time.LocalDate;
+
+public interface DayChangeBoundary {
+
+    /**
+     * @param observer notified with the new date, on the thread of the scheduler, when the local date changes
+     */
+    void addObserver(Observer<LocalDate> observer);
+
+    /**
+     * Start waiting for the next change of the local date
+     */
+    void start();
+
+    /**
+     * Stop waiting, so that the observers are no longer notified
+     */
+    void stop();
+}
@@ -0,0 +1,105 @@
+package services.daychange;
+
+import datagateway.Observer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifies its observers when the local date changes.
+ *
+ * Rather than polling the clock, it schedules a single check on a shared executor at the next local midnight, or at
+ * the next transition of the time zone if that comes first, and schedules the following check from there. A check
+ * made early, as timers may drift, finds the date unchanged and only schedules the next one.
+ */
+public class DayChangeScheduler implements DayChangeBoundary {
+
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final List<Observer<LocalDate>> observers = new CopyOnWriteArrayList<>();
+
+    private LocalDate today;
+    private ScheduledFuture<?> nextCheck;
+
+    public DayChangeScheduler(ScheduledExecutorService executor) {
+        this(executor, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param executor the executor the checks run on, which may be shared with other services
+     * @param clock the clock, whose zone is the one the dates are in
+     */
+    public DayChangeScheduler(ScheduledExecutorService executor, Clock clock) {
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    @Override
+    public void addObserver(Observer<LocalDate> observer) {
+        observers.add(observer);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (nextCheck != null)
+            return;
+        today = LocalDate.now(clock);
+        scheduleNextCheck();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (nextCheck != null)
+            nextCheck.cancel(false);
+        nextCheck = null;
+    }
+
+    /**
+     * @return the next local midnight after now, or the next transition of the zone if it comes first
+     */
+    public static Instant nextCheckTime(Instant now, ZoneId zone) {
+        LocalDate date = now.atZone(zone).toLocalDate();
+        // atStartOfDay moves past a gap, for zones whose clocks skip midnight
+        Instant midnight = date.plusDays(1).atStartOfDay(zone).toInstant();
+        ZoneOffsetTransition transition = zone.getRules().nextTransition(now);
+        if (transition != null && transition.getInstant().isBefore(midnight))
+            return transition.getInstant();
+        return midnight;
+    }
+
+    private void check() {
+        LocalDate date;
+        synchronized (this) {
+            if (nextCheck == null)
+                return;
+            date = LocalDate.now(clock);
+            boolean changed = !date.equals(today);
+            today = date;
+            scheduleNextCheck();
+            if (!changed)
+                return;
+        }
+        for (Observer<LocalDate> observer : observers) {
+            try {
+                observer.notifyObserver(date);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void scheduleNextCheck() {
+        Instant now = clock.instant();
+        long delay = Math.max(Duration.between(now, nextCheckTime(now, clock.getZone())).toNanos(), 0);
+        nextCheck = executor.schedule(this::check, delay, TimeUnit.NANOSECONDS);
+    }
+}
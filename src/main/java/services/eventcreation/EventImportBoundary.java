@@ -0,0 +1,15 @@
+package services.eventcreation;
+
+import services.taskcreation.ImportProgressListener;
+import services.taskcreation.ImportResult;
+
+import java.io.IOException;
+
+public interface EventImportBoundary {
+
+    /**
+     * Add every event of an iCalendar file. Events that cannot be read are skipped and reported in the result.
+     * @throws IOException if the file cannot be read
+     */
+    ImportResult importEvents(String filePath, ImportProgressListener listener) throws IOException;
+}
@@ -0,0 +1,252 @@
+package services.eventcreation;
+
+import datagateway.event.CalendarManager;
+import datagateway.event.NewEvent;
+import entity.dates.DateStrategy;
+import services.strategybuilding.MultipleRuleFormBuilder;
+import services.strategybuilding.StrategyBuilderDirector;
+import services.taskcreation.ImportProgressListener;
+import services.taskcreation.ImportResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports the events of an iCalendar file in bulk.
+ *
+ * The VEVENT blocks are found in one pass over the file, then read in chunks on a fork/join pool, where their date
+ * strategies are also built. All the events are added with a single call to the repository.
+ *
+ * Events occur once, or weekly when they have a weekly RRULE, optionally restricted by BYDAY and UNTIL. Times with
+ * a TZID are read as local times, and UTC times are converted to the local time zone.
+ */
+public class EventImporter implements EventImportBoundary {
+
+    private static final int CHUNK_SIZE = 512;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Map<String, DayOfWeek> DAYS = Map.of("MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY,
+            "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY,
+            "SU", DayOfWeek.SUNDAY);
+
+    private final CalendarManager calendarManager;
+    private final ForkJoinPool pool;
+
+    public EventImporter(CalendarManager calendarManager) {
+        this(calendarManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool the chunks of events are read on
+     */
+    public EventImporter(CalendarManager calendarManager, ForkJoinPool pool) {
+        this.calendarManager = calendarManager;
+        this.pool = pool;
+    }
+
+    @Override
+    public ImportResult importEvents(String filePath, ImportProgressListener listener) throws IOException {
+        List<Block> blocks = findEvents(Files.readAllLines(Path.of(filePath), StandardCharsets.UTF_8));
+
+        List<ForkJoinTask<ParsedChunk>> chunks = new ArrayList<>();
+        for (int start = 0; start < blocks.size(); start += CHUNK_SIZE) {
+            List<Block> chunkBlocks = blocks.subList(start, Math.min(start + CHUNK_SIZE, blocks.size()));
+            chunks.add(pool.submit(() -> parseChunk(chunkBlocks)));
+        }
+
+        List<NewEvent> newEvents = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int parsed = 0;
+        for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+            ParsedChunk result = chunk.join();
+            newEvents.addAll(result.events);
+            errors.addAll(result.errors);
+            parsed += result.blockCount;
+            if (listener != null)
+                listener.onProgress(parsed, blocks.size());
+        }
+
+        calendarManager.addEvents(newEvents);
+        return new ImportResult(newEvents.size(), errors);
+    }
+
+    /**
+     * Unfold the continued lines and collect the properties of each VEVENT
+     */
+    private static List<Block> findEvents(List<String> lines) {
+        List<Block> blocks = new ArrayList<>();
+        Block current = null;
+        String previous = null;
+        int previousNumber = 0;
+        for (int i = 0; i <= lines.size(); i++) {
+            String line = i < lines.size() ? lines.get(i) : null;
+            if (line != null && previous != null && (line.startsWith(" ") || line.startsWith("\t"))) {
+                previous += line.substring(1);
+                continue;
+            }
+            if (previous != null) {
+                if (previous.equals("BEGIN:VEVENT")) {
+                    current = new Block(previousNumber);
+                } else if (previous.equals("END:VEVENT")) {
+                    if (current != null)
+                        blocks.add(current);
+                    current = null;
+                } else if (current != null) {
+                    current.lines.add(previous);
+                }
+            }
+            previous = line;
+            previousNumber = i + 1;
+        }
+        return blocks;
+    }
+
+    private static ParsedChunk parseChunk(List<Block> blocks) {
+        ParsedChunk chunk = new ParsedChunk(blocks.size());
+        StrategyBuilderDirector director = new StrategyBuilderDirector();
+        for (Block block : blocks) {
+            try {
+                chunk.events.add(parseEvent(block, director));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                chunk.errors.add("line " + block.firstLine + ": " + e.getMessage());
+            }
+        }
+        return chunk;
+    }
+
+    private static NewEvent parseEvent(Block block, StrategyBuilderDirector director) {
+        Map<String, String> properties = new HashMap<>();
+        for (String line : block.lines) {
+            int colon = line.indexOf(':');
+            if (colon < 0)
+                continue;
+            String name = line.substring(0, colon);
+            // parameters such as TZID or VALUE=DATE follow the name after semicolons
+            int semicolon = name.indexOf(';');
+            properties.putIfAbsent(semicolon < 0 ? name : name.substring(0, semicolon), line.substring(colon + 1));
+        }
+
+        String startText = properties.get("DTSTART");
+        if (startText == null)
+            throw new IllegalArgumentException("missing DTSTART");
+        LocalDateTime start = parseTime(startText);
+        Duration duration;
+        if (properties.containsKey("DTEND"))
+            duration = Duration.between(start, parseTime(properties.get("DTEND")));
+        else if (properties.containsKey("DURATION"))
+            duration = Duration.parse(properties.get("DURATION"));
+        else
+            duration = startText.length() == 8 ? Duration.ofDays(1) : Duration.ofHours(1);
+        if (duration.isNegative())
+            throw new IllegalArgumentException("the event ends before it starts");
+
+        MultipleRuleFormBuilder formBuilder = new MultipleRuleFormBuilder();
+        String rule = properties.get("RRULE");
+        if (rule == null)
+            formBuilder.addSingleOccurrence(start);
+        else
+            addWeeklyOccurrences(formBuilder, rule, start, duration);
+        DateStrategy strategy = director.createStrategy(formBuilder.getForm());
+
+        String name = properties.getOrDefault("SUMMARY", "").replace("\\,", ",").replace("\\;", ";");
+        if (name.isBlank())
+            throw new IllegalArgumentException("missing SUMMARY");
+        return new NewEvent(name, strategy, duration, parseTags(properties.get("CATEGORIES")));
+    }
+
+    private static void addWeeklyOccurrences(MultipleRuleFormBuilder formBuilder, String rule, LocalDateTime start,
+                                             Duration duration) {
+        Map<String, String> parts = new HashMap<>();
+        for (String part : rule.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals > 0)
+                parts.put(part.substring(0, equals), part.substring(equals + 1));
+        }
+        if (!"WEEKLY".equals(parts.get("FREQ")))
+            throw new IllegalArgumentException("unsupported recurrence " + rule);
+        if (parts.containsKey("COUNT") || parts.containsKey("INTERVAL") && !parts.get("INTERVAL").equals("1"))
+            throw new IllegalArgumentException("unsupported recurrence " + rule);
+
+        List<DayOfWeek> days = new ArrayList<>();
+        if (parts.containsKey("BYDAY")) {
+            for (String day : parts.get("BYDAY").split(",")) {
+                DayOfWeek dayOfWeek = DAYS.get(day);
+                if (dayOfWeek == null)
+                    throw new IllegalArgumentException("unsupported day " + day);
+                days.add(dayOfWeek);
+            }
+        } else {
+            days.add(start.getDayOfWeek());
+        }
+
+        // the restrictions exclude their bounds and the end one applies to the end of an occurrence, while DTSTART
+        // is the first occurrence and UNTIL the last start allowed
+        LocalDateTime from = start.minusNanos(1);
+        LocalDateTime until = parts.containsKey("UNTIL") ? parseTime(parts.get("UNTIL")) : null;
+        for (DayOfWeek day : days) {
+            if (until == null)
+                formBuilder.addWeeklyOccurrenceFrom(day, start.toLocalTime(), from);
+            else
+                formBuilder.addWeeklyOccurrenceBetween(day, start.toLocalTime(), from,
+                        until.plus(duration).plusNanos(1));
+        }
+    }
+
+    private static LocalDateTime parseTime(String text) {
+        if (text.length() == 8)
+            return LocalDate.parse(text, DATE).atStartOfDay();
+        if (text.endsWith("Z")) {
+            LocalDateTime utc = LocalDateTime.parse(text.substring(0, text.length() - 1), DATE_TIME);
+            return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        return LocalDateTime.parse(text, DATE_TIME);
+    }
+
+    private static Set<String> parseTags(String categories) {
+        Set<String> tags = new HashSet<>();
+        if (categories == null)
+            return tags;
+        for (String tag : categories.split(",")) {
+            if (!tag.isBlank())
+                tags.add(tag.trim());
+        }
+        return tags;
+    }
+
+    private static class Block {
+        final int firstLine;
+        final List<String> lines = new ArrayList<>();
+
+        Block(int firstLine) {
+            this.firstLine = firstLine;
+        }
+    }
+
+    private static class ParsedChunk {
+        final int blockCount;
+        final List<NewEvent> events = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        ParsedChunk(int blockCount) {
+            this.blockCount = blockCount;
+        }
+    }
+}
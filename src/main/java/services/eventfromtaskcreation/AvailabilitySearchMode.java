@@ -0,0 +1,15 @@
+package services.eventfromtaskcreation;
+
+/**
+ * How a {@link CalendarAnalyzer} searches the calendar for available time.
+ */
+public enum AvailabilitySearchMode {
+    /**
+     * Expand and search the whole calendar on the calling thread, see {@link EventScheduler}.
+     */
+    SEQUENTIAL,
+    /**
+     * Split the calendar into time shards searched in parallel, see {@link ParallelEventScheduler}.
+     */
+    PARALLEL
+}
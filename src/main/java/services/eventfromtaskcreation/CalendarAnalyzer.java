@@ -14,5 +14,6 @@ public interface CalendarAnalyzer {
 
     LocalDateTime getAvailableTime(Duration taskDuration);
 
+    LocalDateTime getAvailableTime(Duration taskDuration, LocalDateTime deadline);
 
 }
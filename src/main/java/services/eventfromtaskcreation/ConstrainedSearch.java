@@ -0,0 +1,55 @@
+package services.eventfromtaskcreation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Searches for the earliest gap that satisfies a set of {@link SchedulingConstraints}.
+ * Candidates are only ever generated inside availability windows, so time outside of them is never examined.
+ */
+class ConstrainedSearch implements GapFinder {
+    private final SchedulingConstraints constraints;
+    private final LocalDateTime earliest;
+    private final LocalDateTime latestStart;
+
+    /**
+     * @param constraints   the constraints a gap must satisfy
+     * @param earliest      the earliest time a gap may start
+     * @param latestStart   the latest time a gap may start, or null if unbounded
+     */
+    public ConstrainedSearch(SchedulingConstraints constraints, LocalDateTime earliest, LocalDateTime latestStart) {
+        this.constraints = constraints;
+        this.earliest = earliest;
+        this.latestStart = latestStart;
+    }
+
+    /**
+     * @return the start of the earliest gap, or null if there is no gap satisfying the constraints
+     */
+    @Override
+    public LocalDateTime findTimeGap(List<Interval> timeFramesToIgnore, Duration taskDuration) {
+        Collections.sort(timeFramesToIgnore);
+        return searchSorted(timeFramesToIgnore, taskDuration);
+    }
+
+    /**
+     * {@link #findTimeGap(List, Duration)} over frames that are already sorted by start time.
+     * Frames are only consumed until a gap is found.
+     */
+    public LocalDateTime searchSorted(Iterable<Interval> sortedFrames, Duration taskDuration) {
+        LocalDateTime candidate = constraints.nextAvailableStart(earliest, taskDuration);
+        for (Interval t : sortedFrames) {
+            if (candidate == null || isTooLate(candidate)) return null;
+            if (!t.end.isAfter(candidate)) continue;
+            if (!candidate.plus(taskDuration).isAfter(t.start)) return candidate;
+            candidate = constraints.nextAvailableStart(t.end, taskDuration);
+        }
+        return candidate == null || isTooLate(candidate) ? null : candidate;
+    }
+
+    private boolean isTooLate(LocalDateTime candidate) {
+        return latestStart != null && candidate.isAfter(latestStart);
+    }
+}
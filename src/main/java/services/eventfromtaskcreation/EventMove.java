@@ -0,0 +1,29 @@
+package services.eventfromtaskcreation;
+
+import java.time.LocalDateTime;
+
+/**
+ * An automatically placed event that was moved to a new time to resolve a conflict, or that was left in place
+ * because no free time fits before its deadline.
+ */
+public class EventMove {
+    public final long eventId;
+    public final String eventName;
+    public final LocalDateTime oldStartTime;
+    // null if the event was left in place
+    public final LocalDateTime newStartTime;
+
+    public EventMove(long eventId, String eventName, LocalDateTime oldStartTime, LocalDateTime newStartTime) {
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.oldStartTime = oldStartTime;
+        this.newStartTime = newStartTime;
+    }
+
+    /**
+     * @return whether the event was moved, rather than left in conflict
+     */
+    public boolean wasMoved() {
+        return newStartTime != null;
+    }
+}
@@ -0,0 +1,250 @@
+package services.eventfromtaskcreation;
+
+import datagateway.Observer;
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import entity.dates.TimeFrame;
+import services.strategybuilding.MultipleRuleFormBuilder;
+import services.strategybuilding.StrategyBuilderDirector;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves automatically placed events out of the way when other events change.
+ *
+ * Listens to an observable event repository and keeps a {@link FreeSpaceIndex} of the calendar up to date,
+ * so a change only looks at the automatically placed events overlapping the changed event
+ * and only re-places those. An event is only moved to time that ends by the deadline of its task, and is otherwise
+ * left in place.
+ *
+ * Its own moves come back from an observable repository as updates of automatically placed events, which are only
+ * indexed again. Registered inside a batch, they reach the other observers after the change that caused them.
+ */
+public class EventRescheduler {
+
+    /**
+     * Tag marking events that were placed by the scheduler and may be moved by it.
+     */
+    public static final String AUTO_PLACED_TAG = "auto-scheduled";
+
+    private final CalendarManager calendarManager;
+    private final SchedulingConstraints constraints;
+    private final FreeSpaceIndex freeSpace = new FreeSpaceIndex();
+
+    private final Map<Long, AutoPlacedSlot> autoPlacedSlots = new HashMap<>();
+    private final TreeMap<LocalDateTime, Set<Long>> autoPlacedByStart = new TreeMap<>();
+    private Duration longestAutoPlacedDuration = Duration.ZERO;
+
+    private final List<Observer<List<EventMove>>> moveObservers = new ArrayList<>();
+
+    private LocalDateTime horizonStart;
+    private LocalDateTime horizonEnd;
+
+    public EventRescheduler(CalendarManager calendarManager, SchedulingConstraints constraints) {
+        this.calendarManager = calendarManager;
+        this.constraints = constraints;
+    }
+
+    /**
+     * @param observer notified once per change with every move that change caused, including the events left in place
+     */
+    public void addMoveObserver(Observer<List<EventMove>> observer) {
+        moveObservers.add(observer);
+    }
+
+    /**
+     * A method listening to the repository on event creation
+     * @param eventReader the newly created event
+     */
+    public void handleCreation(EventReader eventReader) {
+        refreshIndexIfOutdated();
+        indexEvent(eventReader);
+        if (!isAutoPlaced(eventReader))
+            resolveConflicts(eventReader);
+    }
+
+    /**
+     * A method listening to the repository on event update
+     * @param eventReader the updated event
+     */
+    public void handleUpdate(EventReader eventReader) {
+        refreshIndexIfOutdated();
+        indexEvent(eventReader);
+        if (!isAutoPlaced(eventReader))
+            resolveConflicts(eventReader);
+    }
+
+    /**
+     * A method listening to the repository on event deletion
+     * @param eventReader the deleted event
+     */
+    public void handleDeletion(EventReader eventReader) {
+        freeSpace.release(eventReader.getId());
+        removeAutoPlacedSlot(eventReader.getId());
+    }
+
+    /**
+     * Re-places every automatically placed event overlapping the given event.
+     */
+    private void resolveConflicts(EventReader changedEvent) {
+        Set<Long> conflictingIds = new LinkedHashSet<>();
+        for (Interval frame : paddedFrames(changedEvent)) {
+            LocalDateTime searchFrom = frame.start.minus(longestAutoPlacedDuration);
+            for (Set<Long> ids : autoPlacedByStart.subMap(searchFrom, true, frame.end, false).values()) {
+                for (long id : ids) {
+                    Interval slot = autoPlacedSlots.get(id).slot;
+                    if (id != changedEvent.getId() && slot.end.isAfter(frame.start))
+                        conflictingIds.add(id);
+                }
+            }
+        }
+        if (conflictingIds.isEmpty())
+            return;
+
+        List<AutoPlacedSlot> conflicts = new ArrayList<>();
+        for (long id : conflictingIds) {
+            conflicts.add(autoPlacedSlots.get(id));
+            freeSpace.release(id);
+        }
+        conflicts.sort(Comparator.comparing(s -> s.slot.start));
+
+        List<EventMove> moves = new ArrayList<>();
+        for (AutoPlacedSlot conflict : conflicts)
+            moves.add(replace(conflict));
+        moveObservers.forEach(o -> o.notifyObserver(moves));
+    }
+
+    /**
+     * Moves an automatically placed event to the earliest free time at or after its current time that ends by its
+     * deadline, and within the time the busy time is indexed for.
+     * @return the move made, with no new start time if there was nowhere to move the event to
+     */
+    private EventMove replace(AutoPlacedSlot conflict) {
+        LocalDateTime earliest = LocalDateTime.now().plusHours(1);
+        if (conflict.slot.start.isAfter(earliest))
+            earliest = conflict.slot.start;
+        // the time after the horizon may look free only because it is not indexed
+        LocalDateTime searchEnd = conflict.deadline != null && conflict.deadline.isBefore(horizonEnd)
+                ? conflict.deadline
+                : horizonEnd;
+
+        LocalDateTime newStart = freeSpace.findGap(earliest, searchEnd, conflict.duration, constraints);
+        if (newStart == null) {
+            freeSpace.occupy(conflict.eventId, padded(conflict.slot, conflict.tags));
+            return new EventMove(conflict.eventId, conflict.name, conflict.slot.start, null);
+        }
+
+        MultipleRuleFormBuilder formBuilder = new MultipleRuleFormBuilder();
+        formBuilder.addSingleOccurrence(newStart);
+        StrategyBuilderDirector director = new StrategyBuilderDirector();
+        calendarManager.updateDateStrategy(conflict.eventId, director.createStrategy(formBuilder.getForm()));
+
+        Interval newSlot = new Interval(newStart, newStart.plus(conflict.duration));
+        removeAutoPlacedSlot(conflict.eventId);
+        addAutoPlacedSlot(new AutoPlacedSlot(conflict.eventId, conflict.name, conflict.duration, conflict.deadline,
+                conflict.tags, newSlot));
+        freeSpace.occupy(conflict.eventId, padded(newSlot, conflict.tags));
+
+        return new EventMove(conflict.eventId, conflict.name, conflict.slot.start, newStart);
+    }
+
+    private void refreshIndexIfOutdated() {
+        LocalDateTime now = LocalDateTime.now();
+        if (horizonStart != null && now.isBefore(horizonStart.plusDays(1)))
+            return;
+
+        horizonStart = now;
+        horizonEnd = now.plusMonths(2).plusWeeks(1);
+        freeSpace.clear();
+        autoPlacedSlots.clear();
+        autoPlacedByStart.clear();
+        longestAutoPlacedDuration = Duration.ZERO;
+        for (EventReader event : calendarManager.getAllEvents())
+            indexEvent(event);
+    }
+
+    private void indexEvent(EventReader event) {
+        freeSpace.occupy(event.getId(), paddedFrames(event));
+
+        removeAutoPlacedSlot(event.getId());
+        if (isAutoPlaced(event)) {
+            List<Interval> occurrences = occurrences(event);
+            if (!occurrences.isEmpty()) {
+                addAutoPlacedSlot(new AutoPlacedSlot(event.getId(), event.getName(), event.getDuration(),
+                        event.getDeadline(), new HashSet<>(event.getTags()), occurrences.get(0)));
+            }
+        }
+    }
+
+    private List<Interval> occurrences(EventReader event) {
+        List<Interval> frames = new ArrayList<>();
+        for (TimeFrame tf : event.getDatesBetween(horizonStart.minusDays(1), horizonEnd))
+            frames.add(new Interval(tf.startTime, tf.startTime.plus(tf.duration)));
+        frames.sort(null);
+        return frames;
+    }
+
+    private List<Interval> paddedFrames(EventReader event) {
+        List<Interval> frames = new ArrayList<>();
+        for (Interval frame : occurrences(event))
+            frames.addAll(padded(frame, event.getTags()));
+        return frames;
+    }
+
+    private List<Interval> padded(Interval frame, Set<String> tags) {
+        List<Interval> frames = new ArrayList<>();
+        frames.add(new Interval(frame.start.minus(constraints.paddingBefore(tags)),
+                frame.end.plus(constraints.paddingAfter(tags))));
+        return frames;
+    }
+
+    private boolean isAutoPlaced(EventReader event) {
+        return event.getTags().contains(AUTO_PLACED_TAG);
+    }
+
+    private void addAutoPlacedSlot(AutoPlacedSlot autoPlacedSlot) {
+        autoPlacedSlots.put(autoPlacedSlot.eventId, autoPlacedSlot);
+        autoPlacedByStart.computeIfAbsent(autoPlacedSlot.slot.start, k -> new HashSet<>()).add(autoPlacedSlot.eventId);
+        if (autoPlacedSlot.duration.compareTo(longestAutoPlacedDuration) > 0)
+            longestAutoPlacedDuration = autoPlacedSlot.duration;
+    }
+
+    private void removeAutoPlacedSlot(long eventId) {
+        AutoPlacedSlot removed = autoPlacedSlots.remove(eventId);
+        if (removed == null)
+            return;
+        Set<Long> idsAtStart = autoPlacedByStart.get(removed.slot.start);
+        idsAtStart.remove(eventId);
+        if (idsAtStart.isEmpty())
+            autoPlacedByStart.remove(removed.slot.start);
+    }
+
+    private static class AutoPlacedSlot {
+        final long eventId;
+        final String name;
+        final Duration duration;
+        final LocalDateTime deadline;
+        final Set<String> tags;
+        final Interval slot;
+
+        AutoPlacedSlot(long eventId, String name, Duration duration, LocalDateTime deadline, Set<String> tags,
+                       Interval slot) {
+            this.eventId = eventId;
+            this.name = name;
+            this.duration = duration;
+            this.deadline = deadline;
+            this.tags = tags;
+            this.slot = slot;
+        }
+    }
+}
@@ -14,11 +14,20 @@ import java.util.List;
 public class EventScheduler implements CalendarAnalyzer {
     private final GapFinder gapFinder;
     private final CalendarManager calendarManager;
+    private final SchedulingConstraints constraints;
 
     public EventScheduler(CalendarManager calendarManager){
-//        this.converter = obj;
+        this(calendarManager, new SchedulingConstraints());
+    }
+
+    /**
+     * @param calendarManager   the calendar to search for available time in
+     * @param constraints       the restrictions on where new events may be placed
+     */
+    public EventScheduler(CalendarManager calendarManager, SchedulingConstraints constraints) {
         this.gapFinder = new SortAndSearch();
         this.calendarManager = calendarManager;
+        this.constraints = constraints;
     }
 
 
@@ -44,14 +53,17 @@ public class EventScheduler implements CalendarAnalyzer {
      */
     @Override
     public LocalDateTime getAvailableTime(List<LocalDateTime> timesToIgnore, Duration taskDuration) {
-        List<TimeFrame> timeFramesToIgnore = new ArrayList<>();
+        if (!constraints.isUnconstrained())
+            return getConstrainedTime(timesToIgnore, taskDuration, null);
+
+        List<Interval> timeFramesToIgnore = new ArrayList<>();
 
         for (LocalDateTime time : timesToIgnore)
-            timeFramesToIgnore.add(new TimeFrame(time, time.plus(taskDuration)));
+            timeFramesToIgnore.add(new Interval(time, time.plus(taskDuration)));
         for (EventReader evt : calendarManager.getAllEvents()) {
             for (entity.dates.TimeFrame tf : evt.getDatesBetween(LocalDateTime.now(), LocalDateTime.now().plusMonths(2))) {
                 if (tf != null)
-                    timeFramesToIgnore.add(new TimeFrame(tf.startTime, tf.startTime.plus(tf.duration)));
+                    timeFramesToIgnore.add(new Interval(tf.startTime, tf.startTime.plus(tf.duration)));
             }
         }
 
@@ -60,7 +72,7 @@ public class EventScheduler implements CalendarAnalyzer {
         return gapFinder.findTimeGap(timeFramesToIgnore, taskDuration);
     }
 
-    private void removeTimesBefore(List<TimeFrame> times, LocalDateTime limit) {
+    void removeTimesBefore(List<Interval> times, LocalDateTime limit) {
         times.removeIf(f -> f.end.isBefore(limit));
     }
 
@@ -72,6 +84,99 @@ public class EventScheduler implements CalendarAnalyzer {
         return getAvailableTime(new ArrayList<>(), taskDuration);
     }
 
+    /**
+     * Finds a gap of time for a task that should be finished before its deadline.
+     * If no gap fits before the deadline, the earliest gap after it is returned instead.
+     *
+     * @param taskDuration  the amount of available time to look for.
+     * @param deadline      the time the task should end by, or null if there is none.
+     *
+     * @return a time available in the calendar for at least the given duration
+     */
+    @Override
+    public LocalDateTime getAvailableTime(Duration taskDuration, LocalDateTime deadline) {
+        if (deadline == null)
+            return getAvailableTime(taskDuration);
+        return getConstrainedTime(new ArrayList<>(), taskDuration, deadline);
+    }
+
+    /**
+     * Searches only the part of the calendar allowed by the constraints, bounding the
+     * search by the deadline first if there is one.
+     */
+    protected LocalDateTime getConstrainedTime(List<LocalDateTime> timesToIgnore, Duration taskDuration,
+                                               LocalDateTime deadline) {
+        LocalDateTime earliest = LocalDateTime.now().plusHours(1);
+
+        if (deadline != null && !deadline.minus(taskDuration).isBefore(earliest)) {
+            LocalDateTime beforeDeadline = searchBetween(timesToIgnore, taskDuration,
+                    earliest, deadline.minus(taskDuration), deadline);
+            if (beforeDeadline != null)
+                return beforeDeadline;
+        }
+
+        LocalDateTime available = searchBetween(timesToIgnore, taskDuration,
+                earliest, null, LocalDateTime.now().plusMonths(2));
+        if (available != null)
+            return available;
+
+        // no availability window is long enough for the task, so ignore the constraints
+        List<Interval> busyFrames = collectBusyFrames(timesToIgnore, taskDuration, earliest,
+                LocalDateTime.now().plusMonths(2));
+        return gapFinder.findTimeGap(busyFrames, taskDuration);
+    }
+
+    /**
+     * @param latestStart   the latest time the gap may start, or null if unbounded
+     * @param horizon       the time after which events are not expanded
+     *
+     * @return the earliest gap satisfying the constraints, or null if there is none
+     */
+    protected LocalDateTime searchBetween(List<LocalDateTime> timesToIgnore, Duration taskDuration,
+                                          LocalDateTime earliest, LocalDateTime latestStart, LocalDateTime horizon) {
+        List<Interval> busyFrames = collectBusyFrames(timesToIgnore, taskDuration, earliest, horizon);
+        GapFinder constrainedSearch = new ConstrainedSearch(constraints, earliest, latestStart);
+        return constrainedSearch.findTimeGap(busyFrames, taskDuration);
+    }
+
+    /**
+     * @return the time frames that cannot be used between earliest and horizon,
+     *         widened by the buffers and blackouts of the constraints.
+     */
+    private List<Interval> collectBusyFrames(List<LocalDateTime> timesToIgnore, Duration taskDuration,
+                                              LocalDateTime earliest, LocalDateTime horizon) {
+        List<Interval> busyFrames = new ArrayList<>();
+        addIgnoredFrames(busyFrames, timesToIgnore, taskDuration);
+        for (EventReader evt : calendarManager.getAllEvents())
+            addBusyFrames(busyFrames, evt, earliest, horizon);
+
+        removeTimesBefore(busyFrames, earliest);
+        return busyFrames;
+    }
+
+    /**
+     * Adds the times to ignore to busyFrames, widened by the minimum buffer of the constraints.
+     */
+    void addIgnoredFrames(List<Interval> busyFrames, List<LocalDateTime> timesToIgnore, Duration taskDuration) {
+        Duration buffer = constraints.getMinimumBuffer();
+        for (LocalDateTime time : timesToIgnore)
+            busyFrames.add(new Interval(time.minus(buffer), time.plus(taskDuration).plus(buffer)));
+    }
+
+    /**
+     * Adds the occurrences of an event between earliest and horizon to busyFrames,
+     * widened by the buffers and blackouts of the constraints.
+     */
+    void addBusyFrames(List<Interval> busyFrames, EventReader evt, LocalDateTime earliest, LocalDateTime horizon) {
+        Duration before = constraints.paddingBefore(evt.getTags());
+        Duration after = constraints.paddingAfter(evt.getTags());
+        for (entity.dates.TimeFrame tf : evt.getDatesBetween(earliest.minusDays(1), horizon)) {
+            if (tf != null)
+                busyFrames.add(new Interval(tf.startTime.minus(before),
+                        tf.startTime.plus(tf.duration).plus(after)));
+        }
+    }
+
     /**
      * @param targetTime    the time to check availability for
      * @param timeNeeded    the amount of time to check availability for
@@ -101,42 +206,16 @@ public class EventScheduler implements CalendarAnalyzer {
     }
 }
 
-interface GapFinder {
-
-    /**
-     * Find a gap of time for the given duration.
-     *
-     * @param timeFramesToIgnore the time frames to ignore when searching, even if they are valid.
-     * @param taskDuration the duration of time to search for.
-     *
-     * @return a time of the given duration that does not overlap any of the times to ignore.
-     */
-    LocalDateTime findTimeGap(List<TimeFrame> timeFramesToIgnore, Duration taskDuration);
-}
-
-class TimeFrame implements Comparable<TimeFrame> {
-    public final LocalDateTime start;
-    public final LocalDateTime end;
-    public TimeFrame(LocalDateTime start, LocalDateTime end) {
-        this.start = start;
-        this.end = end;
-    }
-    @Override
-    public int compareTo(TimeFrame o) {
-        return this.start.compareTo(o.start);
-    }
-}
-
 /**
  * Sorts times to search for the earliest available gap.
  * Assumes that times do not overlap.
  */
 class SortAndSearch implements GapFinder {
     @Override
-    public LocalDateTime findTimeGap(List<TimeFrame> timeFramesToIgnore, Duration taskDuration) {
+    public LocalDateTime findTimeGap(List<Interval> timeFramesToIgnore, Duration taskDuration) {
         Collections.sort(timeFramesToIgnore);
-        TimeFrame first, second = null;
-        for (TimeFrame t : timeFramesToIgnore) {
+        Interval first, second = null;
+        for (Interval t : timeFramesToIgnore) {
             first = second;
             second = t;
             if (first != null && first.end.plus(taskDuration).isBefore(second.start)) return first.end;
@@ -0,0 +1,224 @@
+package services.eventfromtaskcreation;
+
+import datagateway.event.EventReader;
+import entity.dates.TimeFrame;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of the busy time in a calendar, kept per event so that single events can be moved
+ * without expanding the occurrences of every other event again.
+ *
+ * The busy time of all events is merged into disjoint frames sorted by start time, which lets
+ * a gap search start at the frame around its earliest time instead of at the beginning of the calendar.
+ * The merged frames are updated as events are occupied and released, so moving an event only touches
+ * the merged frames around its busy time.
+ */
+public class FreeSpaceIndex {
+
+    private final Map<Long, List<Interval>> occupancy = new HashMap<>();
+    private final TreeMap<LocalDateTime, Interval> mergedBusyFrames = new TreeMap<>();
+    // the number of busy frames starting minus the number ending at each time, so that a merged frame
+    // can be split again from the frames left in it when one is released
+    private final TreeMap<LocalDateTime, Integer> boundaryCounts = new TreeMap<>();
+
+    /**
+     * Replaces the busy time of an event.
+     * @param eventId   the id of the event
+     * @param frames    the time frames the event occupies
+     */
+    void occupy(long eventId, List<Interval> frames) {
+        release(eventId);
+        occupancy.put(eventId, new ArrayList<>(frames));
+        for (Interval frame : frames)
+            addBusy(frame);
+    }
+
+    /**
+     * Replaces the busy time of an event with its occurrences between from and to,
+     * widened by the buffers and blackouts of the constraints.
+     *
+     * @param event         the event
+     * @param from          the start of the time to expand the event in
+     * @param to            the end of the time to expand the event in
+     * @param constraints   the constraints defining the time to keep free around the event
+     */
+    public void occupy(EventReader event, LocalDateTime from, LocalDateTime to, SchedulingConstraints constraints) {
+        Duration before = constraints.paddingBefore(event.getTags());
+        Duration after = constraints.paddingAfter(event.getTags());
+        List<Interval> frames = new ArrayList<>();
+        for (TimeFrame tf : event.getDatesBetween(from, to))
+            frames.add(new Interval(tf.startTime.minus(before), tf.startTime.plus(tf.duration).plus(after)));
+        occupy(event.getId(), frames);
+    }
+
+    /**
+     * @param eventId the id of the event
+     * @return the time from the start of the first to the end of the last busy time of the event,
+     *         or null if the event occupies no time
+     */
+    public TimeFrame getExtent(long eventId) {
+        List<Interval> frames = occupancy.get(eventId);
+        if (frames == null || frames.isEmpty())
+            return null;
+        LocalDateTime start = frames.get(0).start;
+        LocalDateTime end = frames.get(0).end;
+        for (Interval frame : frames) {
+            if (frame.start.isBefore(start))
+                start = frame.start;
+            if (frame.end.isAfter(end))
+                end = frame.end;
+        }
+        return new TimeFrame(start, end);
+    }
+
+    /**
+     * Frees all the time occupied by an event.
+     * @param eventId the id of the event
+     */
+    public void release(long eventId) {
+        List<Interval> frames = occupancy.remove(eventId);
+        if (frames == null)
+            return;
+        for (Interval frame : frames)
+            removeBusy(frame);
+    }
+
+    public void clear() {
+        occupancy.clear();
+        mergedBusyFrames.clear();
+        boundaryCounts.clear();
+    }
+
+    /**
+     * Merges a busy frame with the merged frames it overlaps or touches. A frame without duration occupies no time.
+     */
+    private void addBusy(Interval frame) {
+        if (!frame.end.isAfter(frame.start))
+            return;
+        countBoundary(frame.start, 1);
+        countBoundary(frame.end, -1);
+
+        LocalDateTime start = frame.start;
+        LocalDateTime end = frame.end;
+        Map.Entry<LocalDateTime, Interval> before = mergedBusyFrames.floorEntry(frame.start);
+        if (before != null && !before.getValue().end.isBefore(frame.start))
+            start = before.getKey();
+        Iterator<Interval> merged = mergedBusyFrames.subMap(start, true, end, true).values().iterator();
+        while (merged.hasNext()) {
+            Interval busy = merged.next();
+            if (busy.end.isAfter(end))
+                end = busy.end;
+            merged.remove();
+        }
+        mergedBusyFrames.put(start, new Interval(start, end));
+    }
+
+    /**
+     * Splits the merged frame a busy frame was part of into the merged frames still busy without it.
+     */
+    private void removeBusy(Interval frame) {
+        if (!frame.end.isAfter(frame.start))
+            return;
+        countBoundary(frame.start, -1);
+        countBoundary(frame.end, 1);
+
+        Interval around = mergedBusyFrames.floorEntry(frame.start).getValue();
+        mergedBusyFrames.remove(around.start);
+        // no frame is busy right before a merged frame, so the ones left in it follow from its boundaries alone
+        int busyFrames = 0;
+        LocalDateTime start = null;
+        for (Map.Entry<LocalDateTime, Integer> boundary
+                : boundaryCounts.subMap(around.start, true, around.end, true).entrySet()) {
+            boolean wasBusy = busyFrames > 0;
+            busyFrames += boundary.getValue();
+            if (!wasBusy && busyFrames > 0) {
+                start = boundary.getKey();
+            } else if (wasBusy && busyFrames == 0) {
+                mergedBusyFrames.put(start, new Interval(start, boundary.getKey()));
+            }
+        }
+    }
+
+    private void countBoundary(LocalDateTime time, int change) {
+        boundaryCounts.merge(time, change, (count, added) -> count + added == 0 ? null : count + added);
+    }
+
+    /**
+     * @param start the start of the time to check
+     * @param end   the end of the time to check
+     * @return whether no event occupies any of the time between start and end
+     */
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> before = mergedBusyFrames.lowerEntry(end);
+        return before == null || !before.getValue().end.isAfter(start);
+    }
+
+    /**
+     * Finds the earliest gap of the given duration that satisfies the constraints.
+     *
+     * @param earliest      the earliest time the gap may start
+     * @param taskDuration  the length of the gap
+     * @param constraints   the constraints the gap must satisfy
+     *
+     * @return the start of the gap, or null if no availability window is long enough for the duration
+     */
+    public LocalDateTime findGap(LocalDateTime earliest, Duration taskDuration, SchedulingConstraints constraints) {
+        return findGap(earliest, null, taskDuration, constraints);
+    }
+
+    /**
+     * Finds the earliest gap of the given duration that satisfies the constraints and ends by the deadline.
+     *
+     * @param earliest      the earliest time the gap may start
+     * @param deadline      the time the gap must end by, or null if unbounded
+     * @param taskDuration  the length of the gap
+     * @param constraints   the constraints the gap must satisfy
+     *
+     * @return the start of the gap, or null if there is no such gap
+     */
+    public LocalDateTime findGap(LocalDateTime earliest, LocalDateTime deadline, Duration taskDuration,
+                                 SchedulingConstraints constraints) {
+        LocalDateTime latestStart = deadline == null ? null : deadline.minus(taskDuration);
+        if (latestStart != null && latestStart.isBefore(earliest))
+            return null;
+        LocalDateTime searchStart = mergedBusyFrames.floorKey(earliest);
+        Iterable<Interval> framesFromEarliest = searchStart == null
+                ? mergedBusyFrames.values()
+                : mergedBusyFrames.tailMap(searchStart, true).values();
+        return new ConstrainedSearch(constraints, earliest, latestStart).searchSorted(framesFromEarliest, taskDuration);
+    }
+
+    /**
+     * @param from          the start of the time to measure
+     * @param to            the end of the time to measure
+     * @param constraints   the constraints defining when events may be placed
+     * @return the total amount of time between from and to that is inside an availability window
+     *         and not occupied by any event
+     */
+    public Duration freeTimeBetween(LocalDateTime from, LocalDateTime to, SchedulingConstraints constraints) {
+        Duration free = Duration.ZERO;
+        for (Interval window : constraints.availableFramesBetween(from, to)) {
+            free = free.plus(Duration.between(window.start, window.end));
+
+            LocalDateTime firstBusy = mergedBusyFrames.floorKey(window.start);
+            Iterable<Interval> busyFrames = firstBusy == null
+                    ? mergedBusyFrames.headMap(window.end, false).values()
+                    : mergedBusyFrames.subMap(firstBusy, true, window.end, false).values();
+            for (Interval busy : busyFrames) {
+                LocalDateTime overlapStart = busy.start.isAfter(window.start) ? busy.start : window.start;
+                LocalDateTime overlapEnd = busy.end.isBefore(window.end) ? busy.end : window.end;
+                if (overlapEnd.isAfter(overlapStart))
+                    free = free.minus(Duration.between(overlapStart, overlapEnd));
+            }
+        }
+        return free;
+    }
+}
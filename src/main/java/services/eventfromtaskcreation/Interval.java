@@ -0,0 +1,19 @@
+package services.eventfromtaskcreation;
+
+import java.time.LocalDateTime;
+
+/**
+ * A span of busy or available time considered while searching the calendar for a gap.
+ */
+class Interval implements Comparable<Interval> {
+    public final LocalDateTime start;
+    public final LocalDateTime end;
+    public Interval(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+    @Override
+    public int compareTo(Interval o) {
+        return this.start.compareTo(o.start);
+    }
+}
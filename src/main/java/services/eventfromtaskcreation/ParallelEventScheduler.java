@@ -0,0 +1,137 @@
+package services.eventfromtaskcreation;
+
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link EventScheduler} that splits the searched time into shards and searches them in parallel.
+ *
+ * Each shard only expands the occurrences that fall inside it, so the expensive expansion of
+ * large calendars is spread over the pool. Shards are joined in time order and the first one
+ * with a gap wins; shards after it stop expanding as soon as they notice.
+ */
+public class ParallelEventScheduler extends EventScheduler {
+
+    public static final Duration DEFAULT_SHARD_LENGTH = Duration.ofDays(7);
+
+    private final CalendarManager calendarManager;
+    private final SchedulingConstraints constraints;
+    private final ForkJoinPool pool;
+    private final Duration shardLength;
+
+    public ParallelEventScheduler(CalendarManager calendarManager, SchedulingConstraints constraints) {
+        this(calendarManager, constraints, ForkJoinPool.commonPool(), DEFAULT_SHARD_LENGTH);
+    }
+
+    /**
+     * @param calendarManager   the calendar to search for available time in
+     * @param constraints       the restrictions on where new events may be placed
+     * @param pool              the pool the shards are searched on
+     * @param shardLength       the amount of time searched by a single shard
+     */
+    public ParallelEventScheduler(CalendarManager calendarManager, SchedulingConstraints constraints,
+                                  ForkJoinPool pool, Duration shardLength) {
+        super(calendarManager, constraints);
+        this.calendarManager = calendarManager;
+        this.constraints = constraints;
+        this.pool = pool;
+        this.shardLength = shardLength;
+    }
+
+    /**
+     * Always uses the sharded search, since the single-threaded sort of every occurrence
+     * is what this scheduler avoids.
+     */
+    @Override
+    public LocalDateTime getAvailableTime(List<LocalDateTime> timesToIgnore, Duration taskDuration) {
+        return getConstrainedTime(timesToIgnore, taskDuration, null);
+    }
+
+    @Override
+    protected LocalDateTime searchBetween(List<LocalDateTime> timesToIgnore, Duration taskDuration,
+                                          LocalDateTime earliest, LocalDateTime latestStart, LocalDateTime horizon) {
+        LocalDateTime searchEnd = latestStart == null ? horizon : latestStart;
+        List<EventReader> events = new ArrayList<>(calendarManager.getAllEvents());
+
+        // index of the earliest shard known to contain a gap
+        AtomicInteger firstFound = new AtomicInteger(Integer.MAX_VALUE);
+        List<ForkJoinTask<LocalDateTime>> shards = new ArrayList<>();
+        LocalDateTime shardStart = earliest;
+        while (shardStart.isBefore(searchEnd) || shards.isEmpty()) {
+            LocalDateTime shardEnd = shardStart.plus(shardLength);
+            LocalDateTime shardLatestStart = shardEnd;
+            if (!shardEnd.isBefore(searchEnd)) {
+                shardEnd = searchEnd;
+                // like the sequential search, an unbounded search may end after the last busy time
+                shardLatestStart = latestStart;
+            }
+            ShardSearch shard = new ShardSearch(shards.size(), firstFound, events, timesToIgnore, taskDuration,
+                    shardStart, shardEnd, shardLatestStart);
+            shards.add(pool.submit(shard::search));
+            shardStart = shardEnd;
+        }
+
+        LocalDateTime found = null;
+        for (int i = 0; i < shards.size(); i++) {
+            if (found == null) {
+                found = shards.get(i).join();
+            } else {
+                shards.get(i).cancel(false);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The search for a gap starting between shardStart and latestStart.
+     */
+    private class ShardSearch {
+        private final int index;
+        private final AtomicInteger firstFound;
+        private final List<EventReader> events;
+        private final List<LocalDateTime> timesToIgnore;
+        private final Duration taskDuration;
+        private final LocalDateTime shardStart;
+        private final LocalDateTime shardEnd;
+        private final LocalDateTime latestStart;
+
+        ShardSearch(int index, AtomicInteger firstFound, List<EventReader> events, List<LocalDateTime> timesToIgnore,
+                    Duration taskDuration, LocalDateTime shardStart, LocalDateTime shardEnd, LocalDateTime latestStart) {
+            this.index = index;
+            this.firstFound = firstFound;
+            this.events = events;
+            this.timesToIgnore = timesToIgnore;
+            this.taskDuration = taskDuration;
+            this.shardStart = shardStart;
+            this.shardEnd = shardEnd;
+            this.latestStart = latestStart;
+        }
+
+        LocalDateTime search() {
+            // a gap starting at the end of the shard may still reach into the next day
+            LocalDateTime expansionEnd = shardEnd.plus(taskDuration).plusDays(1);
+            List<Interval> busyFrames = new ArrayList<>();
+            addIgnoredFrames(busyFrames, timesToIgnore, taskDuration);
+            for (EventReader evt : events) {
+                if (firstFound.get() < index)
+                    return null;
+                addBusyFrames(busyFrames, evt, shardStart, expansionEnd);
+            }
+            removeTimesBefore(busyFrames, shardStart);
+
+            LocalDateTime gap = new ConstrainedSearch(constraints, shardStart, latestStart)
+                    .findTimeGap(busyFrames, taskDuration);
+            if (gap != null)
+                firstFound.accumulateAndGet(index, Math::min);
+            return gap;
+        }
+    }
+}
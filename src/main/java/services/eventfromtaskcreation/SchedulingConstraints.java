@@ -0,0 +1,207 @@
+package services.eventfromtaskcreation;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Restrictions on where a {@link CalendarAnalyzer} may place a new event.
+ *
+ * Constraints are used to prune the candidate search: the search jumps directly to the next
+ * availability window and treats buffers and blackouts as part of the busy time around events.
+ */
+public class SchedulingConstraints {
+
+    private final List<AvailabilityWindow> windows = new ArrayList<>();
+    private final Map<String, TagBlackout> blackouts = new HashMap<>();
+    private Duration minimumBuffer = Duration.ZERO;
+
+    /**
+     * @return the constraints the applications suggest times with: waking hours with a short break between events
+     */
+    public static SchedulingConstraints defaults() {
+        SchedulingConstraints constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(8, 0), LocalTime.of(22, 0));
+        constraints.setMinimumBuffer(Duration.ofMinutes(15));
+        return constraints;
+    }
+
+    /**
+     * Allow events to be placed between start and end on every day of the week.
+     * @param start the earliest time of day an event may start
+     * @param end   the latest time of day an event may end
+     */
+    public void addAvailabilityWindow(LocalTime start, LocalTime end) {
+        addAvailabilityWindow(EnumSet.allOf(DayOfWeek.class), start, end);
+    }
+
+    /**
+     * Allow events to be placed between start and end on the given day of the week.
+     * @param day   the day of the week the window applies to
+     * @param start the earliest time of day an event may start
+     * @param end   the latest time of day an event may end
+     */
+    public void addAvailabilityWindow(DayOfWeek day, LocalTime start, LocalTime end) {
+        addAvailabilityWindow(EnumSet.of(day), start, end);
+    }
+
+    private void addAvailabilityWindow(Set<DayOfWeek> days, LocalTime start, LocalTime end) {
+        if (!start.isBefore(end))
+            throw new IllegalArgumentException("availability window must start before it ends");
+        windows.add(new AvailabilityWindow(days, start, end));
+        windows.sort(Comparator.comparing(w -> w.start));
+    }
+
+    /**
+     * @param buffer the minimum amount of free time to keep between a new event and any existing event
+     */
+    public void setMinimumBuffer(Duration buffer) {
+        this.minimumBuffer = buffer;
+    }
+
+    /**
+     * Keep the time around every event with the given tag free of new events.
+     * @param tag    the tag of the events to protect
+     * @param before the time blocked before each occurrence
+     * @param after  the time blocked after each occurrence
+     */
+    public void addTagBlackout(String tag, Duration before, Duration after) {
+        blackouts.put(tag, new TagBlackout(before, after));
+    }
+
+    /**
+     * @return whether these constraints place no restriction at all on the search
+     */
+    public boolean isUnconstrained() {
+        return windows.isEmpty() && blackouts.isEmpty() && minimumBuffer.isZero();
+    }
+
+    Duration getMinimumBuffer() {
+        return minimumBuffer;
+    }
+
+    /**
+     * @param tags the tags of an existing event
+     * @return the amount of time before the event that must stay free
+     */
+    Duration paddingBefore(Set<String> tags) {
+        Duration padding = minimumBuffer;
+        for (String tag : tags) {
+            TagBlackout blackout = blackouts.get(tag);
+            if (blackout != null && blackout.before.compareTo(padding) > 0)
+                padding = blackout.before;
+        }
+        return padding;
+    }
+
+    /**
+     * @param tags the tags of an existing event
+     * @return the amount of time after the event that must stay free
+     */
+    Duration paddingAfter(Set<String> tags) {
+        Duration padding = minimumBuffer;
+        for (String tag : tags) {
+            TagBlackout blackout = blackouts.get(tag);
+            if (blackout != null && blackout.after.compareTo(padding) > 0)
+                padding = blackout.after;
+        }
+        return padding;
+    }
+
+    /**
+     * Finds the earliest start time no earlier than from such that an event of the given
+     * duration lies completely inside one availability window.
+     *
+     * @param from          the earliest acceptable start time
+     * @param taskDuration  the duration of the event to place
+     *
+     * @return the earliest acceptable start time, or null if no window is long enough for the duration
+     */
+    LocalDateTime nextAvailableStart(LocalDateTime from, Duration taskDuration) {
+        if (windows.isEmpty())
+            return from;
+
+        // every window repeats at least weekly, so looking one week ahead covers all of them
+        for (int dayOffset = 0; dayOffset <= 7; dayOffset++) {
+            LocalDate date = from.toLocalDate().plusDays(dayOffset);
+            for (AvailabilityWindow window : windows) {
+                if (!window.days.contains(date.getDayOfWeek()))
+                    continue;
+                LocalDateTime windowStart = date.atTime(window.start);
+                LocalDateTime windowEnd = date.atTime(window.end);
+                LocalDateTime candidate = windowStart.isAfter(from) ? windowStart : from;
+                if (!candidate.plus(taskDuration).isAfter(windowEnd))
+                    return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param from  the start of the time to split
+     * @param to    the end of the time to split
+     * @return the disjoint parts of the time between from and to that lie inside an availability window,
+     *         sorted by start time
+     */
+    List<Interval> availableFramesBetween(LocalDateTime from, LocalDateTime to) {
+        List<Interval> frames = new ArrayList<>();
+        if (!from.isBefore(to))
+            return frames;
+        if (windows.isEmpty()) {
+            frames.add(new Interval(from, to));
+            return frames;
+        }
+
+        // windows are sorted by start time, so the frames of a day are too
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+            for (AvailabilityWindow window : windows) {
+                if (!window.days.contains(date.getDayOfWeek()))
+                    continue;
+                LocalDateTime start = date.atTime(window.start).isBefore(from) ? from : date.atTime(window.start);
+                LocalDateTime end = date.atTime(window.end).isAfter(to) ? to : date.atTime(window.end);
+                if (!start.isBefore(end))
+                    continue;
+
+                Interval last = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+                if (last != null && !start.isAfter(last.end)) {
+                    if (end.isAfter(last.end))
+                        frames.set(frames.size() - 1, new Interval(last.start, end));
+                } else {
+                    frames.add(new Interval(start, end));
+                }
+            }
+        }
+        return frames;
+    }
+
+    private static class AvailabilityWindow {
+        final Set<DayOfWeek> days;
+        final LocalTime start;
+        final LocalTime end;
+
+        AvailabilityWindow(Set<DayOfWeek> days, LocalTime start, LocalTime end) {
+            this.days = days;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static class TagBlackout {
+        final Duration before;
+        final Duration after;
+
+        TagBlackout(Duration before, Duration after) {
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
@@ -1,8 +1,28 @@
 package services.eventpresentation;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CalendarEventRequestBoundary {
     List<EventInfo> getEvents();
     EventInfo getEventByName(String name);
+
+    /**
+     * Get at most limit events whose name starts with prefix ignoring case, sorted by name
+     */
+    List<EventInfo> findEventsByNamePrefix(String prefix, int limit);
+
+    /**
+     * Get the events whose tags match a query such as "work AND NOT meeting"
+     * @throws IllegalArgumentException if the query cannot be parsed
+     */
+    List<EventInfo> getEventsWithTags(String tagQuery);
+
+    /**
+     * Get the events with dates overlapping from (inclusive) and to (exclusive), ordered by their first
+     * date in that window.
+     * @param offset the number of events to skip
+     * @param limit the maximum number of events to return
+     */
+    List<EventOccurrencesInfo> getEventsBetween(LocalDateTime from, LocalDateTime to, int offset, int limit);
 }
@@ -2,13 +2,19 @@ package services.eventpresentation;
 
 import datagateway.event.CalendarManager;
 import datagateway.event.EventReader;
+import entity.dates.TimeFrame;
 import services.eventcreation.EventInfoFromReader;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class EventGetter implements CalendarEventRequestBoundary {
 
+    private static final Duration FIRST_PROBE = Duration.ofDays(1);
+
     private final CalendarManager calendarManager;
 
     public EventGetter(CalendarManager calendarManager) {
@@ -31,12 +37,92 @@ public class EventGetter implements CalendarEventRequestBoundary {
 
     @Override
     public EventInfo getEventByName(String name) {
-        List<EventReader> allEvents = calendarManager.getAllEvents();
-        for (EventReader event: allEvents) {
-            if (event.getName().equals(name)) {
-                return new EventInfoFromReader(event);
-            }
+        EventReader event = calendarManager.getEventByName(name);
+        return event == null ? null : new EventInfoFromReader(event);
+    }
+
+    @Override
+    public List<EventInfo> findEventsByNamePrefix(String prefix, int limit) {
+        List<EventInfo> eventInfos = new ArrayList<>();
+        for (EventReader eventReader : calendarManager.findEventsByNamePrefix(prefix, limit))
+            eventInfos.add(new EventInfoFromReader(eventReader));
+        return eventInfos;
+    }
+
+    @Override
+    public List<EventInfo> getEventsWithTags(String tagQuery) {
+        List<EventInfo> eventInfos = new ArrayList<>();
+        for (EventReader eventReader : calendarManager.getEventsWithTags(tagQuery))
+            eventInfos.add(new EventInfoFromReader(eventReader));
+        return eventInfos;
+    }
+
+    @Override
+    public List<EventOccurrencesInfo> getEventsBetween(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        List<FirstDate> found = new ArrayList<>();
+        for (EventReader event : calendarManager.getEventsBetween(from, to)) {
+            TimeFrame first = firstDateOverlapping(event, from, to);
+            if (first != null)
+                found.add(new FirstDate(event, first.startTime));
+        }
+        found.sort(Comparator.comparing((FirstDate f) -> f.startTime).thenComparingLong(f -> f.event.getId()));
+
+        // only the events on the page have all their dates in the window generated
+        List<EventOccurrencesInfo> page = new ArrayList<>();
+        for (int i = Math.max(offset, 0); i < found.size() && page.size() < limit; i++) {
+            EventReader event = found.get(i).event;
+            page.add(new EventOccurrences(new EventInfoFromReader(event), event.getDatesOverlapping(from, to)));
+        }
+        return page;
+    }
+
+    /**
+     * Looks for the first date of the event in windows doubling in length from the start of the range, so that
+     * a recurring event only has the dates up to its first one generated
+     * @return the first date of the event overlapping from (inclusive) to (exclusive), or null if there is none
+     */
+    private static TimeFrame firstDateOverlapping(EventReader event, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime probeFrom = from;
+        Duration probe = FIRST_PROBE;
+        while (probeFrom.isBefore(to)) {
+            LocalDateTime probeTo = Duration.between(probeFrom, to).compareTo(probe) > 0 ? probeFrom.plus(probe) : to;
+            // a date overlapping this window and starting before it overlaps an earlier window
+            List<TimeFrame> dates = event.getDatesOverlapping(probeFrom, probeTo);
+            if (!dates.isEmpty())
+                return dates.get(0);
+            probeFrom = probeTo;
+            probe = probe.multipliedBy(2);
         }
         return null;
     }
+
+    private static class FirstDate {
+        private final EventReader event;
+        private final LocalDateTime startTime;
+
+        FirstDate(EventReader event, LocalDateTime startTime) {
+            this.event = event;
+            this.startTime = startTime;
+        }
+    }
+
+    private static class EventOccurrences implements EventOccurrencesInfo {
+        private final EventInfo event;
+        private final List<TimeFrame> occurrences;
+
+        EventOccurrences(EventInfo event, List<TimeFrame> occurrences) {
+            this.event = event;
+            this.occurrences = occurrences;
+        }
+
+        @Override
+        public EventInfo getEvent() {
+            return event;
+        }
+
+        @Override
+        public List<TimeFrame> getOccurrences() {
+            return occurrences;
+        }
+    }
 }
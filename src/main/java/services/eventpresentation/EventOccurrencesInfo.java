@@ -0,0 +1,18 @@
+package services.eventpresentation;
+
+import entity.dates.TimeFrame;
+
+import java.util.List;
+
+/**
+ * An event together with its dates in a requested window
+ */
+public interface EventOccurrencesInfo {
+
+    EventInfo getEvent();
+
+    /**
+     * @return the dates of the event overlapping the window, sorted by start time
+     */
+    List<TimeFrame> getOccurrences();
+}
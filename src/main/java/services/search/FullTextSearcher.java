@@ -0,0 +1,298 @@
+package services.search;
+
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.search.InvertedIndex;
+import datagateway.search.PostingList;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Searches task names, subtasks and event tags through an inverted index.
+ *
+ * Every term is stored with the field it came from, so a word found in a name ranks above the same
+ * word found in a subtask, and a word shared by few entities ranks above a common one.
+ */
+public class FullTextSearcher implements SearchBoundary {
+
+    private static final int FILE_VERSION = 1;
+
+    private static final String NAME_FIELD = "n:";
+    private static final String SUBTASK_FIELD = "s:";
+    private static final String TAG_FIELD = "t:";
+    private static final Map<String, Double> FIELD_WEIGHTS = Map.of(NAME_FIELD, 3.0, TAG_FIELD, 2.0, SUBTASK_FIELD, 1.0);
+
+    // a term that only starts with a word of the query counts less than the word itself
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final TodoListManager todoListManager;
+    private final CalendarManager calendarManager;
+
+    private InvertedIndex taskIndex = new InvertedIndex();
+    private InvertedIndex eventIndex = new InvertedIndex();
+    private boolean loaded = false;
+
+    public FullTextSearcher(TodoListManager todoListManager, CalendarManager calendarManager) {
+        this.todoListManager = todoListManager;
+        this.calendarManager = calendarManager;
+    }
+
+    @Override
+    public List<SearchResultInfo> search(String query, int limit) {
+        loadIfNeeded();
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0)
+            return new ArrayList<>();
+
+        PriorityQueue<Result> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Result::score).thenComparing(Result::id, Comparator.reverseOrder()));
+        collect(best, limit, SearchResultKind.TASK, score(taskIndex, words, List.of(NAME_FIELD, SUBTASK_FIELD)));
+        collect(best, limit, SearchResultKind.EVENT, score(eventIndex, words, List.of(NAME_FIELD, TAG_FIELD)));
+
+        List<SearchResultInfo> results = new ArrayList<>();
+        while (!best.isEmpty()) {
+            Result result = best.poll();
+            String name = nameOf(result);
+            if (name != null)
+                results.add(new SearchResult(result.id, result.kind, name, result.score));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Score the documents containing every word, each word adding the score of its best match.
+     */
+    private Map<Long, Double> score(InvertedIndex index, List<String> words, List<String> fields) {
+        Map<Long, Double> scores = null;
+        for (String word : words) {
+            Map<Long, Double> wordScores = new HashMap<>();
+            for (String field : fields) {
+                String exactTerm = field + word;
+                for (Map.Entry<String, PostingList> entry : index.getPostingsWithPrefix(exactTerm).entrySet()) {
+                    PostingList postings = entry.getValue();
+                    double termScore = FIELD_WEIGHTS.get(field)
+                            * Math.log(1 + (double) index.getDocumentCount() / postings.size());
+                    if (!entry.getKey().equals(exactTerm))
+                        termScore *= PREFIX_MATCH_FACTOR;
+                    for (long id : postings.toArray()) {
+                        if (scores == null || scores.containsKey(id))
+                            wordScores.merge(id, termScore, Math::max);
+                    }
+                }
+            }
+            if (scores != null) {
+                Map<Long, Double> previousScores = scores;
+                wordScores.replaceAll((id, score) -> score + previousScores.get(id));
+            }
+            scores = wordScores;
+            if (scores.isEmpty())
+                break;
+        }
+        return scores;
+    }
+
+    private void collect(PriorityQueue<Result> best, int limit, SearchResultKind kind, Map<Long, Double> scores) {
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.add(new Result(entry.getKey(), kind, entry.getValue()));
+            if (best.size() > limit)
+                best.poll();
+        }
+    }
+
+    private String nameOf(Result result) {
+        if (result.kind == SearchResultKind.TASK) {
+            TaskReader task = todoListManager.getTask(result.id);
+            return task == null ? null : task.getName();
+        }
+        EventReader event = calendarManager.getEvent(result.id);
+        return event == null ? null : event.getName();
+    }
+
+    /**
+     * A method listening to the task repository on task creation and update
+     * @param taskReader the changed task
+     */
+    public void handleTaskChange(TaskReader taskReader) {
+        if (loaded)
+            indexTask(taskReader);
+    }
+
+    /**
+     * A method listening to the task repository on task deletion
+     * @param taskReader the deleted task
+     */
+    public void handleTaskDeletion(TaskReader taskReader) {
+        if (loaded)
+            taskIndex.remove(taskReader.getId());
+    }
+
+    /**
+     * A method listening to the event repository on event creation and update
+     * @param eventReader the changed event
+     */
+    public void handleEventChange(EventReader eventReader) {
+        if (loaded)
+            indexEvent(eventReader);
+    }
+
+    /**
+     * A method listening to the event repository on event deletion
+     * @param eventReader the deleted event
+     */
+    public void handleEventDeletion(EventReader eventReader) {
+        if (loaded)
+            eventIndex.remove(eventReader.getId());
+    }
+
+    /**
+     * Write the index to a file, so that it does not have to be built again on the next start
+     * @param filename the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void saveIndex(String filename) throws IOException {
+        loadIfNeeded();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            out.writeInt(FILE_VERSION);
+            taskIndex.writeTo(out);
+            eventIndex.writeTo(out);
+        }
+    }
+
+    /**
+     * Read an index written by {@link #saveIndex(String)}. The index is only used if it covers exactly
+     * the tasks and events in the repositories, otherwise it is built again on the first search.
+     * @param filename the file to read from
+     * @throws IOException if the file exists but cannot be read
+     */
+    public void loadIndex(String filename) throws IOException {
+        if (!new File(filename).isFile())
+            return;
+        InvertedIndex savedTaskIndex;
+        InvertedIndex savedEventIndex;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+            if (in.readInt() != FILE_VERSION)
+                return;
+            savedTaskIndex = InvertedIndex.readFrom(in);
+            savedEventIndex = InvertedIndex.readFrom(in);
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        for (TaskReader task : todoListManager.getAllTasks())
+            taskIds.add(task.getId());
+        Set<Long> eventIds = new HashSet<>();
+        for (EventReader event : calendarManager.getAllEvents())
+            eventIds.add(event.getId());
+        if (!taskIds.equals(savedTaskIndex.getDocumentIds()) || !eventIds.equals(savedEventIndex.getDocumentIds()))
+            return;
+
+        taskIndex = savedTaskIndex;
+        eventIndex = savedEventIndex;
+        loaded = true;
+    }
+
+    private void loadIfNeeded() {
+        if (loaded)
+            return;
+        taskIndex.clear();
+        eventIndex.clear();
+        for (TaskReader task : todoListManager.getAllTasks())
+            indexTask(task);
+        for (EventReader event : calendarManager.getAllEvents())
+            indexEvent(event);
+        loaded = true;
+    }
+
+    private void indexTask(TaskReader task) {
+        List<String> terms = new ArrayList<>();
+        addTerms(terms, NAME_FIELD, task.getName());
+        if (task.getSubtasks() != null) {
+            for (String subtask : task.getSubtasks())
+                addTerms(terms, SUBTASK_FIELD, subtask);
+        }
+        taskIndex.put(task.getId(), terms);
+    }
+
+    private void indexEvent(EventReader event) {
+        List<String> terms = new ArrayList<>();
+        addTerms(terms, NAME_FIELD, event.getName());
+        for (String tag : event.getTags())
+            addTerms(terms, TAG_FIELD, tag);
+        eventIndex.put(event.getId(), terms);
+    }
+
+    private static void addTerms(List<String> terms, String field, String text) {
+        for (String word : tokenize(text))
+            terms.add(field + word);
+    }
+
+    /**
+     * @return the lower case words of the text, split on anything that is not a letter or digit
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null)
+            return words;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty())
+                words.add(word);
+        }
+        return words;
+    }
+
+    private record Result(long id, SearchResultKind kind, double score) {
+    }
+
+    private static class SearchResult implements SearchResultInfo {
+        private final long id;
+        private final SearchResultKind kind;
+        private final String name;
+        private final double score;
+
+        SearchResult(long id, SearchResultKind kind, String name, double score) {
+            this.id = id;
+            this.kind = kind;
+            this.name = name;
+            this.score = score;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public SearchResultKind getKind() {
+            return kind;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package services.search;
+
+import java.util.List;
+
+public interface SearchBoundary {
+
+    /**
+     * Find the tasks and events matching every word of the query. Each word matches words
+     * starting with it in task names, subtasks and event tags, ignoring case.
+     * @param query the words to search for
+     * @param limit the maximum number of results
+     * @return the best matching tasks and events, best first
+     */
+    List<SearchResultInfo> search(String query, int limit);
+}
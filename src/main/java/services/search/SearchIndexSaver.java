@@ -0,0 +1,20 @@
+package services.search;
+
+import java.io.IOException;
+
+public class SearchIndexSaver {
+
+    private final FullTextSearcher searcher;
+
+    public SearchIndexSaver(FullTextSearcher searcher) {
+        this.searcher = searcher;
+    }
+
+    public void save(String filename) throws IOException {
+        searcher.saveIndex(filename);
+    }
+
+    public void load(String filename) throws IOException {
+        searcher.loadIndex(filename);
+    }
+}
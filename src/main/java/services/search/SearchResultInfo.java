@@ -0,0 +1,14 @@
+package services.search;
+
+public interface SearchResultInfo {
+    long getId();
+
+    SearchResultKind getKind();
+
+    String getName();
+
+    /**
+     * @return how well the entity matches the query, higher is better
+     */
+    double getScore();
+}
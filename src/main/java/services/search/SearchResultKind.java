@@ -0,0 +1,9 @@
+package services.search;
+
+/**
+ * The kind of entity a search result refers to
+ */
+public enum SearchResultKind {
+    TASK,
+    EVENT
+}
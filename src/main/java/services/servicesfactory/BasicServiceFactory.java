@@ -5,20 +5,35 @@ import datagateway.ICSExporter;
 import datagateway.ICSGateway;
 import datagateway.event.CalendarManager;
 import datagateway.task.TodoListManager;
+import services.capacityforecasting.CapacityForecaster;
+import services.changefeed.ChangeFeed;
+import services.conflictdetection.ConflictDetector;
+import services.daychange.DayChangeBoundary;
+import services.daychange.DayChangeScheduler;
 import services.eventcreation.CalendarEventCreationBoundary;
 import services.eventcreation.EventAdder;
+import services.eventcreation.EventImportBoundary;
+import services.eventcreation.EventImporter;
 import services.eventcreation.EventSaver;
 import services.eventcreation.ICSSaver;
 import services.eventdeletion.EventDeleter;
 import services.eventdeletion.EventDeletionBoundary;
+import services.eventfromtaskcreation.AvailabilitySearchMode;
 import services.eventfromtaskcreation.CalendarAnalyzer;
+import services.eventfromtaskcreation.EventRescheduler;
 import services.eventfromtaskcreation.EventScheduler;
+import services.eventfromtaskcreation.ParallelEventScheduler;
+import services.eventfromtaskcreation.SchedulingConstraints;
 import services.eventpresentation.CalendarEventDisplayBoundary;
 import services.eventpresentation.CalendarEventPresenter;
 import services.eventpresentation.CalendarEventRequestBoundary;
 import services.eventpresentation.EventGetter;
 import services.eventpresentation.EventOutputter;
+import services.search.FullTextSearcher;
+import services.search.SearchIndexSaver;
 import services.taskcreation.TaskAdder;
+import services.taskcreation.TaskImportBoundary;
+import services.taskcreation.TaskImporter;
 import services.taskcreation.TaskSaver;
 import services.taskcreation.TodoListTaskCreationBoundary;
 import services.taskdeletion.TaskDeleter;
@@ -28,25 +43,48 @@ import services.taskpresentation.TaskOutputter;
 import services.taskpresentation.TodoListDisplayBoundary;
 import services.taskpresentation.TodoListPresenter;
 import services.taskpresentation.TodoListRequestBoundary;
+import services.timeaccounting.TimeAccountant;
 import services.updateentities.EventUpdater;
 import services.updateentities.TaskUpdater;
 import services.updateentities.UpdateEventBoundary;
 import services.updateentities.UpdateTaskBoundary;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
 public class BasicServiceFactory implements ServicesFactory {
 
+    // the latest changes kept in memory by the change feed, and the older ones kept in its spill file
+    private static final int CHANGE_FEED_CAPACITY = 4096;
+    private static final int CHANGE_FEED_MAX_SPILLED = 65536;
+    private static final String CHANGE_FEED_SPILL_FILE = "ChangeFeedSpill.jsonl";
+
     private final CalendarManager eventRepository;
     private final TodoListManager taskRepository;
     private final ICSGateway icsGateway;
+    private final SchedulingConstraints schedulingConstraints;
+    private final AvailabilitySearchMode searchMode;
 
     private CalendarAnalyzer cachedAnalyzer;
+    private EventRescheduler cachedRescheduler;
+    private ConflictDetector cachedConflictDetector;
+    private CapacityForecaster cachedCapacityForecaster;
+    private FullTextSearcher cachedSearcher;
+    private SearchIndexSaver cachedSearchIndexSaver;
+    private TimeAccountant cachedTimeAccountant;
+    private ChangeFeed cachedChangeFeed;
+    private DayChangeBoundary cachedDayChangeScheduler;
+    // the single thread the services schedule their timed work on
+    private ScheduledExecutorService cachedScheduledExecutor;
     private CalendarEventCreationBoundary cachedEventCreator;
+    private EventImportBoundary cachedEventImporter;
     private CalendarEventDisplayBoundary cachedEventOutputter;
     private CalendarEventRequestBoundary cachedEventGetter;
     private EventSaver cachedEventSaver;
     private UpdateEventBoundary cachedEventUpdater;
     private EventDeletionBoundary cachedEventDeleter;
     private TodoListTaskCreationBoundary cachedTaskCreator;
+    private TaskImportBoundary cachedTaskImporter;
     private TodoListDisplayBoundary cachedTaskOutputter;
     private TodoListRequestBoundary cachedTaskGetter;
     private TaskSaver cachedTaskSaver;
@@ -56,18 +94,111 @@ public class BasicServiceFactory implements ServicesFactory {
 
 
     public BasicServiceFactory(RepositoryFactory repositoryFactory) {
+        this(repositoryFactory, new SchedulingConstraints());
+    }
+
+    /**
+     * @param repositoryFactory     factory for the repositories the services operate on
+     * @param schedulingConstraints restrictions on where the calendar analyzer may place new events
+     */
+    public BasicServiceFactory(RepositoryFactory repositoryFactory, SchedulingConstraints schedulingConstraints) {
+        this(repositoryFactory, schedulingConstraints, AvailabilitySearchMode.SEQUENTIAL);
+    }
+
+    /**
+     * @param repositoryFactory     factory for the repositories the services operate on
+     * @param schedulingConstraints restrictions on where the calendar analyzer may place new events
+     * @param searchMode            how the calendar analyzer searches for available time
+     */
+    public BasicServiceFactory(RepositoryFactory repositoryFactory, SchedulingConstraints schedulingConstraints,
+                               AvailabilitySearchMode searchMode) {
         this.eventRepository = repositoryFactory.makeEventRepository();
         this.taskRepository = repositoryFactory.makeTaskRepository();
         this.icsGateway = new ICSExporter();
+        this.schedulingConstraints = schedulingConstraints;
+        this.searchMode = searchMode;
     }
 
     @Override
     public CalendarAnalyzer makeCalendarAnalyzer() {
-        if (cachedAnalyzer == null)
-            cachedAnalyzer = new EventScheduler(eventRepository);
+        if (cachedAnalyzer == null) {
+            switch (searchMode) {
+                case PARALLEL -> cachedAnalyzer = new ParallelEventScheduler(eventRepository, schedulingConstraints);
+                default -> cachedAnalyzer = new EventScheduler(eventRepository, schedulingConstraints);
+            }
+        }
         return cachedAnalyzer;
     }
 
+    @Override
+    public EventRescheduler makeEventRescheduler() {
+        if (cachedRescheduler == null)
+            cachedRescheduler = new EventRescheduler(eventRepository, schedulingConstraints);
+        return cachedRescheduler;
+    }
+
+    @Override
+    public ConflictDetector makeConflictDetector() {
+        if (cachedConflictDetector == null)
+            cachedConflictDetector = new ConflictDetector(eventRepository);
+        return cachedConflictDetector;
+    }
+
+    @Override
+    public CapacityForecaster makeCapacityForecaster() {
+        if (cachedCapacityForecaster == null)
+            cachedCapacityForecaster = new CapacityForecaster(taskRepository, eventRepository, schedulingConstraints);
+        return cachedCapacityForecaster;
+    }
+
+    @Override
+    public FullTextSearcher makeSearcher() {
+        if (cachedSearcher == null)
+            cachedSearcher = new FullTextSearcher(taskRepository, eventRepository);
+        return cachedSearcher;
+    }
+
+    @Override
+    public SearchIndexSaver makeSearchIndexSaver() {
+        if (cachedSearchIndexSaver == null)
+            cachedSearchIndexSaver = new SearchIndexSaver(makeSearcher());
+        return cachedSearchIndexSaver;
+    }
+
+    @Override
+    public TimeAccountant makeTimeAccountant() {
+        if (cachedTimeAccountant == null)
+            cachedTimeAccountant = new TimeAccountant(taskRepository, eventRepository);
+        return cachedTimeAccountant;
+    }
+
+    @Override
+    public ChangeFeed makeChangeFeed() {
+        if (cachedChangeFeed == null)
+            cachedChangeFeed = new ChangeFeed(taskRepository, eventRepository, CHANGE_FEED_CAPACITY,
+                    CHANGE_FEED_SPILL_FILE, CHANGE_FEED_MAX_SPILLED);
+        return cachedChangeFeed;
+    }
+
+    @Override
+    public DayChangeBoundary makeDayChangeScheduler() {
+        if (cachedDayChangeScheduler == null)
+            cachedDayChangeScheduler = new DayChangeScheduler(makeScheduledExecutor());
+        return cachedDayChangeScheduler;
+    }
+
+    private ScheduledExecutorService makeScheduledExecutor() {
+        if (cachedScheduledExecutor == null) {
+            cachedScheduledExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "service-scheduler");
+                // waiting for the next scheduled task should not keep the application running
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return cachedScheduledExecutor;
+    }
+
     @Override
     public CalendarEventCreationBoundary makeEventCreator() {
         if (cachedEventCreator == null)
@@ -75,6 +206,13 @@ public class BasicServiceFactory implements ServicesFactory {
         return cachedEventCreator;
     }
 
+    @Override
+    public EventImportBoundary makeEventImporter() {
+        if (cachedEventImporter == null)
+            cachedEventImporter = new EventImporter(eventRepository);
+        return cachedEventImporter;
+    }
+
     @Override
     public CalendarEventDisplayBoundary makeEventOutputter(CalendarEventPresenter eventPresenter) {
         if (cachedEventOutputter == null)
@@ -117,6 +255,13 @@ public class BasicServiceFactory implements ServicesFactory {
         return cachedTaskCreator;
     }
 
+    @Override
+    public TaskImportBoundary makeTaskImporter() {
+        if (cachedTaskImporter == null)
+            cachedTaskImporter = new TaskImporter(taskRepository);
+        return cachedTaskImporter;
+    }
+
     @Override
     public TodoListDisplayBoundary makeTaskOutputter(TodoListPresenter taskPresenter) {
         if (cachedTaskOutputter == null) {
@@ -128,7 +273,7 @@ public class BasicServiceFactory implements ServicesFactory {
     @Override
     public TodoListRequestBoundary makeTaskGetter() {
         if (cachedTaskGetter == null)
-            cachedTaskGetter = new TaskGetter(taskRepository);
+            cachedTaskGetter = new TaskGetter(taskRepository, makeSearcher());
         return cachedTaskGetter;
     }
 
@@ -1,21 +1,31 @@
 package services.servicesfactory;
 
+import services.capacityforecasting.CapacityForecaster;
+import services.conflictdetection.ConflictDetector;
 import services.eventcreation.CalendarEventCreationBoundary;
 import services.eventcreation.EventAdderWithNotification;
+import services.eventcreation.EventImportBoundary;
 import services.eventcreation.EventSaver;
 import services.eventcreation.ICSSaver;
 import services.eventdeletion.EventDeletionBoundary;
 import services.eventfromtaskcreation.CalendarAnalyzer;
+import services.eventfromtaskcreation.EventRescheduler;
 import services.eventpresentation.CalendarEventDisplayBoundary;
 import services.eventpresentation.CalendarEventPresenter;
 import services.eventpresentation.CalendarEventRequestBoundary;
+import services.search.FullTextSearcher;
+import services.search.SearchIndexSaver;
 import services.taskcreation.TaskAdderWithNotification;
+import services.taskcreation.TaskImportBoundary;
 import services.taskcreation.TaskSaver;
 import services.taskcreation.TodoListTaskCreationBoundary;
 import services.taskdeletion.TaskDeletionBoundary;
 import services.taskpresentation.TodoListDisplayBoundary;
 import services.taskpresentation.TodoListPresenter;
 import services.taskpresentation.TodoListRequestBoundary;
+import services.changefeed.ChangeFeed;
+import services.daychange.DayChangeBoundary;
+import services.timeaccounting.TimeAccountant;
 import services.updateentities.UpdateEventBoundary;
 import services.updateentities.UpdateTaskBoundary;
 
@@ -44,6 +54,46 @@ public class NotificationServiceFactory implements ServicesFactory {
         return innerFactory.makeCalendarAnalyzer();
     }
 
+    @Override
+    public EventRescheduler makeEventRescheduler() {
+        return innerFactory.makeEventRescheduler();
+    }
+
+    @Override
+    public ConflictDetector makeConflictDetector() {
+        return innerFactory.makeConflictDetector();
+    }
+
+    @Override
+    public CapacityForecaster makeCapacityForecaster() {
+        return innerFactory.makeCapacityForecaster();
+    }
+
+    @Override
+    public FullTextSearcher makeSearcher() {
+        return innerFactory.makeSearcher();
+    }
+
+    @Override
+    public SearchIndexSaver makeSearchIndexSaver() {
+        return innerFactory.makeSearchIndexSaver();
+    }
+
+    @Override
+    public TimeAccountant makeTimeAccountant() {
+        return innerFactory.makeTimeAccountant();
+    }
+
+    @Override
+    public ChangeFeed makeChangeFeed() {
+        return innerFactory.makeChangeFeed();
+    }
+
+    @Override
+    public DayChangeBoundary makeDayChangeScheduler() {
+        return innerFactory.makeDayChangeScheduler();
+    }
+
     @Override
     public CalendarEventCreationBoundary makeEventCreator() {
         if (cachedNotifEventAdder == null)
@@ -51,6 +101,11 @@ public class NotificationServiceFactory implements ServicesFactory {
         return cachedNotifEventAdder;
     }
 
+    @Override
+    public EventImportBoundary makeEventImporter() {
+        return innerFactory.makeEventImporter();
+    }
+
     @Override
     public CalendarEventDisplayBoundary makeEventOutputter(CalendarEventPresenter eventPresenter) {
         return innerFactory.makeEventOutputter(eventPresenter);
@@ -84,6 +139,11 @@ public class NotificationServiceFactory implements ServicesFactory {
         return cachedNotifTaskAdder;
     }
 
+    @Override
+    public TaskImportBoundary makeTaskImporter() {
+        return innerFactory.makeTaskImporter();
+    }
+
     @Override
     public TodoListDisplayBoundary makeTaskOutputter(TodoListPresenter taskPresenter) {
         return innerFactory.makeTaskOutputter(taskPresenter);
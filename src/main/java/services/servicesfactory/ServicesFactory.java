@@ -1,19 +1,29 @@
 package services.servicesfactory;
 
+import services.capacityforecasting.CapacityForecaster;
+import services.conflictdetection.ConflictDetector;
 import services.eventcreation.CalendarEventCreationBoundary;
+import services.eventcreation.EventImportBoundary;
 import services.eventcreation.EventSaver;
 import services.eventcreation.ICSSaver;
 import services.eventdeletion.EventDeletionBoundary;
 import services.eventfromtaskcreation.CalendarAnalyzer;
+import services.eventfromtaskcreation.EventRescheduler;
 import services.eventpresentation.CalendarEventDisplayBoundary;
 import services.eventpresentation.CalendarEventPresenter;
 import services.eventpresentation.CalendarEventRequestBoundary;
+import services.search.FullTextSearcher;
+import services.search.SearchIndexSaver;
+import services.taskcreation.TaskImportBoundary;
 import services.taskcreation.TaskSaver;
 import services.taskcreation.TodoListTaskCreationBoundary;
 import services.taskdeletion.TaskDeletionBoundary;
 import services.taskpresentation.TodoListDisplayBoundary;
 import services.taskpresentation.TodoListPresenter;
 import services.taskpresentation.TodoListRequestBoundary;
+import services.changefeed.ChangeFeed;
+import services.daychange.DayChangeBoundary;
+import services.timeaccounting.TimeAccountant;
 import services.updateentities.UpdateEventBoundary;
 import services.updateentities.UpdateTaskBoundary;
 
@@ -22,13 +32,23 @@ import services.updateentities.UpdateTaskBoundary;
  */
 public interface ServicesFactory {
     CalendarAnalyzer makeCalendarAnalyzer();
+    EventRescheduler makeEventRescheduler();
+    ConflictDetector makeConflictDetector();
+    CapacityForecaster makeCapacityForecaster();
+    FullTextSearcher makeSearcher();
+    SearchIndexSaver makeSearchIndexSaver();
+    TimeAccountant makeTimeAccountant();
+    ChangeFeed makeChangeFeed();
+    DayChangeBoundary makeDayChangeScheduler();
     CalendarEventCreationBoundary makeEventCreator();
+    EventImportBoundary makeEventImporter();
     CalendarEventDisplayBoundary makeEventOutputter(CalendarEventPresenter eventPresenter);
     CalendarEventRequestBoundary makeEventGetter();
     EventSaver makeEventSaver();
     UpdateEventBoundary makeEventUpdater();
     EventDeletionBoundary makeEventDeleter();
     TodoListTaskCreationBoundary makeTaskCreator();
+    TaskImportBoundary makeTaskImporter();
     TodoListDisplayBoundary makeTaskOutputter(TodoListPresenter taskPresenter);
     TodoListRequestBoundary makeTaskGetter();
     TaskSaver makeTaskSaver();
@@ -10,6 +10,8 @@ import java.util.List;
 
 public class EndRestrictionDecorator extends DecoratorStrategy {
 
+    private static final long serialVersionUID = -8888084078011677808L;
+
     private final LocalDateTime rangeEnd;
 
     public EndRestrictionDecorator(LocalDateTime rangeEnd) {
@@ -28,6 +30,12 @@ public class EndRestrictionDecorator extends DecoratorStrategy {
         return acceptedDates;
     }
 
+    @Override
+    public LocalDateTime getLatestStart() {
+        LocalDateTime wrappedBound = super.getLatestStart();
+        return wrappedBound == null || wrappedBound.isAfter(rangeEnd) ? rangeEnd : wrappedBound;
+    }
+
     @Override
     public String toString() {
         return super.toString() + " until " + rangeEnd.toString();
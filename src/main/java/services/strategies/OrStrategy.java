@@ -18,6 +18,8 @@ import java.util.Set;
  */
 public class OrStrategy extends CompositeDateStrategy {
 
+    private static final long serialVersionUID = -9019584471024125770L;
+
     @Override
     public List<TimeFrame> datesBetween(LocalDateTime startDateTime, LocalDateTime endDateTime, Duration eventDuration) {
         Set<TimeFrame> acceptedDates = new HashSet<>();
@@ -28,6 +30,32 @@ public class OrStrategy extends CompositeDateStrategy {
         return new ArrayList<>(acceptedDates);
     }
 
+    @Override
+    public LocalDateTime getEarliestStart() {
+        LocalDateTime earliest = null;
+        for (DateStrategy strategy : getStrategies()) {
+            LocalDateTime bound = strategy.getEarliestStart();
+            if (bound == null)
+                return null;
+            if (earliest == null || bound.isBefore(earliest))
+                earliest = bound;
+        }
+        return earliest;
+    }
+
+    @Override
+    public LocalDateTime getLatestStart() {
+        LocalDateTime latest = null;
+        for (DateStrategy strategy : getStrategies()) {
+            LocalDateTime bound = strategy.getLatestStart();
+            if (bound == null)
+                return null;
+            if (latest == null || bound.isAfter(latest))
+                latest = bound;
+        }
+        return latest;
+    }
+
     @Override
     public String toString() {
         List<String> innerStrings = new ArrayList<>();
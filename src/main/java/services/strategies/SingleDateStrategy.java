@@ -10,6 +10,8 @@ import java.util.List;
 
 public class SingleDateStrategy implements DateStrategy {
 
+    private static final long serialVersionUID = -2732978042282380589L;
+
     private final LocalDateTime eventTime;
 
     public SingleDateStrategy(LocalDateTime eventTime) {
@@ -25,6 +27,16 @@ public class SingleDateStrategy implements DateStrategy {
         return dates;
     }
 
+    @Override
+    public LocalDateTime getEarliestStart() {
+        return eventTime;
+    }
+
+    @Override
+    public LocalDateTime getLatestStart() {
+        return eventTime;
+    }
+
     @Override
     public String toString() {
         return "occur at " + eventTime.toString();
@@ -10,6 +10,8 @@ import java.util.List;
 
 public class StartRestrictionDecorator extends DecoratorStrategy {
 
+    private static final long serialVersionUID = 8775457352680164990L;
+
     private final LocalDateTime rangeStart;
 
     public StartRestrictionDecorator(LocalDateTime rangeStart) {
@@ -28,6 +30,12 @@ public class StartRestrictionDecorator extends DecoratorStrategy {
         return acceptedDates;
     }
 
+    @Override
+    public LocalDateTime getEarliestStart() {
+        LocalDateTime wrappedBound = super.getEarliestStart();
+        return wrappedBound == null || wrappedBound.isBefore(rangeStart) ? rangeStart : wrappedBound;
+    }
+
     @Override
     public String toString() {
         return super.toString() + " from " + rangeStart.toString();
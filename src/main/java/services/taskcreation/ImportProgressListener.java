@@ -0,0 +1,13 @@
+package services.taskcreation;
+
+/**
+ * Told how far a bulk import has got, on the thread running the import
+ */
+public interface ImportProgressListener {
+
+    /**
+     * @param parsed the number of entries read so far
+     * @param total the number of entries in the file
+     */
+    void onProgress(int parsed, int total);
+}
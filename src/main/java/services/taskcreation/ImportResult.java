@@ -0,0 +1,11 @@
+package services.taskcreation;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk import
+ * @param imported the number of entities added
+ * @param errors the entries that could not be read and were skipped, each starting with its line number
+ */
+public record ImportResult(int imported, List<String> errors) {
+}
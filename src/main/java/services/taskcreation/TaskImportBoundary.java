@@ -0,0 +1,13 @@
+package services.taskcreation;
+
+import java.io.IOException;
+
+public interface TaskImportBoundary {
+
+    /**
+     * Add every task of the file. Lines that cannot be read are skipped and reported in the result.
+     * @throws IOException if the file cannot be read
+     */
+    ImportResult importTasks(String filePath, TaskImportFormat format, ImportProgressListener listener)
+            throws IOException;
+}
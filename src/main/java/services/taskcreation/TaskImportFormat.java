@@ -0,0 +1,14 @@
+package services.taskcreation;
+
+public enum TaskImportFormat {
+    /**
+     * One JSON object per line, like {"name": "Essay", "duration": "PT2H", "deadline": "2021-12-10T12:00",
+     * "subtasks": ["Outline"]}
+     */
+    JSON_LINES,
+    /**
+     * A header line naming the columns name, duration, deadline and subtasks, then one task per line.
+     * Subtasks are separated by semicolons and fields may be quoted, but not span lines.
+     */
+    CSV
+}
@@ -0,0 +1,217 @@
+package services.taskcreation;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import datagateway.task.NewTask;
+import datagateway.task.TodoListManager;
+import entity.Task;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports tasks from a file in bulk.
+ *
+ * The lines are parsed in chunks on a fork/join pool and the chunks are joined in file order. All the tasks are
+ * then added with a single call to the repository, which reserves their ids as one block and notifies its observers
+ * of them as one batch.
+ */
+public class TaskImporter implements TaskImportBoundary {
+
+    private static final int CHUNK_SIZE = 2048;
+
+    private final TodoListManager todoListManager;
+    private final ForkJoinPool pool;
+
+    public TaskImporter(TodoListManager todoListManager) {
+        this(todoListManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool the chunks of lines are parsed on
+     */
+    public TaskImporter(TodoListManager todoListManager, ForkJoinPool pool) {
+        this.todoListManager = todoListManager;
+        this.pool = pool;
+    }
+
+    @Override
+    public ImportResult importTasks(String filePath, TaskImportFormat format, ImportProgressListener listener)
+            throws IOException {
+        List<String> lines = Files.readAllLines(Path.of(filePath), StandardCharsets.UTF_8);
+        int firstLine = 0;
+        Map<String, Integer> columns = null;
+        if (format == TaskImportFormat.CSV && !lines.isEmpty()) {
+            columns = readHeader(lines.get(0));
+            firstLine = 1;
+        }
+
+        List<ForkJoinTask<ParsedChunk>> chunks = new ArrayList<>();
+        for (int start = firstLine; start < lines.size(); start += CHUNK_SIZE) {
+            int chunkStart = start;
+            int chunkEnd = Math.min(start + CHUNK_SIZE, lines.size());
+            Map<String, Integer> chunkColumns = columns;
+            chunks.add(pool.submit(() -> parseChunk(lines, chunkStart, chunkEnd, format, chunkColumns)));
+        }
+
+        List<NewTask> newTasks = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int total = lines.size() - firstLine;
+        int parsed = 0;
+        for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+            ParsedChunk result = chunk.join();
+            newTasks.addAll(result.tasks);
+            errors.addAll(result.errors);
+            parsed += result.lineCount;
+            if (listener != null)
+                listener.onProgress(parsed, total);
+        }
+
+        todoListManager.addTasks(newTasks);
+        return new ImportResult(newTasks.size(), errors);
+    }
+
+    private static ParsedChunk parseChunk(List<String> lines, int start, int end, TaskImportFormat format,
+                                          Map<String, Integer> columns) {
+        ParsedChunk chunk = new ParsedChunk(end - start);
+        for (int i = start; i < end; i++) {
+            String line = lines.get(i);
+            if (line.isBlank())
+                continue;
+            try {
+                chunk.tasks.add(format == TaskImportFormat.CSV ? parseCsv(line, columns) : parseJson(line));
+            } catch (IllegalArgumentException | JsonParseException | DateTimeParseException | IllegalStateException |
+                     UnsupportedOperationException e) {
+                chunk.errors.add("line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return chunk;
+    }
+
+    private static NewTask parseJson(String line) {
+        JsonObject object = JsonParser.parseString(line).getAsJsonObject();
+        JsonElement name = object.get("name");
+        if (name == null || name.isJsonNull() || name.getAsString().isBlank())
+            throw new IllegalArgumentException("missing name");
+        List<String> subtasks = new ArrayList<>();
+        JsonElement subtaskElement = object.get("subtasks");
+        if (subtaskElement != null && !subtaskElement.isJsonNull()) {
+            JsonArray subtaskArray = subtaskElement.getAsJsonArray();
+            for (JsonElement subtask : subtaskArray)
+                subtasks.add(subtask.getAsString());
+        }
+        return new NewTask(name.getAsString(), parseDuration(asString(object.get("duration"))),
+                parseDeadline(asString(object.get("deadline"))), subtasks);
+    }
+
+    private static NewTask parseCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        String name = field(fields, columns, "name");
+        if (name == null || name.isBlank())
+            throw new IllegalArgumentException("missing name");
+        List<String> subtasks = new ArrayList<>();
+        String subtaskField = field(fields, columns, "subtasks");
+        if (subtaskField != null) {
+            for (String subtask : subtaskField.split(";")) {
+                if (!subtask.isBlank())
+                    subtasks.add(subtask.trim());
+            }
+        }
+        return new NewTask(name, parseDuration(field(fields, columns, "duration")),
+                parseDeadline(field(fields, columns, "deadline")), subtasks);
+    }
+
+    private static Map<String, Integer> readHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++)
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        if (!columns.containsKey("name"))
+            throw new IllegalArgumentException("The CSV header has no name column: " + header);
+        return columns;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    /**
+     * Split a line at the commas outside of double quotes, where two double quotes stand for one
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @param text an ISO-8601 duration like PT1H30M, or a number of minutes
+     * @return the duration, or the default duration of a task if there is none
+     */
+    private static Duration parseDuration(String text) {
+        if (text == null || text.isBlank())
+            return Task.DEFAULT_DURATION;
+        String trimmed = text.trim();
+        if (trimmed.chars().allMatch(Character::isDigit))
+            return Duration.ofMinutes(Long.parseLong(trimmed));
+        return Duration.parse(trimmed);
+    }
+
+    private static LocalDateTime parseDeadline(String text) {
+        if (text == null || text.isBlank())
+            return null;
+        return LocalDateTime.parse(text.trim());
+    }
+
+    private static String asString(JsonElement element) {
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private static class ParsedChunk {
+        final int lineCount;
+        final List<NewTask> tasks = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        ParsedChunk(int lineCount) {
+            this.lineCount = lineCount;
+        }
+    }
+}
@@ -2,16 +2,27 @@ package services.taskpresentation;
 
 import datagateway.task.TaskReader;
 import datagateway.task.TodoListManager;
+import services.search.SearchBoundary;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class TaskGetter implements TodoListRequestBoundary {
 
     private final TodoListManager todoListManager;
+    private final TaskQueryPlanner planner;
 
     public TaskGetter(TodoListManager todoListManager) {
+        this(todoListManager, null);
+    }
+
+    /**
+     * @param searcher the full-text search used by {@link TaskQuery#matching(String)}
+     */
+    public TaskGetter(TodoListManager todoListManager, SearchBoundary searcher) {
         this.todoListManager = todoListManager;
+        this.planner = new TaskQueryPlanner(todoListManager, searcher);
     }
 
     /**
@@ -21,13 +32,24 @@ public class TaskGetter implements TodoListRequestBoundary {
      */
     @Override
     public TaskInfo getTaskById(Long id) {
-        List<TaskReader> taskList = todoListManager.getAllTasks();
-        for (TaskReader tr : taskList) {
-            if (((Long) tr.getId()).equals(id)) {
-                return new TaskInfoFromTaskReader(tr);
-            }
+        if (id == null)
+            return null;
+        TaskReader tr = todoListManager.getTask(id);
+        return tr == null ? null : new TaskInfoFromTaskReader(tr);
+    }
+
+    /**
+     * Get the tasks with the given ids, looking them up in one call to the repository.
+     * @param ids ids of tasks
+     * @return the corresponding tasks as TaskInfo, in the order of the ids
+     */
+    @Override
+    public List<TaskInfo> getTasksByIds(long[] ids) {
+        List<TaskInfo> taskInfos = new ArrayList<>(ids.length);
+        for (TaskReader tr : todoListManager.getTasks(ids)) {
+            taskInfos.add(new TaskInfoFromTaskReader(tr));
         }
-        return null;
+        return taskInfos;
     }
 
     /**
@@ -44,4 +66,41 @@ public class TaskGetter implements TodoListRequestBoundary {
         return taskInfos;
     }
 
+    @Override
+    public List<TaskInfo> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return toTaskInfos(todoListManager.getTasksDueBetween(from, to));
+    }
+
+    @Override
+    public List<TaskInfo> getOverdueTasks(LocalDateTime now) {
+        return toTaskInfos(todoListManager.getOverdueTasks(now));
+    }
+
+    @Override
+    public List<TaskInfo> getNextDueTasks(LocalDateTime from, int limit) {
+        return toTaskInfos(todoListManager.getNextDueTasks(from, limit));
+    }
+
+    @Override
+    public List<TaskInfo> getTasksByDeadline() {
+        return toTaskInfos(todoListManager.getTasksByDeadline());
+    }
+
+    @Override
+    public List<TaskInfo> findTasks(TaskQuery query) {
+        return toTaskInfos(planner.execute(query));
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        return planner.explain(query);
+    }
+
+    private List<TaskInfo> toTaskInfos(List<TaskReader> taskList) {
+        List<TaskInfo> taskInfos = new ArrayList<>(taskList.size());
+        for (TaskReader tr : taskList) {
+            taskInfos.add(new TaskInfoFromTaskReader(tr));
+        }
+        return taskInfos;
+    }
 }
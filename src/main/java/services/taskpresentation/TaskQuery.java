@@ -0,0 +1,122 @@
+package services.taskpresentation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * The criteria, order and limit of a search for tasks. Every criterion that is set must hold
+ * for a task to be returned.
+ */
+public class TaskQuery {
+
+    private long[] ids;
+    private boolean incompleteOnly = false;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private String nameContains;
+    private String words;
+    private Duration longerThan;
+    private TaskSortOrder sortOrder = TaskSortOrder.NONE;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Only return the tasks with one of these ids
+     */
+    public TaskQuery withIds(long... ids) {
+        this.ids = Arrays.copyOf(ids, ids.length);
+        return this;
+    }
+
+    /**
+     * Only return the tasks that are not completed
+     */
+    public TaskQuery incomplete() {
+        this.incompleteOnly = true;
+        return this;
+    }
+
+    /**
+     * Only return the tasks due in [from, to). Either bound may be null to leave that side open.
+     */
+    public TaskQuery dueBetween(LocalDateTime from, LocalDateTime to) {
+        this.dueFrom = from;
+        this.dueTo = to;
+        return this;
+    }
+
+    /**
+     * Only return the tasks whose name contains the text, ignoring case
+     */
+    public TaskQuery nameContains(String text) {
+        this.nameContains = text;
+        return this;
+    }
+
+    /**
+     * Only return the tasks found by a full-text search for the words in their names and subtasks
+     */
+    public TaskQuery matching(String words) {
+        this.words = words;
+        return this;
+    }
+
+    /**
+     * Only return the tasks needing more time than the duration
+     */
+    public TaskQuery longerThan(Duration duration) {
+        this.longerThan = duration;
+        return this;
+    }
+
+    public TaskQuery sortedBy(TaskSortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    /**
+     * Return at most limit tasks
+     */
+    public TaskQuery limit(int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("limit must not be negative");
+        this.limit = limit;
+        return this;
+    }
+
+    long[] getIds() {
+        return ids;
+    }
+
+    boolean isIncompleteOnly() {
+        return incompleteOnly;
+    }
+
+    LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    String getNameContains() {
+        return nameContains;
+    }
+
+    String getWords() {
+        return words;
+    }
+
+    Duration getLongerThan() {
+        return longerThan;
+    }
+
+    TaskSortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,230 @@
+package services.taskpresentation;
+
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import services.search.SearchBoundary;
+import services.search.SearchResultInfo;
+import services.search.SearchResultKind;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Runs a {@link TaskQuery} by reading the tasks from the most selective index that can answer one of its
+ * criteria, then checking the other criteria on each task as it is read.
+ *
+ * The indexes are ranked by how few tasks they usually return: a list of ids, a full-text search,
+ * a deadline range and finally the incomplete tasks. A query using none of them reads every task.
+ * A deadline range of incomplete tasks is read from the index of incomplete tasks, and only as far
+ * as the limit when no other criterion could reject a task.
+ */
+class TaskQueryPlanner {
+
+    private enum Access {
+        ID_LOOKUP, TEXT_SEARCH, DEADLINE_RANGE, INCOMPLETE_DEADLINE_RANGE, NEXT_DUE, INCOMPLETE, FULL_SCAN
+    }
+
+    private final TodoListManager todoListManager;
+    private final SearchBoundary searcher;
+
+    /**
+     * @param searcher the full-text search used for {@link TaskQuery#matching(String)}, or null if there is none
+     */
+    TaskQueryPlanner(TodoListManager todoListManager, SearchBoundary searcher) {
+        this.todoListManager = todoListManager;
+        this.searcher = searcher;
+    }
+
+    List<TaskReader> execute(TaskQuery query) {
+        Access access = chooseAccess(query);
+        List<Predicate<TaskReader>> filters = new ArrayList<>();
+        addFilters(query, access, filters, new ArrayList<>());
+        Comparator<TaskReader> order = sortOrderNeeded(query, access) ? comparator(query.getSortOrder()) : null;
+        // without a sort the first matching tasks are the answer, so reading can stop at the limit
+        int readLimit = order == null ? query.getLimit() : Integer.MAX_VALUE;
+
+        List<TaskReader> found = new ArrayList<>();
+        for (TaskReader task : read(query, access)) {
+            if (found.size() >= readLimit)
+                break;
+            if (task != null && filters.stream().allMatch(f -> f.test(task)))
+                found.add(task);
+        }
+        if (order != null) {
+            found.sort(order);
+            if (found.size() > query.getLimit())
+                found = new ArrayList<>(found.subList(0, query.getLimit()));
+        }
+        return found;
+    }
+
+    /**
+     * @return a description of how the query would be run, one step per line
+     */
+    String explain(TaskQuery query) {
+        Access access = chooseAccess(query);
+        List<String> filterDescriptions = new ArrayList<>();
+        addFilters(query, access, new ArrayList<>(), filterDescriptions);
+
+        StringBuilder plan = new StringBuilder(describe(query, access));
+        if (!filterDescriptions.isEmpty())
+            plan.append("\n  Filter ").append(String.join(" AND ", filterDescriptions));
+        if (query.getSortOrder() != TaskSortOrder.NONE)
+            plan.append("\n  Sort by ").append(query.getSortOrder().name().toLowerCase(Locale.ROOT))
+                    .append(sortOrderNeeded(query, access) ? "" : " (provided by index)");
+        if (query.getLimit() != Integer.MAX_VALUE)
+            plan.append("\n  Limit ").append(query.getLimit());
+        return plan.toString();
+    }
+
+    private Access chooseAccess(TaskQuery query) {
+        if (query.getIds() != null)
+            return Access.ID_LOOKUP;
+        if (query.getWords() != null)
+            return Access.TEXT_SEARCH;
+        if (query.getDueFrom() != null || query.getDueTo() != null) {
+            if (!query.isIncompleteOnly())
+                return Access.DEADLINE_RANGE;
+            boolean inIndexOrder = query.getSortOrder() == TaskSortOrder.NONE
+                    || query.getSortOrder() == TaskSortOrder.DEADLINE;
+            if (inIndexOrder && query.getLimit() != Integer.MAX_VALUE
+                    && query.getNameContains() == null && query.getLongerThan() == null)
+                return Access.NEXT_DUE;
+            return Access.INCOMPLETE_DEADLINE_RANGE;
+        }
+        if (query.isIncompleteOnly())
+            return Access.INCOMPLETE;
+        return Access.FULL_SCAN;
+    }
+
+    private Iterable<TaskReader> read(TaskQuery query, Access access) {
+        return switch (access) {
+            case ID_LOOKUP -> todoListManager.getTasks(query.getIds());
+            case TEXT_SEARCH -> todoListManager.getTasks(toArray(searchTaskIds(query.getWords())));
+            case DEADLINE_RANGE -> todoListManager.getTasksDueBetween(dueFrom(query), dueTo(query));
+            case INCOMPLETE_DEADLINE_RANGE -> todoListManager.getIncompleteTasksDueBetween(dueFrom(query), dueTo(query));
+            case NEXT_DUE -> {
+                List<TaskReader> tasks = new ArrayList<>(todoListManager.getNextDueTasks(dueFrom(query), query.getLimit()));
+                tasks.removeIf(task -> !task.getDeadline().isBefore(dueTo(query)));
+                yield tasks;
+            }
+            case INCOMPLETE -> todoListManager.getIncompleteTasks();
+            case FULL_SCAN -> todoListManager.getAllTasks();
+        };
+    }
+
+    private String describe(TaskQuery query, Access access) {
+        return switch (access) {
+            case ID_LOOKUP -> "Id lookup of " + query.getIds().length + " ids";
+            case TEXT_SEARCH -> "Full-text search for \"" + query.getWords() + "\"";
+            case DEADLINE_RANGE -> "Deadline index range [" + dueFrom(query) + ", " + dueTo(query) + ")";
+            case INCOMPLETE_DEADLINE_RANGE -> "Incomplete deadline index range [" + dueFrom(query) + ", " + dueTo(query) + ")";
+            case NEXT_DUE -> "Incomplete deadline index from " + dueFrom(query) + " to " + dueTo(query)
+                    + ", reading " + query.getLimit() + " tasks";
+            case INCOMPLETE -> "Incomplete task index";
+            case FULL_SCAN -> "Full scan";
+        };
+    }
+
+    /**
+     * Add a filter for every criterion of the query that the access path does not already guarantee.
+     */
+    private void addFilters(TaskQuery query, Access access, List<Predicate<TaskReader>> filters,
+                            List<String> descriptions) {
+        if (query.getWords() != null && access != Access.TEXT_SEARCH) {
+            // searched on the first test, so that explaining the query does not run the search
+            filters.add(new Predicate<>() {
+                private Set<Long> ids;
+
+                @Override
+                public boolean test(TaskReader task) {
+                    if (ids == null)
+                        ids = new HashSet<>(searchTaskIds(query.getWords()));
+                    return ids.contains(task.getId());
+                }
+            });
+            descriptions.add("matches \"" + query.getWords() + "\"");
+        }
+        if ((query.getDueFrom() != null || query.getDueTo() != null) && !readsDeadlineRange(access)) {
+            LocalDateTime from = dueFrom(query);
+            LocalDateTime to = dueTo(query);
+            filters.add(task -> task.getDeadline() != null
+                    && !task.getDeadline().isBefore(from) && task.getDeadline().isBefore(to));
+            descriptions.add("deadline in [" + from + ", " + to + ")");
+        }
+        if (query.isIncompleteOnly() && access != Access.INCOMPLETE && access != Access.INCOMPLETE_DEADLINE_RANGE
+                && access != Access.NEXT_DUE) {
+            filters.add(task -> !task.getCompleted());
+            descriptions.add("incomplete");
+        }
+        if (query.getNameContains() != null) {
+            String text = query.getNameContains().toLowerCase(Locale.ROOT);
+            filters.add(task -> task.getName() != null && task.getName().toLowerCase(Locale.ROOT).contains(text));
+            descriptions.add("name contains \"" + query.getNameContains() + "\"");
+        }
+        if (query.getLongerThan() != null) {
+            filters.add(task -> task.getDuration() != null && task.getDuration().compareTo(query.getLongerThan()) > 0);
+            descriptions.add("duration > " + query.getLongerThan());
+        }
+    }
+
+    /**
+     * @return whether the tasks have to be sorted after reading them, rather than being read in order
+     */
+    private boolean sortOrderNeeded(TaskQuery query, Access access) {
+        TaskSortOrder sortOrder = query.getSortOrder();
+        if (sortOrder == TaskSortOrder.NONE)
+            return false;
+        // every task in a deadline range has a deadline, and the index orders them as DEADLINE does
+        return !(sortOrder == TaskSortOrder.DEADLINE && readsDeadlineRange(access));
+    }
+
+    private static boolean readsDeadlineRange(Access access) {
+        return access == Access.DEADLINE_RANGE || access == Access.INCOMPLETE_DEADLINE_RANGE || access == Access.NEXT_DUE;
+    }
+
+    private static Comparator<TaskReader> comparator(TaskSortOrder sortOrder) {
+        Comparator<TaskReader> byId = Comparator.comparingLong(TaskReader::getId);
+        return switch (sortOrder) {
+            case DEADLINE -> Comparator.comparing(TaskReader::getDeadline,
+                    Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(byId);
+            case NAME -> Comparator.comparing((TaskReader t) -> t.getName().toLowerCase(Locale.ROOT)).thenComparing(byId);
+            case DURATION -> Comparator.comparing(TaskReader::getDuration,
+                    Comparator.nullsLast(Comparator.<Duration>reverseOrder())).thenComparing(byId);
+            case NONE -> byId;
+        };
+    }
+
+    private List<Long> searchTaskIds(String words) {
+        if (searcher == null)
+            throw new IllegalStateException("There is no full-text search to match words with");
+        List<Long> ids = new ArrayList<>();
+        for (SearchResultInfo result : searcher.search(words, Integer.MAX_VALUE)) {
+            if (result.getKind() == SearchResultKind.TASK)
+                ids.add(result.getId());
+        }
+        return ids;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] array = new long[ids.size()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = ids.get(i);
+        return array;
+    }
+
+    private static LocalDateTime dueFrom(TaskQuery query) {
+        return query.getDueFrom() == null ? LocalDateTime.MIN : query.getDueFrom();
+    }
+
+    private static LocalDateTime dueTo(TaskQuery query) {
+        return query.getDueTo() == null ? LocalDateTime.MAX : query.getDueTo();
+    }
+}
@@ -0,0 +1,14 @@
+package services.taskpresentation;
+
+/**
+ * The order of the tasks returned by a {@link TaskQuery}
+ */
+public enum TaskSortOrder {
+    // the order the access path returns them in
+    NONE,
+    // earliest deadline first, tasks without a deadline last
+    DEADLINE,
+    NAME,
+    // longest first
+    DURATION
+}
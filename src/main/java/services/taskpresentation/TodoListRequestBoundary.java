@@ -1,8 +1,44 @@
 package services.taskpresentation;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TodoListRequestBoundary {
     TaskInfo getTaskById(Long id);
+
+    /**
+     * Get the tasks with the given ids in the same order, leaving out ids without a task
+     */
+    List<TaskInfo> getTasksByIds(long[] ids);
     List<TaskInfo> getTasks();
+
+    /**
+     * Get the tasks due in [from, to), ordered by deadline
+     */
+    List<TaskInfo> getTasksDueBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Get the incomplete tasks due before now, ordered by deadline
+     */
+    List<TaskInfo> getOverdueTasks(LocalDateTime now);
+
+    /**
+     * Get the first limit incomplete tasks due at or after from, ordered by deadline
+     */
+    List<TaskInfo> getNextDueTasks(LocalDateTime from, int limit);
+
+    /**
+     * Get every task ordered by deadline, followed by the tasks without a deadline
+     */
+    List<TaskInfo> getTasksByDeadline();
+
+    /**
+     * Get the tasks matching every criterion of the query, in its order and up to its limit
+     */
+    List<TaskInfo> findTasks(TaskQuery query);
+
+    /**
+     * Describe how {@link #findTasks(TaskQuery)} would find the tasks, one step per line
+     */
+    String explain(TaskQuery query);
 }
@@ -0,0 +1,40 @@
+package services.timeaccounting;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * A week as numbered by ISO 8601, running from Monday to Sunday
+ * @param year the week-based year, which differs from the calendar year around new year
+ * @param week the week of the week-based year, from 1 to 53
+ */
+public record IsoWeek(int year, int week) implements Comparable<IsoWeek> {
+
+    /**
+     * @return the week containing the date
+     */
+    public static IsoWeek of(LocalDate date) {
+        return new IsoWeek(date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    /**
+     * @return the Monday starting the week
+     */
+    public LocalDate getStart() {
+        return LocalDate.of(year, 1, 4)
+                .with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @Override
+    public int compareTo(IsoWeek other) {
+        return year != other.year ? Integer.compare(year, other.year) : Integer.compare(week, other.week);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d-W%02d", year, week);
+    }
+}
@@ -0,0 +1,275 @@
+package services.timeaccounting;
+
+import datagateway.ChangedField;
+import datagateway.EntityChange;
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import entity.dates.TimeFrame;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps running totals of the time scheduled per week and tag, and of the task time due per week.
+ *
+ * Each event remembers how much time it added to each week, so when it changes only that
+ * contribution is taken out of the totals and the new one added, and queries are map lookups.
+ * Event occurrences are only counted within a window of weeks, which grows when a week outside
+ * it is asked for.
+ */
+public class TimeAccountant implements TimeAccountingBoundary {
+
+    // the weeks added around a requested week when the window has to grow
+    private static final int WINDOW_MARGIN_WEEKS = 26;
+
+    private final TodoListManager todoListManager;
+    private final CalendarManager calendarManager;
+
+    private final Map<IsoWeek, Map<String, Duration>> scheduledByWeekAndTag = new HashMap<>();
+    private final Map<IsoWeek, Duration> scheduledByWeek = new HashMap<>();
+    private final Map<Long, EventContribution> eventContributions = new HashMap<>();
+
+    private final Map<IsoWeek, Duration> completedTaskTime = new HashMap<>();
+    private final Map<IsoWeek, Duration> incompleteTaskTime = new HashMap<>();
+    private final Map<Long, TaskContribution> taskContributions = new HashMap<>();
+
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private boolean tasksLoaded = false;
+
+    public TimeAccountant(TodoListManager todoListManager, CalendarManager calendarManager) {
+        this.todoListManager = todoListManager;
+        this.calendarManager = calendarManager;
+    }
+
+    @Override
+    public Duration getScheduledTime(IsoWeek week, String tag) {
+        coverWeek(week);
+        return scheduledByWeekAndTag.getOrDefault(week, Map.of()).getOrDefault(tag, Duration.ZERO);
+    }
+
+    @Override
+    public Map<String, Duration> getScheduledTimeByTag(IsoWeek week) {
+        coverWeek(week);
+        return new HashMap<>(scheduledByWeekAndTag.getOrDefault(week, Map.of()));
+    }
+
+    @Override
+    public Duration getTotalScheduledTime(IsoWeek week) {
+        coverWeek(week);
+        return scheduledByWeek.getOrDefault(week, Duration.ZERO);
+    }
+
+    @Override
+    public Duration getTaskTime(IsoWeek week, boolean completed) {
+        loadTasksIfNeeded();
+        return (completed ? completedTaskTime : incompleteTaskTime).getOrDefault(week, Duration.ZERO);
+    }
+
+    /**
+     * A method listening to the event repository on event creation and update
+     * @param eventReader the changed event
+     */
+    public void handleEventChange(EventReader eventReader) {
+        if (windowStart == null)
+            return;
+        removeEvent(eventReader.getId());
+        addEvent(eventReader);
+    }
+
+    /**
+     * A method listening to the event repository on event deletion
+     * @param eventReader the deleted event
+     */
+    public void handleEventDeletion(EventReader eventReader) {
+        if (windowStart == null)
+            return;
+        removeEvent(eventReader.getId());
+    }
+
+    /**
+     * A method listening to the changes of the event repository. Only the changes of dates and duration go
+     * through the occurrences of the event again: a change of tags moves its time from the old tags to the new ones
+     * and other fields do not count.
+     * @param change the change made to an event
+     */
+    public void handleEventChangeRecord(EntityChange<EventReader> change) {
+        if (windowStart == null)
+            return;
+        switch (change.type()) {
+            case CREATED -> addEvent(change.entity());
+            case DELETED -> removeEvent(change.id());
+            case UPDATED -> {
+                if (change.field() == ChangedField.TAGS)
+                    retagEvent(change.id(), change.entity().getTags());
+                else if (change.field() == ChangedField.DATES || change.field() == ChangedField.DURATION)
+                    handleEventChange(change.entity());
+            }
+        }
+    }
+
+    /**
+     * A method listening to the changes of the task repository, skipping the changes to fields that do not count
+     * @param change the change made to a task
+     */
+    public void handleTaskChangeRecord(EntityChange<TaskReader> change) {
+        switch (change.type()) {
+            case CREATED -> handleTaskChange(change.entity());
+            case DELETED -> handleTaskDeletion(change.entity());
+            case UPDATED -> {
+                if (change.field() != ChangedField.NAME && change.field() != ChangedField.SUBTASKS)
+                    handleTaskChange(change.entity());
+            }
+        }
+    }
+
+    /**
+     * A method listening to the task repository on task creation and update
+     * @param taskReader the changed task
+     */
+    public void handleTaskChange(TaskReader taskReader) {
+        if (!tasksLoaded)
+            return;
+        removeTask(taskReader.getId());
+        addTask(taskReader);
+    }
+
+    /**
+     * A method listening to the task repository on task deletion
+     * @param taskReader the deleted task
+     */
+    public void handleTaskDeletion(TaskReader taskReader) {
+        if (!tasksLoaded)
+            return;
+        removeTask(taskReader.getId());
+    }
+
+    /**
+     * Make sure the window of counted occurrences contains the week, counting every event again if it has to grow.
+     */
+    private void coverWeek(IsoWeek week) {
+        LocalDateTime weekStart = week.getStart().atStartOfDay();
+        LocalDateTime weekEnd = weekStart.plusWeeks(1);
+        if (windowStart != null && !weekStart.isBefore(windowStart) && !weekEnd.isAfter(windowEnd))
+            return;
+
+        LocalDateTime newStart = weekStart.minusWeeks(WINDOW_MARGIN_WEEKS);
+        LocalDateTime newEnd = weekEnd.plusWeeks(WINDOW_MARGIN_WEEKS);
+        windowStart = windowStart == null || newStart.isBefore(windowStart) ? newStart : windowStart;
+        windowEnd = windowEnd == null || newEnd.isAfter(windowEnd) ? newEnd : windowEnd;
+
+        scheduledByWeekAndTag.clear();
+        scheduledByWeek.clear();
+        eventContributions.clear();
+        for (EventReader event : calendarManager.getAllEvents())
+            addEvent(event);
+    }
+
+    private void addEvent(EventReader event) {
+        Map<IsoWeek, Duration> byWeek = new HashMap<>();
+        Duration duration = event.getDuration() == null ? Duration.ZERO : event.getDuration();
+        // occurrences starting before the window may still run into it
+        for (TimeFrame occurrence : event.getDatesBetween(windowStart.minus(duration), windowEnd))
+            addOccurrence(byWeek, occurrence);
+
+        Set<String> tags = new HashSet<>(event.getTags());
+        eventContributions.put(event.getId(), new EventContribution(tags, byWeek));
+        apply(tags, byWeek, 1);
+    }
+
+    private void retagEvent(long eventId, Set<String> newTags) {
+        EventContribution contribution = eventContributions.get(eventId);
+        if (contribution == null)
+            return;
+        Set<String> tags = new HashSet<>(newTags);
+        applyTags(contribution.tags, contribution.byWeek, -1);
+        applyTags(tags, contribution.byWeek, 1);
+        eventContributions.put(eventId, new EventContribution(tags, contribution.byWeek));
+    }
+
+    private void removeEvent(long eventId) {
+        EventContribution contribution = eventContributions.remove(eventId);
+        if (contribution != null)
+            apply(contribution.tags, contribution.byWeek, -1);
+    }
+
+    /**
+     * Split the part of the occurrence inside the window at week boundaries.
+     */
+    private void addOccurrence(Map<IsoWeek, Duration> byWeek, TimeFrame occurrence) {
+        LocalDateTime start = occurrence.startTime.isBefore(windowStart) ? windowStart : occurrence.startTime;
+        LocalDateTime occurrenceEnd = occurrence.startTime.plus(occurrence.duration);
+        LocalDateTime end = occurrenceEnd.isAfter(windowEnd) ? windowEnd : occurrenceEnd;
+        while (start.isBefore(end)) {
+            IsoWeek week = IsoWeek.of(start.toLocalDate());
+            LocalDateTime nextWeek = week.getStart().plusWeeks(1).atStartOfDay();
+            LocalDateTime partEnd = end.isBefore(nextWeek) ? end : nextWeek;
+            byWeek.merge(week, Duration.between(start, partEnd), Duration::plus);
+            start = partEnd;
+        }
+    }
+
+    private void apply(Set<String> tags, Map<IsoWeek, Duration> byWeek, int sign) {
+        for (Map.Entry<IsoWeek, Duration> entry : byWeek.entrySet())
+            add(scheduledByWeek, entry.getKey(), entry.getValue().multipliedBy(sign));
+        applyTags(tags, byWeek, sign);
+    }
+
+    private void applyTags(Set<String> tags, Map<IsoWeek, Duration> byWeek, int sign) {
+        for (Map.Entry<IsoWeek, Duration> entry : byWeek.entrySet()) {
+            Duration change = entry.getValue().multipliedBy(sign);
+            Map<String, Duration> byTag = scheduledByWeekAndTag.computeIfAbsent(entry.getKey(), k -> new HashMap<>());
+            for (String tag : tags)
+                add(byTag, tag, change);
+            if (byTag.isEmpty())
+                scheduledByWeekAndTag.remove(entry.getKey());
+        }
+    }
+
+    private void loadTasksIfNeeded() {
+        if (tasksLoaded)
+            return;
+        for (TaskReader task : todoListManager.getAllTasks())
+            addTask(task);
+        tasksLoaded = true;
+    }
+
+    private void addTask(TaskReader task) {
+        if (task.getDeadline() == null || task.getDuration() == null)
+            return;
+        TaskContribution contribution = new TaskContribution(IsoWeek.of(task.getDeadline().toLocalDate()),
+                task.getCompleted(), task.getDuration());
+        taskContributions.put(task.getId(), contribution);
+        add(contribution.completed ? completedTaskTime : incompleteTaskTime, contribution.week, contribution.duration);
+    }
+
+    private void removeTask(long taskId) {
+        TaskContribution contribution = taskContributions.remove(taskId);
+        if (contribution != null)
+            add(contribution.completed ? completedTaskTime : incompleteTaskTime, contribution.week,
+                    contribution.duration.negated());
+    }
+
+    /**
+     * Add the change to the total of the key, dropping totals that come back to zero.
+     */
+    private static <K> void add(Map<K, Duration> totals, K key, Duration change) {
+        Duration total = totals.getOrDefault(key, Duration.ZERO).plus(change);
+        if (total.isZero())
+            totals.remove(key);
+        else
+            totals.put(key, total);
+    }
+
+    private record EventContribution(Set<String> tags, Map<IsoWeek, Duration> byWeek) {
+    }
+
+    private record TaskContribution(IsoWeek week, boolean completed, Duration duration) {
+    }
+}
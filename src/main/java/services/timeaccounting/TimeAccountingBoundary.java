@@ -0,0 +1,27 @@
+package services.timeaccounting;
+
+import java.time.Duration;
+import java.util.Map;
+
+public interface TimeAccountingBoundary {
+    /**
+     * @return the time taken by occurrences of events with the tag during the week
+     */
+    Duration getScheduledTime(IsoWeek week, String tag);
+
+    /**
+     * @return the time taken by occurrences of events during the week, by tag. Untagged events are left out.
+     */
+    Map<String, Duration> getScheduledTimeByTag(IsoWeek week);
+
+    /**
+     * @return the time taken by occurrences of all events during the week
+     */
+    Duration getTotalScheduledTime(IsoWeek week);
+
+    /**
+     * @param completed whether to count completed or incomplete tasks
+     * @return the time needed by the tasks due during the week
+     */
+    Duration getTaskTime(IsoWeek week, boolean completed);
+}
@@ -0,0 +1,134 @@
+import datagateway.EntityChange;
+import datagateway.event.EventEntityManager;
+import datagateway.event.EventReader;
+import datagateway.event.ObservableEventEntityManager;
+import datagateway.task.ObservableTaskEntityManager;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoEntityManager;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.eventcreation.EventImporter;
+import services.taskcreation.ImportResult;
+import services.taskcreation.TaskImportFormat;
+import services.taskcreation.TaskImporter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkImportTest {
+
+    static final String IMPORT_FILE = "BulkImportTest.txt";
+
+    ObservableTaskEntityManager taskRepository;
+    ObservableEventEntityManager eventRepository;
+
+    @BeforeEach
+    void setup() {
+        TodoEntityManager todoEntityManager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        taskRepository = new ObservableTaskEntityManager(todoEntityManager);
+        eventRepository = new ObservableEventEntityManager(new EventEntityManager(new Snowflake(0, 0, 1),
+                todoEntityManager));
+    }
+
+    @AfterEach
+    void teardown() {
+        new File(IMPORT_FILE).delete();
+    }
+
+    @Test
+    public void jsonLinesAreImportedInOrderAsOneBatch() throws IOException {
+        write("{\"name\": \"Essay\", \"duration\": \"PT2H\", \"deadline\": \"2021-12-10T12:00\", \"subtasks\": [\"Outline\"]}",
+                "{\"duration\": 30}",
+                "",
+                "{\"name\": \"Laundry\", \"duration\": 45}");
+        List<List<EntityChange<TaskReader>>> changeSets = new ArrayList<>();
+        taskRepository.addChangeSetObserver(changeSets::add);
+        List<Integer> progress = new ArrayList<>();
+
+        ImportResult result = new TaskImporter(taskRepository).importTasks(IMPORT_FILE, TaskImportFormat.JSON_LINES,
+                (parsed, total) -> progress.add(parsed));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of("line 2: missing name"), result.errors());
+        assertEquals(List.of(4), progress);
+        assertEquals(1, changeSets.size());
+        List<TaskReader> tasks = taskRepository.getAllTasks();
+        assertEquals("Essay", tasks.get(0).getName());
+        assertEquals(LocalDateTime.of(2021, 12, 10, 12, 0), tasks.get(0).getDeadline());
+        assertEquals(List.of("Outline"), tasks.get(0).getSubtasks());
+        assertEquals(Duration.ofMinutes(45), tasks.get(1).getDuration());
+    }
+
+    @Test
+    public void csvColumnsAreReadByHeader() throws IOException {
+        write("deadline,name,subtasks",
+                "2021-12-10T12:00,\"Lab report, part 2\",Plot;\"Write \"\"results\"\"\"",
+                "not a date,Broken,");
+
+        ImportResult result = new TaskImporter(taskRepository).importTasks(IMPORT_FILE, TaskImportFormat.CSV, null);
+
+        assertEquals(1, result.imported());
+        assertTrue(result.errors().get(0).startsWith("line 3: "));
+        TaskReader task = taskRepository.getAllTasks().get(0);
+        assertEquals("Lab report, part 2", task.getName());
+        assertEquals(List.of("Plot", "Write \"results\""), task.getSubtasks());
+        assertEquals(Duration.ofHours(1), task.getDuration());
+    }
+
+    @Test
+    public void icsEventsBecomeSingleAndWeeklyStrategies() throws IOException {
+        write("BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "SUMMARY:CSC207 Lec",
+                " ture",
+                "DTSTART;TZID=America/Toronto:20211213T090000",
+                "DTEND;TZID=America/Toronto:20211213T110000",
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20211222T000000",
+                "CATEGORIES:CSC207,lecture",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Dentist",
+                "DTSTART:20211215T140000",
+                "DURATION:PT30M",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Monthly review",
+                "DTSTART:20211201T100000",
+                "RRULE:FREQ=MONTHLY",
+                "END:VEVENT",
+                "END:VCALENDAR");
+
+        ImportResult result = new EventImporter(eventRepository).importEvents(IMPORT_FILE, null);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of("line 15: unsupported recurrence FREQ=MONTHLY"), result.errors());
+        EventReader lecture = eventRepository.getEventByName("CSC207 Lecture");
+        assertEquals(Set.of("CSC207", "lecture"), lecture.getTags());
+        assertEquals(Duration.ofHours(2), lecture.getDuration());
+        Set<TimeFrame> lectures = lecture.getDatesBetween(LocalDateTime.of(2021, 12, 1, 0, 0),
+                LocalDateTime.of(2022, 1, 1, 0, 0));
+        assertEquals(3, lectures.size());
+        EventReader dentist = eventRepository.getEventByName("Dentist");
+        assertEquals(1, dentist.getDatesBetween(LocalDateTime.of(2021, 12, 1, 0, 0),
+                LocalDateTime.of(2022, 1, 1, 0, 0)).size());
+    }
+
+    private static void write(String... lines) throws IOException {
+        try (FileWriter writer = new FileWriter(IMPORT_FILE)) {
+            for (String line : lines)
+                writer.write(line + "\n");
+        }
+    }
+}
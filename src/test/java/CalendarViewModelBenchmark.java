@@ -0,0 +1,96 @@
+import datagateway.event.EventEntityManager;
+import datagateway.event.ObservableEventEntityManager;
+import datagateway.task.TodoEntityManager;
+import entity.dates.DateStrategy;
+import gui.viewmodel.calendar.CalendarViewModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.conflictdetection.ConflictDetector;
+import services.eventcreation.EventAdder;
+import services.eventpresentation.EventGetter;
+import services.strategybuilding.MultipleRuleFormBuilder;
+import services.strategybuilding.StrategyBuilderDirector;
+import services.updateentities.EventUpdater;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times how the calendar view model keeps its entries in line with 1k event updates, with about 10k entries
+ * loaded, the conflicts found by the conflict detector and a tag filter hiding half of the events. Only the view
+ * model is built and no window is shown. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class CalendarViewModelBenchmark {
+
+    // weekly events have about nine occurrences in the range loaded around today
+    static final int EVENT_COUNT = 1_200;
+    static final int UPDATES = 1_000;
+    static final int SPACING_MINUTES = 8;
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    ObservableEventEntityManager eventRepository;
+    CalendarViewModel viewModel;
+    long[] eventIds;
+
+    @BeforeEach
+    void setup() {
+        eventRepository = new ObservableEventEntityManager(new EventEntityManager(new Snowflake(0, 0, 1),
+                new TodoEntityManager(new Snowflake(0, 0, 0))));
+        // the events are spread over the week without overlapping
+        StrategyBuilderDirector director = new StrategyBuilderDirector();
+        eventIds = new long[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            int minuteOfWeek = i * SPACING_MINUTES;
+            MultipleRuleFormBuilder builder = new MultipleRuleFormBuilder();
+            builder.addWeeklyOccurrence(DayOfWeek.of(1 + minuteOfWeek / MINUTES_PER_DAY),
+                    LocalTime.ofSecondOfDay(60L * (minuteOfWeek % MINUTES_PER_DAY)));
+            DateStrategy strategy = director.createStrategy(builder.getForm());
+            Set<String> tags = Set.of(i % 2 == 0 ? "even" : "odd");
+            eventIds[i] = eventRepository.addEvent("Event " + i, strategy, Duration.ofMinutes(5), tags);
+        }
+
+        ConflictDetector conflictDetector = new ConflictDetector(eventRepository);
+        eventRepository.addCreationObserver(conflictDetector::handleCreation);
+        eventRepository.addUpdateObserver(conflictDetector::handleUpdate);
+        viewModel = new CalendarViewModel(new EventAdder(eventRepository), new EventGetter(eventRepository),
+                new EventUpdater(eventRepository), conflictDetector);
+        eventRepository.addCreationObserver(viewModel::handleCreation);
+        eventRepository.addUpdateObserver(viewModel::handleUpdate);
+        assertTrue(viewModel.setTagFilter("even"));
+    }
+
+    @Test
+    public void handleUpdates() {
+        int entryCount = viewModel.getEntryList().size();
+        assertTrue(entryCount >= 10_000);
+        EventUpdater eventUpdater = new EventUpdater(eventRepository);
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            long id = eventIds[random.nextInt(EVENT_COUNT)];
+            // renaming replaces every entry of the event, changing the duration only its end times, and
+            // durations over the spacing make the event run into the next one
+            if (i % 2 == 0)
+                eventUpdater.updateName(id, "Renamed " + i);
+            else
+                eventUpdater.updateDuration(id, Duration.ofMinutes(1 + random.nextInt(2 * SPACING_MINUTES)));
+        }
+        long nanos = System.nanoTime() - start;
+
+        assertTrue(viewModel.getEntryList().size() >= entryCount);
+        assertTrue(viewModel.getHiddenEntryIds().size() >= entryCount / 2);
+        assertTrue(!viewModel.getConflictingEntryIds().isEmpty());
+        System.out.printf("handleUpdate: %d updates over %d entries (%d conflicting, %d hidden) in %.1f ms "
+                        + "(%.3f ms each)%n", UPDATES, entryCount, viewModel.getConflictingEntryIds().size(),
+                viewModel.getHiddenEntryIds().size(), nanos / 1e6, nanos / 1e6 / UPDATES);
+    }
+}
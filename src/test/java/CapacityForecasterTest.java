@@ -0,0 +1,337 @@
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.capacityforecasting.CapacityForecaster;
+import services.capacityforecasting.DeadlineForecast;
+import services.eventfromtaskcreation.SchedulingConstraints;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CapacityForecasterTest {
+
+    List<TaskReader> tasks;
+    List<EventReader> events;
+    CapacityForecaster forecaster;
+    LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        today = LocalDate.now();
+        tasks = new ArrayList<>();
+        tasks.add(new MockTaskReader(1L, Duration.ofHours(5), today.plusDays(2).atTime(17, 0)));
+        tasks.add(new MockTaskReader(2L, Duration.ofHours(30), today.plusDays(3).atTime(17, 0)));
+        tasks.add(new MockTaskReader(3L, Duration.ofHours(4), today.plusDays(3).atTime(17, 0)));
+        tasks.add(new MockTaskReader(4L, Duration.ofHours(1), null));
+
+        events = new ArrayList<>();
+        events.add(new MockEventReader(10L, today.plusDays(3).atTime(9, 0), Duration.ofHours(4)));
+
+        SchedulingConstraints constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(9, 0), LocalTime.of(17, 0));
+        forecaster = new CapacityForecaster(new MockTodoListManager(tasks), new MockCalendarManager(events), constraints);
+    }
+
+    @Test
+    public void forecastsAccumulateDemandAndCapacityByDeadline() {
+        List<DeadlineForecast> forecasts = forecaster.getForecasts();
+
+        assertEquals(3, forecasts.size());
+        DeadlineForecast first = forecasts.get(0);
+        DeadlineForecast last = forecasts.get(2);
+        assertEquals(1L, first.getTaskId());
+        assertEquals(Duration.ofHours(5), first.getCumulativeDemand());
+        assertTrue(first.isFeasible());
+        assertEquals(Duration.ofHours(39), last.getCumulativeDemand());
+        // the day between the two deadlines has eight free hours, four of which are taken by the event
+        assertEquals(Duration.ofHours(4), last.getAvailableCapacity().minus(first.getAvailableCapacity()));
+        assertFalse(last.isFeasible());
+        assertFalse(forecaster.getForecast(3L).isFeasible());
+    }
+
+    @Test
+    public void forecastsUpdateWhenEventIsDeleted() {
+        forecaster.getForecasts();
+        EventReader event = events.remove(0);
+        forecaster.handleEventDeletion(event);
+
+        List<DeadlineForecast> forecasts = forecaster.getForecasts();
+        assertEquals(Duration.ofHours(8),
+                forecasts.get(2).getAvailableCapacity().minus(forecasts.get(0).getAvailableCapacity()));
+    }
+
+    @Test
+    public void forecastsUpdateWhenTaskIsDeleted() {
+        forecaster.getForecasts();
+        TaskReader task = tasks.remove(1);
+        forecaster.handleTaskDeletion(task);
+
+        assertEquals(Duration.ofHours(9), forecaster.getForecast(3L).getCumulativeDemand());
+        assertTrue(forecaster.getForecast(3L).isFeasible());
+        assertNull(forecaster.getForecast(2L));
+    }
+
+    @Test
+    public void infeasibleTasksFollowTaskChanges() {
+        assertEquals(Set.of(2L, 3L), forecaster.getInfeasibleTasks());
+
+        MockTaskReader longerFirst = new MockTaskReader(1L, Duration.ofHours(30), today.plusDays(2).atTime(17, 0));
+        tasks.set(0, longerFirst);
+        forecaster.handleTaskUpdate(longerFirst);
+        assertEquals(Set.of(1L, 2L, 3L), forecaster.getInfeasibleTasks());
+
+        forecaster.handleTaskDeletion(tasks.remove(1));
+        forecaster.handleTaskDeletion(tasks.remove(0));
+        assertEquals(Set.of(), forecaster.getInfeasibleTasks());
+
+        // no time is left before a passed deadline
+        MockTaskReader overdue = new MockTaskReader(5L, Duration.ofHours(1), today.minusDays(1).atTime(17, 0));
+        tasks.add(overdue);
+        forecaster.handleTaskCreation(overdue);
+        assertEquals(Set.of(5L), forecaster.getInfeasibleTasks());
+        assertFalse(forecaster.getForecast(5L).isFeasible());
+        assertTrue(forecaster.getForecast(3L).isFeasible());
+    }
+
+    private static class MockTodoListManager implements TodoListManager {
+        final List<TaskReader> tasks;
+
+        public MockTodoListManager(List<TaskReader> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public long addTask(String name, Duration duration, LocalDateTime deadline, List<String> subtasks) {
+            return 0;
+        }
+
+        @Override
+        public void deleteTask(long taskId) {
+
+        }
+
+        @Override
+        public TaskReader getTask(long taskId) {
+            return null;
+        }
+
+        @Override
+        public List<TaskReader> getAllTasks() {
+            return tasks;
+        }
+
+        @Override
+        public void completeTask(long taskId) {
+
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration newDuration) {
+
+        }
+
+        @Override
+        public void updateDeadline(long id, LocalDateTime newDeadline) {
+
+        }
+
+        @Override
+        public void addSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void removeSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void loadTodo(String filepath) {
+
+        }
+
+        @Override
+        public void saveTodo(String filepath) {
+
+        }
+    }
+
+    private static class MockTaskReader implements TaskReader {
+        final long id;
+        final Duration duration;
+        final LocalDateTime deadline;
+
+        public MockTaskReader(long id, Duration duration, LocalDateTime deadline) {
+            this.id = id;
+            this.duration = duration;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Task " + id;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public LocalDateTime getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public List<String> getSubtasks() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final List<EventReader> events;
+
+        public MockCalendarManager(List<EventReader> events) {
+            this.events = events;
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            return events;
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final LocalDateTime start;
+        final Duration duration;
+
+        public MockEventReader(long id, LocalDateTime start, Duration duration) {
+            this.id = id;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Event " + id;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return new HashSet<>();
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            if (start.isAfter(startTime) && start.isBefore(endTime))
+                dates.add(new TimeFrame(start, duration));
+            return dates;
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+}
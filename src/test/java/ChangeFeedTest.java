@@ -0,0 +1,132 @@
+import datagateway.ChangeType;
+import datagateway.ChangedField;
+import datagateway.event.EventEntityManager;
+import datagateway.event.ObservableEventEntityManager;
+import datagateway.task.ObservableTaskEntityManager;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.changefeed.ChangeFeed;
+import services.changefeed.ChangeFeedSnapshot;
+import services.changefeed.ChangeFeedSubscriber;
+import services.changefeed.ChangeRecord;
+import services.changefeed.ChangeSource;
+import services.strategies.SingleDateStrategy;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ChangeFeedTest {
+
+    static final String SPILL_FILE = "ChangeFeedTest.jsonl";
+
+    ObservableTaskEntityManager taskRepository;
+    ObservableEventEntityManager eventRepository;
+
+    @BeforeEach
+    void setup() {
+        TodoEntityManager todoEntityManager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        taskRepository = new ObservableTaskEntityManager(todoEntityManager);
+        eventRepository = new ObservableEventEntityManager(new EventEntityManager(new Snowflake(0, 0, 1),
+                todoEntityManager));
+    }
+
+    @AfterEach
+    void teardown() {
+        new File(SPILL_FILE).delete();
+    }
+
+    @Test
+    public void changesAreNumberedAcrossRepositories() {
+        ChangeFeed feed = follow(new ChangeFeed(taskRepository, eventRepository, 10));
+        long taskId = taskRepository.addTask("Essay", Duration.ofHours(2), null, new ArrayList<>());
+        long eventId = eventRepository.addEvent("Lecture", new SingleDateStrategy(LocalDateTime.of(2021, 12, 13, 9, 0)),
+                Duration.ofHours(1), Set.of());
+        taskRepository.updateName(taskId, "Final essay");
+
+        MockSubscriber subscriber = new MockSubscriber();
+        feed.subscribe(2, subscriber);
+        taskRepository.deleteTask(taskId);
+
+        assertEquals(4, feed.getLastSequence());
+        assertNull(subscriber.snapshot);
+        assertEquals(List.of(2L, 3L, 4L), sequences(subscriber.changes));
+        // creating the event also creates its task, which is not observed through the task repository
+        assertEquals(new ChangeRecord(2, ChangeSource.EVENT, ChangeType.CREATED, eventId, null, null, null),
+                subscriber.changes.get(0));
+        assertEquals(new ChangeRecord(3, ChangeSource.TASK, ChangeType.UPDATED, taskId, ChangedField.NAME,
+                "Essay", "Final essay"), subscriber.changes.get(1));
+    }
+
+    @Test
+    public void changesPushedOutOfTheBufferAreReadBackFromTheSpillFile() {
+        ChangeFeed feed = follow(new ChangeFeed(taskRepository, eventRepository, 3, SPILL_FILE, 100));
+        for (int i = 0; i < 10; i++)
+            taskRepository.addTask("Task " + i, Duration.ofHours(1), null, new ArrayList<>());
+
+        MockSubscriber subscriber = new MockSubscriber();
+        feed.subscribe(1, subscriber);
+        taskRepository.addTask("Task 10", Duration.ofHours(1), null, new ArrayList<>());
+
+        assertNull(subscriber.snapshot);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), sequences(subscriber.changes));
+    }
+
+    @Test
+    public void laggingSubscriberGetsSnapshotThenResumes() {
+        ChangeFeed feed = follow(new ChangeFeed(taskRepository, eventRepository, 3, SPILL_FILE, 4));
+        for (int i = 0; i < 10; i++)
+            taskRepository.addTask("Task " + i, Duration.ofHours(1), null, new ArrayList<>());
+
+        MockSubscriber subscriber = new MockSubscriber();
+        feed.subscribe(2, subscriber);
+        taskRepository.addTask("Task 10", Duration.ofHours(1), null, new ArrayList<>());
+
+        assertEquals(10, subscriber.snapshot.sequence());
+        assertEquals(10, subscriber.snapshot.tasks().size());
+        assertEquals(List.of(11L), sequences(subscriber.changes));
+
+        // the changes still kept are replayed from the spill file started over
+        MockSubscriber recent = new MockSubscriber();
+        feed.subscribe(6, recent);
+        assertNull(recent.snapshot);
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L, 11L), sequences(recent.changes));
+    }
+
+    private ChangeFeed follow(ChangeFeed feed) {
+        taskRepository.addChangeObserver(feed::handleTaskChange);
+        eventRepository.addChangeObserver(feed::handleEventChange);
+        return feed;
+    }
+
+    private static List<Long> sequences(List<ChangeRecord> changes) {
+        List<Long> sequences = new ArrayList<>();
+        for (ChangeRecord change : changes)
+            sequences.add(change.sequence());
+        return sequences;
+    }
+
+    private static class MockSubscriber implements ChangeFeedSubscriber {
+        ChangeFeedSnapshot snapshot;
+        final List<ChangeRecord> changes = new ArrayList<>();
+
+        @Override
+        public void onSnapshot(ChangeFeedSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void onChange(ChangeRecord change) {
+            changes.add(change);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.conflictdetection.ConflictDetector;
+import services.conflictdetection.ConflictInfo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConflictDetectorTest {
+
+    static final LocalDateTime FROM = LocalDateTime.of(2021, 11, 1, 0, 0);
+    static final LocalDateTime TO = LocalDateTime.of(2021, 12, 1, 0, 0);
+
+    List<EventReader> events;
+    ConflictDetector detector;
+
+    @BeforeEach
+    void setup() {
+        events = new ArrayList<>();
+        // 1 and 2 overlap, 3 overlaps 2 but not 1, 4 only touches 3, 5 is on another day
+        events.add(new MockEventReader(1L, LocalDateTime.of(2021, 11, 25, 10, 0), Duration.ofHours(2)));
+        events.add(new MockEventReader(2L, LocalDateTime.of(2021, 11, 25, 11, 0), Duration.ofHours(2)));
+        events.add(new MockEventReader(3L, LocalDateTime.of(2021, 11, 25, 12, 30), Duration.ofHours(1)));
+        events.add(new MockEventReader(4L, LocalDateTime.of(2021, 11, 25, 13, 30), Duration.ofHours(1)));
+        events.add(new MockEventReader(5L, LocalDateTime.of(2021, 11, 26, 10, 0), Duration.ofHours(1)));
+        detector = new ConflictDetector(new MockCalendarManager(events));
+    }
+
+    @Test
+    public void getConflictsReportsClusterAndPairs() {
+        List<ConflictInfo> conflicts = detector.getConflicts(FROM, TO);
+
+        assertEquals(1, conflicts.size());
+        ConflictInfo conflict = conflicts.get(0);
+        assertEquals(LocalDateTime.of(2021, 11, 25, 10, 0), conflict.getStart());
+        assertEquals(LocalDateTime.of(2021, 11, 25, 13, 30), conflict.getEnd());
+        assertEquals(Set.of(1L, 2L, 3L), conflict.getEventIds());
+        assertEquals(Set.of(List.of(1L, 2L), List.of(2L, 3L)), conflict.getOverlappingPairs());
+    }
+
+    @Test
+    public void getConflictingEventsOfSingleEvent() {
+        assertEquals(Set.of(1L, 3L), detector.getConflictingEvents(2L, FROM, TO));
+        assertTrue(detector.getConflictingEvents(4L, FROM, TO).isEmpty());
+    }
+
+    @Test
+    public void getConflictingOccurrencesOfSingleEvent() {
+        assertEquals(Set.of(LocalDateTime.of(2021, 11, 25, 11, 0)), detector.getConflictingOccurrences(2L, FROM, TO));
+        assertTrue(detector.getConflictingOccurrences(4L, FROM, TO).isEmpty());
+    }
+
+    @Test
+    public void conflictsUpdateWhenEventChanges() {
+        detector.getConflicts(FROM, TO);
+
+        MockEventReader moved = new MockEventReader(5L, LocalDateTime.of(2021, 11, 25, 14, 0), Duration.ofHours(1));
+        events.set(4, moved);
+        detector.handleUpdate(moved);
+        List<ConflictInfo> conflicts = detector.getConflicts(FROM, TO);
+        assertEquals(2, conflicts.size());
+        assertEquals(Set.of(1L, 2L, 3L), conflicts.get(0).getEventIds());
+        assertEquals(Set.of(4L, 5L), conflicts.get(1).getEventIds());
+
+        events.remove(1);
+        detector.handleDeletion(new MockEventReader(2L, LocalDateTime.of(2021, 11, 25, 11, 0), Duration.ofHours(2)));
+        conflicts = detector.getConflicts(FROM, TO);
+        assertEquals(1, conflicts.size());
+        assertEquals(Set.of(4L, 5L), conflicts.get(0).getEventIds());
+    }
+
+    @Test
+    public void occurrencesAtOrAcrossTheWindowStartAreFound() {
+        // 6 starts exactly at the start of the window, 7 starts the day before and runs into it
+        events.add(new MockEventReader(6L, FROM, Duration.ofHours(1)));
+        events.add(new MockEventReader(7L, FROM.minusHours(1), Duration.ofHours(2)));
+        detector = new ConflictDetector(new MockCalendarManager(events));
+
+        List<ConflictInfo> conflicts = detector.getConflicts(FROM, TO);
+        assertEquals(2, conflicts.size());
+        assertEquals(Set.of(6L, 7L), conflicts.get(0).getEventIds());
+        assertEquals(Set.of(7L), detector.getConflictingEvents(6L, FROM, TO));
+    }
+
+    @Test
+    public void windowGrowsToCoverEveryRequest() {
+        // 8 runs over the end of the first window into the second, and conflicts with 9 in the second
+        events.add(new MockEventReader(8L, TO.minusHours(1), Duration.ofHours(2)));
+        events.add(new MockEventReader(9L, TO.plusMinutes(30), Duration.ofHours(1)));
+        MockCalendarManager calendarManager = new MockCalendarManager(events);
+        detector = new ConflictDetector(calendarManager);
+
+        assertEquals(Set.of(1L, 2L, 3L), detector.getConflicts(FROM, TO).get(0).getEventIds());
+        List<ConflictInfo> conflicts = detector.getConflicts(TO, TO.plusMonths(1));
+        assertEquals(1, conflicts.size());
+        assertEquals(Set.of(8L, 9L), conflicts.get(0).getEventIds());
+        assertEquals(Set.of(9L), detector.getConflictingEvents(8L, FROM, TO));
+
+        // both windows are covered now, so going back does not expand the events again
+        int expansions = calendarManager.allEventsRequests;
+        assertEquals(Set.of(1L, 2L, 3L), detector.getConflicts(FROM, TO).get(0).getEventIds());
+        assertEquals(expansions, calendarManager.allEventsRequests);
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final List<EventReader> events;
+        int allEventsRequests = 0;
+
+        public MockCalendarManager(List<EventReader> events) {
+            this.events = events;
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            allEventsRequests++;
+            return events;
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final LocalDateTime start;
+        final Duration duration;
+
+        public MockEventReader(long id, LocalDateTime start, Duration duration) {
+            this.id = id;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Event " + id;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return new HashSet<>();
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            if (start.isAfter(startTime) && start.isBefore(endTime))
+                dates.add(new TimeFrame(start, duration));
+            return dates;
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+}
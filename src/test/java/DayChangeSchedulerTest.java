@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import services.daychange.DayChangeScheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DayChangeSchedulerTest {
+
+    static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    MockExecutor executor = new MockExecutor();
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void nextCheckIsAtLocalMidnight() {
+        Instant now = LocalDateTime.of(2021, 12, 13, 15, 30).atZone(ZONE).toInstant();
+        assertEquals(LocalDateTime.of(2021, 12, 14, 0, 0).atZone(ZONE).toInstant(),
+                DayChangeScheduler.nextCheckTime(now, ZONE));
+    }
+
+    @Test
+    public void nextCheckIsAtTransitionBeforeMidnight() {
+        // clocks go forward from 2:00 to 3:00 on the last Sunday of March
+        Instant now = LocalDateTime.of(2021, 3, 28, 0, 30).atZone(ZONE).toInstant();
+        assertEquals(LocalDateTime.of(2021, 3, 28, 3, 0).atZone(ZONE).toInstant(),
+                DayChangeScheduler.nextCheckTime(now, ZONE));
+    }
+
+    @Test
+    public void observersAreNotifiedOnlyWhenTheDateChanges() {
+        MockClock clock = new MockClock(LocalDateTime.of(2021, 12, 13, 23, 0).atZone(ZONE).toInstant());
+        DayChangeScheduler scheduler = new DayChangeScheduler(executor, clock);
+        List<LocalDate> notified = new ArrayList<>();
+        scheduler.addObserver(notified::add);
+
+        scheduler.start();
+        assertEquals(TimeUnit.HOURS.toNanos(1), executor.lastDelay);
+
+        // a check made early only schedules the next one
+        clock.now = clock.now.plusSeconds(3599);
+        executor.lastCommand.run();
+        assertEquals(List.of(), notified);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), executor.lastDelay);
+
+        clock.now = clock.now.plusSeconds(1);
+        executor.lastCommand.run();
+        assertEquals(List.of(LocalDate.of(2021, 12, 14)), notified);
+        assertEquals(TimeUnit.DAYS.toNanos(1), executor.lastDelay);
+
+        scheduler.stop();
+        clock.now = clock.now.plusSeconds(86400);
+        executor.lastCommand.run();
+        assertEquals(1, notified.size());
+    }
+
+    private static class MockClock extends Clock {
+        Instant now;
+
+        MockClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Keeps the last command scheduled so that the test runs it when it wants to
+     */
+    private static class MockExecutor extends ScheduledThreadPoolExecutor {
+        Runnable lastCommand;
+        long lastDelay;
+
+        MockExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            lastCommand = command;
+            lastDelay = unit.toNanos(delay);
+            return super.schedule(() -> {
+            }, delay, unit);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+import datagateway.ChangeType;
+import datagateway.ChangedField;
+import datagateway.EntityChange;
+import datagateway.event.EventEntityManager;
+import datagateway.event.EventReader;
+import datagateway.event.ObservableEventEntityManager;
+import datagateway.task.ObservableTaskEntityManager;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.strategies.SingleDateStrategy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EntityChangeTest {
+
+    static final LocalDateTime START = LocalDateTime.of(2021, 12, 13, 9, 0);
+
+    ObservableTaskEntityManager taskRepository;
+    ObservableEventEntityManager eventRepository;
+    List<EntityChange<TaskReader>> taskChanges;
+    List<EntityChange<EventReader>> eventChanges;
+
+    @BeforeEach
+    void setup() {
+        TodoEntityManager todoEntityManager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        taskRepository = new ObservableTaskEntityManager(todoEntityManager);
+        eventRepository = new ObservableEventEntityManager(new EventEntityManager(new Snowflake(0, 0, 1),
+                todoEntityManager));
+        taskChanges = new ArrayList<>();
+        eventChanges = new ArrayList<>();
+        taskRepository.addChangeObserver(taskChanges::add);
+        eventRepository.addChangeObserver(eventChanges::add);
+    }
+
+    @Test
+    public void taskUpdatesCarryTheOldAndNewValue() {
+        long id = taskRepository.addTask("Essay", Duration.ofHours(2), null, new ArrayList<>());
+        taskRepository.updateDeadline(id, START);
+        taskRepository.addSubtask(id, "Outline");
+        taskRepository.deleteTask(id);
+
+        assertEquals(4, taskChanges.size());
+        assertEquals(ChangeType.CREATED, taskChanges.get(0).type());
+        assertNull(taskChanges.get(0).field());
+        assertEquals(EntityChange.updated(id, ChangedField.DEADLINE, null, START, taskChanges.get(1).entity()),
+                taskChanges.get(1));
+        assertEquals(List.of(), taskChanges.get(2).oldValue());
+        assertEquals(List.of("Outline"), taskChanges.get(2).newValue());
+        assertEquals(ChangeType.DELETED, taskChanges.get(3).type());
+        assertEquals("Essay", taskChanges.get(3).entity().getName());
+    }
+
+    @Test
+    public void eventUpdatesNameTheChangedField() {
+        long id = eventRepository.addEvent("Lecture", new SingleDateStrategy(START), Duration.ofHours(2),
+                Set.of("CSC207"));
+        eventRepository.updateName(id, "Tutorial");
+        eventRepository.addTag(id, "lab");
+        eventRepository.markEventAsCompleted(id);
+
+        assertEquals(4, eventChanges.size());
+        assertEquals(EntityChange.created(id, eventChanges.get(0).entity()), eventChanges.get(0));
+        assertEquals(ChangedField.NAME, eventChanges.get(1).field());
+        assertEquals("Lecture", eventChanges.get(1).oldValue());
+        assertEquals("Tutorial", eventChanges.get(1).newValue());
+        assertEquals(Set.of("CSC207"), eventChanges.get(2).oldValue());
+        assertEquals(Set.of("CSC207", "lab"), eventChanges.get(2).newValue());
+        assertEquals(false, eventChanges.get(3).oldValue());
+        assertEquals(true, eventChanges.get(3).newValue());
+    }
+
+    @Test
+    public void changesMadeByAnObserverFollowTheChangeCausingThem() {
+        long lecture = eventRepository.addEvent("Lecture", new SingleDateStrategy(START), Duration.ofHours(2),
+                Set.of());
+        long essay = eventRepository.addEvent("Essay", new SingleDateStrategy(START.plusHours(1)),
+                Duration.ofHours(1), Set.of());
+        eventChanges.clear();
+        eventRepository.addUpdateObserver(event -> {
+            if (event.getId() != lecture)
+                return;
+            eventRepository.beginBatch();
+            eventRepository.updateDateStrategy(essay, new SingleDateStrategy(START.plusHours(3)));
+            eventRepository.addTag(essay, "moved");
+            eventRepository.commitBatch();
+        });
+        List<List<EntityChange<EventReader>>> changeSets = new ArrayList<>();
+        eventRepository.addChangeSetObserver(changeSets::add);
+
+        eventRepository.updateName(lecture, "Tutorial");
+
+        assertEquals(List.of(lecture, essay, essay), eventChanges.stream().map(EntityChange::id).toList());
+        assertEquals(2, changeSets.size());
+        assertEquals(lecture, changeSets.get(0).get(0).id());
+        assertEquals(2, changeSets.get(1).size());
+    }
+
+    @Test
+    public void batchDeliversOneCoalescedChangeSet() {
+        long kept = taskRepository.addTask("Essay", Duration.ofHours(2), null, new ArrayList<>());
+        List<List<EntityChange<TaskReader>>> changeSets = new ArrayList<>();
+        List<TaskReader> updated = new ArrayList<>();
+        taskRepository.addChangeSetObserver(changeSets::add);
+        taskRepository.addUpdateObserver(updated::add);
+
+        taskRepository.beginBatch();
+        long created = taskRepository.addTask("Lab", Duration.ofHours(1), null, new ArrayList<>());
+        taskRepository.updateName(created, "Lab report");
+        long discarded = taskRepository.addTask("Scratch", Duration.ofHours(1), null, new ArrayList<>());
+        taskRepository.deleteTask(discarded);
+        taskRepository.updateName(kept, "Essay draft");
+        taskRepository.updateName(kept, "Final essay");
+        taskRepository.updateDeadline(kept, START);
+        taskRepository.completeTask(kept);
+        assertEquals(0, changeSets.size());
+        taskRepository.commitBatch();
+
+        assertEquals(1, changeSets.size());
+        List<EntityChange<TaskReader>> changes = changeSets.get(0);
+        assertEquals(4, changes.size());
+        assertEquals(ChangeType.CREATED, changes.get(0).type());
+        assertEquals("Lab report", changes.get(0).entity().getName());
+        assertEquals(EntityChange.updated(kept, ChangedField.NAME, "Essay", "Final essay", changes.get(1).entity()),
+                changes.get(1));
+        assertEquals(ChangedField.DEADLINE, changes.get(2).field());
+        assertEquals(ChangedField.COMPLETED, changes.get(3).field());
+        // one update for the task whatever the number of fields changed
+        assertEquals(1, updated.size());
+    }
+}
@@ -0,0 +1,125 @@
+import datagateway.event.EventEntityManager;
+import datagateway.event.EventReader;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import entity.dates.DateStrategy;
+import services.Snowflake;
+import services.strategies.EndRestrictionDecorator;
+import services.strategies.SingleDateStrategy;
+import services.strategies.StartRestrictionDecorator;
+import services.strategies.WeeklyStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EventEntityManagerTest {
+
+    static final LocalDateTime START = LocalDateTime.of(2021, 12, 13, 9, 0);
+
+    TodoEntityManager taskManager;
+    EventEntityManager eventManager;
+
+    @BeforeEach
+    void setup() {
+        taskManager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        eventManager = new EventEntityManager(new Snowflake(0, 0, 1), taskManager);
+    }
+
+    @Test
+    public void eventsBetweenFollowTaskDurationChanges() {
+        long taskId = taskManager.addTask("Field trip", Duration.ofHours(1), null, new ArrayList<>());
+        long trip = eventManager.addEvent(taskId, new SingleDateStrategy(START), Set.of());
+        LocalDateTime inTwoWeeks = START.plusWeeks(2);
+        assertEquals(List.of(), ids(eventManager.getEventsBetween(inTwoWeeks, inTwoWeeks.plusHours(1))));
+
+        // changed through the task, without going through the event manager
+        taskManager.updateDuration(taskId, Duration.ofDays(15));
+        assertEquals(List.of(trip), ids(eventManager.getEventsBetween(inTwoWeeks, inTwoWeeks.plusHours(1))));
+
+        taskManager.updateDuration(taskId, Duration.ofDays(1));
+        assertEquals(List.of(), ids(eventManager.getEventsBetween(inTwoWeeks, inTwoWeeks.plusHours(1))));
+    }
+
+    @Test
+    public void recurringEventsAreOnlyFoundWhileTheyRecur() {
+        long ended = eventManager.addEvent("Ended", weekly(START.minusWeeks(10), START.minusWeeks(4)),
+                Duration.ofHours(1), Set.of());
+        long ongoing = eventManager.addEvent("Ongoing", weekly(START.minusWeeks(10), null), Duration.ofHours(1),
+                Set.of());
+        long upcoming = eventManager.addEvent("Upcoming", weekly(START.plusWeeks(4), START.plusWeeks(8)),
+                Duration.ofHours(1), Set.of());
+        long later = eventManager.addEvent("Later", weekly(START.plusWeeks(4), null), Duration.ofHours(1), Set.of());
+
+        assertEquals(Set.of(ongoing), Set.copyOf(ids(eventManager.getEventsBetween(START, START.plusDays(1)))));
+        assertEquals(Set.of(ongoing, upcoming, later),
+                Set.copyOf(ids(eventManager.getEventsBetween(START.plusWeeks(5), START.plusWeeks(6)))));
+        assertEquals(Set.of(ended, ongoing),
+                Set.copyOf(ids(eventManager.getEventsBetween(START.minusWeeks(6), START.minusWeeks(5)))));
+    }
+
+    @Test
+    public void nameLookupsFollowRenamesAndDeletions() {
+        long lecture = eventManager.addEvent("Lecture", new SingleDateStrategy(START), Duration.ofHours(1), Set.of());
+        long lab = eventManager.addEvent("Lab", new SingleDateStrategy(START), Duration.ofHours(1), Set.of());
+        long labReport = eventManager.addEvent("Lab report", new SingleDateStrategy(START), Duration.ofHours(1),
+                Set.of());
+        assertEquals(lecture, eventManager.getEventByName("Lecture").getId());
+        assertEquals(List.of(lab, labReport), ids(eventManager.findEventsByNamePrefix("la", 10)));
+
+        eventManager.updateName(lecture, "Tutorial");
+        eventManager.deleteEvent(lab);
+
+        assertNull(eventManager.getEventByName("Lecture"));
+        assertEquals(lecture, eventManager.getEventByName("Tutorial").getId());
+        assertEquals(List.of(labReport), ids(eventManager.findEventsByNamePrefix("LA", 10)));
+    }
+
+    @Test
+    public void namesOfTasksLoadedAfterTheEventsAreFound() throws IOException {
+        TodoEntityManager savedTasks = new TodoEntityManager(new Snowflake(0, 0, 2));
+        long taskId = savedTasks.addTask("Essay", Duration.ofHours(2), null, new ArrayList<>());
+        Path taskFile = Files.createTempFile("tasks", ".json");
+        try {
+            savedTasks.saveTodo(taskFile.toString());
+            long essay = eventManager.addEvent(taskId, new SingleDateStrategy(START), Set.of());
+            assertNull(eventManager.getEventByName("Essay"));
+
+            taskManager.loadTodo(taskFile.toString());
+
+            assertEquals(essay, eventManager.getEventByName("Essay").getId());
+            assertEquals(List.of(essay), ids(eventManager.findEventsByNamePrefix("ess", 10)));
+        } finally {
+            Files.delete(taskFile);
+        }
+    }
+
+    /**
+     * @return a strategy recurring on the weekday of START between from and until, or from on if until is null
+     */
+    private static DateStrategy weekly(LocalDateTime from, LocalDateTime until) {
+        StartRestrictionDecorator start = new StartRestrictionDecorator(from);
+        start.setStrategy(new WeeklyStrategy(START.getDayOfWeek(), START.toLocalTime()));
+        if (until == null)
+            return start;
+        EndRestrictionDecorator end = new EndRestrictionDecorator(until);
+        end.setStrategy(start);
+        return end;
+    }
+
+    private static List<Long> ids(List<EventReader> events) {
+        List<Long> ids = new ArrayList<>();
+        for (EventReader event : events)
+            ids.add(event.getId());
+        return ids;
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import services.eventcreation.EventInfoFromReader;
 import services.eventpresentation.EventGetter;
 import services.eventpresentation.EventInfo;
+import services.eventpresentation.EventOccurrencesInfo;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -102,6 +103,57 @@ public class EventGetterTest {
         assertEquals(expected.getTags(), actual.getTags());
     }
 
+    @Test
+    void findEventsByNamePrefixIgnoresCase() {
+        allEvents.add(new MockEventReader(3L, "Lecture", tags1));
+
+        List<EventInfo> found = eventGetter.findEventsByNamePrefix("MOCK", 10);
+        assertEquals(2, found.size());
+        assertEquals("mock1", found.get(0).getName());
+        assertEquals(1, eventGetter.findEventsByNamePrefix("mock", 1).size());
+        assertEquals(3L, eventGetter.findEventsByNamePrefix("lec", 10).get(0).getId());
+    }
+
+    @Test
+    void getEventsBetweenReturnsPagedOccurrencesInWindow() {
+        LocalDateTime from = LocalDateTime.of(2021, 11, 22, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 11, 29, 0, 0);
+        allEvents = new ArrayList<>();
+        allEvents.add(new MockTimedEventReader(3L, LocalDateTime.of(2021, 11, 26, 10, 0)));
+        allEvents.add(new MockTimedEventReader(4L, LocalDateTime.of(2021, 12, 1, 10, 0)));
+        // starts before the window but ends inside it
+        allEvents.add(new MockTimedEventReader(5L, LocalDateTime.of(2021, 11, 21, 23, 30)));
+        allEvents.add(new MockTimedEventReader(6L, from));
+
+        List<EventOccurrencesInfo> firstPage = eventGetter.getEventsBetween(from, to, 0, 2);
+        assertEquals(2, firstPage.size());
+        assertEquals(5L, firstPage.get(0).getEvent().getId());
+        assertEquals(6L, firstPage.get(1).getEvent().getId());
+        assertEquals(from, firstPage.get(1).getOccurrences().get(0).startTime);
+
+        List<EventOccurrencesInfo> secondPage = eventGetter.getEventsBetween(from, to, 2, 2);
+        assertEquals(1, secondPage.size());
+        assertEquals(3L, secondPage.get(0).getEvent().getId());
+    }
+
+    @Test
+    void getEventsBetweenOnlyExpandsTheEventsOnThePage() {
+        LocalDateTime from = LocalDateTime.of(2021, 11, 1, 0, 0);
+        LocalDateTime to = from.plusDays(60);
+        MockDailyEventReader first = new MockDailyEventReader(7L, from.plusHours(8));
+        MockDailyEventReader second = new MockDailyEventReader(8L, from.plusHours(9));
+        allEvents = new ArrayList<>();
+        allEvents.add(second);
+        allEvents.add(first);
+
+        List<EventOccurrencesInfo> page = eventGetter.getEventsBetween(from, to, 0, 1);
+        assertEquals(1, page.size());
+        assertEquals(7L, page.get(0).getEvent().getId());
+        assertEquals(60, page.get(0).getOccurrences().size());
+        // only the dates up to the first one of the event left off the page
+        assertEquals(1, second.generated);
+    }
+
     private class MockCalendarManager implements CalendarManager {
         @Override
         public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
@@ -212,4 +264,52 @@ public class EventGetterTest {
         }
     }
 
+    private static class MockTimedEventReader extends MockEventReader {
+        final LocalDateTime start;
+
+        public MockTimedEventReader(long id, LocalDateTime start) {
+            super(id, "timed" + id, new HashSet<>());
+            this.start = start;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return Duration.ofHours(1);
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            if (start.isAfter(startTime) && start.isBefore(endTime))
+                dates.add(new TimeFrame(start, getDuration()));
+            return dates;
+        }
+    }
+
+    private static class MockDailyEventReader extends MockEventReader {
+        final LocalDateTime first;
+        int generated = 0;
+
+        public MockDailyEventReader(long id, LocalDateTime first) {
+            super(id, "daily" + id, new HashSet<>());
+            this.first = first;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return Duration.ofMinutes(30);
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            for (LocalDateTime date = first; date.isBefore(endTime); date = date.plusDays(1)) {
+                if (date.isAfter(startTime)) {
+                    dates.add(new TimeFrame(date, getDuration()));
+                    generated++;
+                }
+            }
+            return dates;
+        }
+    }
 }
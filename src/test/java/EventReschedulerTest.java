@@ -0,0 +1,252 @@
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.eventfromtaskcreation.EventMove;
+import services.eventfromtaskcreation.EventRescheduler;
+import services.eventfromtaskcreation.SchedulingConstraints;
+import services.strategies.SingleDateStrategy;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventReschedulerTest {
+
+    MockCalendarManager manager;
+    EventRescheduler rescheduler;
+    List<List<EventMove>> reportedMoves;
+    LocalDate tomorrow;
+
+    @BeforeEach
+    void setup() {
+        manager = new MockCalendarManager();
+        rescheduler = new EventRescheduler(manager, new SchedulingConstraints());
+        reportedMoves = new ArrayList<>();
+        rescheduler.addMoveObserver(reportedMoves::add);
+        tomorrow = LocalDate.now().plusDays(1);
+
+        Set<String> autoTags = new HashSet<>();
+        autoTags.add(EventRescheduler.AUTO_PLACED_TAG);
+
+        manager.add(new MockEventReader(1L, "Lecture", tomorrow.atTime(10, 0), Duration.ofHours(1), new HashSet<>()));
+        manager.add(new MockEventReader(2L, "Essay", tomorrow.atTime(12, 0), Duration.ofHours(1), autoTags));
+        manager.add(new MockEventReader(3L, "Reading", tomorrow.atTime(15, 0), Duration.ofHours(1), autoTags));
+    }
+
+    @Test
+    public void extendedEventMovesOnlyConflictingAutoPlacedEvent() {
+        manager.updateDateStrategy(1L, new SingleDateStrategy(tomorrow.atTime(11, 30)));
+        manager.updateDuration(1L, Duration.ofHours(2));
+        rescheduler.handleUpdate(manager.get(1L));
+
+        assertEquals(1, reportedMoves.size());
+        List<EventMove> moves = reportedMoves.get(0);
+        assertEquals(1, moves.size());
+        assertEquals(2L, moves.get(0).eventId);
+        assertEquals(tomorrow.atTime(12, 0), moves.get(0).oldStartTime);
+        assertEquals(tomorrow.atTime(13, 30), moves.get(0).newStartTime);
+        assertEquals(tomorrow.atTime(13, 30), manager.get(2L).start);
+        assertEquals(tomorrow.atTime(15, 0), manager.get(3L).start);
+    }
+
+    @Test
+    public void movedEventSkipsOtherAutoPlacedEvents() {
+        manager.updateDateStrategy(1L, new SingleDateStrategy(tomorrow.atTime(12, 30)));
+        manager.updateDuration(1L, Duration.ofHours(3));
+        rescheduler.handleUpdate(manager.get(1L));
+
+        assertEquals(1, reportedMoves.size());
+        List<EventMove> moves = reportedMoves.get(0);
+        assertEquals(2, moves.size());
+        LocalDateTime lectureEnd = tomorrow.atTime(15, 30);
+        for (EventMove move : moves) {
+            assertTrue(!move.newStartTime.isBefore(lectureEnd));
+        }
+        assertTrue(!manager.get(2L).start.plusHours(1).isAfter(manager.get(3L).start)
+                || !manager.get(3L).start.plusHours(1).isAfter(manager.get(2L).start));
+    }
+
+    @Test
+    public void eventWithNoFreeTimeBeforeItsDeadlineIsLeftInPlace() {
+        manager.get(2L).deadline = tomorrow.atTime(14, 0);
+        manager.updateDateStrategy(1L, new SingleDateStrategy(tomorrow.atTime(11, 30)));
+        manager.updateDuration(1L, Duration.ofHours(2));
+        rescheduler.handleUpdate(manager.get(1L));
+
+        assertEquals(1, reportedMoves.size());
+        EventMove move = reportedMoves.get(0).get(0);
+        assertEquals(2L, move.eventId);
+        assertFalse(move.wasMoved());
+        assertEquals(tomorrow.atTime(12, 0), move.oldStartTime);
+        assertEquals(tomorrow.atTime(12, 0), manager.get(2L).start);
+    }
+
+    @Test
+    public void eventsAreNotMovedPastTheIndexedTime() {
+        // busy until after the time the rescheduler indexes, which is a little over two months
+        manager.updateDateStrategy(1L, new SingleDateStrategy(tomorrow.atTime(11, 30)));
+        manager.updateDuration(1L, Duration.ofDays(90));
+        rescheduler.handleUpdate(manager.get(1L));
+
+        assertEquals(1, reportedMoves.size());
+        assertEquals(2, reportedMoves.get(0).size());
+        for (EventMove move : reportedMoves.get(0))
+            assertFalse(move.wasMoved());
+        assertEquals(tomorrow.atTime(12, 0), manager.get(2L).start);
+    }
+
+    @Test
+    public void nonConflictingUpdateMovesNothing() {
+        manager.updateDateStrategy(1L, new SingleDateStrategy(tomorrow.atTime(8, 0)));
+        rescheduler.handleUpdate(manager.get(1L));
+
+        assertTrue(reportedMoves.isEmpty());
+        assertEquals(tomorrow.atTime(12, 0), manager.get(2L).start);
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final Map<Long, MockEventReader> events = new HashMap<>();
+
+        void add(MockEventReader event) {
+            events.put(event.id, event);
+        }
+
+        MockEventReader get(long id) {
+            return events.get(id);
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+            events.remove(eventId);
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            return new ArrayList<>(events.values());
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+            MockEventReader event = events.get(id);
+            LocalDateTime from = LocalDateTime.now();
+            List<TimeFrame> frames = strategy.datesBetween(from, from.plusYears(1), event.duration);
+            event.start = frames.get(0).startTime;
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+            events.get(id).duration = duration;
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final String name;
+        final Set<String> tags;
+        LocalDateTime start;
+        Duration duration;
+        LocalDateTime deadline;
+
+        public MockEventReader(long id, String name, LocalDateTime start, Duration duration, Set<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.start = start;
+            this.duration = duration;
+            this.tags = tags;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            if (start.isAfter(startTime) && start.isBefore(endTime))
+                dates.add(new TimeFrame(start, duration));
+            return dates;
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+
+        @Override
+        public LocalDateTime getDeadline() {
+            return deadline;
+        }
+    }
+}
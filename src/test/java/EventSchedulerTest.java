@@ -5,6 +5,7 @@ import entity.dates.TimeFrame;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import services.eventfromtaskcreation.EventScheduler;
+import services.eventfromtaskcreation.SchedulingConstraints;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -105,6 +106,68 @@ public class EventSchedulerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void getAvailableTimeInsideAvailabilityWindow() {
+        SchedulingConstraints constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(9, 0), LocalTime.of(10, 0));
+        EventScheduler constrainedScheduler = new EventScheduler(manager, constraints);
+
+        LocalDateTime actual = constrainedScheduler.getAvailableTime(new ArrayList<>(), Duration.ofHours(1));
+        assertEquals(LocalTime.of(9, 0), actual.toLocalTime());
+        assertTrue(actual.isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    public void getAvailableTimeKeepsBuffer() {
+        SchedulingConstraints constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        constraints.setMinimumBuffer(Duration.ofMinutes(30));
+        EventScheduler constrainedScheduler = new EventScheduler(manager, constraints);
+
+        List<LocalDateTime> timesToIgnore = new ArrayList<>();
+        for (int day = 0; day < 3; day++)
+            timesToIgnore.add(LocalDate.now().plusDays(day).atTime(9, 0));
+
+        Duration duration = Duration.ofHours(1);
+        LocalDateTime actual = constrainedScheduler.getAvailableTime(timesToIgnore, duration);
+        for (LocalDateTime ignored : timesToIgnore) {
+            boolean endsBefore = !actual.plus(duration).plusMinutes(30).isAfter(ignored);
+            boolean startsAfter = !actual.isBefore(ignored.plus(duration).plusMinutes(30));
+            assertTrue(endsBefore || startsAfter);
+        }
+        assertFalse(actual.toLocalTime().isBefore(LocalTime.of(9, 0)));
+        assertFalse(actual.plus(duration).toLocalTime().isAfter(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    public void getAvailableTimeRespectsTagBlackout() {
+        LocalDateTime examStart = LocalDate.now().plusDays(1).atTime(LocalTime.NOON);
+        Set<String> tags = new HashSet<>();
+        tags.add("exam");
+        List<EventReader> examEvents = new ArrayList<>();
+        examEvents.add(new MockEventReader(1L, "Exam", LocalTime.NOON, LocalTime.of(13, 0),
+                tags, Set.of(examStart.toLocalDate())));
+
+        SchedulingConstraints constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(8, 0), LocalTime.of(16, 0));
+        constraints.addTagBlackout("exam", Duration.ofHours(4), Duration.ofHours(1));
+        EventScheduler constrainedScheduler = new EventScheduler(new MockCalendarManager(examEvents), constraints);
+
+        Duration duration = Duration.ofHours(1);
+        LocalDateTime actual = constrainedScheduler.getAvailableTime(new ArrayList<>(), duration);
+        boolean endsBefore = !actual.plus(duration).isAfter(examStart.minusHours(4));
+        boolean startsAfter = !actual.isBefore(examStart.plusHours(2));
+        assertTrue(endsBefore || startsAfter);
+    }
+
+    @Test
+    public void getAvailableTimeBeforeDeadline() {
+        LocalDateTime deadline = LocalDateTime.now().plusHours(4);
+        LocalDateTime actual = eventScheduler.getAvailableTime(Duration.ofHours(1), deadline);
+        assertFalse(actual.plusHours(1).isAfter(deadline));
+        assertTrue(actual.isAfter(LocalDateTime.now()));
+    }
+
     private static class MockCalendarManager implements CalendarManager {
         final List<EventReader> events;
 
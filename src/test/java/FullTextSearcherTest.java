@@ -0,0 +1,327 @@
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.search.FullTextSearcher;
+import services.search.SearchResultInfo;
+import services.search.SearchResultKind;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FullTextSearcherTest {
+
+    static final String INDEX_FILE = "FullTextSearcherTest.bin";
+
+    List<TaskReader> tasks;
+    List<EventReader> events;
+    FullTextSearcher searcher;
+
+    @BeforeEach
+    void setup() {
+        tasks = new ArrayList<>();
+        tasks.add(new MockTaskReader(1L, "Write lab report", List.of("plot results")));
+        tasks.add(new MockTaskReader(2L, "Read chapter 4", List.of("lab notes")));
+        tasks.add(new MockTaskReader(3L, "Labelling", List.of()));
+        events = new ArrayList<>();
+        events.add(new MockEventReader(10L, "CSC207 Lecture", Set.of("CSC207", "lab")));
+        searcher = new FullTextSearcher(new MockTodoListManager(tasks), new MockCalendarManager(events));
+    }
+
+    @AfterEach
+    void teardown() {
+        new File(INDEX_FILE).delete();
+    }
+
+    @Test
+    public void searchRanksNamesAboveSubtasksAndPrefixes() {
+        List<SearchResultInfo> results = searcher.search("lab", 10);
+
+        assertEquals(4, results.size());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(SearchResultKind.TASK, results.get(0).getKind());
+        // a name starting with the word ranks above a subtask or tag containing it
+        assertEquals(3L, results.get(1).getId());
+        SearchResultInfo event = results.get(2).getKind() == SearchResultKind.EVENT ? results.get(2) : results.get(3);
+        assertEquals(10L, event.getId());
+        assertEquals("CSC207 Lecture", event.getName());
+    }
+
+    @Test
+    public void searchRequiresEveryWord() {
+        List<SearchResultInfo> results = searcher.search("LAB rep", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).getId());
+        assertTrue(searcher.search("lab chemistry", 10).isEmpty());
+        assertTrue(searcher.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void searchFollowsRepositoryChanges() {
+        searcher.search("lab", 10);
+
+        MockTaskReader renamed = new MockTaskReader(3L, "Lab safety quiz", List.of());
+        tasks.set(2, renamed);
+        searcher.handleTaskChange(renamed);
+        searcher.handleTaskDeletion(tasks.remove(0));
+
+        List<SearchResultInfo> results = searcher.search("lab", 10);
+        assertEquals(3, results.size());
+        assertEquals(3L, results.get(0).getId());
+    }
+
+    @Test
+    public void savedIndexIsUsedOnlyIfItMatchesTheRepositories() throws IOException {
+        searcher.saveIndex(INDEX_FILE);
+
+        FullTextSearcher loaded = new FullTextSearcher(new MockTodoListManager(tasks), new MockCalendarManager(events));
+        loaded.loadIndex(INDEX_FILE);
+        assertEquals(searcher.search("lab", 10).size(), loaded.search("lab", 10).size());
+
+        tasks.add(new MockTaskReader(4L, "Lab quiz", List.of()));
+        FullTextSearcher stale = new FullTextSearcher(new MockTodoListManager(tasks), new MockCalendarManager(events));
+        stale.loadIndex(INDEX_FILE);
+        assertEquals(5, stale.search("lab", 10).size());
+    }
+
+    private static class MockTodoListManager implements TodoListManager {
+        final List<TaskReader> tasks;
+
+        public MockTodoListManager(List<TaskReader> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public long addTask(String name, Duration duration, LocalDateTime deadline, List<String> subtasks) {
+            return 0;
+        }
+
+        @Override
+        public void deleteTask(long taskId) {
+
+        }
+
+        @Override
+        public TaskReader getTask(long taskId) {
+            for (TaskReader task : tasks) {
+                if (task.getId() == taskId)
+                    return task;
+            }
+            return null;
+        }
+
+        @Override
+        public List<TaskReader> getAllTasks() {
+            return tasks;
+        }
+
+        @Override
+        public void completeTask(long taskId) {
+
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration newDuration) {
+
+        }
+
+        @Override
+        public void updateDeadline(long id, LocalDateTime newDeadline) {
+
+        }
+
+        @Override
+        public void addSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void removeSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void loadTodo(String filepath) {
+
+        }
+
+        @Override
+        public void saveTodo(String filepath) {
+
+        }
+    }
+
+    private static class MockTaskReader implements TaskReader {
+        final long id;
+        final String name;
+        final List<String> subtasks;
+
+        public MockTaskReader(long id, String name, List<String> subtasks) {
+            this.id = id;
+            this.name = name;
+            this.subtasks = subtasks;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return Duration.ofHours(1);
+        }
+
+        @Override
+        public LocalDateTime getDeadline() {
+            return null;
+        }
+
+        @Override
+        public List<String> getSubtasks() {
+            return subtasks;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final List<EventReader> events;
+
+        public MockCalendarManager(List<EventReader> events) {
+            this.events = events;
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            return events;
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final String name;
+        final Set<String> tags;
+
+        public MockEventReader(long id, String name, Set<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return Duration.ofHours(1);
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            return Set.of();
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+}
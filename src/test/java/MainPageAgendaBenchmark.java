@@ -0,0 +1,132 @@
+import datagateway.event.EventEntityManager;
+import datagateway.event.EventReader;
+import datagateway.event.ObservableEventEntityManager;
+import datagateway.task.TodoEntityManager;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import gui.viewmodel.MainPageViewModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.eventcreation.EventSaver;
+import services.eventpresentation.EventGetter;
+import services.search.FullTextSearcher;
+import services.search.SearchIndexSaver;
+import services.strategies.SingleDateStrategy;
+import services.strategybuilding.MultipleRuleFormBuilder;
+import services.strategybuilding.StrategyBuilderDirector;
+import services.taskcreation.TaskSaver;
+import services.taskpresentation.TaskGetter;
+import services.updateentities.EventUpdater;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times how the main page builds today's agenda, and keeps it in line with 1k event updates, among 2k weekly
+ * events and 20k single events spread over four years. The agenda is also built the way it was before, by expanding
+ * every event over four years, to compare. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class MainPageAgendaBenchmark {
+
+    static final int WEEKLY_COUNT = 2_000;
+    static final int SINGLE_COUNT = 20_000;
+    static final int BUILDS = 20;
+    static final int UPDATES = 1_000;
+    static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    TodoEntityManager todoEntityManager;
+    ObservableEventEntityManager eventRepository;
+    SearchIndexSaver searchIndexSaver;
+    long[] eventIds;
+
+    @BeforeEach
+    void setup() {
+        todoEntityManager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        eventRepository = new ObservableEventEntityManager(new EventEntityManager(new Snowflake(0, 0, 1),
+                todoEntityManager));
+        StrategyBuilderDirector director = new StrategyBuilderDirector();
+        Random random = new Random(42);
+        eventIds = new long[WEEKLY_COUNT + SINGLE_COUNT];
+        for (int i = 0; i < WEEKLY_COUNT; i++) {
+            int minuteOfWeek = random.nextInt(MINUTES_PER_WEEK);
+            MultipleRuleFormBuilder builder = new MultipleRuleFormBuilder();
+            builder.addWeeklyOccurrence(DayOfWeek.of(1 + minuteOfWeek / (24 * 60)),
+                    LocalTime.ofSecondOfDay(60L * (minuteOfWeek % (24 * 60))));
+            DateStrategy strategy = director.createStrategy(builder.getForm());
+            eventIds[i] = eventRepository.addEvent("Weekly " + i, strategy, Duration.ofMinutes(30), new HashSet<>());
+        }
+        LocalDateTime first = LocalDate.now().minusYears(2).atStartOfDay();
+        for (int i = 0; i < SINGLE_COUNT; i++) {
+            LocalDateTime start = first.plusMinutes(random.nextInt(4 * 365 * 24 * 60));
+            eventIds[WEEKLY_COUNT + i] = eventRepository.addEvent("Single " + i, new SingleDateStrategy(start),
+                    Duration.ofMinutes(30), new HashSet<>());
+        }
+        searchIndexSaver = new SearchIndexSaver(new FullTextSearcher(todoEntityManager, eventRepository));
+    }
+
+    @Test
+    public void buildAgenda() {
+        long start = System.nanoTime();
+        int expanded = 0;
+        for (int i = 0; i < BUILDS; i++)
+            expanded = expandEverything();
+        long expandNanos = System.nanoTime() - start;
+
+        MainPageViewModel viewModel = null;
+        start = System.nanoTime();
+        for (int i = 0; i < BUILDS; i++)
+            viewModel = makeViewModel();
+        long windowNanos = System.nanoTime() - start;
+
+        assertEquals(expanded, viewModel.getRelevantEvents().size());
+        System.out.printf("agenda of %d occurrences: four-year expansion %.2f ms, one-day window %.2f ms%n",
+                expanded, expandNanos / 1e6 / BUILDS, windowNanos / 1e6 / BUILDS);
+    }
+
+    @Test
+    public void handleUpdates() {
+        MainPageViewModel viewModel = makeViewModel();
+        eventRepository.addUpdateObserver(viewModel::handleUpdate);
+        EventUpdater eventUpdater = new EventUpdater(eventRepository);
+        Random random = new Random(7);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++)
+            eventUpdater.updateName(eventIds[random.nextInt(eventIds.length)], "Renamed " + i);
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("handleUpdate: %d updates with %d occurrences today in %.1f ms (%.3f ms each)%n",
+                UPDATES, viewModel.getRelevantEvents().size(), nanos / 1e6, nanos / 1e6 / UPDATES);
+    }
+
+    private MainPageViewModel makeViewModel() {
+        return new MainPageViewModel(new TaskGetter(todoEntityManager), new TaskSaver(todoEntityManager),
+                new EventGetter(eventRepository), new EventSaver(eventRepository), searchIndexSaver);
+    }
+
+    /**
+     * @return the number of occurrences starting today, found the way the main page used to
+     */
+    private int expandEverything() {
+        LocalDate today = LocalDate.now();
+        int count = 0;
+        for (EventReader event : eventRepository.getAllEvents()) {
+            LocalDateTime now = LocalDateTime.now();
+            for (TimeFrame tr : event.getDatesBetween(now.minusYears(2), now.plusYears(2))) {
+                if (tr.startTime.toLocalDate().equals(today))
+                    count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,30 @@
+import gui.utility.NavigationMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NavigationMetricsTest {
+
+    @Test
+    public void switchesAreAveragedApartForCachedPages() {
+        NavigationMetrics metrics = new NavigationMetrics();
+        metrics.record("/todoListPage.fxml", false, Duration.ofMillis(90));
+        metrics.record("/todoListPage.fxml", true, Duration.ofMillis(4));
+        metrics.record("/todoListPage.fxml", true, Duration.ofMillis(6));
+        metrics.record("/settings.fxml", false, Duration.ofMillis(30));
+        metrics.record("/settings.fxml", false, Duration.ofMillis(50));
+        metrics.record("/mainPage.fxml", true, Duration.ofMillis(3));
+
+        assertEquals(Duration.ofMillis(90), metrics.getAverageLoadedSwitch("/todoListPage.fxml"));
+        assertEquals(Duration.ofMillis(5), metrics.getAverageCachedSwitch("/todoListPage.fxml"));
+        assertEquals(Duration.ofMillis(40), metrics.getAverageLoadedSwitch("/settings.fxml"));
+        assertNull(metrics.getAverageCachedSwitch("/settings.fxml"));
+        // the page shown at startup is cached without being loaded by navigation
+        assertNull(metrics.getAverageLoadedSwitch("/mainPage.fxml"));
+        assertEquals("Page switches: /todoListPage.fxml loaded 1x avg 90 ms, cached 2x avg 5 ms;"
+                + " /settings.fxml loaded 2x avg 40 ms; /mainPage.fxml cached 1x avg 3 ms", metrics.toString());
+    }
+}
@@ -0,0 +1,115 @@
+import datagateway.NotificationQueue;
+import datagateway.task.ObservableTaskEntityManager;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotificationQueueTest {
+
+    ExecutorService executor;
+    ObservableTaskEntityManager repository;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        repository = new ObservableTaskEntityManager(new TodoEntityManager(new Snowflake(0, 0, 0)));
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void observersOfAQueueAreNotifiedInOrderOffTheCallingThread() throws InterruptedException {
+        NotificationQueue queue = new NotificationQueue(executor, 8);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+        repository.addCreationObserver(queue.deliver(task -> {
+            received.add("created " + task.getId());
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }));
+        repository.addUpdateObserver(queue.deliver(task -> {
+            received.add("completed " + task.getId());
+            done.countDown();
+        }));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            long id = repository.addTask("Task " + i, Duration.ofHours(1), null, new ArrayList<>());
+            repository.completeTask(id);
+            expected.add("created " + id);
+            expected.add("completed " + id);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, received);
+        assertTrue(threads.stream().noneMatch(t -> t == Thread.currentThread()));
+    }
+
+    @Test
+    public void notifyingWaitsWhileTheQueueIsFull() throws InterruptedException {
+        NotificationQueue queue = new NotificationQueue(executor, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(5);
+        repository.addCreationObserver(queue.deliver(task -> {
+            awaitQuietly(release);
+            delivered.countDown();
+        }));
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 5; i++)
+                repository.addTask("Task " + i, Duration.ofHours(1), null, new ArrayList<>());
+        });
+        producer.start();
+        // the first task is being delivered and two more fill the queue
+        producer.join(300);
+        assertTrue(producer.isAlive());
+        assertEquals(2, queue.size());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aFailingObserverDoesNotStopDelivery() throws InterruptedException {
+        NotificationQueue queue = new NotificationQueue(executor);
+        CountDownLatch delivered = new CountDownLatch(2);
+        repository.addCreationObserver(queue.deliver(task -> {
+            throw new IllegalStateException("observer failure");
+        }));
+        repository.addCreationObserver(queue.deliver(task -> delivered.countDown()));
+
+        repository.addTask("First", Duration.ofHours(1), null, new ArrayList<>());
+        repository.addTask("Second", Duration.ofHours(1), null, new ArrayList<>());
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import gui.utility.OrderStatisticTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderStatisticTreeTest {
+
+    @Test
+    public void positionsFollowTheSortedOrder() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+
+        assertEquals(0, tree.add(20));
+        assertEquals(0, tree.add(10));
+        assertEquals(2, tree.add(30));
+        assertEquals(1, tree.add(15));
+        assertEquals(-1, tree.add(15));
+
+        assertEquals(List.of(10, 15, 20, 30), tree.toList());
+        assertEquals(30, (int) tree.get(3));
+        assertEquals(2, tree.indexOf(20));
+        assertEquals(-1, tree.indexOf(25));
+        assertEquals(1, tree.remove(15));
+        assertEquals(-1, tree.remove(15));
+        assertEquals(3, tree.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(3));
+    }
+
+    @Test
+    public void randomChangesMatchASortedList() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(207);
+
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(1000);
+            int position = Collections.binarySearch(expected, value, Comparator.reverseOrder());
+            if (random.nextBoolean()) {
+                assertEquals(position >= 0 ? -1 : -position - 1, tree.add(value));
+                if (position < 0)
+                    expected.add(-position - 1, value);
+            } else {
+                assertEquals(Math.max(position, -1), tree.remove(value));
+                if (position >= 0)
+                    expected.remove(position);
+            }
+        }
+
+        assertEquals(expected, tree.toList());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i), tree.get(i));
+    }
+}
@@ -0,0 +1,186 @@
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.eventfromtaskcreation.EventScheduler;
+import services.eventfromtaskcreation.ParallelEventScheduler;
+import services.eventfromtaskcreation.SchedulingConstraints;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelEventSchedulerTest {
+
+    ForkJoinPool pool;
+    SchedulingConstraints constraints;
+    EventScheduler sequential;
+    ParallelEventScheduler parallel;
+    LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        today = LocalDate.now();
+        List<EventReader> events = new ArrayList<>();
+        // the next ten days are busy from 08:00 to 20:00 in one hour blocks
+        long id = 0;
+        for (int day = 0; day < 10; day++) {
+            for (int hour = 8; hour < 20; hour++) {
+                events.add(new MockEventReader(id++, today.plusDays(day).atTime(hour, 0), Duration.ofHours(1)));
+            }
+        }
+        CalendarManager manager = new MockCalendarManager(events);
+
+        constraints = new SchedulingConstraints();
+        constraints.addAvailabilityWindow(LocalTime.of(8, 0), LocalTime.of(20, 0));
+        sequential = new EventScheduler(manager, constraints);
+        pool = new ForkJoinPool(4);
+        parallel = new ParallelEventScheduler(manager, constraints, pool, Duration.ofDays(1));
+    }
+
+    @AfterEach
+    void teardown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelSearchFindsSameGapAsSequential() {
+        LocalDateTime expected = sequential.getAvailableTime(Duration.ofHours(2));
+        assertEquals(today.plusDays(10).atTime(8, 0), expected);
+        assertEquals(expected, parallel.getAvailableTime(Duration.ofHours(2)));
+    }
+
+    @Test
+    public void parallelSearchFindsSameGapBeforeDeadline() {
+        LocalDateTime deadline = today.plusDays(20).atTime(12, 0);
+        assertEquals(sequential.getAvailableTime(Duration.ofHours(3), deadline),
+                parallel.getAvailableTime(Duration.ofHours(3), deadline));
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final List<EventReader> events;
+
+        public MockCalendarManager(List<EventReader> events) {
+            this.events = events;
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            return events;
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final LocalDateTime start;
+        final Duration duration;
+
+        public MockEventReader(long id, LocalDateTime start, Duration duration) {
+            this.id = id;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Busy";
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return new HashSet<>();
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            if (start.isAfter(startTime) && start.isBefore(endTime))
+                dates.add(new TimeFrame(start, duration));
+            return dates;
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+}
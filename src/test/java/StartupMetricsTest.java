@@ -0,0 +1,46 @@
+import gui.utility.StartupMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StartupMetricsTest {
+
+    @Test
+    public void milestonesAreTimedFromLaunch() {
+        MockNanoClock clock = new MockNanoClock(1_000_000);
+        StartupMetrics metrics = new StartupMetrics(clock::now);
+        assertNull(metrics.getTimeToFirstFrame());
+
+        clock.nanos += 120_000_000;
+        metrics.mark(StartupMetrics.FIRST_FRAME);
+        clock.nanos += 300_000_000;
+        metrics.mark("events loaded");
+        clock.nanos += 80_000_000;
+        metrics.mark(StartupMetrics.INTERACTIVE);
+        // a milestone keeps the time it was first reached at
+        metrics.mark(StartupMetrics.FIRST_FRAME);
+
+        assertEquals(Duration.ofMillis(120), metrics.getTimeToFirstFrame());
+        assertEquals(Duration.ofMillis(500), metrics.getTimeToInteractive());
+        assertEquals(List.of(StartupMetrics.FIRST_FRAME, "events loaded", StartupMetrics.INTERACTIVE),
+                List.copyOf(metrics.getMilestones().keySet()));
+        assertEquals("Startup: first frame at 120 ms, events loaded at 420 ms, interactive at 500 ms",
+                metrics.toString());
+    }
+
+    private static class MockNanoClock {
+        long nanos;
+
+        MockNanoClock(long nanos) {
+            this.nanos = nanos;
+        }
+
+        long now() {
+            return nanos;
+        }
+    }
+}
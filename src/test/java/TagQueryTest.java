@@ -0,0 +1,46 @@
+import datagateway.event.TagQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TagQueryTest {
+
+    @Test
+    public void andNotExcludesTag() {
+        TagQuery query = TagQuery.parse("work AND NOT meeting");
+
+        assertTrue(query.matches(Set.of("work", "CSC207")));
+        assertFalse(query.matches(Set.of("work", "meeting")));
+        assertFalse(query.matches(Set.of("CSC207")));
+    }
+
+    @Test
+    public void andBindsTighterThanOr() {
+        TagQuery query = TagQuery.parse("gym or work lecture");
+
+        assertTrue(query.matches(Set.of("gym")));
+        assertTrue(query.matches(Set.of("work", "lecture")));
+        assertFalse(query.matches(Set.of("work")));
+        assertTrue(TagQuery.parse("(gym OR work) lecture").matches(Set.of("work", "lecture")));
+        assertFalse(TagQuery.parse("(gym OR work) lecture").matches(Set.of("gym")));
+    }
+
+    @Test
+    public void quotedTagsMayContainSpacesAndKeywords() {
+        assertTrue(TagQuery.parse("\"office hours\"").matches(Set.of("office hours")));
+        assertTrue(TagQuery.parse("\"OR\" AND NOT \"and\"").matches(Set.of("OR")));
+    }
+
+    @Test
+    public void malformedQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TagQuery.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> TagQuery.parse("work AND"));
+        assertThrows(IllegalArgumentException.class, () -> TagQuery.parse("(work"));
+        assertThrows(IllegalArgumentException.class, () -> TagQuery.parse("work)"));
+        assertThrows(IllegalArgumentException.class, () -> TagQuery.parse("\"work"));
+    }
+}
@@ -0,0 +1,74 @@
+import datagateway.task.TaskReader;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskDeadlineQueryTest {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2021, 12, 10, 12, 0);
+
+    TodoEntityManager manager;
+    long overdue;
+    long dueThisAfternoon;
+    long dueTomorrow;
+    long noDeadline;
+    long dueNextWeek;
+
+    @BeforeEach
+    void setup() {
+        manager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        dueNextWeek = addTask(NOW.plusWeeks(1));
+        noDeadline = addTask(null);
+        dueTomorrow = addTask(NOW.plusDays(1));
+        dueThisAfternoon = addTask(NOW.plusHours(3));
+        overdue = addTask(NOW.minusDays(1));
+    }
+
+    private long addTask(LocalDateTime deadline) {
+        return manager.addTask("task", Duration.ofHours(1), deadline, new ArrayList<>());
+    }
+
+    @Test
+    public void dueBetweenIncludesStartAndExcludesEnd() {
+        assertEquals(List.of(dueThisAfternoon), ids(manager.getTasksDueBetween(NOW.plusHours(3), NOW.plusDays(1))));
+        assertEquals(List.of(overdue, dueThisAfternoon, dueTomorrow),
+                ids(manager.getTasksDueBetween(NOW.minusDays(7), NOW.plusDays(2))));
+    }
+
+    @Test
+    public void overdueAndNextDueSkipCompletedTasks() {
+        assertEquals(List.of(overdue), ids(manager.getOverdueTasks(NOW)));
+        assertEquals(List.of(dueThisAfternoon, dueTomorrow), ids(manager.getNextDueTasks(NOW, 2)));
+
+        manager.completeTask(overdue);
+        manager.completeTask(dueThisAfternoon);
+
+        assertEquals(List.of(), ids(manager.getOverdueTasks(NOW)));
+        assertEquals(List.of(dueTomorrow, dueNextWeek), ids(manager.getNextDueTasks(NOW, 5)));
+    }
+
+    @Test
+    public void queriesFollowDeadlineChangesAndDeletion() {
+        manager.updateDeadline(noDeadline, NOW.plusHours(1));
+        manager.updateDeadline(dueNextWeek, null);
+        manager.deleteTask(dueTomorrow);
+
+        assertEquals(List.of(overdue, noDeadline, dueThisAfternoon, dueNextWeek), ids(manager.getTasksByDeadline()));
+        assertEquals(List.of(noDeadline), ids(manager.getNextDueTasks(NOW, 1)));
+    }
+
+    private static List<Long> ids(List<TaskReader> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskReader task : tasks)
+            ids.add(task.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,68 @@
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.taskpresentation.TaskGetter;
+import services.taskpresentation.TaskInfo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times task lookups by id against 100k tasks. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class TaskGetterBenchmark {
+
+    static final int TASK_COUNT = 100_000;
+    static final int LOOKUPS = 100_000;
+
+    TaskGetter taskGetter;
+    long[] lookupIds;
+
+    @BeforeEach
+    void setup() {
+        TodoEntityManager manager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        long[] ids = new long[TASK_COUNT];
+        for (int i = 0; i < TASK_COUNT; i++)
+            ids[i] = manager.addTask("Task " + i, Duration.ofMinutes(30), null, new ArrayList<>());
+        taskGetter = new TaskGetter(manager);
+
+        Random random = new Random(207);
+        lookupIds = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+            lookupIds[i] = ids[random.nextInt(TASK_COUNT)];
+    }
+
+    @Test
+    public void getTaskById() {
+        // warm up before timing
+        for (int i = 0; i < LOOKUPS / 10; i++)
+            taskGetter.getTaskById(lookupIds[i]);
+
+        long start = System.nanoTime();
+        for (long id : lookupIds)
+            assertEquals(id, taskGetter.getTaskById(id).getId());
+        report("getTaskById", System.nanoTime() - start, LOOKUPS);
+    }
+
+    @Test
+    public void getTasksByIds() {
+        taskGetter.getTasksByIds(lookupIds);
+
+        long start = System.nanoTime();
+        List<TaskInfo> tasks = taskGetter.getTasksByIds(lookupIds);
+        report("getTasksByIds", System.nanoTime() - start, LOOKUPS);
+        assertEquals(LOOKUPS, tasks.size());
+    }
+
+    private static void report(String name, long nanos, int lookups) {
+        System.out.printf("%s: %d lookups over %d tasks in %.1f ms (%.0f ns each)%n",
+                name, lookups, TASK_COUNT, nanos / 1e6, (double) nanos / lookups);
+    }
+}
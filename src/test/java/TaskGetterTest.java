@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TaskGetterTest {
@@ -35,6 +36,15 @@ public class TaskGetterTest {
         assertEquals(actual.getSubtasks(), new ArrayList<>());
     }
 
+    @Test
+    void getTasksByIdsSkipsMissingIds() {
+        List<TaskInfo> actual = taskGetter.getTasksByIds(new long[]{2L, 1L, 1L});
+        assertEquals(2, actual.size());
+        assertEquals(1L, actual.get(0).getId());
+        assertEquals(1L, actual.get(1).getId());
+        assertNull(taskGetter.getTaskById(2L));
+    }
+
     private static class MockTodoListManager implements TodoListManager {
 
         @Override
@@ -49,7 +59,7 @@ public class TaskGetterTest {
 
         @Override
         public TaskReader getTask(long taskId) {
-            return null;
+            return taskId == 1 ? new MockTaskReader() : null;
         }
 
         @Override
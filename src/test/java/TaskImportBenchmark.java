@@ -0,0 +1,82 @@
+import datagateway.task.ObservableTaskEntityManager;
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.taskcreation.ImportResult;
+import services.taskcreation.TaskImportFormat;
+import services.taskcreation.TaskImporter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times importing 100k tasks from JSON lines and CSV. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class TaskImportBenchmark {
+
+    static final int TASK_COUNT = 100_000;
+    static final String JSON_FILE = "TaskImportBenchmark.jsonl";
+    static final String CSV_FILE = "TaskImportBenchmark.csv";
+
+    @BeforeEach
+    void setup() throws IOException {
+        try (BufferedWriter json = new BufferedWriter(new FileWriter(JSON_FILE));
+             BufferedWriter csv = new BufferedWriter(new FileWriter(CSV_FILE))) {
+            csv.write("name,duration,deadline,subtasks");
+            csv.newLine();
+            for (int i = 0; i < TASK_COUNT; i++) {
+                json.write("{\"name\": \"Task " + i + "\", \"duration\": 30, \"deadline\": \"2021-12-10T12:00\", "
+                        + "\"subtasks\": [\"Step 1\", \"Step 2\"]}");
+                json.newLine();
+                csv.write("Task " + i + ",30,2021-12-10T12:00,Step 1;Step 2");
+                csv.newLine();
+            }
+        }
+    }
+
+    @AfterEach
+    void teardown() {
+        new File(JSON_FILE).delete();
+        new File(CSV_FILE).delete();
+    }
+
+    @Test
+    public void importJsonLines() throws IOException {
+        time("JSON lines", JSON_FILE, TaskImportFormat.JSON_LINES);
+    }
+
+    @Test
+    public void importCsv() throws IOException {
+        time("CSV", CSV_FILE, TaskImportFormat.CSV);
+    }
+
+    private static void time(String name, String file, TaskImportFormat format) throws IOException {
+        // warm up on repositories that are thrown away
+        for (int i = 0; i < 3; i++)
+            new TaskImporter(newRepository()).importTasks(file, format, null);
+
+        ObservableTaskEntityManager repository = newRepository();
+        int[] changeSets = {0};
+        repository.addChangeSetObserver(changes -> changeSets[0]++);
+        long start = System.nanoTime();
+        ImportResult result = new TaskImporter(repository).importTasks(file, format, null);
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(TASK_COUNT, result.imported());
+        assertEquals(TASK_COUNT, repository.getAllTasks().size());
+        assertEquals(1, changeSets[0]);
+        System.out.printf("%s: %d tasks imported in %.1f ms%n", name, TASK_COUNT, nanos / 1e6);
+    }
+
+    private static ObservableTaskEntityManager newRepository() {
+        return new ObservableTaskEntityManager(new TodoEntityManager(new Snowflake(0, 0, 0)));
+    }
+}
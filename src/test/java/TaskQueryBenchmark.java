@@ -0,0 +1,113 @@
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.taskpresentation.TaskGetter;
+import services.taskpresentation.TaskInfo;
+import services.taskpresentation.TaskQuery;
+import services.taskpresentation.TaskSortOrder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares queries read from the task indexes with the same queries answered by reading every task.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class TaskQueryBenchmark {
+
+    static final int TASK_COUNT = 100_000;
+    static final int RUNS = 50;
+    static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    TaskGetter taskGetter;
+
+    @BeforeEach
+    void setup() {
+        TodoEntityManager manager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        Random random = new Random(207);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            // deadlines spread over a year, a tenth of the tasks without one
+            LocalDateTime deadline = random.nextInt(10) == 0 ? null : START.plusMinutes(random.nextInt(365 * 24 * 60));
+            long id = manager.addTask("Task " + i, Duration.ofMinutes(15 + random.nextInt(240)), deadline,
+                    new ArrayList<>());
+            if (random.nextInt(3) == 0)
+                manager.completeTask(id);
+        }
+        taskGetter = new TaskGetter(manager);
+    }
+
+    @Test
+    public void dueThisWeekAndIncomplete() {
+        LocalDateTime from = START.plusDays(100);
+        LocalDateTime to = from.plusWeeks(1);
+        TaskQuery query = new TaskQuery().dueBetween(from, to).incomplete().longerThan(Duration.ofHours(1))
+                .sortedBy(TaskSortOrder.DEADLINE);
+
+        compare(query, () -> {
+            List<TaskInfo> found = new ArrayList<>();
+            for (TaskInfo task : taskGetter.getTasks()) {
+                if (task.getDeadline() != null && !task.getDeadline().isBefore(from) && task.getDeadline().isBefore(to)
+                        && !task.getCompleted() && task.getDuration().compareTo(Duration.ofHours(1)) > 0)
+                    found.add(task);
+            }
+            found.sort(Comparator.comparing(TaskInfo::getDeadline).thenComparingLong(TaskInfo::getId));
+            return found;
+        });
+    }
+
+    @Test
+    public void nextTenIncomplete() {
+        TaskQuery query = new TaskQuery().incomplete().dueBetween(START.plusDays(200), null)
+                .sortedBy(TaskSortOrder.DEADLINE).limit(10);
+
+        compare(query, () -> {
+            List<TaskInfo> found = new ArrayList<>();
+            for (TaskInfo task : taskGetter.getTasks()) {
+                if (!task.getCompleted() && task.getDeadline() != null && !task.getDeadline().isBefore(START.plusDays(200)))
+                    found.add(task);
+            }
+            found.sort(Comparator.comparing(TaskInfo::getDeadline).thenComparingLong(TaskInfo::getId));
+            return found.subList(0, 10);
+        });
+    }
+
+    private void compare(TaskQuery query, Supplier<List<TaskInfo>> fullScan) {
+        assertEquals(ids(fullScan.get()), ids(taskGetter.findTasks(query)));
+        // warm up both before timing
+        for (int i = 0; i < RUNS; i++) {
+            taskGetter.findTasks(query);
+            fullScan.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++)
+            taskGetter.findTasks(query);
+        long indexed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++)
+            fullScan.get();
+        long scanned = System.nanoTime() - start;
+
+        System.out.println(taskGetter.explain(query));
+        System.out.printf("  indexed plan %.3f ms, full scan %.3f ms per query over %d tasks%n",
+                indexed / 1e6 / RUNS, scanned / 1e6 / RUNS, TASK_COUNT);
+    }
+
+    private static List<Long> ids(List<TaskInfo> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskInfo task : tasks)
+            ids.add(task.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,89 @@
+import datagateway.task.TodoEntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.Snowflake;
+import services.taskpresentation.TaskGetter;
+import services.taskpresentation.TaskInfo;
+import services.taskpresentation.TaskQuery;
+import services.taskpresentation.TaskSortOrder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskQueryTest {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2021, 12, 10, 12, 0);
+
+    TodoEntityManager manager;
+    TaskGetter taskGetter;
+    long essay;
+    long labReport;
+    long readLab;
+    long laundry;
+
+    @BeforeEach
+    void setup() {
+        manager = new TodoEntityManager(new Snowflake(0, 0, 0));
+        essay = manager.addTask("Essay draft", Duration.ofHours(4), NOW.plusDays(2), new ArrayList<>());
+        labReport = manager.addTask("Lab report", Duration.ofHours(3), NOW.plusDays(1), new ArrayList<>());
+        readLab = manager.addTask("Read lab manual", Duration.ofMinutes(30), NOW.plusHours(2), new ArrayList<>());
+        laundry = manager.addTask("Laundry", Duration.ofHours(2), null, new ArrayList<>());
+        manager.completeTask(readLab);
+        taskGetter = new TaskGetter(manager);
+    }
+
+    @Test
+    public void deadlineRangeIsReadFromIndexAndFilteredInOrder() {
+        TaskQuery query = new TaskQuery().dueBetween(NOW, NOW.plusDays(7)).nameContains("LAB")
+                .sortedBy(TaskSortOrder.DEADLINE);
+
+        assertEquals(List.of(readLab, labReport), ids(taskGetter.findTasks(query)));
+        String plan = taskGetter.explain(query);
+        assertTrue(plan.startsWith("Deadline index range"));
+        assertTrue(plan.contains("name contains \"LAB\""));
+        assertTrue(plan.contains("(provided by index)"));
+    }
+
+    @Test
+    public void idsAreMoreSelectiveThanOtherIndexes() {
+        TaskQuery query = new TaskQuery().withIds(laundry, essay, readLab).incomplete()
+                .longerThan(Duration.ofHours(1)).sortedBy(TaskSortOrder.DURATION).limit(1);
+
+        assertEquals(List.of(essay), ids(taskGetter.findTasks(query)));
+        String plan = taskGetter.explain(query);
+        assertTrue(plan.startsWith("Id lookup of 3 ids"));
+        assertTrue(plan.contains("incomplete"));
+        assertTrue(plan.endsWith("Limit 1"));
+    }
+
+    @Test
+    public void nextDueReadsOnlyUpToTheLimit() {
+        TaskQuery query = new TaskQuery().incomplete().dueBetween(NOW, null).sortedBy(TaskSortOrder.DEADLINE).limit(1);
+
+        assertEquals(List.of(labReport), ids(taskGetter.findTasks(query)));
+        assertTrue(taskGetter.explain(query).contains("reading 1 tasks"));
+        assertEquals(List.of(labReport, essay),
+                ids(taskGetter.findTasks(new TaskQuery().incomplete().dueBetween(NOW, NOW.plusWeeks(1)))));
+    }
+
+    @Test
+    public void incompleteIndexIncludesTasksWithoutDeadline() {
+        TaskQuery query = new TaskQuery().incomplete().sortedBy(TaskSortOrder.NAME);
+
+        assertEquals(List.of(essay, labReport, laundry), ids(taskGetter.findTasks(query)));
+        assertTrue(taskGetter.explain(query).startsWith("Incomplete task index"));
+        assertEquals("Full scan", taskGetter.explain(new TaskQuery()));
+    }
+
+    private static List<Long> ids(List<TaskInfo> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskInfo task : tasks)
+            ids.add(task.getId());
+        return ids;
+    }
+}
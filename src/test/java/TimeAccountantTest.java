@@ -0,0 +1,346 @@
+import datagateway.ChangedField;
+import datagateway.EntityChange;
+import datagateway.event.CalendarManager;
+import datagateway.event.EventReader;
+import datagateway.task.TaskReader;
+import datagateway.task.TodoListManager;
+import entity.dates.DateStrategy;
+import entity.dates.TimeFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.timeaccounting.IsoWeek;
+import services.timeaccounting.TimeAccountant;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TimeAccountantTest {
+
+    // a Monday, in week 50 of 2021
+    static final LocalDate MONDAY = LocalDate.of(2021, 12, 13);
+    static final IsoWeek WEEK = IsoWeek.of(MONDAY);
+    static final IsoWeek NEXT_WEEK = IsoWeek.of(MONDAY.plusWeeks(1));
+
+    List<TaskReader> tasks;
+    List<EventReader> events;
+    TimeAccountant accountant;
+
+    @BeforeEach
+    void setup() {
+        tasks = new ArrayList<>();
+        tasks.add(new MockTaskReader(1L, Duration.ofHours(3), MONDAY.atTime(17, 0), false));
+        tasks.add(new MockTaskReader(2L, Duration.ofHours(2), MONDAY.plusDays(4).atTime(9, 0), true));
+        tasks.add(new MockTaskReader(3L, Duration.ofHours(5), null, false));
+
+        events = new ArrayList<>();
+        // every Monday from 9 to 11
+        events.add(new MockEventReader(10L, MONDAY.atTime(9, 0), Duration.ofHours(2), true, Set.of("CSC207", "lecture")));
+        // Sunday 22:00 to Monday 02:00, split between two weeks
+        events.add(new MockEventReader(11L, MONDAY.plusDays(6).atTime(22, 0), Duration.ofHours(4), false, Set.of("lecture")));
+        accountant = new TimeAccountant(new MockTodoListManager(tasks), new MockCalendarManager(events));
+    }
+
+    @Test
+    public void scheduledTimeIsSplitByWeekAndTag() {
+        assertEquals("2021-W50", WEEK.toString());
+        assertEquals(MONDAY, WEEK.getStart());
+        assertEquals(Duration.ofHours(2), accountant.getScheduledTime(WEEK, "CSC207"));
+        assertEquals(Duration.ofHours(4), accountant.getScheduledTime(WEEK, "lecture"));
+        assertEquals(Map.of("CSC207", Duration.ofHours(2), "lecture", Duration.ofHours(4)),
+                accountant.getScheduledTimeByTag(NEXT_WEEK));
+        // a week far from the first one makes the window grow
+        assertEquals(Duration.ofHours(2), accountant.getTotalScheduledTime(IsoWeek.of(MONDAY.plusYears(2))));
+    }
+
+    @Test
+    public void changedEventReplacesItsContribution() {
+        accountant.getTotalScheduledTime(WEEK);
+        MockEventReader moved = new MockEventReader(11L, MONDAY.plusDays(2).atTime(22, 0), Duration.ofHours(1),
+                false, Set.of("gym"));
+        events.set(1, moved);
+        accountant.handleEventChange(moved);
+
+        assertEquals(Duration.ofHours(2), accountant.getScheduledTime(WEEK, "lecture"));
+        assertEquals(Duration.ofHours(1), accountant.getScheduledTime(WEEK, "gym"));
+        assertEquals(Duration.ofHours(2), accountant.getTotalScheduledTime(NEXT_WEEK));
+
+        accountant.handleEventDeletion(events.remove(0));
+        assertEquals(Duration.ZERO, accountant.getTotalScheduledTime(NEXT_WEEK));
+        assertEquals(Map.of("gym", Duration.ofHours(1)), accountant.getScheduledTimeByTag(WEEK));
+    }
+
+    @Test
+    public void taskTimeFollowsCompletionAndDeadline() {
+        assertEquals(Duration.ofHours(3), accountant.getTaskTime(WEEK, false));
+        assertEquals(Duration.ofHours(2), accountant.getTaskTime(WEEK, true));
+
+        MockTaskReader completed = new MockTaskReader(1L, Duration.ofHours(3), MONDAY.plusWeeks(1).atTime(9, 0), true);
+        accountant.handleTaskChange(completed);
+        accountant.handleTaskDeletion(tasks.get(1));
+
+        assertEquals(Duration.ZERO, accountant.getTaskTime(WEEK, false));
+        assertEquals(Duration.ZERO, accountant.getTaskTime(WEEK, true));
+        assertEquals(Duration.ofHours(3), accountant.getTaskTime(NEXT_WEEK, true));
+    }
+
+    @Test
+    public void retaggedEventMovesItsTimeBetweenTags() {
+        accountant.getTotalScheduledTime(WEEK);
+        MockEventReader retagged = new MockEventReader(10L, MONDAY.atTime(9, 0), Duration.ofHours(2), true,
+                Set.of("CSC207", "tutorial"));
+        accountant.handleEventChangeRecord(EntityChange.updated(10L, ChangedField.TAGS,
+                Set.of("CSC207", "lecture"), retagged.getTags(), retagged));
+
+        assertEquals(Map.of("CSC207", Duration.ofHours(2), "tutorial", Duration.ofHours(2), "lecture", Duration.ofHours(2)),
+                accountant.getScheduledTimeByTag(NEXT_WEEK));
+        assertEquals(Duration.ofHours(4), accountant.getTotalScheduledTime(NEXT_WEEK));
+
+        // a rename does not change the time counted
+        accountant.handleEventChangeRecord(EntityChange.updated(10L, ChangedField.NAME, "Lecture", "Tutorial", retagged));
+        assertEquals(Duration.ofHours(4), accountant.getTotalScheduledTime(NEXT_WEEK));
+    }
+
+    private static class MockTodoListManager implements TodoListManager {
+        final List<TaskReader> tasks;
+
+        public MockTodoListManager(List<TaskReader> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public long addTask(String name, Duration duration, LocalDateTime deadline, List<String> subtasks) {
+            return 0;
+        }
+
+        @Override
+        public void deleteTask(long taskId) {
+
+        }
+
+        @Override
+        public TaskReader getTask(long taskId) {
+            return null;
+        }
+
+        @Override
+        public List<TaskReader> getAllTasks() {
+            return tasks;
+        }
+
+        @Override
+        public void completeTask(long taskId) {
+
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration newDuration) {
+
+        }
+
+        @Override
+        public void updateDeadline(long id, LocalDateTime newDeadline) {
+
+        }
+
+        @Override
+        public void addSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void removeSubtask(long id, String subtask) {
+
+        }
+
+        @Override
+        public void loadTodo(String filepath) {
+
+        }
+
+        @Override
+        public void saveTodo(String filepath) {
+
+        }
+    }
+
+    private static class MockTaskReader implements TaskReader {
+        final long id;
+        final Duration duration;
+        final LocalDateTime deadline;
+        final boolean completed;
+
+        public MockTaskReader(long id, Duration duration, LocalDateTime deadline, boolean completed) {
+            this.id = id;
+            this.duration = duration;
+            this.deadline = deadline;
+            this.completed = completed;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Task " + id;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public LocalDateTime getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public List<String> getSubtasks() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return completed;
+        }
+    }
+
+    private static class MockCalendarManager implements CalendarManager {
+        final List<EventReader> events;
+
+        public MockCalendarManager(List<EventReader> events) {
+            this.events = events;
+        }
+
+        @Override
+        public long addEvent(String eventName, DateStrategy strategy, Duration duration, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public long addEvent(long taskId, DateStrategy dateStrategy, Set<String> tags) {
+            return 0;
+        }
+
+        @Override
+        public void deleteEvent(long eventId) {
+
+        }
+
+        @Override
+        public void markEventAsCompleted(long eventId) {
+
+        }
+
+        @Override
+        public List<EventReader> getAllEvents() {
+            return events;
+        }
+
+        @Override
+        public void updateName(long id, String newName) {
+
+        }
+
+        @Override
+        public void updateDateStrategy(long id, DateStrategy strategy) {
+
+        }
+
+        @Override
+        public void updateDuration(long id, Duration duration) {
+
+        }
+
+        @Override
+        public void addTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void removeTag(long id, String tag) {
+
+        }
+
+        @Override
+        public void loadEvents(String filePath) {
+        }
+
+        @Override
+        public void saveEvents(String savePath) {
+        }
+    }
+
+    private static class MockEventReader implements EventReader {
+        final long id;
+        final LocalDateTime start;
+        final Duration duration;
+        final boolean weekly;
+        final Set<String> tags;
+
+        public MockEventReader(long id, LocalDateTime start, Duration duration, boolean weekly, Set<String> tags) {
+            this.id = id;
+            this.start = start;
+            this.duration = duration;
+            this.weekly = weekly;
+            this.tags = tags;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Event " + id;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public Set<TimeFrame> getDatesBetween(LocalDateTime startTime, LocalDateTime endTime) {
+            Set<TimeFrame> dates = new HashSet<>();
+            for (LocalDateTime date = start; date.isBefore(endTime); date = date.plusWeeks(1)) {
+                if (!date.isBefore(startTime))
+                    dates.add(new TimeFrame(date, duration));
+                if (!weekly)
+                    break;
+            }
+            return dates;
+        }
+
+        @Override
+        public String getWhen() {
+            return null;
+        }
+
+        @Override
+        public boolean getCompleted() {
+            return false;
+        }
+    }
+}
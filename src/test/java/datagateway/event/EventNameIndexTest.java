@@ -0,0 +1,47 @@
+package datagateway.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventNameIndexTest {
+
+    EventNameIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new EventNameIndex();
+        index.put(1L, "Lecture");
+        index.put(2L, "lab");
+        index.put(3L, "Lecture");
+        index.put(4L, "Lab report");
+    }
+
+    @Test
+    public void exactNamesMatchCase() {
+        assertEquals(Set.of(1L, 3L), index.withName("Lecture"));
+        assertEquals(Set.of(), index.withName("lecture"));
+    }
+
+    @Test
+    public void prefixesIgnoreCaseAndAreSortedByName() {
+        assertEquals(List.of(2L, 4L), index.withPrefix("LA", 10));
+        assertEquals(List.of(2L), index.withPrefix("la", 1));
+        assertEquals(List.of(), index.withPrefix("Tutorial", 10));
+    }
+
+    @Test
+    public void renamedAndRemovedEventsLeaveTheirOldName() {
+        index.put(1L, "Tutorial");
+        index.remove(2L);
+        index.remove(5L);
+
+        assertEquals(Set.of(3L), index.withName("Lecture"));
+        assertEquals(Set.of(1L), index.withName("Tutorial"));
+        assertEquals(List.of(4L), index.withPrefix("la", 10));
+    }
+}